@@ -0,0 +1,51 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Kombinasi kuantitas dan tipe pelanggan diacak di muka agar cabang aturan tidak mudah ditebak
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkKalkulatorDiskon {
+    private static final int UKURAN = 1024;
+    private static final String[] TIPE = {"PREMIUM", "REGULER", "BARU", "UMUM", null};
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private final double[] harga = new double[UKURAN];
+    private final int[] kuantitas = new int[UKURAN];
+    private final String[] tipe = new String[UKURAN];
+    private int posisi;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        SplittableRandom acak = new SplittableRandom(7);
+        for (int i = 0; i < UKURAN; i++) {
+            harga[i] = 1000 + acak.nextInt(1_000_000);
+            kuantitas[i] = 1 + acak.nextInt(150);
+            tipe[i] = TIPE[acak.nextInt(TIPE.length)];
+        }
+    }
+
+    @Benchmark
+    public double hitungDiskon() {
+        int i = posisi++ & (UKURAN - 1);
+        return kalkulator.hitungDiskon(harga[i], kuantitas[i], tipe[i]);
+    }
+}
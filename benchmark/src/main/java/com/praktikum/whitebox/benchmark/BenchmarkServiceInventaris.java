@@ -0,0 +1,56 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Jalur panas ServiceInventaris dan repository di bawahnya, kode dipilih seragam acak
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkServiceInventaris {
+
+    @Benchmark
+    public boolean keluarStok(StatusKatalog katalog, StatusThread thread) {
+        return katalog.service.keluarStok(katalog.kode[thread.indeks(katalog.ukuranKatalog)], 1);
+    }
+
+    @Benchmark
+    public boolean masukStok(StatusKatalog katalog, StatusThread thread) {
+        return katalog.service.masukStok(katalog.kode[thread.indeks(katalog.ukuranKatalog)], 1);
+    }
+
+    @Benchmark
+    public Optional<Produk> cariByKode(StatusKatalog katalog, StatusThread thread) {
+        return katalog.service.cariProdukByKode(katalog.kode[thread.indeks(katalog.ukuranKatalog)]);
+    }
+
+    @Benchmark
+    public List<Produk> cariByNama(StatusKatalog katalog, StatusThread thread) {
+        return katalog.service.cariProdukByNama(katalog.kataKunciNama[thread.indeks(katalog.ukuranKatalog)]);
+    }
+
+    // Agregat memindai seluruh katalog, sehingga satuannya lebih cocok dalam milidetik
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double hitungTotalNilaiInventaris(StatusKatalog katalog) {
+        return katalog.service.hitungTotalNilaiInventaris();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int hitungTotalStok(StatusKatalog katalog) {
+        return katalog.service.hitungTotalStok();
+    }
+}
@@ -0,0 +1,48 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Sebagian besar produk valid seperti pada tambahProduk biasa, sisanya gagal di field berbeda
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkValidasi {
+    private static final int UKURAN = 1024;
+
+    private final Produk[] produk = new Produk[UKURAN];
+    private int posisi;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        for (int i = 0; i < UKURAN; i++) {
+            produk[i] = switch (i % 16) {
+                case 13 -> new Produk("P-" + i, "Produk " + i, "Umum", 1000, 5, 1);
+                case 14 -> new Produk(DataKatalog.kode(i), "AB", "Umum", 1000, 5, 1);
+                case 15 -> new Produk(DataKatalog.kode(i), "  Produk " + i + "  ", "Umum", 0, 5, 1);
+                default -> DataKatalog.produk(i, 100);
+            };
+        }
+    }
+
+    @Benchmark
+    public boolean isValidProduk() {
+        return ValidationUtils.isValidProduk(produk[posisi++ & (UKURAN - 1)]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Katalog sintetis yang deterministik: produk ke-i selalu sama di setiap run dan setiap fork
+public final class DataKatalog {
+    // Batas stok per produk; hitungTotalStok mengembalikan int sehingga total katalog
+    // dijaga di bawah setengah Integer.MAX_VALUE (sisanya ruang untuk masukStok)
+    private static final int STOK_MAKSIMAL = 1_000_000;
+    private static final int UKURAN_BATCH = 4096;
+
+    private static final String[] NAMA_DASAR = {
+            "Laptop", "Mouse", "Keyboard", "Monitor", "Kaos", "Celana", "Sepatu", "Tas",
+            "Beras", "Gula", "Kopi", "Teh", "Buku", "Pulpen", "Lampu", "Kipas"
+    };
+    private static final String[] KATEGORI = {
+            "Elektronik", "Elektronik", "Elektronik", "Elektronik", "Fashion", "Fashion", "Fashion", "Fashion",
+            "Makanan", "Makanan", "Minuman", "Minuman", "ATK", "ATK", "Rumah", "Rumah"
+    };
+
+    private DataKatalog() {}
+
+    // "P" + indeks base-36 enam digit, selalu lolos isValidKodeProduk
+    public static String kode(int indeks) {
+        String angka = Integer.toString(indeks, 36).toUpperCase(Locale.ROOT);
+        return "P" + "000000".substring(angka.length()) + angka;
+    }
+
+    // Stok awal sebesar mungkin agar keluarStok jarang kehabisan selama pengukuran
+    public static int stokAwal(int ukuranKatalog) {
+        return Math.min(STOK_MAKSIMAL, Integer.MAX_VALUE / 2 / Math.max(1, ukuranKatalog));
+    }
+
+    public static Produk produk(int indeks, int stok) {
+        int jenis = indeks % NAMA_DASAR.length;
+        double harga = 1000 + (indeks % 1000) * 250.5;
+        return new Produk(kode(indeks), NAMA_DASAR[jenis] + " Seri " + indeks, KATEGORI[jenis],
+                harga, stok, 10);
+    }
+
+    public static String[] semuaKode(int ukuran) {
+        String[] hasil = new String[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            hasil[i] = kode(i);
+        }
+        return hasil;
+    }
+
+    public static RepositoryProduk isi(JenisRepository jenis, int ukuran) {
+        RepositoryProduk repository = jenis.buat(ukuran);
+        int stok = stokAwal(ukuran);
+        List<Produk> batch = new ArrayList<>(UKURAN_BATCH);
+        for (int i = 0; i < ukuran; i++) {
+            batch.add(produk(i, stok));
+            if (batch.size() == UKURAN_BATCH) {
+                repository.simpanBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.simpanBatch(batch);
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.benchmark;
+
+import java.util.SplittableRandom;
+
+// Sampler Zipf atas n item: peluang item peringkat k sebanding dengan 1 / k^eksponen.
+// CDF dihitung sekali lalu setiap sampel cukup satu pencarian biner. Peringkat dipetakan ke
+// indeks katalog lewat permutasi acak tetap, sehingga kode populer tersebar di seluruh
+// katalog (dan di seluruh segmen repository), bukan menumpuk di indeks awal.
+public final class DistribusiZipf {
+    private final double[] kumulatif;
+    private final int[] indeksPeringkat;
+
+    public DistribusiZipf(int jumlahItem, double eksponen, long benih) {
+        if (jumlahItem <= 0) {
+            throw new IllegalArgumentException("Jumlah item harus positif");
+        }
+        if (!(eksponen >= 0)) {
+            throw new IllegalArgumentException("Eksponen Zipf tidak boleh negatif");
+        }
+        kumulatif = new double[jumlahItem];
+        double total = 0;
+        for (int k = 0; k < jumlahItem; k++) {
+            total += 1.0 / Math.pow(k + 1, eksponen);
+            kumulatif[k] = total;
+        }
+        for (int k = 0; k < jumlahItem; k++) {
+            kumulatif[k] /= total;
+        }
+        kumulatif[jumlahItem - 1] = 1.0;
+
+        indeksPeringkat = new int[jumlahItem];
+        for (int i = 0; i < jumlahItem; i++) {
+            indeksPeringkat[i] = i;
+        }
+        SplittableRandom acak = new SplittableRandom(benih);
+        for (int i = jumlahItem - 1; i > 0; i--) {
+            int j = acak.nextInt(i + 1);
+            int sementara = indeksPeringkat[i];
+            indeksPeringkat[i] = indeksPeringkat[j];
+            indeksPeringkat[j] = sementara;
+        }
+    }
+
+    // Peringkat 0-based; 0 adalah item paling populer
+    public int peringkat(double u) {
+        int rendah = 0;
+        int tinggi = kumulatif.length - 1;
+        while (rendah < tinggi) {
+            int tengah = (rendah + tinggi) >>> 1;
+            if (kumulatif[tengah] < u) {
+                rendah = tengah + 1;
+            } else {
+                tinggi = tengah;
+            }
+        }
+        return rendah;
+    }
+
+    public int sampel(SplittableRandom acak) {
+        return indeksPeringkat[peringkat(acak.nextDouble())];
+    }
+
+    // Proporsi permintaan yang jatuh ke n item teratas, berguna untuk ringkasan laporan
+    public double porsiTeratas(int n) {
+        return n <= 0 ? 0.0 : kumulatif[Math.min(n, kumulatif.length) - 1];
+    }
+}
@@ -0,0 +1,171 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.metrik.HistogramLatensi;
+import com.praktikum.whitebox.metrik.SnapshotHistogram;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Generator beban in-process untuk ServiceInventaris di atas RepositoryProduk apa pun.
+//
+// Dengan target rate > 0 generator berjalan open-loop: setiap thread punya jadwal tetap
+// (rate / jumlah thread) dan latensi diukur dari waktu jadwal, sehingga saat sistem tertinggal
+// antreannya terlihat di p99/p999 (tanpa coordinated omission). Dengan rate 0 setiap thread
+// berjalan secepat mungkin dan hasilnya adalah throughput maksimum.
+// Kode dipilih mengikuti distribusi Zipf sehingga sebagian kecil SKU menerima mayoritas beban.
+public final class GeneratorBeban {
+    private static final long BATAS_SPIN = 100_000;
+
+    private final ServiceInventaris service;
+    private final String[] kode;
+    private final String[] kataKunci;
+    private final KonfigurasiBeban konfigurasi;
+    private final DistribusiZipf zipf;
+    private final JenisOperasi[] operasi = JenisOperasi.values();
+    private final int[] bobotKumulatif;
+
+    // kataKunci[i] adalah teks pencarian nama untuk produk kode[i]
+    public GeneratorBeban(ServiceInventaris service, String[] kode, String[] kataKunci, KonfigurasiBeban konfigurasi) {
+        if (kode.length == 0 || kode.length != kataKunci.length) {
+            throw new IllegalArgumentException("Kode dan kata kunci harus berisi dan sama panjang");
+        }
+        this.service = service;
+        this.kode = kode;
+        this.kataKunci = kataKunci;
+        this.konfigurasi = konfigurasi;
+        this.zipf = new DistribusiZipf(kode.length, konfigurasi.getEksponenZipf(), konfigurasi.getBenih());
+        this.bobotKumulatif = new int[operasi.length];
+        int total = 0;
+        for (int i = 0; i < operasi.length; i++) {
+            total += konfigurasi.getBobot(operasi[i]);
+            bobotKumulatif[i] = total;
+        }
+    }
+
+    public static GeneratorBeban untuk(RepositoryProduk repository, String[] kode, String[] kataKunci,
+                                       KonfigurasiBeban konfigurasi) {
+        return new GeneratorBeban(new ServiceInventaris(repository), kode, kataKunci, konfigurasi);
+    }
+
+    public LaporanBeban jalankan() throws InterruptedException {
+        int jumlahThread = konfigurasi.getJumlahThread();
+        long interval = konfigurasi.getTargetOpsPerDetik() == 0 ? 0
+                : Math.max(1, 1_000_000_000L * jumlahThread / konfigurasi.getTargetOpsPerDetik());
+        // Beri waktu semua thread siap sebelum jadwal pertama
+        long awal = System.nanoTime() + 50_000_000L;
+        long mulaiUkur = awal + konfigurasi.getPemanasan().toNanos();
+        long akhir = mulaiUkur + konfigurasi.getDurasi().toNanos();
+
+        Pekerja[] pekerja = new Pekerja[jumlahThread];
+        Thread[] thread = new Thread[jumlahThread];
+        for (int t = 0; t < jumlahThread; t++) {
+            // Jadwal thread digeser agar operasi tersebar merata, bukan datang serentak
+            long jadwalPertama = awal + (interval * t) / jumlahThread;
+            pekerja[t] = new Pekerja(konfigurasi.getBenih() + t, jadwalPertama, interval, mulaiUkur, akhir);
+            thread[t] = new Thread(pekerja[t], "generator-beban-" + t);
+            thread[t].start();
+        }
+        for (Thread th : thread) {
+            th.join();
+        }
+
+        Map<JenisOperasi, LaporanBeban.Statistik> statistik = new EnumMap<>(JenisOperasi.class);
+        for (JenisOperasi op : operasi) {
+            SnapshotHistogram gabungan = new HistogramLatensi().snapshot();
+            long gagal = 0;
+            long galat = 0;
+            for (Pekerja p : pekerja) {
+                gabungan = gabungan.gabung(p.histogram[op.ordinal()].snapshot());
+                gagal += p.gagal[op.ordinal()];
+                galat += p.galat[op.ordinal()];
+            }
+            statistik.put(op, new LaporanBeban.Statistik(gabungan, gagal, galat));
+        }
+        return new LaporanBeban(statistik, konfigurasi.getDurasi().toNanos() / 1e9);
+    }
+
+    private JenisOperasi pilihOperasi(SplittableRandom acak) {
+        int r = acak.nextInt(bobotKumulatif[bobotKumulatif.length - 1]);
+        int i = 0;
+        while (r >= bobotKumulatif[i]) {
+            i++;
+        }
+        return operasi[i];
+    }
+
+    private final class Pekerja implements Runnable {
+        private final SplittableRandom acak;
+        private final long interval;
+        private final long mulaiUkur;
+        private final long akhir;
+        private long jadwal;
+        final HistogramLatensi[] histogram = new HistogramLatensi[operasi.length];
+        final long[] gagal = new long[operasi.length];
+        final long[] galat = new long[operasi.length];
+
+        Pekerja(long benih, long jadwalPertama, long interval, long mulaiUkur, long akhir) {
+            this.acak = new SplittableRandom(benih);
+            this.jadwal = jadwalPertama;
+            this.interval = interval;
+            this.mulaiUkur = mulaiUkur;
+            this.akhir = akhir;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new HistogramLatensi();
+            }
+        }
+
+        @Override
+        public void run() {
+            tungguSampai(jadwal);
+            while (true) {
+                long dijadwalkan;
+                if (interval > 0) {
+                    tungguSampai(jadwal);
+                    dijadwalkan = jadwal;
+                    jadwal += interval;
+                } else {
+                    dijadwalkan = System.nanoTime();
+                }
+                if (dijadwalkan >= akhir) {
+                    return;
+                }
+                JenisOperasi op = pilihOperasi(acak);
+                int indeks = zipf.sampel(acak);
+                boolean sukses;
+                boolean error = false;
+                try {
+                    sukses = op.jalankan(service, kode[indeks], kataKunci[indeks]);
+                } catch (RuntimeException e) {
+                    sukses = false;
+                    error = true;
+                }
+                long selesai = System.nanoTime();
+                if (dijadwalkan >= mulaiUkur) {
+                    histogram[op.ordinal()].catat(selesai - dijadwalkan);
+                    if (error) {
+                        galat[op.ordinal()]++;
+                    } else if (!sukses) {
+                        gagal[op.ordinal()]++;
+                    }
+                }
+            }
+        }
+
+        // parkNanos bisa terlambat puluhan mikrodetik, yang akan tercatat sebagai latensi palsu;
+        // sisa waktu yang pendek ditunggu dengan spin
+        private void tungguSampai(long waktu) {
+            long sisa;
+            while ((sisa = waktu - System.nanoTime()) > 0) {
+                if (sisa > BATAS_SPIN) {
+                    LockSupport.parkNanos(sisa - BATAS_SPIN);
+                } else {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+    }
+}
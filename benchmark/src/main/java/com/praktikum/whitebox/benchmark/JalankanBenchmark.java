@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Titik masuk benchmarks.jar. Argumen diteruskan apa adanya ke JMH; jika -t tidak diberikan,
+// seluruh benchmark dijalankan sekali untuk setiap jumlah thread di -Dthreads (bawaan 1,4,8).
+public final class JalankanBenchmark {
+    private JalankanBenchmark() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions opsiBaris = new CommandLineOptions(args);
+        if (opsiBaris.shouldHelp() || opsiBaris.shouldList() || opsiBaris.getThreads().hasValue()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        int[] daftarThread = Arrays.stream(System.getProperty("threads", "1,4,8").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        for (int jumlahThread : daftarThread) {
+            Options opsi = new OptionsBuilder()
+                    .parent(opsiBaris)
+                    .threads(jumlahThread)
+                    .build();
+            new Runner(opsi).run();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.service.ServiceInventaris;
+
+// Operasi yang bisa muncul dalam campuran beban. Hasil false dihitung sebagai operasi gagal
+// (mis. keluarStok saat stok kurang), bukan error.
+public enum JenisOperasi {
+    CARI_KODE {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return service.cariProdukByKode(kode).isPresent();
+        }
+    },
+    CARI_NAMA {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return !service.cariProdukByNama(kataKunci).isEmpty();
+        }
+    },
+    KELUAR_STOK {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return service.keluarStok(kode, 1);
+        }
+    },
+    MASUK_STOK {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return service.masukStok(kode, 1);
+        }
+    },
+    TOTAL_NILAI {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return service.hitungTotalNilaiInventaris() >= 0;
+        }
+    },
+    TOTAL_STOK {
+        @Override
+        boolean jalankan(ServiceInventaris service, String kode, String kataKunci) {
+            return service.hitungTotalStok() >= 0;
+        }
+    };
+
+    abstract boolean jalankan(ServiceInventaris service, String kode, String kataKunci);
+}
@@ -0,0 +1,31 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukCache;
+import com.praktikum.whitebox.repository.RepositoryProdukKolom;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+
+// Implementasi repository yang bisa dipilih lewat @Param
+public enum JenisRepository {
+    MEMORI {
+        @Override
+        RepositoryProduk buat(int ukuranKatalog) {
+            return new RepositoryProdukMemori();
+        }
+    },
+    KOLOM {
+        @Override
+        RepositoryProduk buat(int ukuranKatalog) {
+            return new RepositoryProdukKolom(ukuranKatalog);
+        }
+    },
+    // Cache 10% katalog di atas repository memori
+    CACHE {
+        @Override
+        RepositoryProduk buat(int ukuranKatalog) {
+            return new RepositoryProdukCache(new RepositoryProdukMemori(), Math.max(16, ukuranKatalog / 10));
+        }
+    };
+
+    abstract RepositoryProduk buat(int ukuranKatalog);
+}
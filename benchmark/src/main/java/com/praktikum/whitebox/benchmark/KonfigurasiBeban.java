@@ -0,0 +1,118 @@
+package com.praktikum.whitebox.benchmark;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+// Parameter satu run uji beban. Argumen baris perintah berbentuk --kunci=nilai, mis.
+// --thread=8 --rate=200000 --durasi=30 --pemanasan=5 --zipf=0.99
+// --campuran=CARI_KODE:850,CARI_NAMA:50,KELUAR_STOK:60,MASUK_STOK:30,TOTAL_NILAI:5,TOTAL_STOK:5
+public final class KonfigurasiBeban {
+    // Campuran "Black Friday": 90% baca, sisanya mutasi stok dan sedikit agregat (per mil)
+    static final int[] CAMPURAN_BAWAAN = {850, 50, 60, 30, 5, 5};
+
+    private final int jumlahThread;
+    private final long targetOpsPerDetik;
+    private final Duration durasi;
+    private final Duration pemanasan;
+    private final double eksponenZipf;
+    private final int[] bobot;
+    private final long benih;
+
+    public KonfigurasiBeban(int jumlahThread, long targetOpsPerDetik, Duration durasi, Duration pemanasan,
+                            double eksponenZipf, int[] bobot, long benih) {
+        if (jumlahThread <= 0) {
+            throw new IllegalArgumentException("Jumlah thread harus positif");
+        }
+        if (targetOpsPerDetik < 0) {
+            throw new IllegalArgumentException("Target ops per detik tidak boleh negatif");
+        }
+        if (durasi.isNegative() || durasi.isZero() || pemanasan.isNegative()) {
+            throw new IllegalArgumentException("Durasi harus positif dan pemanasan tidak boleh negatif");
+        }
+        if (bobot.length != JenisOperasi.values().length || Arrays.stream(bobot).anyMatch(b -> b < 0)
+                || Arrays.stream(bobot).sum() <= 0) {
+            throw new IllegalArgumentException("Bobot campuran harus non-negatif untuk setiap operasi dan tidak nol semua");
+        }
+        this.jumlahThread = jumlahThread;
+        this.targetOpsPerDetik = targetOpsPerDetik;
+        this.durasi = durasi;
+        this.pemanasan = pemanasan;
+        this.eksponenZipf = eksponenZipf;
+        this.bobot = bobot.clone();
+        this.benih = benih;
+    }
+
+    public static KonfigurasiBeban bawaan() {
+        return new KonfigurasiBeban(Runtime.getRuntime().availableProcessors(), 0,
+                Duration.ofSeconds(30), Duration.ofSeconds(5), 0.99, CAMPURAN_BAWAAN, 42);
+    }
+
+    // Argumen yang tidak dikenal diabaikan agar bisa dipakai bersama argumen lain (mis. --repository)
+    public static KonfigurasiBeban dariArgumen(String[] args) {
+        KonfigurasiBeban dasar = bawaan();
+        int jumlahThread = dasar.jumlahThread;
+        long target = dasar.targetOpsPerDetik;
+        Duration durasi = dasar.durasi;
+        Duration pemanasan = dasar.pemanasan;
+        double zipf = dasar.eksponenZipf;
+        int[] bobot = dasar.bobot;
+        long benih = dasar.benih;
+        for (String arg : args) {
+            int sama = arg.indexOf('=');
+            if (!arg.startsWith("--") || sama < 0) {
+                continue;
+            }
+            String nilai = arg.substring(sama + 1);
+            switch (arg.substring(2, sama)) {
+                case "thread" -> jumlahThread = Integer.parseInt(nilai);
+                case "rate" -> target = Long.parseLong(nilai);
+                case "durasi" -> durasi = Duration.ofSeconds(Long.parseLong(nilai));
+                case "pemanasan" -> pemanasan = Duration.ofSeconds(Long.parseLong(nilai));
+                case "zipf" -> zipf = Double.parseDouble(nilai);
+                case "campuran" -> bobot = parseCampuran(nilai);
+                case "benih" -> benih = Long.parseLong(nilai);
+                default -> { }
+            }
+        }
+        return new KonfigurasiBeban(jumlahThread, target, durasi, pemanasan, zipf, bobot, benih);
+    }
+
+    // Operasi yang tidak disebut mendapat bobot 0
+    static int[] parseCampuran(String teks) {
+        int[] hasil = new int[JenisOperasi.values().length];
+        for (String bagian : teks.split(",")) {
+            String[] pasangan = bagian.trim().split(":");
+            if (pasangan.length != 2) {
+                throw new IllegalArgumentException("Format campuran harus OPERASI:bobot, diberikan: " + bagian);
+            }
+            hasil[JenisOperasi.valueOf(pasangan[0].trim()).ordinal()] = Integer.parseInt(pasangan[1].trim());
+        }
+        return hasil;
+    }
+
+    public int getJumlahThread() { return jumlahThread; }
+    // 0 berarti loop tertutup: setiap thread menjalankan operasi secepat mungkin
+    public long getTargetOpsPerDetik() { return targetOpsPerDetik; }
+    public Duration getDurasi() { return durasi; }
+    public Duration getPemanasan() { return pemanasan; }
+    public double getEksponenZipf() { return eksponenZipf; }
+    public int getBobot(JenisOperasi operasi) { return bobot[operasi.ordinal()]; }
+    public long getBenih() { return benih; }
+
+    @Override
+    public String toString() {
+        StringBuilder campuran = new StringBuilder();
+        for (JenisOperasi operasi : JenisOperasi.values()) {
+            if (campuran.length() > 0) {
+                campuran.append(',');
+            }
+            campuran.append(operasi).append(':').append(bobot[operasi.ordinal()]);
+        }
+        return "KonfigurasiBeban{thread=" + jumlahThread +
+                ", rate=" + (targetOpsPerDetik == 0 ? "maksimal" : targetOpsPerDetik + "/s") +
+                ", durasi=" + durasi.toSeconds() + "s" +
+                ", pemanasan=" + pemanasan.toSeconds() + "s" +
+                ", zipf=" + eksponenZipf +
+                ", campuran=" + campuran + "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.metrik.SnapshotHistogram;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Hasil satu run uji beban: throughput dan persentil latensi per jenis operasi
+public final class LaporanBeban {
+    private final Map<JenisOperasi, Statistik> statistik;
+    private final double durasiDetik;
+
+    LaporanBeban(Map<JenisOperasi, Statistik> statistik, double durasiDetik) {
+        this.statistik = new EnumMap<>(statistik);
+        this.durasiDetik = durasiDetik;
+    }
+
+    public Statistik statistik(JenisOperasi operasi) {
+        return statistik.get(operasi);
+    }
+
+    public double getDurasiDetik() {
+        return durasiDetik;
+    }
+
+    public long totalOperasi() {
+        long total = 0;
+        for (Statistik s : statistik.values()) {
+            total += s.jumlah;
+        }
+        return total;
+    }
+
+    public double throughputTotal() {
+        return totalOperasi() / durasiDetik;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-12s %12s %12s %8s %8s %10s %10s %10s %10s%n",
+                "operasi", "jumlah", "ops/s", "gagal", "galat", "p50(us)", "p99(us)", "p999(us)", "maks(us)"));
+        for (Map.Entry<JenisOperasi, Statistik> e : statistik.entrySet()) {
+            Statistik s = e.getValue();
+            if (s.jumlah == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-12s %12d %12.0f %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    e.getKey(), s.jumlah, s.jumlah / durasiDetik, s.gagal, s.galat,
+                    s.p50 / 1000.0, s.p99 / 1000.0, s.p999 / 1000.0, s.maksimum / 1000.0));
+        }
+        sb.append(String.format(Locale.ROOT, "total %d operasi dalam %.1f s = %.0f ops/s%n",
+                totalOperasi(), durasiDetik, throughputTotal()));
+        return sb.toString();
+    }
+
+    // Latensi dalam nanodetik, diukur dari waktu jadwal operasi (bukan waktu mulai sebenarnya)
+    // sehingga antrean akibat sistem yang tertinggal ikut terhitung
+    public static final class Statistik {
+        private final long jumlah;
+        private final long gagal;
+        private final long galat;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long maksimum;
+
+        Statistik(SnapshotHistogram histogram, long gagal, long galat) {
+            this.jumlah = histogram.getJumlah();
+            this.gagal = gagal;
+            this.galat = galat;
+            this.p50 = histogram.persentil(50);
+            this.p99 = histogram.persentil(99);
+            this.p999 = histogram.persentil(99.9);
+            this.maksimum = histogram.getMaksimum();
+        }
+
+        public long getJumlah() { return jumlah; }
+        public long getGagal() { return gagal; }
+        public long getGalat() { return galat; }
+        public long getP50() { return p50; }
+        public long getP99() { return p99; }
+        public long getP999() { return p999; }
+        public long getMaksimum() { return maksimum; }
+    }
+}
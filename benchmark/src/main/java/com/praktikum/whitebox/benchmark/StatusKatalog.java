@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Katalog bersama untuk semua thread benchmark; dibangun sekali per trial
+@State(Scope.Benchmark)
+public class StatusKatalog {
+    @Param({"1000", "100000", "1000000"})
+    public int ukuranKatalog;
+
+    @Param({"MEMORI", "KOLOM", "CACHE"})
+    public JenisRepository repository;
+
+    public RepositoryProduk repositoryProduk;
+    public ServiceInventaris service;
+    public String[] kode;
+    // Potongan nama unik per produk agar cariByNama mengembalikan sedikit hasil
+    public String[] kataKunciNama;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        repositoryProduk = DataKatalog.isi(repository, ukuranKatalog);
+        service = new ServiceInventaris(repositoryProduk);
+        kode = DataKatalog.semuaKode(ukuranKatalog);
+        kataKunciNama = new String[ukuranKatalog];
+        for (int i = 0; i < ukuranKatalog; i++) {
+            kataKunciNama[i] = "Seri " + i;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.praktikum.whitebox.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+
+// Sumber acak per thread supaya pemilihan kode tidak menjadi titik kontensi
+@State(Scope.Thread)
+public class StatusThread {
+    private final SplittableRandom acak = new SplittableRandom(Thread.currentThread().threadId());
+
+    public int indeks(int batas) {
+        return acak.nextInt(batas);
+    }
+}
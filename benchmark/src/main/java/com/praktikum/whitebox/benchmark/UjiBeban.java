@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProduk;
+
+import java.util.Locale;
+
+// Uji beban makro dari baris perintah:
+// java -cp target/benchmarks.jar com.praktikum.whitebox.benchmark.UjiBeban \
+//     --repository=MEMORI --katalog=100000 --thread=8 --rate=200000 --durasi=30 --zipf=0.99
+// Selain --repository dan --katalog, argumen dibaca oleh KonfigurasiBeban.
+public final class UjiBeban {
+    private UjiBeban() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        JenisRepository jenis = JenisRepository.MEMORI;
+        int ukuranKatalog = 100_000;
+        for (String arg : args) {
+            if (arg.startsWith("--repository=")) {
+                jenis = JenisRepository.valueOf(arg.substring("--repository=".length()).toUpperCase(Locale.ROOT));
+            } else if (arg.startsWith("--katalog=")) {
+                ukuranKatalog = Integer.parseInt(arg.substring("--katalog=".length()));
+            }
+        }
+        KonfigurasiBeban konfigurasi = KonfigurasiBeban.dariArgumen(args);
+
+        RepositoryProduk repository = DataKatalog.isi(jenis, ukuranKatalog);
+        String[] kode = DataKatalog.semuaKode(ukuranKatalog);
+        String[] kataKunci = new String[ukuranKatalog];
+        for (int i = 0; i < ukuranKatalog; i++) {
+            kataKunci[i] = "Seri " + i;
+        }
+        GeneratorBeban generator = GeneratorBeban.untuk(repository, kode, kataKunci, konfigurasi);
+
+        System.out.printf(Locale.ROOT, "repository=%s katalog=%d %s%n", jenis, ukuranKatalog, konfigurasi);
+        System.out.printf(Locale.ROOT, "1%% SKU teratas menerima %.1f%% permintaan%n",
+                100 * new DistribusiZipf(ukuranKatalog, konfigurasi.getEksponenZipf(), konfigurasi.getBenih())
+                        .porsiTeratas(Math.max(1, ukuranKatalog / 100)));
+        System.out.print(generator.jalankan());
+    }
+}
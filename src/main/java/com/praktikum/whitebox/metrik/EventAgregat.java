@@ -0,0 +1,24 @@
+package com.praktikum.whitebox.metrik;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Agregat dan pindaian seluruh katalog, sehingga threshold-nya lebih longgar
+@Name("com.praktikum.whitebox.Agregat")
+@Label("Agregat Inventaris")
+@Description("Perhitungan total dan pindaian status stok yang melewati threshold")
+@Category({"Inventaris", "Agregat"})
+@Threshold("10 ms")
+@StackTrace(false)
+public class EventAgregat extends jdk.jfr.Event {
+    @Label("Operasi")
+    public String operasi;
+
+    @Label("Jumlah Produk")
+    @Description("Ukuran hasil untuk pindaian; 0 untuk total")
+    public int jumlahProduk;
+}
@@ -0,0 +1,30 @@
+package com.praktikum.whitebox.metrik;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.praktikum.whitebox.CariProduk")
+@Label("Cari Produk")
+@Description("Pencarian produk berdasarkan kode, nama, atau kategori yang melewati threshold")
+@Category({"Inventaris", "Pencarian"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class EventCariProduk extends jdk.jfr.Event {
+    @Label("Jenis")
+    @Description("KODE, NAMA, atau KATEGORI")
+    public String jenis;
+
+    @Label("Kueri")
+    public String kueri;
+
+    @Label("Kategori")
+    @Description("Kategori produk yang ditemukan (pencarian kode) atau kategori yang dicari")
+    public String kategori;
+
+    @Label("Jumlah Hasil")
+    public int jumlahHasil;
+}
@@ -0,0 +1,32 @@
+package com.praktikum.whitebox.metrik;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.praktikum.whitebox.Diskon")
+@Label("Perhitungan Diskon")
+@Description("Perhitungan diskon satuan atau batch yang melewati threshold")
+@Category({"Inventaris", "Diskon"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class EventDiskon extends jdk.jfr.Event {
+    @Label("Tipe Pelanggan")
+    public String tipePelanggan;
+
+    @Label("Harga")
+    public double harga;
+
+    @Label("Kuantitas")
+    public int kuantitas;
+
+    @Label("Diskon")
+    public double diskon;
+
+    @Label("Jumlah Baris")
+    @Description("1 untuk perhitungan satuan, jumlah baris untuk batch")
+    public int jumlahBaris;
+}
@@ -0,0 +1,35 @@
+package com.praktikum.whitebox.metrik;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Event JFR untuk masukStok/keluarStok/updateStok dan versi batch-nya. Seperti event JFR lain,
+// pemanggil membuat event, begin(), lalu mengisi field hanya jika shouldCommit() (JFR aktif
+// dan durasi melewati threshold); saat perekaman mati biayanya praktis nol.
+@Name("com.praktikum.whitebox.MutasiStok")
+@Label("Mutasi Stok")
+@Description("Perubahan stok lewat ServiceInventaris yang melewati threshold")
+@Category({"Inventaris", "Stok"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class EventMutasiStok extends jdk.jfr.Event {
+    @Label("Jenis")
+    public String jenis;
+
+    @Label("Kode")
+    public String kode;
+
+    @Label("Kategori")
+    public String kategori;
+
+    @Label("Jumlah")
+    @Description("Jumlah mutasi, stok baru untuk UPDATE, atau jumlah item untuk batch")
+    public int jumlah;
+
+    @Label("Hasil")
+    public String hasil;
+}
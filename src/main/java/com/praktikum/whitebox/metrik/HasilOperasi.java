@@ -0,0 +1,19 @@
+package com.praktikum.whitebox.metrik;
+
+// Hasil satu pemanggilan operasi: sukses atau alasan penolakannya
+public enum HasilOperasi {
+    SUKSES,
+    KODE_TIDAK_VALID,
+    JUMLAH_TIDAK_VALID,
+    PRODUK_TIDAK_VALID,
+    PRODUK_TIDAK_DITEMUKAN,
+    PRODUK_SUDAH_ADA,
+    PRODUK_TIDAK_AKTIF,
+    STOK_TIDAK_CUKUP,
+    // Produk tidak bisa dihapus karena stoknya belum habis
+    STOK_MASIH_ADA,
+    // Lolos validasi service tetapi repository mengembalikan false (mis. kalah balapan)
+    DITOLAK_REPOSITORY,
+    // Operasi melempar exception
+    GALAT
+}
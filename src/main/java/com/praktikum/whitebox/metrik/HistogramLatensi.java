@@ -0,0 +1,49 @@
+package com.praktikum.whitebox.metrik;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogram latensi log-linear (gaya HDR) dalam nanodetik: 64 sub-bucket per pangkat dua,
+// galat relatif persentil < 1.6% di seluruh rentang long. Pencatatan lock-free: satu
+// increment atomik pada bucket, satu LongAdder untuk total, dan CAS maksimum hanya bila
+// nilai baru memang lebih besar. Snapshot menyalin bucket tanpa menghentikan pencatat.
+public final class HistogramLatensi {
+    private static final int BIT_SUB = 7;
+    private static final int SETENGAH_SUB = 1 << (BIT_SUB - 1);
+    static final int JUMLAH_BUCKET = (64 - BIT_SUB + 2) * SETENGAH_SUB;
+
+    private final AtomicLongArray hitungan = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder totalNanodetik = new LongAdder();
+    private final AtomicLong maksimum = new AtomicLong();
+
+    public void catat(long nanodetik) {
+        long nilai = Math.max(0, nanodetik);
+        hitungan.incrementAndGet(indeks(nilai));
+        totalNanodetik.add(nilai);
+        long maks = maksimum.get();
+        while (nilai > maks && !maksimum.compareAndSet(maks, nilai)) {
+            maks = maksimum.get();
+        }
+    }
+
+    public SnapshotHistogram snapshot() {
+        long[] salinan = new long[JUMLAH_BUCKET];
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            salinan[i] = hitungan.get(i);
+        }
+        return new SnapshotHistogram(salinan, totalNanodetik.sum(), maksimum.get());
+    }
+
+    static int indeks(long nilai) {
+        int eksponen = Math.max(0, 64 - Long.numberOfLeadingZeros(nilai) - BIT_SUB);
+        return eksponen * SETENGAH_SUB + (int) (nilai >>> eksponen);
+    }
+
+    // Nilai tengah rentang bucket, dipakai sebagai representasi nilai persentil
+    static long tengahBucket(int indeks) {
+        int eksponen = Math.max(0, indeks / SETENGAH_SUB - 1);
+        long bawah = (long) (indeks - eksponen * SETENGAH_SUB) << eksponen;
+        return bawah + ((1L << eksponen) >>> 1);
+    }
+}
@@ -0,0 +1,43 @@
+package com.praktikum.whitebox.metrik;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histogram latensi dan penghitung hasil untuk satu operasi. Pemanggil di jalur panas
+// menyimpan referensi ini sekali lalu cukup memanggil catat.
+public final class MetrikOperasi {
+    private static final HasilOperasi[] SEMUA_HASIL = HasilOperasi.values();
+
+    private final String nama;
+    private final HistogramLatensi latensi = new HistogramLatensi();
+    private final AtomicLongArray hitunganHasil = new AtomicLongArray(SEMUA_HASIL.length);
+
+    MetrikOperasi(String nama) {
+        this.nama = nama;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public void catat(HasilOperasi hasil, long durasiNanodetik) {
+        hitunganHasil.incrementAndGet(hasil.ordinal());
+        latensi.catat(durasiNanodetik);
+    }
+
+    public long jumlah(HasilOperasi hasil) {
+        return hitunganHasil.get(hasil.ordinal());
+    }
+
+    public SnapshotOperasi snapshot() {
+        Map<HasilOperasi, Long> hasil = new EnumMap<>(HasilOperasi.class);
+        for (HasilOperasi h : SEMUA_HASIL) {
+            long n = hitunganHasil.get(h.ordinal());
+            if (n > 0) {
+                hasil.put(h, n);
+            }
+        }
+        return new SnapshotOperasi(nama, hasil, latensi.snapshot());
+    }
+}
@@ -0,0 +1,8 @@
+package com.praktikum.whitebox.metrik;
+
+// Tujuan snapshot metrik (log, endpoint scrape, sistem monitoring, dsb.). Dipanggil dari
+// thread yang memanggil RegistriMetrik.terbitkan, jadi implementasi sebaiknya tidak lama memblok.
+@FunctionalInterface
+public interface PenerbitMetrik {
+    void terbitkan(SnapshotMetrik snapshot);
+}
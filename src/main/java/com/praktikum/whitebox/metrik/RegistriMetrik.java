@@ -0,0 +1,47 @@
+package com.praktikum.whitebox.metrik;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Kumpulan MetrikOperasi berdasarkan nama, mis. "ServiceInventaris.keluarStok".
+// Metrik dibuat saat pertama diminta dan tidak pernah dihapus.
+public final class RegistriMetrik {
+    private final ConcurrentHashMap<String, MetrikOperasi> operasi = new ConcurrentHashMap<>();
+    private final List<PenerbitMetrik> penerbit = new CopyOnWriteArrayList<>();
+
+    public MetrikOperasi operasi(String nama) {
+        if (nama == null || nama.isBlank()) {
+            throw new IllegalArgumentException("Nama operasi tidak boleh kosong");
+        }
+        return operasi.computeIfAbsent(nama, MetrikOperasi::new);
+    }
+
+    public void tambahPenerbit(PenerbitMetrik tujuan) {
+        if (tujuan == null) {
+            throw new IllegalArgumentException("Penerbit metrik tidak boleh null");
+        }
+        penerbit.add(tujuan);
+    }
+
+    public boolean hapusPenerbit(PenerbitMetrik tujuan) {
+        return penerbit.remove(tujuan);
+    }
+
+    public SnapshotMetrik snapshot() {
+        Map<String, SnapshotOperasi> hasil = new HashMap<>();
+        operasi.forEach((nama, metrik) -> hasil.put(nama, metrik.snapshot()));
+        return new SnapshotMetrik(System.currentTimeMillis(), hasil);
+    }
+
+    // Ambil satu snapshot dan kirim ke semua penerbit terdaftar, mis. dari scheduler berkala
+    public SnapshotMetrik terbitkan() {
+        SnapshotMetrik snapshot = snapshot();
+        for (PenerbitMetrik tujuan : penerbit) {
+            tujuan.terbitkan(snapshot);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,70 @@
+package com.praktikum.whitebox.metrik;
+
+// Salinan immutable HistogramLatensi pada satu titik waktu
+public final class SnapshotHistogram {
+    private final long[] hitungan;
+    private final long jumlah;
+    private final long totalNanodetik;
+    private final long maksimum;
+
+    SnapshotHistogram(long[] hitungan, long totalNanodetik, long maksimum) {
+        this.hitungan = hitungan;
+        long n = 0;
+        for (long h : hitungan) {
+            n += h;
+        }
+        this.jumlah = n;
+        this.totalNanodetik = totalNanodetik;
+        this.maksimum = maksimum;
+    }
+
+    public long getJumlah() {
+        return jumlah;
+    }
+
+    public long getMaksimum() {
+        return maksimum;
+    }
+
+    public double getRataRata() {
+        return jumlah == 0 ? 0.0 : (double) totalNanodetik / jumlah;
+    }
+
+    // Gabungan dua snapshot, mis. histogram per thread yang dijumlahkan di akhir pengukuran
+    public SnapshotHistogram gabung(SnapshotHistogram lain) {
+        long[] jumlahBucket = hitungan.clone();
+        for (int i = 0; i < jumlahBucket.length; i++) {
+            jumlahBucket[i] += lain.hitungan[i];
+        }
+        return new SnapshotHistogram(jumlahBucket, totalNanodetik + lain.totalNanodetik,
+                Math.max(maksimum, lain.maksimum));
+    }
+
+    // Persentil p (0..100) dalam nanodetik; 0 jika belum ada data
+    public long persentil(double p) {
+        if (p < 0 || p > 100) {
+            throw new IllegalArgumentException("Persentil harus di antara 0 dan 100");
+        }
+        if (jumlah == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(jumlah * p / 100.0));
+        long kumulatif = 0;
+        for (int i = 0; i < hitungan.length; i++) {
+            kumulatif += hitungan[i];
+            if (kumulatif >= target) {
+                return Math.min(HistogramLatensi.tengahBucket(i), maksimum);
+            }
+        }
+        return maksimum;
+    }
+
+    @Override
+    public String toString() {
+        return "SnapshotHistogram{jumlah=" + jumlah +
+                ", p50=" + persentil(50) +
+                ", p99=" + persentil(99) +
+                ", p999=" + persentil(99.9) +
+                ", maks=" + maksimum + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.praktikum.whitebox.metrik;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Snapshot seluruh operasi dalam satu registri, urut berdasarkan nama operasi
+public final class SnapshotMetrik {
+    private final long waktuMilidetik;
+    private final Map<String, SnapshotOperasi> operasi;
+
+    SnapshotMetrik(long waktuMilidetik, Map<String, SnapshotOperasi> operasi) {
+        this.waktuMilidetik = waktuMilidetik;
+        this.operasi = Collections.unmodifiableMap(new TreeMap<>(operasi));
+    }
+
+    public long getWaktuMilidetik() {
+        return waktuMilidetik;
+    }
+
+    public Map<String, SnapshotOperasi> getOperasi() {
+        return operasi;
+    }
+
+    // null jika operasi belum pernah tercatat di registri
+    public SnapshotOperasi operasi(String nama) {
+        return operasi.get(nama);
+    }
+}
@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.metrik;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Salinan immutable MetrikOperasi: jumlah per hasil dan histogram latensinya
+public final class SnapshotOperasi {
+    private final String nama;
+    private final Map<HasilOperasi, Long> hasil;
+    private final SnapshotHistogram latensi;
+
+    SnapshotOperasi(String nama, Map<HasilOperasi, Long> hasil, SnapshotHistogram latensi) {
+        this.nama = nama;
+        this.hasil = hasil.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new EnumMap<>(hasil));
+        this.latensi = latensi;
+    }
+
+    public String getNama() {
+        return nama;
+    }
+
+    public long jumlah(HasilOperasi h) {
+        return hasil.getOrDefault(h, 0L);
+    }
+
+    // Hanya hasil yang pernah terjadi
+    public Map<HasilOperasi, Long> getHasil() {
+        return hasil;
+    }
+
+    public SnapshotHistogram getLatensi() {
+        return latensi;
+    }
+
+    @Override
+    public String toString() {
+        return nama + " " + hasil + " " + latensi;
+    }
+}
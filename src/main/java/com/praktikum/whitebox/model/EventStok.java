@@ -0,0 +1,61 @@
+package com.praktikum.whitebox.model;
+
+import java.util.Objects;
+
+// Satu event di buku besar stok: perubahan stok suatu kode beserta alasannya (jenis).
+// Stok sebuah kode pada suatu waktu adalah jumlah selisih semua event-nya sampai waktu itu.
+public class EventStok {
+    // Urutan konstanta adalah bagian dari format berkas buku besar: tambahkan hanya di akhir
+    public enum Jenis {
+        SALDO_AWAL, SIMPAN, MASUK, KELUAR, PENYESUAIAN, HAPUS
+    }
+
+    private final long urutan;
+    private final long waktuMilis;
+    private final String kode;
+    private final Jenis jenis;
+    private final int selisih;
+
+    public EventStok(long urutan, long waktuMilis, String kode, Jenis jenis, int selisih) {
+        this.urutan = urutan;
+        this.waktuMilis = waktuMilis;
+        this.kode = kode;
+        this.jenis = jenis;
+        this.selisih = selisih;
+    }
+
+    public long getUrutan() { return urutan; }
+
+    public long getWaktuMilis() { return waktuMilis; }
+
+    public String getKode() { return kode; }
+
+    public Jenis getJenis() { return jenis; }
+
+    public int getSelisih() { return selisih; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventStok that = (EventStok) o;
+        return urutan == that.urutan && waktuMilis == that.waktuMilis && selisih == that.selisih
+                && Objects.equals(kode, that.kode) && jenis == that.jenis;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(urutan, waktuMilis, kode, jenis, selisih);
+    }
+
+    @Override
+    public String toString() {
+        return "EventStok{" +
+                "urutan=" + urutan +
+                ", waktuMilis=" + waktuMilis +
+                ", kode='" + kode + '\'' +
+                ", jenis=" + jenis +
+                ", selisih=" + selisih +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.model;
+
+import java.util.Objects;
+
+// Satu baris perubahan stok dalam operasi batch: kode produk dan jumlahnya.
+// Arti jumlah bergantung pada operasinya (stok baru, jumlah masuk, atau jumlah keluar).
+public class MutasiStok {
+    private final String kode;
+    private final int jumlah;
+
+    public MutasiStok(String kode, int jumlah) {
+        this.kode = kode;
+        this.jumlah = jumlah;
+    }
+
+    public String getKode() { return kode; }
+
+    public int getJumlah() { return jumlah; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MutasiStok that = (MutasiStok) o;
+        return jumlah == that.jumlah && Objects.equals(kode, that.kode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kode, jumlah);
+    }
+
+    @Override
+    public String toString() {
+        return "MutasiStok{" +
+                "kode='" + kode + '\'' +
+                ", jumlah=" + jumlah +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.model;
+
+import java.util.Objects;
+
+// Satu perubahan stok yang diterbitkan repository. Status lama null berarti produk baru disimpan,
+// status baru null berarti produk dihapus.
+public class PerubahanStok {
+    private final String kode;
+    private final String kategori;
+    private final int stokLama;
+    private final int stokBaru;
+    private final StatusStok statusLama;
+    private final StatusStok statusBaru;
+
+    public PerubahanStok(String kode, String kategori, int stokLama, int stokBaru,
+                         StatusStok statusLama, StatusStok statusBaru) {
+        this.kode = kode;
+        this.kategori = kategori;
+        this.stokLama = stokLama;
+        this.stokBaru = stokBaru;
+        this.statusLama = statusLama;
+        this.statusBaru = statusBaru;
+    }
+
+    // lama/baru boleh null, tapi tidak keduanya
+    public static PerubahanStok dari(Produk lama, Produk baru) {
+        Produk acuan = baru != null ? baru : lama;
+        return new PerubahanStok(acuan.getKode(), acuan.getKategori(),
+                lama == null ? 0 : lama.getStok(), baru == null ? 0 : baru.getStok(),
+                lama == null ? null : StatusStok.dari(lama), baru == null ? null : StatusStok.dari(baru));
+    }
+
+    public String getKode() { return kode; }
+
+    public String getKategori() { return kategori; }
+
+    public int getStokLama() { return stokLama; }
+
+    public int getStokBaru() { return stokBaru; }
+
+    public StatusStok getStatusLama() { return statusLama; }
+
+    public StatusStok getStatusBaru() { return statusBaru; }
+
+    public int getSelisih() { return stokBaru - stokLama; }
+
+    // Produk berpindah antara aman, menipis, dan habis (termasuk saat ditambah atau dihapus)
+    public boolean isPerpindahanStatus() {
+        return statusLama != statusBaru;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PerubahanStok that = (PerubahanStok) o;
+        return stokLama == that.stokLama && stokBaru == that.stokBaru && Objects.equals(kode, that.kode)
+                && Objects.equals(kategori, that.kategori) && statusLama == that.statusLama
+                && statusBaru == that.statusBaru;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kode, kategori, stokLama, stokBaru, statusLama, statusBaru);
+    }
+
+    @Override
+    public String toString() {
+        return "PerubahanStok{" +
+                "kode='" + kode + '\'' +
+                ", stokLama=" + stokLama +
+                ", stokBaru=" + stokBaru +
+                ", statusLama=" + statusLama +
+                ", statusBaru=" + statusBaru +
+                '}';
+    }
+}
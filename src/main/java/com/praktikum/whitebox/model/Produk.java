@@ -1,5 +1,7 @@
 package com.praktikum.whitebox.model;
 
+import com.praktikum.whitebox.util.Uang;
+
 import java.util.Objects;
 
 public class Produk {
@@ -24,6 +26,16 @@ public class Produk {
         this.aktif = true;
     }
 
+    public Produk(Produk lain) {
+        this.kode = lain.kode;
+        this.nama = lain.nama;
+        this.kategori = lain.kategori;
+        this.harga = lain.harga;
+        this.stok = lain.stok;
+        this.stokMinimum = lain.stokMinimum;
+        this.aktif = lain.aktif;
+    }
+
     // Getters and Setters
     public String getKode() { return kode; }
     public void setKode(String kode) { this.kode = kode; }
@@ -85,6 +97,23 @@ public class Produk {
         return harga * jumlah;
     }
 
+    // Versi eksak dalam sen: harga dibulatkan ke sen terdekat lalu dikalikan tanpa pembulatan lagi
+    public long getHargaSen() {
+        return Uang.keSen(harga);
+    }
+
+    public long hitungTotalHargaSen(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return Uang.kali(getHargaSen(), jumlah);
+    }
+
+    // Nilai stok saat ini dalam sen (boleh 0 jika stok habis)
+    public long hitungTotalHargaSen() {
+        return Uang.kali(getHargaSen(), stok);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -95,7 +124,7 @@ public class Produk {
 
     @Override
     public int hashCode() {
-        return Objects.hash(kode);
+        return Objects.hashCode(kode);
     }
 
     @Override
@@ -0,0 +1,13 @@
+package com.praktikum.whitebox.model;
+
+// Status stok produk sesuai Produk.isStokAman, isStokMenipis, dan isStokHabis
+public enum StatusStok {
+    AMAN, MENIPIS, HABIS;
+
+    public static StatusStok dari(Produk produk) {
+        if (produk.isStokHabis()) {
+            return HABIS;
+        }
+        return produk.isStokMenipis() ? MENIPIS : AMAN;
+    }
+}
@@ -0,0 +1,32 @@
+package com.praktikum.whitebox.model;
+
+// Tipe pelanggan beserta tambahan diskonnya. UMUM dipakai untuk tipe yang tidak dikenal atau null.
+public enum TipePelanggan {
+    PREMIUM(0.10),
+    REGULER(0.05),
+    BARU(0.02),
+    UMUM(0.0);
+
+    private final double tambahanDiskon;
+
+    TipePelanggan(double tambahanDiskon) {
+        this.tambahanDiskon = tambahanDiskon;
+    }
+
+    public double getTambahanDiskon() { return tambahanDiskon; }
+
+    // Tidak peka huruf besar/kecil, sama seperti perbandingan equalsIgnoreCase sebelumnya
+    public static TipePelanggan dari(String tipePelanggan) {
+        if (tipePelanggan == null) {
+            return UMUM;
+        }
+        if (PREMIUM.name().equalsIgnoreCase(tipePelanggan)) {
+            return PREMIUM;
+        } else if (REGULER.name().equalsIgnoreCase(tipePelanggan)) {
+            return REGULER;
+        } else if (BARU.name().equalsIgnoreCase(tipePelanggan)) {
+            return BARU;
+        }
+        return UMUM;
+    }
+}
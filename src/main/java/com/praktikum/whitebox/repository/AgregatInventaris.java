@@ -0,0 +1,100 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Total inventaris yang dipelihara secara inkremental: setiap perubahan produk dicatat
+// sebagai selisih (baru - lama). Nilai disimpan dalam sen (fixed-point long) sehingga
+// penjumlahan selalu eksak dan tidak bergeser walau repository hidup berbulan-bulan.
+// Hanya produk aktif yang dihitung, sama seperti ServiceInventaris.
+//
+// Repository wajib menolak produk yang gagal bisaDicatat sebelum mengubah apa pun, sehingga
+// catat tidak pernah gagal setelah produknya telanjur tersimpan.
+class AgregatInventaris {
+    private final LongAdder totalNilaiSen = new LongAdder();
+    private final LongAdder totalStok = new LongAdder();
+    // Subtotal tidak pernah diubah di tempat, selalu diganti lewat compute sehingga pembaca melihat
+    // nilai dan stok yang konsisten; entri dihapus begitu kategori tidak lagi punya produk aktif
+    private final ConcurrentHashMap<String, Subtotal> perKategori = new ConcurrentHashMap<>();
+
+    // Stok terbesar yang nilainya dalam sen masih muat di long; -1 jika harganya sendiri tidak
+    // bisa dikonversi ke sen
+    static int stokMaksimal(Produk produk) {
+        return stokMaksimal(produk.getHarga());
+    }
+
+    static int stokMaksimal(double harga) {
+        long hargaSen;
+        try {
+            hargaSen = Uang.keSen(harga);
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+        long mutlak = Math.abs(hargaSen);
+        return mutlak == 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, Long.MAX_VALUE / mutlak);
+    }
+
+    static boolean bisaDicatat(Produk produk) {
+        return Math.abs((long) produk.getStok()) <= stokMaksimal(produk);
+    }
+
+    // Dipanggil di bawah kunci milik kode produk; lama/baru boleh null (produk baru/terhapus)
+    void catat(Produk lama, Produk baru) {
+        if (lama != null && lama.isAktif()) {
+            ubah(lama.getKategori(), -lama.hitungTotalHargaSen(), -lama.getStok(), -1);
+        }
+        if (baru != null && baru.isAktif()) {
+            ubah(baru.getKategori(), baru.hitungTotalHargaSen(), baru.getStok(), 1);
+        }
+    }
+
+    long totalNilaiSen() {
+        return totalNilaiSen.sum();
+    }
+
+    long totalStok() {
+        return totalStok.sum();
+    }
+
+    long totalNilaiSen(String kategori) {
+        Subtotal subtotal = kategori == null ? null : perKategori.get(kategori);
+        return subtotal == null ? 0 : subtotal.nilaiSen;
+    }
+
+    long totalStok(String kategori) {
+        Subtotal subtotal = kategori == null ? null : perKategori.get(kategori);
+        return subtotal == null ? 0 : subtotal.stok;
+    }
+
+    int jumlahKategori() {
+        return perKategori.size();
+    }
+
+    private void ubah(String kategori, long nilaiSen, long stok, int jumlahProduk) {
+        totalNilaiSen.add(nilaiSen);
+        totalStok.add(stok);
+        if (kategori != null) {
+            perKategori.compute(kategori, (k, lama) -> {
+                Subtotal baru = lama == null
+                        ? new Subtotal(nilaiSen, stok, jumlahProduk)
+                        : new Subtotal(lama.nilaiSen + nilaiSen, lama.stok + stok, lama.jumlahProduk + jumlahProduk);
+                return baru.jumlahProduk == 0 ? null : baru;
+            });
+        }
+    }
+
+    private static final class Subtotal {
+        private final long nilaiSen;
+        private final long stok;
+        private final int jumlahProduk;
+
+        private Subtotal(long nilaiSen, long stok, int jumlahProduk) {
+            this.nilaiSen = nilaiSen;
+            this.stok = stok;
+            this.jumlahProduk = jumlahProduk;
+        }
+    }
+}
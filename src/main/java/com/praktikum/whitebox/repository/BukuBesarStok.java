@@ -0,0 +1,666 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.EventStok;
+import com.praktikum.whitebox.util.KodeCodec;
+import com.praktikum.whitebox.util.LongObjectMap;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Buku besar stok append-only (event sourcing). Setiap perubahan stok dicatat sebagai event biner
+// berukuran tetap; stok saat ini dipelihara di memori dari event tersebut, dan stok pada waktu
+// lampau dihitung ulang dari berkas.
+//
+// Event ditulis ke segmen "segmen-<nomor>.bin" berisi paling banyak eventPerSegmen event. Setiap
+// kali segmen penuh, segmen baru dibuka dan thread latar memadatkan segmen lama menjadi
+// "checkpoint-<nomor>.bin": saldo semua kode sampai akhir segmen itu, terurut per kode. Query
+// titik waktu mulai dari checkpoint terakhir sebelum waktu tersebut dan hanya memutar ulang segmen
+// sesudahnya, sehingga biayanya tidak tumbuh dengan panjang riwayat. Segmen tidak pernah dihapus
+// agar riwayat lengkap tetap bisa diaudit.
+//
+// Format segmen: header [magic:int][nomor:int], lalu event [waktuMilis:long][kode:long][selisih:int][jenis:int].
+// Format checkpoint: header [magic:int][jumlah:int][waktuAkhir:long], lalu entri [kode:long][stok:int].
+// Kode disimpan sebagai hasil KodeCodec.encode. Waktu event tidak pernah mundur walau jam mundur,
+// sehingga event di setiap segmen terurut waktu dan bisa dicari biner.
+public class BukuBesarStok implements Closeable {
+    private static final int MAGIC_SEGMEN = 0x42425331;
+    private static final int MAGIC_CHECKPOINT = 0x42424331;
+    static final int UKURAN_HEADER_SEGMEN = Integer.BYTES * 2;
+    static final int UKURAN_EVENT = Long.BYTES * 2 + Integer.BYTES * 2;
+    private static final int UKURAN_HEADER_CHECKPOINT = Integer.BYTES * 2 + Long.BYTES;
+    private static final int UKURAN_ENTRI_CHECKPOINT = Long.BYTES + Integer.BYTES;
+    private static final int EVENT_PER_BACA = 2048;
+    private static final int EVENT_PER_SEGMEN_BAWAAN = 1 << 20;
+    private static final EventStok.Jenis[] JENIS = EventStok.Jenis.values();
+
+    private final Path direktori;
+    private final int eventPerSegmen;
+    private final LongSupplier jamMilis;
+    private final ExecutorService pelaksanaLatar;
+
+    // Field di bawah hanya diakses dengan kunci dipegang
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final List<Segmen> daftarSegmen = new ArrayList<>();
+    // Nilai {kode, stok} agar isi map bisa diiterasi lengkap dengan kodenya
+    private final LongObjectMap<long[]> stok = new LongObjectMap<>();
+    private final ByteBuffer tertunda = ByteBuffer.allocate(UKURAN_EVENT * EVENT_PER_BACA);
+    private FileChannel channelAktif;
+    private long waktuTerakhir = Long.MIN_VALUE;
+    private boolean ditutup;
+
+    public BukuBesarStok(Path direktori) throws IOException {
+        this(direktori, EVENT_PER_SEGMEN_BAWAAN, System::currentTimeMillis);
+    }
+
+    // Jam bisa diganti, misalnya jam palsu untuk pengujian
+    public BukuBesarStok(Path direktori, int eventPerSegmen, LongSupplier jamMilis) throws IOException {
+        if (eventPerSegmen <= 0) {
+            throw new IllegalArgumentException("Jumlah event per segmen harus positif");
+        }
+        if (jamMilis == null) {
+            throw new IllegalArgumentException("Jam tidak boleh null");
+        }
+        Files.createDirectories(direktori);
+        this.direktori = direktori;
+        this.eventPerSegmen = eventPerSegmen;
+        this.jamMilis = jamMilis;
+        muat();
+        this.pelaksanaLatar = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "latar-buku-besar-stok");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Segmen tertutup yang belum sempat dipadatkan sebelum proses berhenti
+        for (int i = 0; i < daftarSegmen.size() - 1; i++) {
+            if (!daftarSegmen.get(i).adaCheckpoint) {
+                jadwalkanPemadatan(daftarSegmen.get(i).nomor);
+            }
+        }
+    }
+
+    // Catat satu perubahan stok. Event ditampung di buffer dan ditulis ke berkas saat buffer penuh,
+    // saat segmen berganti, atau saat flush()/close(). Kode yang tidak bisa di-encode KodeCodec
+    // tidak dicatat dan menghasilkan false.
+    public boolean catat(String kode, EventStok.Jenis jenis, int selisih) {
+        if (jenis == null) {
+            throw new IllegalArgumentException("Jenis event tidak boleh null");
+        }
+        long kunciKode = KodeCodec.encode(kode);
+        if (kunciKode == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        kunci.lock();
+        try {
+            if (ditutup) {
+                throw new IllegalStateException("Buku besar stok sudah ditutup");
+            }
+            Segmen segmen = segmenAktif();
+            if (segmen.jumlah >= eventPerSegmen) {
+                segmen = gulirSegmen();
+            }
+            long waktu = Math.max(jamMilis.getAsLong(), waktuTerakhir);
+            waktuTerakhir = waktu;
+            if (!tertunda.hasRemaining()) {
+                tulisTertunda();
+            }
+            tertunda.putLong(waktu).putLong(kunciKode).putInt(selisih).putInt(jenis.ordinal());
+            if (segmen.jumlah == 0) {
+                segmen.waktuAwal = waktu;
+            }
+            segmen.waktuAkhir = waktu;
+            segmen.jumlah++;
+            terapkan(stok, kunciKode, selisih);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis buku besar stok", e);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int stokSaatIni(String kode) {
+        long kunciKode = KodeCodec.encode(kode);
+        kunci.lock();
+        try {
+            long[] saldo = kunciKode == KodeCodec.TIDAK_VALID ? null : stok.get(kunciKode);
+            return saldo == null ? 0 : (int) saldo[1];
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Kode yang saldonya saat ini tidak nol, dalam bentuk hasil KodeCodec.decode
+    public List<String> kodeBersaldo() {
+        List<String> hasil = new ArrayList<>();
+        kunci.lock();
+        try {
+            stok.forEachValue(saldo -> {
+                if (saldo[1] != 0) {
+                    hasil.add(KodeCodec.decode(saldo[0]));
+                }
+            });
+            return hasil;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Stok kode setelah semua event dengan waktu <= waktuMilis
+    public int stokPada(String kode, long waktuMilis) {
+        long kunciKode = KodeCodec.encode(kode);
+        if (kunciKode == KodeCodec.TIDAK_VALID) {
+            return 0;
+        }
+        List<Segmen> segmen = potret();
+        long total = 0;
+        int mulai = 0;
+        for (int i = segmen.size() - 1; i >= 0; i--) {
+            Segmen s = segmen.get(i);
+            if (s.adaCheckpoint && s.waktuAkhir <= waktuMilis) {
+                total = bacaCheckpoint(s.nomor, kunciKode);
+                mulai = i + 1;
+                break;
+            }
+        }
+        long[] akumulasi = {total};
+        for (int i = mulai; i < segmen.size(); i++) {
+            Segmen s = segmen.get(i);
+            if (s.jumlah == 0 || s.waktuAwal > waktuMilis) {
+                break;
+            }
+            pindai(s, 0, waktuMilis, (urutan, waktu, kodeEvent, selisih, jenis) -> {
+                if (kodeEvent == kunciKode) {
+                    akumulasi[0] += selisih;
+                }
+            });
+        }
+        return (int) akumulasi[0];
+    }
+
+    // Semua event kode ini dengan waktu di antara dariMilis dan sampaiMilis (inklusif), terurut
+    public List<EventStok> riwayat(String kode, long dariMilis, long sampaiMilis) {
+        List<EventStok> hasil = new ArrayList<>();
+        long kunciKode = KodeCodec.encode(kode);
+        if (kunciKode == KodeCodec.TIDAK_VALID || dariMilis > sampaiMilis) {
+            return hasil;
+        }
+        for (Segmen s : potret()) {
+            if (s.jumlah == 0 || s.waktuAkhir < dariMilis) {
+                continue;
+            }
+            if (s.waktuAwal > sampaiMilis) {
+                break;
+            }
+            pindai(s, indeksPertama(s, dariMilis), sampaiMilis, (urutan, waktu, kodeEvent, selisih, jenis) -> {
+                if (kodeEvent == kunciKode) {
+                    hasil.add(new EventStok(urutan, waktu, kode, JENIS[jenis], selisih));
+                }
+            });
+        }
+        return hasil;
+    }
+
+    public long jumlahEvent() {
+        kunci.lock();
+        try {
+            Segmen aktif = segmenAktif();
+            return aktif.urutanAwal + aktif.jumlah;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int jumlahSegmen() {
+        kunci.lock();
+        try {
+            return daftarSegmen.size();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int jumlahCheckpoint() {
+        kunci.lock();
+        try {
+            int jumlah = 0;
+            for (Segmen s : daftarSegmen) {
+                if (s.adaCheckpoint) {
+                    jumlah++;
+                }
+            }
+            return jumlah;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Tulis event yang masih di buffer lalu fsync
+    public void flush() throws IOException {
+        kunci.lock();
+        try {
+            if (!ditutup) {
+                tulisTertunda();
+                channelAktif.force(false);
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunci.lock();
+        try {
+            if (ditutup) {
+                return;
+            }
+            ditutup = true;
+            tulisTertunda();
+            channelAktif.force(false);
+            channelAktif.close();
+        } finally {
+            kunci.unlock();
+        }
+        pelaksanaLatar.shutdown();
+        try {
+            pelaksanaLatar.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Tunggu semua pemadatan yang sudah dijadwalkan selesai
+    void tungguPemadatan() throws InterruptedException {
+        try {
+            pelaksanaLatar.submit(() -> { }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Bangun ulang daftar segmen dan stok saat ini dari checkpoint terakhir ditambah segmen sesudahnya
+    private void muat() throws IOException {
+        List<Path> berkas = new ArrayList<>();
+        try (DirectoryStream<Path> isi = Files.newDirectoryStream(direktori, "segmen-*.bin")) {
+            isi.forEach(berkas::add);
+        }
+        berkas.sort(Comparator.comparingInt(BukuBesarStok::nomorDari));
+        long urutan = 0;
+        for (int i = 0; i < berkas.size(); i++) {
+            Segmen segmen = bacaSegmen(berkas.get(i), urutan, i == berkas.size() - 1);
+            if (segmen != null) {
+                daftarSegmen.add(segmen);
+                urutan += segmen.jumlah;
+            }
+        }
+        if (daftarSegmen.isEmpty()) {
+            daftarSegmen.add(buatSegmen(0, 0));
+        }
+        int mulai = 0;
+        for (int i = daftarSegmen.size() - 2; i >= 0; i--) {
+            if (daftarSegmen.get(i).adaCheckpoint) {
+                muatCheckpoint(daftarSegmen.get(i).nomor, stok);
+                mulai = i + 1;
+                break;
+            }
+        }
+        for (int i = mulai; i < daftarSegmen.size(); i++) {
+            pindai(daftarSegmen.get(i), 0, Long.MAX_VALUE,
+                    (u, waktu, kodeEvent, selisih, jenis) -> terapkan(stok, kodeEvent, selisih));
+        }
+        for (Segmen s : daftarSegmen) {
+            if (s.jumlah > 0) {
+                waktuTerakhir = Math.max(waktuTerakhir, s.waktuAkhir);
+            }
+        }
+        Segmen aktif = segmenAktif();
+        channelAktif = FileChannel.open(aktif.path, StandardOpenOption.WRITE);
+        channelAktif.position(posisi(aktif.jumlah));
+    }
+
+    // Null untuk berkas segmen terakhir yang header-nya belum sempat tertulis; event terakhir yang
+    // terpotong (crash di tengah tulis) dibuang
+    private Segmen bacaSegmen(Path path, long urutanAwal, boolean terakhir) throws IOException {
+        int nomor = nomorDari(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < UKURAN_HEADER_SEGMEN && terakhir) {
+                Files.delete(path);
+                return null;
+            }
+            ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER_SEGMEN);
+            bacaPenuh(channel, header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC_SEGMEN || header.getInt() != nomor) {
+                throw new IOException("Segmen buku besar rusak: " + path);
+            }
+            long isi = channel.size() - UKURAN_HEADER_SEGMEN;
+            if (isi % UKURAN_EVENT != 0) {
+                channel.truncate(posisi((int) (isi / UKURAN_EVENT)));
+                channel.force(true);
+            }
+            Segmen segmen = new Segmen(nomor, path, urutanAwal);
+            segmen.jumlah = (int) (isi / UKURAN_EVENT);
+            if (segmen.jumlah > 0) {
+                segmen.waktuAwal = bacaWaktu(channel, 0);
+                segmen.waktuAkhir = bacaWaktu(channel, segmen.jumlah - 1);
+            }
+            segmen.adaCheckpoint = Files.exists(pathCheckpoint(nomor));
+            return segmen;
+        }
+    }
+
+    private Segmen buatSegmen(int nomor, long urutanAwal) throws IOException {
+        Path path = direktori.resolve("segmen-" + nomor + ".bin");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER_SEGMEN);
+            header.putInt(MAGIC_SEGMEN).putInt(nomor).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            channel.force(true);
+        }
+        return new Segmen(nomor, path, urutanAwal);
+    }
+
+    // Dipanggil dengan kunci dipegang
+    private Segmen gulirSegmen() throws IOException {
+        Segmen lama = segmenAktif();
+        tulisTertunda();
+        channelAktif.force(false);
+        channelAktif.close();
+        Segmen baru = buatSegmen(lama.nomor + 1, lama.urutanAwal + lama.jumlah);
+        daftarSegmen.add(baru);
+        channelAktif = FileChannel.open(baru.path, StandardOpenOption.WRITE);
+        channelAktif.position(UKURAN_HEADER_SEGMEN);
+        jadwalkanPemadatan(lama.nomor);
+        return baru;
+    }
+
+    private void jadwalkanPemadatan(int nomor) {
+        pelaksanaLatar.execute(() -> {
+            try {
+                padatkan(nomor);
+            } catch (IOException | UncheckedIOException e) {
+                // Checkpoint gagal tidak menghilangkan data karena segmen tetap utuh; dicoba lagi saat dibuka ulang
+            }
+        });
+    }
+
+    // Saldo sampai akhir segmen nomor = checkpoint terakhir sebelumnya + event segmen di antaranya
+    private void padatkan(int nomor) throws IOException {
+        List<Segmen> segmen = potret();
+        int target = -1;
+        for (int i = 0; i < segmen.size(); i++) {
+            if (segmen.get(i).nomor == nomor) {
+                target = i;
+            }
+        }
+        if (target < 0 || segmen.get(target).adaCheckpoint) {
+            return;
+        }
+        LongObjectMap<long[]> saldo = new LongObjectMap<>();
+        int mulai = 0;
+        for (int i = target - 1; i >= 0; i--) {
+            if (segmen.get(i).adaCheckpoint) {
+                muatCheckpoint(segmen.get(i).nomor, saldo);
+                mulai = i + 1;
+                break;
+            }
+        }
+        for (int i = mulai; i <= target; i++) {
+            pindai(segmen.get(i), 0, Long.MAX_VALUE,
+                    (u, waktu, kodeEvent, selisih, jenis) -> terapkan(saldo, kodeEvent, selisih));
+        }
+        tulisCheckpoint(nomor, segmen.get(target).waktuAkhir, saldo);
+        kunci.lock();
+        try {
+            for (Segmen s : daftarSegmen) {
+                if (s.nomor == nomor) {
+                    s.adaCheckpoint = true;
+                }
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void tulisCheckpoint(int nomor, long waktuAkhir, LongObjectMap<long[]> saldo) throws IOException {
+        List<long[]> terurut = new ArrayList<>(saldo.size());
+        // Kode bersaldo nol tidak perlu disimpan: kode yang tidak ditemukan dibaca sebagai nol
+        saldo.forEachValue(entri -> {
+            if (entri[1] != 0) {
+                terurut.add(entri);
+            }
+        });
+        terurut.sort(Comparator.comparingLong(entri -> entri[0]));
+        ByteBuffer isi = ByteBuffer.allocate(UKURAN_HEADER_CHECKPOINT
+                + Math.multiplyExact(terurut.size(), UKURAN_ENTRI_CHECKPOINT));
+        isi.putInt(MAGIC_CHECKPOINT).putInt(terurut.size()).putLong(waktuAkhir);
+        for (long[] entri : terurut) {
+            isi.putLong(entri[0]).putInt((int) entri[1]);
+        }
+        isi.flip();
+        Path path = pathCheckpoint(nomor);
+        Path sementara = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (isi.hasRemaining()) {
+                channel.write(isi);
+            }
+            channel.force(true);
+        }
+        // Checkpoint hanya terlihat setelah lengkap, sehingga berkas yang ada selalu bisa dipercaya
+        Files.move(sementara, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void muatCheckpoint(int nomor, LongObjectMap<long[]> tujuan) throws IOException {
+        ByteBuffer isi = petakanCheckpoint(nomor);
+        int jumlah = isi.getInt(Integer.BYTES);
+        for (int i = 0; i < jumlah; i++) {
+            int p = UKURAN_HEADER_CHECKPOINT + i * UKURAN_ENTRI_CHECKPOINT;
+            terapkan(tujuan, isi.getLong(p), isi.getInt(p + Long.BYTES));
+        }
+    }
+
+    // Cari biner di entri checkpoint yang terurut per kode
+    private long bacaCheckpoint(int nomor, long kunciKode) {
+        try {
+            ByteBuffer isi = petakanCheckpoint(nomor);
+            int bawah = 0;
+            int atas = isi.getInt(Integer.BYTES) - 1;
+            while (bawah <= atas) {
+                int tengah = (bawah + atas) >>> 1;
+                int p = UKURAN_HEADER_CHECKPOINT + tengah * UKURAN_ENTRI_CHECKPOINT;
+                long kode = isi.getLong(p);
+                if (kode < kunciKode) {
+                    bawah = tengah + 1;
+                } else if (kode > kunciKode) {
+                    atas = tengah - 1;
+                } else {
+                    return isi.getInt(p + Long.BYTES);
+                }
+            }
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca checkpoint buku besar stok", e);
+        }
+    }
+
+    private ByteBuffer petakanCheckpoint(int nomor) throws IOException {
+        Path path = pathCheckpoint(nomor);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer isi = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (isi.limit() < UKURAN_HEADER_CHECKPOINT || isi.getInt(0) != MAGIC_CHECKPOINT
+                    || isi.limit() != UKURAN_HEADER_CHECKPOINT + (long) isi.getInt(Integer.BYTES) * UKURAN_ENTRI_CHECKPOINT) {
+                throw new IOException("Checkpoint buku besar rusak: " + path);
+            }
+            return isi;
+        }
+    }
+
+    // Event pertama dengan waktu >= dariMilis; event di segmen terurut waktu
+    private int indeksPertama(Segmen segmen, long dariMilis) {
+        if (segmen.waktuAwal >= dariMilis) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(segmen.path, StandardOpenOption.READ)) {
+            int bawah = 0;
+            int atas = segmen.jumlah;
+            while (bawah < atas) {
+                int tengah = (bawah + atas) >>> 1;
+                if (bacaWaktu(channel, tengah) < dariMilis) {
+                    bawah = tengah + 1;
+                } else {
+                    atas = tengah;
+                }
+            }
+            return bawah;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca buku besar stok", e);
+        }
+    }
+
+    // Baca event segmen mulai indeksAwal secara berurutan sampai event pertama yang lebih baru dari sampaiMilis
+    private void pindai(Segmen segmen, int indeksAwal, long sampaiMilis, PenerimaEvent penerima) {
+        try (FileChannel channel = FileChannel.open(segmen.path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(UKURAN_EVENT * EVENT_PER_BACA);
+            int i = indeksAwal;
+            while (i < segmen.jumlah) {
+                int n = Math.min(EVENT_PER_BACA, segmen.jumlah - i);
+                buffer.clear().limit(n * UKURAN_EVENT);
+                bacaPenuh(channel, buffer, posisi(i));
+                buffer.flip();
+                for (int j = 0; j < n; j++, i++) {
+                    long waktu = buffer.getLong();
+                    long kode = buffer.getLong();
+                    int selisih = buffer.getInt();
+                    int jenis = buffer.getInt();
+                    if (waktu > sampaiMilis) {
+                        return;
+                    }
+                    penerima.terima(segmen.urutanAwal + i, waktu, kode, selisih, jenis);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal membaca buku besar stok", e);
+        }
+    }
+
+    // Salinan daftar segmen untuk dibaca tanpa kunci; buffer ditulis dulu agar semua event
+    // yang terhitung di salinan sudah ada di berkas
+    private List<Segmen> potret() {
+        kunci.lock();
+        try {
+            if (!ditutup) {
+                tulisTertunda();
+            }
+            List<Segmen> salinan = new ArrayList<>(daftarSegmen.size());
+            for (Segmen s : daftarSegmen) {
+                salinan.add(s.salin());
+            }
+            return salinan;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis buku besar stok", e);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void tulisTertunda() throws IOException {
+        tertunda.flip();
+        while (tertunda.hasRemaining()) {
+            channelAktif.write(tertunda);
+        }
+        tertunda.clear();
+    }
+
+    private Segmen segmenAktif() {
+        return daftarSegmen.get(daftarSegmen.size() - 1);
+    }
+
+    private Path pathCheckpoint(int nomor) {
+        return direktori.resolve("checkpoint-" + nomor + ".bin");
+    }
+
+    private static void terapkan(LongObjectMap<long[]> saldo, long kunciKode, long selisih) {
+        long[] entri = saldo.get(kunciKode);
+        if (entri == null) {
+            saldo.put(kunciKode, new long[]{kunciKode, selisih});
+        } else {
+            entri[1] += selisih;
+        }
+    }
+
+    private static long bacaWaktu(FileChannel channel, int indeks) throws IOException {
+        ByteBuffer waktu = ByteBuffer.allocate(Long.BYTES);
+        bacaPenuh(channel, waktu, posisi(indeks));
+        return waktu.getLong(0);
+    }
+
+    private static void bacaPenuh(FileChannel channel, ByteBuffer buffer, long posisi) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, posisi);
+            if (n < 0) {
+                throw new EOFException("Buku besar stok terpotong");
+            }
+            posisi += n;
+        }
+    }
+
+    private static long posisi(int indeksEvent) {
+        return UKURAN_HEADER_SEGMEN + (long) indeksEvent * UKURAN_EVENT;
+    }
+
+    private static int nomorDari(Path path) {
+        String nama = path.getFileName().toString();
+        return Integer.parseInt(nama.substring("segmen-".length(), nama.length() - ".bin".length()));
+    }
+
+    private interface PenerimaEvent {
+        void terima(long urutan, long waktuMilis, long kode, int selisih, int jenis);
+    }
+
+    private static final class Segmen {
+        final int nomor;
+        final Path path;
+        final long urutanAwal;
+        int jumlah;
+        long waktuAwal;
+        long waktuAkhir;
+        boolean adaCheckpoint;
+
+        Segmen(int nomor, Path path, long urutanAwal) {
+            this.nomor = nomor;
+            this.path = path;
+            this.urutanAwal = urutanAwal;
+        }
+
+        Segmen salin() {
+            Segmen salinan = new Segmen(nomor, path, urutanAwal);
+            salinan.jumlah = jumlah;
+            salinan.waktuAwal = waktuAwal;
+            salinan.waktuAkhir = waktuAkhir;
+            salinan.adaCheckpoint = adaCheckpoint;
+            return salinan;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Inverted index trigram untuk pencarian substring nama yang tidak peka huruf besar.
+// Setiap tiga karakter berurutan dari nama (dalam huruf kecil) dipetakan ke kumpulan kode.
+// Hasil kandidat adalah superset: pemanggil tetap wajib memverifikasi dengan contains().
+class IndeksTrigram {
+    static final int PANJANG_TRIGRAM = 3;
+
+    private final ConcurrentHashMap<Long, Set<String>> posting = new ConcurrentHashMap<>();
+
+    // Pemanggil menjamin tambah/hapus untuk satu kode tidak berjalan bersamaan
+    void tambah(String kode, String nama) {
+        if (nama == null) {
+            return;
+        }
+        for (long trigram : trigram(normalisasi(nama))) {
+            // Penambahan di dalam compute agar tidak berselang dengan hapus kode lain yang sedang
+            // membuang posting list yang sama karena kosong
+            posting.compute(trigram, (t, daftarKode) -> {
+                if (daftarKode == null) {
+                    daftarKode = ConcurrentHashMap.newKeySet();
+                }
+                daftarKode.add(kode);
+                return daftarKode;
+            });
+        }
+    }
+
+    void hapus(String kode, String nama) {
+        if (nama == null) {
+            return;
+        }
+        for (long trigram : trigram(normalisasi(nama))) {
+            posting.computeIfPresent(trigram, (t, daftarKode) -> {
+                daftarKode.remove(kode);
+                return daftarKode.isEmpty() ? null : daftarKode;
+            });
+        }
+    }
+
+    // Mengembalikan null jika kata kunci terlalu pendek untuk memakai indeks
+    Collection<String> kandidat(String kataKunci) {
+        String teks = normalisasi(kataKunci);
+        if (teks.length() < PANJANG_TRIGRAM) {
+            return null;
+        }
+        List<Set<String>> daftarPosting = new ArrayList<>();
+        for (long trigram : trigram(teks)) {
+            Set<String> daftarKode = posting.get(trigram);
+            if (daftarKode == null) {
+                return Collections.emptyList();
+            }
+            daftarPosting.add(daftarKode);
+        }
+        // Irisan dimulai dari posting list terkecil
+        daftarPosting.sort(Comparator.comparingInt(Set::size));
+        Set<String> terkecil = daftarPosting.get(0);
+        List<String> hasil = new ArrayList<>(terkecil.size());
+        for (String kode : terkecil) {
+            boolean adaDiSemua = true;
+            for (int i = 1; i < daftarPosting.size() && adaDiSemua; i++) {
+                adaDiSemua = daftarPosting.get(i).contains(kode);
+            }
+            if (adaDiSemua) {
+                hasil.add(kode);
+            }
+        }
+        return hasil;
+    }
+
+    int jumlahTrigram() {
+        return posting.size();
+    }
+
+    static String normalisasi(String teks) {
+        return teks.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> trigram(String teks) {
+        Set<Long> hasil = new HashSet<>();
+        for (int i = 0; i + PANJANG_TRIGRAM <= teks.length(); i++) {
+            hasil.add(((long) teks.charAt(i) << 32) | ((long) teks.charAt(i + 1) << 16) | teks.charAt(i + 2));
+        }
+        return hasil;
+    }
+}
@@ -0,0 +1,141 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Format biner satu rekaman mutasi di write-ahead log. Stok masuk/keluar dicatat sebagai
+// selisih karena log selalu diputar ulang tepat satu kali di atas snapshot generasi yang sama.
+final class RekamanLog {
+    static final byte SIMPAN = 1;
+    static final byte HAPUS = 2;
+    static final byte UPDATE_STOK = 3;
+    static final byte KURANGI_STOK = 4;
+    static final byte TAMBAH_STOK = 5;
+    static final byte UPDATE_AKTIF = 6;
+    static final byte KURANGI_STOK_SEMUA = 7;
+
+    private RekamanLog() {}
+
+    static byte[] simpan(Produk produk) {
+        return tulis(out -> {
+            out.writeByte(SIMPAN);
+            tulisProduk(out, produk);
+        });
+    }
+
+    static byte[] hapus(String kode) {
+        return tulis(out -> {
+            out.writeByte(HAPUS);
+            out.writeUTF(kode);
+        });
+    }
+
+    static byte[] stok(byte jenis, String kode, int nilai) {
+        return tulis(out -> {
+            out.writeByte(jenis);
+            out.writeUTF(kode);
+            out.writeInt(nilai);
+        });
+    }
+
+    static byte[] aktif(String kode, boolean aktif) {
+        return tulis(out -> {
+            out.writeByte(UPDATE_AKTIF);
+            out.writeUTF(kode);
+            out.writeBoolean(aktif);
+        });
+    }
+
+    // Satu rekaman untuk seluruh pesanan agar pemulihan menerapkannya semua atau tidak sama sekali
+    static byte[] kurangiSemua(List<MutasiStok> daftarMutasi) {
+        return tulis(out -> {
+            out.writeByte(KURANGI_STOK_SEMUA);
+            out.writeInt(daftarMutasi.size());
+            for (MutasiStok mutasi : daftarMutasi) {
+                out.writeUTF(mutasi.getKode());
+                out.writeInt(mutasi.getJumlah());
+            }
+        });
+    }
+
+    // Terapkan satu rekaman ke repository tujuan saat pemulihan
+    static void terapkan(DataInput in, RepositoryProduk tujuan) throws IOException {
+        byte jenis = in.readByte();
+        switch (jenis) {
+            case SIMPAN -> tujuan.simpan(bacaProduk(in));
+            case HAPUS -> tujuan.hapus(in.readUTF());
+            case UPDATE_STOK -> tujuan.updateStok(in.readUTF(), in.readInt());
+            case KURANGI_STOK -> tujuan.kurangiStok(in.readUTF(), in.readInt());
+            case TAMBAH_STOK -> tujuan.tambahStok(in.readUTF(), in.readInt());
+            case UPDATE_AKTIF -> tujuan.updateAktif(in.readUTF(), in.readBoolean());
+            case KURANGI_STOK_SEMUA -> tujuan.kurangiStokSemua(bacaDaftarMutasi(in));
+            default -> throw new IOException("Jenis rekaman log tidak dikenal: " + jenis);
+        }
+    }
+
+    static void tulisProduk(DataOutput out, Produk produk) throws IOException {
+        out.writeUTF(produk.getKode());
+        tulisTeks(out, produk.getNama());
+        tulisTeks(out, produk.getKategori());
+        out.writeDouble(produk.getHarga());
+        out.writeInt(produk.getStok());
+        out.writeInt(produk.getStokMinimum());
+        out.writeBoolean(produk.isAktif());
+    }
+
+    static Produk bacaProduk(DataInput in) throws IOException {
+        String kode = in.readUTF();
+        String nama = bacaTeks(in);
+        String kategori = bacaTeks(in);
+        Produk produk = new Produk(kode, nama, kategori, in.readDouble(), in.readInt(), in.readInt());
+        produk.setAktif(in.readBoolean());
+        return produk;
+    }
+
+    private static List<MutasiStok> bacaDaftarMutasi(DataInput in) throws IOException {
+        int jumlah = in.readInt();
+        if (jumlah < 0) {
+            throw new IOException("Jumlah baris rekaman log tidak valid: " + jumlah);
+        }
+        List<MutasiStok> daftarMutasi = new ArrayList<>(Math.min(jumlah, 1024));
+        for (int i = 0; i < jumlah; i++) {
+            daftarMutasi.add(new MutasiStok(in.readUTF(), in.readInt()));
+        }
+        return daftarMutasi;
+    }
+
+    private static void tulisTeks(DataOutput out, String teks) throws IOException {
+        out.writeBoolean(teks != null);
+        if (teks != null) {
+            out.writeUTF(teks);
+        }
+    }
+
+    private static String bacaTeks(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static byte[] tulis(Penulis penulis) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            penulis.tulis(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Penulis {
+        void tulis(DataOutputStream out) throws IOException;
+    }
+}
@@ -1,6 +1,8 @@
 package com.praktikum.whitebox.repository;
 
+import com.praktikum.whitebox.model.MutasiStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +16,162 @@ public interface RepositoryProduk {
     boolean hapus(String kode);
     boolean updateStok(String kode, int stokBaru);
     List<Produk> cariSemua();
+
+    // Operasi stok atomik. Implementasi bawaan di bawah hanya fallback baca-lalu-tulis
+    // untuk repository lama; implementasi yang mendukung konkurensi wajib meng-override.
+
+    // Ganti stok hanya jika stok saat ini masih sama dengan stokLama (compare-and-set)
+    default boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        Optional<Produk> produk = cariByKode(kode);
+        if (produk.isEmpty() || produk.get().getStok() != stokLama) {
+            return false;
+        }
+        return updateStok(kode, stokBaru);
+    }
+
+    // Kurangi stok, gagal tanpa perubahan jika stok tidak mencukupi
+    default boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        while (true) {
+            Optional<Produk> produk = cariByKode(kode);
+            if (produk.isEmpty() || produk.get().getStok() < jumlah) {
+                return false;
+            }
+            int stokLama = produk.get().getStok();
+            if (updateStokJikaSama(kode, stokLama, stokLama - jumlah)) {
+                return true;
+            }
+            if (!stokBerubah(kode, stokLama)) {
+                return false;
+            }
+        }
+    }
+
+    // Tambah stok, gagal jika hasilnya melebihi batas int
+    default boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        while (true) {
+            Optional<Produk> produk = cariByKode(kode);
+            if (produk.isEmpty() || produk.get().getStok() > Integer.MAX_VALUE - jumlah) {
+                return false;
+            }
+            int stokLama = produk.get().getStok();
+            if (updateStokJikaSama(kode, stokLama, stokLama + jumlah)) {
+                return true;
+            }
+            if (!stokBerubah(kode, stokLama)) {
+                return false;
+            }
+        }
+    }
+
+    // Ubah status aktif produk; fallback bawaan menyimpan ulang salinan produk
+    default boolean updateAktif(String kode, boolean aktif) {
+        Optional<Produk> produk = cariByKode(kode);
+        if (produk.isEmpty()) {
+            return false;
+        }
+        produk.get().setAktif(aktif);
+        return simpan(produk.get());
+    }
+
+    // Agregat produk aktif. Implementasi bawaan memuat semua produk; repository
+    // yang bisa menghitung tanpa materialisasi objek sebaiknya meng-override.
+    default double hitungTotalNilai() {
+        return cariSemua().stream()
+                .filter(Produk::isAktif)
+                .mapToDouble(p -> p.getHarga() * p.getStok())
+                .sum();
+    }
+
+    // Nilai eksak dalam sen: harga tiap produk dibulatkan ke sen lalu dikalikan stok tanpa pembulatan
+    default long hitungTotalNilaiSen() {
+        long total = 0;
+        for (Produk p : cariSemua()) {
+            if (p.isAktif()) {
+                total = Uang.tambah(total, p.hitungTotalHargaSen());
+            }
+        }
+        return total;
+    }
+
+    // Total yang melebihi int dijenuhkan ke Integer.MAX_VALUE, bukan melimpah ke nilai negatif
+    default int hitungTotalStok() {
+        long total = cariSemua().stream()
+                .filter(Produk::isAktif)
+                .mapToLong(Produk::getStok)
+                .sum();
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    // Operasi batch: hasil per item sesuai urutan masukan, item null selalu gagal.
+    // Implementasi bawaan memproses item satu per satu; repository yang bisa mengamortisasi
+    // kunci, log, atau pemeliharaan indeks untuk seluruh batch sebaiknya meng-override.
+    default boolean[] simpanBatch(List<Produk> daftarProduk) {
+        boolean[] hasil = new boolean[daftarProduk.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = simpan(daftarProduk.get(i));
+        }
+        return hasil;
+    }
+
+    // Jumlah pada setiap mutasi adalah stok baru
+    default boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        boolean[] hasil = new boolean[daftarMutasi.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            hasil[i] = mutasi != null && updateStok(mutasi.getKode(), mutasi.getJumlah());
+        }
+        return hasil;
+    }
+
+    default boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        boolean[] hasil = new boolean[daftarMutasi.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            hasil[i] = mutasi != null && kurangiStok(mutasi.getKode(), mutasi.getJumlah());
+        }
+        return hasil;
+    }
+
+    default boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        boolean[] hasil = new boolean[daftarMutasi.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            hasil[i] = mutasi != null && tambahStok(mutasi.getKode(), mutasi.getJumlah());
+        }
+        return hasil;
+    }
+
+    // Kurangi stok untuk semua mutasi atau tidak sama sekali; kode yang sama boleh muncul di beberapa
+    // mutasi. Implementasi bawaan memakai kompensasi: jika satu mutasi gagal, mutasi sebelumnya
+    // dikembalikan dengan tambahStok, sehingga pembaca lain sempat melihat pengurangan sebagian.
+    // Repository yang bisa mengunci semua kode sekaligus sebaiknya meng-override.
+    default boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        for (MutasiStok mutasi : daftarMutasi) {
+            if (mutasi == null || mutasi.getJumlah() <= 0) {
+                return false;
+            }
+        }
+        for (int i = 0; i < daftarMutasi.size(); i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            if (!kurangiStok(mutasi.getKode(), mutasi.getJumlah())) {
+                for (int j = i - 1; j >= 0; j--) {
+                    tambahStok(daftarMutasi.get(j).getKode(), daftarMutasi.get(j).getJumlah());
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // CAS yang gagal hanya diulang jika memang ada penulis lain yang mengubah stok
+    private boolean stokBerubah(String kode, int stokLama) {
+        Optional<Produk> produk = cariByKode(kode);
+        return produk.isPresent() && produk.get().getStok() != stokLama;
+    }
 }
@@ -0,0 +1,38 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Versi asinkron RepositoryProduk: setiap operasi langsung mengembalikan future dan tidak pernah
+// memblokir thread pemanggil. Semantik hasilnya sama dengan method RepositoryProduk bernama sama;
+// exception dari repository dilaporkan sebagai future yang selesai secara exceptional.
+public interface RepositoryProdukAsync {
+    CompletableFuture<Boolean> simpan(Produk produk);
+    CompletableFuture<Optional<Produk>> cariByKode(String kode);
+    CompletableFuture<List<Produk>> cariByNama(String nama);
+    CompletableFuture<List<Produk>> cariByKategori(String kategori);
+    CompletableFuture<List<Produk>> cariProdukStokMenipis();
+    CompletableFuture<List<Produk>> cariProdukStokHabis();
+    CompletableFuture<Boolean> hapus(String kode);
+    CompletableFuture<Boolean> updateStok(String kode, int stokBaru);
+    CompletableFuture<List<Produk>> cariSemua();
+
+    CompletableFuture<Boolean> updateStokJikaSama(String kode, int stokLama, int stokBaru);
+    CompletableFuture<Boolean> kurangiStok(String kode, int jumlah);
+    CompletableFuture<Boolean> tambahStok(String kode, int jumlah);
+    CompletableFuture<Boolean> updateAktif(String kode, boolean aktif);
+
+    CompletableFuture<Double> hitungTotalNilai();
+    CompletableFuture<Long> hitungTotalNilaiSen();
+    CompletableFuture<Integer> hitungTotalStok();
+
+    CompletableFuture<boolean[]> simpanBatch(List<Produk> daftarProduk);
+    CompletableFuture<boolean[]> updateStokBatch(List<MutasiStok> daftarMutasi);
+    CompletableFuture<boolean[]> kurangiStokBatch(List<MutasiStok> daftarMutasi);
+    CompletableFuture<boolean[]> tambahStokBatch(List<MutasiStok> daftarMutasi);
+    CompletableFuture<Boolean> kurangiStokSemua(List<MutasiStok> daftarMutasi);
+}
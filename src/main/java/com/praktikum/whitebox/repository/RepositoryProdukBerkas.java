@@ -0,0 +1,624 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.KodeCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+// Repository persisten berbasis berkas. Setiap mutasi yang berhasil ditambahkan ke
+// write-ahead log dan baru diterapkan ke memori serta dikembalikan ke pemanggil setelah log
+// di-fsync (group commit).
+// Saat log melewati batas ukuran, snapshot baru ditulis di latar belakang dan log dikosongkan.
+//
+// Startup tidak membangun ulang seluruh data: snapshot di-mmap (lihat SnapshotProduk), hanya
+// header-nya yang diperiksa, dan cariByKode langsung dilayani dari berkas tersebut. Checksum isi
+// snapshot (O(ukuran berkas)) diperiksa saat pemuatan penuh yang memang membaca seluruh berkas,
+// atau langsung saat buka jika verifikasiSnapshot diminta.
+// Produk baru disalin ke RepositoryProdukMemori saat pertama kali dimutasi; sisa produk beserta
+// indeks sekundernya baru dimuat saat query pindai pertama (atau lebih awal lewat siapkanIndeks()).
+public class RepositoryProdukBerkas implements RepositoryProduk, Closeable {
+    static final String NAMA_SNAPSHOT = "produk.snapshot";
+    static final String NAMA_LOG = "produk.wal";
+    private static final long BATAS_LOG_BAWAAN = 64L * 1024 * 1024;
+    private static final int JUMLAH_KUNCI = 64;
+    private static final int DITOLAK = -1;
+    private static final Produk DIHAPUS = new Produk();
+
+    private final RepositoryProdukMemori data = new RepositoryProdukMemori();
+    private final Path pathSnapshot;
+    // Diisi sekali oleh buka() sebelum repository dikembalikan ke pemanggil
+    private WriteAheadLog log;
+    private final long batasUkuranLog;
+
+    // Snapshot terpetakan yang belum seluruhnya disalin ke data; null setelah termuat penuh
+    private volatile SnapshotProduk basis;
+    // Kode di basis (hasil KodeCodec.encode) yang sudah dihapus sebelum basis termuat penuh
+    private final Set<Long> dihapusDariBasis = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock kunciPemuatan = new ReentrantLock();
+    private boolean pemulihan;
+
+    // Mutasi memegang kunci baca (bersama); snapshot memegang kunci tulis (eksklusif)
+    private final ReentrantReadWriteLock kunciSnapshot = new ReentrantReadWriteLock();
+    // Kunci per kode menjamin urutan di log sama dengan urutan penerapan di memori. Kunci,
+    // penanda hapus, dan keadaan batch memakai KodeCodec.encode seperti data, sehingga " ABC "
+    // dan "ABC" selalu diperlakukan sebagai kode yang sama.
+    private final ReentrantLock[] kunciKode = new ReentrantLock[JUMLAH_KUNCI];
+    private final ExecutorService pelaksanaLatar;
+    private final AtomicBoolean snapshotDijadwalkan = new AtomicBoolean();
+    private long generasi;
+
+    private RepositoryProdukBerkas(Path pathSnapshot, long batasUkuranLog, SnapshotProduk basis) {
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunciKode[i] = new ReentrantLock();
+        }
+        this.pathSnapshot = pathSnapshot;
+        this.batasUkuranLog = batasUkuranLog;
+        this.basis = basis;
+        this.generasi = basis == null ? 0 : basis.generasi();
+        this.pelaksanaLatar = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "latar-repository-produk");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static RepositoryProdukBerkas buka(Path direktori) throws IOException {
+        return buka(direktori, BATAS_LOG_BAWAAN);
+    }
+
+    // Pemutaran ulang log memanggil method repository, jadi dilakukan di sini setelah objek
+    // selesai dibangun, bukan di constructor
+    public static RepositoryProdukBerkas buka(Path direktori, long batasUkuranLog) throws IOException {
+        return buka(direktori, batasUkuranLog, false);
+    }
+
+    public static RepositoryProdukBerkas buka(Path direktori, long batasUkuranLog, boolean verifikasiSnapshot)
+            throws IOException {
+        if (batasUkuranLog <= 0) {
+            throw new IllegalArgumentException("Batas ukuran log harus positif");
+        }
+        Files.createDirectories(direktori);
+        Path pathSnapshot = direktori.resolve(NAMA_SNAPSHOT);
+        SnapshotProduk basis = SnapshotProduk.buka(pathSnapshot);
+        if (verifikasiSnapshot && basis != null && !basis.verifikasi()) {
+            throw new IOException("Checksum snapshot tidak cocok: " + pathSnapshot);
+        }
+        RepositoryProdukBerkas repository = new RepositoryProdukBerkas(pathSnapshot, batasUkuranLog, basis);
+        // Putar ulang log melalui jalur mutasi biasa (tanpa menulis log lagi)
+        repository.pemulihan = true;
+        try {
+            repository.log = WriteAheadLog.buka(direktori.resolve(NAMA_LOG), repository.generasi, repository);
+        } catch (IOException | RuntimeException e) {
+            repository.pelaksanaLatar.shutdown();
+            throw e;
+        } finally {
+            repository.pemulihan = false;
+        }
+        return repository;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null) {
+            return false;
+        }
+        Produk salinan = new Produk(produk);
+        return mutasi(salinan.getKode(), lama -> bisaDisimpan(salinan) ? salinan : null,
+                () -> RekamanLog.simpan(salinan));
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return mutasi(kode, lama -> lama == null ? null : DIHAPUS, () -> RekamanLog.hapus(kode));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return mutasi(kode, ubahStok(stok -> stokBaru >= 0 ? stokBaru : DITOLAK),
+                () -> RekamanLog.stok(RekamanLog.UPDATE_STOK, kode, stokBaru));
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        return mutasi(kode, ubahStok(stok -> stok == stokLama && stokBaru >= 0 ? stokBaru : DITOLAK),
+                () -> RekamanLog.stok(RekamanLog.UPDATE_STOK, kode, stokBaru));
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return mutasi(kode, ubahStok(kurangi(jumlah)),
+                () -> RekamanLog.stok(RekamanLog.KURANGI_STOK, kode, jumlah));
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return mutasi(kode, ubahStok(tambah(jumlah)),
+                () -> RekamanLog.stok(RekamanLog.TAMBAH_STOK, kode, jumlah));
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        return mutasi(kode, lama -> {
+            if (lama == null) {
+                return null;
+            }
+            Produk baru = new Produk(lama);
+            baru.setAktif(aktif);
+            return baru;
+        }, () -> RekamanLog.aktif(kode, aktif));
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Produk> daftarProduk) {
+        Produk[] salinan = new Produk[daftarProduk.size()];
+        for (int i = 0; i < salinan.length; i++) {
+            Produk produk = daftarProduk.get(i);
+            salinan[i] = produk == null ? null : new Produk(produk);
+        }
+        return mutasiBatch(salinan.length, i -> salinan[i] == null ? null : salinan[i].getKode(),
+                i -> lama -> bisaDisimpan(salinan[i]) ? salinan[i] : null,
+                i -> RekamanLog.simpan(salinan[i]));
+    }
+
+    @Override
+    public boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        return mutasiStokBatch(daftarMutasi, RekamanLog.UPDATE_STOK,
+                stokBaru -> stok -> stokBaru >= 0 ? stokBaru : DITOLAK);
+    }
+
+    @Override
+    public boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        return mutasiStokBatch(daftarMutasi, RekamanLog.KURANGI_STOK, RepositoryProdukBerkas::kurangi);
+    }
+
+    @Override
+    public boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        return mutasiStokBatch(daftarMutasi, RekamanLog.TAMBAH_STOK, RepositoryProdukBerkas::tambah);
+    }
+
+    // Seluruh pesanan diperiksa di bawah kunci semua kodenya (diambil berurutan indeks), ditulis
+    // sebagai satu rekaman log, lalu diterapkan ke memori lewat kurangiStokSemua milik data yang
+    // atomik bagi pembaca. Crash di tengah pesanan tidak meninggalkan pengurangan sebagian di log.
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        int jumlahItem = daftarMutasi.size();
+        long[] kunciItem = new long[jumlahItem];
+        boolean[] dipakai = new boolean[JUMLAH_KUNCI];
+        for (int i = 0; i < jumlahItem; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            if (mutasi == null || mutasi.getJumlah() <= 0) {
+                return false;
+            }
+            kunciItem[i] = KodeCodec.encode(mutasi.getKode());
+            if (kunciItem[i] == KodeCodec.TIDAK_VALID) {
+                return false;
+            }
+            dipakai[indeksKunci(kunciItem[i])] = true;
+        }
+        if (jumlahItem == 0) {
+            return true;
+        }
+        if (pemulihan) {
+            return cukupUntukSemua(daftarMutasi, kunciItem) && data.kurangiStokSemua(daftarMutasi);
+        }
+        Lock baca = kunciSnapshot.readLock();
+        baca.lock();
+        try {
+            for (int i = 0; i < JUMLAH_KUNCI; i++) {
+                if (dipakai[i]) {
+                    kunciKode[i].lock();
+                }
+            }
+            try {
+                if (!cukupUntukSemua(daftarMutasi, kunciItem)) {
+                    return false;
+                }
+                log.tungguDurable(log.tambah(RekamanLog.kurangiSemua(daftarMutasi)));
+                data.kurangiStokSemua(daftarMutasi);
+            } finally {
+                for (int i = JUMLAH_KUNCI - 1; i >= 0; i--) {
+                    if (dipakai[i]) {
+                        kunciKode[i].unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis write-ahead log", e);
+        } finally {
+            baca.unlock();
+        }
+        jadwalkanSnapshotJikaPerlu();
+        return true;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return Optional.empty();
+        }
+        // basis dibaca sebelum data: muatPenuh menyalin ke data dulu baru mengosongkan basis
+        SnapshotProduk snapshot = basis;
+        Optional<Produk> produk = data.cariByKode(kode);
+        if (produk.isPresent() || snapshot == null || dihapusDariBasis.contains(kunci)) {
+            return produk;
+        }
+        // Basis selesai dimuat di antara dua pembacaan di atas: data sekarang sudah lengkap
+        if (basis == null) {
+            return data.cariByKode(kode);
+        }
+        return Optional.ofNullable(snapshot.cari(kunci));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        muatPenuh();
+        return data.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        muatPenuh();
+        return data.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        muatPenuh();
+        return data.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        muatPenuh();
+        return data.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        muatPenuh();
+        return data.cariSemua();
+    }
+
+    @Override
+    public double hitungTotalNilai() {
+        muatPenuh();
+        return data.hitungTotalNilai();
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        muatPenuh();
+        return data.hitungTotalNilaiSen();
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        muatPenuh();
+        return data.hitungTotalStok();
+    }
+
+    // Mulai memuat sisa snapshot dan membangun indeks sekunder di latar belakang
+    public void siapkanIndeks() {
+        if (basis != null) {
+            pelaksanaLatar.execute(this::muatPenuh);
+        }
+    }
+
+    public boolean isTermuatPenuh() {
+        return basis == null;
+    }
+
+    // Tulis snapshot generasi baru lalu kosongkan log
+    public void buatSnapshot() throws IOException {
+        muatPenuh();
+        Lock tulis = kunciSnapshot.writeLock();
+        tulis.lock();
+        try {
+            log.flush();
+            long generasiBaru = generasi + 1;
+            SnapshotProduk.tulis(pathSnapshot, generasiBaru, data.cariSemua());
+            log.reset(generasiBaru);
+            generasi = generasiBaru;
+        } finally {
+            tulis.unlock();
+        }
+    }
+
+    public long ukuranLog() {
+        return log.ukuranByte();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pelaksanaLatar.shutdown();
+        try {
+            pelaksanaLatar.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+
+    // Rekaman ditulis dan di-fsync lebih dulu, baru hasilnya diterapkan ke memori. Gagal menulis
+    // log tidak meninggalkan perubahan di memori, dan pembaca tidak pernah melihat nilai yang
+    // belum durable. Kunci kode dipegang selama fsync agar penulis berikutnya untuk kode yang
+    // sama menghitung dari keadaan terbaru; penulis kode lain tetap ikut group commit yang sama.
+    private boolean mutasi(String kode, Rencana rencana, Supplier<byte[]> rekaman) {
+        long kunciProduk = KodeCodec.encode(kode);
+        if (kunciProduk == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        if (pemulihan) {
+            pastikanTermuat(kode, kunciProduk);
+            Produk baru = rencana.hitung(produkTermuat(kode));
+            if (baru == null) {
+                return false;
+            }
+            terapkan(kunciProduk, baru);
+            return true;
+        }
+        Lock baca = kunciSnapshot.readLock();
+        baca.lock();
+        try {
+            ReentrantLock kunci = kunciKode[indeksKunci(kunciProduk)];
+            kunci.lock();
+            try {
+                pastikanTermuat(kode, kunciProduk);
+                Produk baru = rencana.hitung(produkTermuat(kode));
+                if (baru == null) {
+                    return false;
+                }
+                log.tungguDurable(log.tambah(rekaman.get()));
+                terapkan(kunciProduk, baru);
+            } finally {
+                kunci.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis write-ahead log", e);
+        } finally {
+            baca.unlock();
+        }
+        jadwalkanSnapshotJikaPerlu();
+        return true;
+    }
+
+    private boolean[] mutasiStokBatch(List<MutasiStok> daftarMutasi, byte jenis,
+                                      IntFunction<IntUnaryOperator> operasi) {
+        return mutasiBatch(daftarMutasi.size(),
+                i -> daftarMutasi.get(i) == null ? null : daftarMutasi.get(i).getKode(),
+                i -> ubahStok(operasi.apply(daftarMutasi.get(i).getJumlah())),
+                i -> RekamanLog.stok(jenis, daftarMutasi.get(i).getKode(), daftarMutasi.get(i).getJumlah()));
+    }
+
+    // Versi batch dari mutasi: kunci semua kode di batch diambil berurutan indeks, setiap item
+    // dihitung di atas hasil item sebelumnya, lalu seluruh rekaman menunggu satu fsync bersama
+    // sebelum keadaan akhir tiap kode diterapkan ke memori
+    private boolean[] mutasiBatch(int jumlahItem, IntFunction<String> kodeItem, IntFunction<Rencana> rencana,
+                                  IntFunction<byte[]> rekaman) {
+        boolean[] hasil = new boolean[jumlahItem];
+        long[] kunciItem = new long[jumlahItem];
+        boolean[] dipakai = new boolean[JUMLAH_KUNCI];
+        for (int i = 0; i < jumlahItem; i++) {
+            kunciItem[i] = KodeCodec.encode(kodeItem.apply(i));
+            if (kunciItem[i] != KodeCodec.TIDAK_VALID) {
+                dipakai[indeksKunci(kunciItem[i])] = true;
+            }
+        }
+        Map<Long, Produk> keadaanAkhir = new LinkedHashMap<>();
+        Lock baca = kunciSnapshot.readLock();
+        baca.lock();
+        try {
+            for (int i = 0; i < JUMLAH_KUNCI; i++) {
+                if (dipakai[i]) {
+                    kunciKode[i].lock();
+                }
+            }
+            try {
+                long urutanTerakhir = 0;
+                for (int i = 0; i < jumlahItem; i++) {
+                    if (kunciItem[i] == KodeCodec.TIDAK_VALID) {
+                        continue;
+                    }
+                    String kode = kodeItem.apply(i);
+                    Produk lama;
+                    if (keadaanAkhir.containsKey(kunciItem[i])) {
+                        lama = keadaanAkhir.get(kunciItem[i]);
+                    } else {
+                        pastikanTermuat(kode, kunciItem[i]);
+                        lama = produkTermuat(kode);
+                    }
+                    Produk baru = rencana.apply(i).hitung(lama);
+                    if (baru != null) {
+                        urutanTerakhir = log.tambah(rekaman.apply(i));
+                        keadaanAkhir.put(kunciItem[i], baru);
+                        hasil[i] = true;
+                    }
+                }
+                if (urutanTerakhir > 0) {
+                    log.tungguDurable(urutanTerakhir);
+                }
+                keadaanAkhir.forEach(this::terapkan);
+            } finally {
+                for (int i = JUMLAH_KUNCI - 1; i >= 0; i--) {
+                    if (dipakai[i]) {
+                        kunciKode[i].unlock();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal menulis write-ahead log", e);
+        } finally {
+            baca.unlock();
+        }
+        if (!keadaanAkhir.isEmpty()) {
+            jadwalkanSnapshotJikaPerlu();
+        }
+        return hasil;
+    }
+
+    // Dipanggil di bawah kunci semua kode pesanan: muat setiap produk dari basis lalu periksa
+    // bahwa setiap baris cukup di atas baris sebelumnya untuk kode yang sama
+    private boolean cukupUntukSemua(List<MutasiStok> daftarMutasi, long[] kunciItem) {
+        Map<Long, Produk> keadaanAkhir = new LinkedHashMap<>();
+        for (int i = 0; i < kunciItem.length; i++) {
+            String kode = daftarMutasi.get(i).getKode();
+            Produk lama;
+            if (keadaanAkhir.containsKey(kunciItem[i])) {
+                lama = keadaanAkhir.get(kunciItem[i]);
+            } else {
+                pastikanTermuat(kode, kunciItem[i]);
+                lama = produkTermuat(kode);
+            }
+            Produk baru = ubahStok(kurangi(daftarMutasi.get(i).getJumlah())).hitung(lama);
+            if (baru == null) {
+                return false;
+            }
+            keadaanAkhir.put(kunciItem[i], baru);
+        }
+        return true;
+    }
+
+    // Keadaan produk di memori setelah pastikanTermuat; null jika kode tidak ada
+    private Produk produkTermuat(String kode) {
+        return kode == null ? null : data.cariByKode(kode).orElse(null);
+    }
+
+    // Dipanggil di bawah kunci kode setelah rencana diterima; validasi rencana menjamin data
+    // menerima produk baru
+    private void terapkan(long kunci, Produk baru) {
+        if (baru == DIHAPUS) {
+            data.hapus(KodeCodec.decode(kunci));
+            if (basis != null) {
+                dihapusDariBasis.add(kunci);
+            }
+        } else {
+            data.simpan(baru);
+            dihapusDariBasis.remove(kunci);
+        }
+    }
+
+    // Aturan penerimaan sama dengan RepositoryProdukMemori.simpan
+    private static boolean bisaDisimpan(Produk produk) {
+        return produk != null && KodeCodec.encode(produk.getKode()) != KodeCodec.TIDAK_VALID
+                && AgregatInventaris.bisaDicatat(produk);
+    }
+
+    private static Rencana ubahStok(IntUnaryOperator hitungStokBaru) {
+        return lama -> {
+            if (lama == null) {
+                return null;
+            }
+            int stokBaru = hitungStokBaru.applyAsInt(lama.getStok());
+            if (stokBaru == DITOLAK) {
+                return null;
+            }
+            Produk baru = new Produk(lama);
+            baru.setStok(stokBaru);
+            return AgregatInventaris.bisaDicatat(baru) ? baru : null;
+        };
+    }
+
+    private static IntUnaryOperator kurangi(int jumlah) {
+        return stok -> jumlah > 0 && stok >= jumlah ? stok - jumlah : DITOLAK;
+    }
+
+    private static IntUnaryOperator tambah(int jumlah) {
+        return stok -> jumlah > 0 && stok <= Integer.MAX_VALUE - jumlah ? stok + jumlah : DITOLAK;
+    }
+
+    // Salin satu produk dari snapshot ke memori sebelum dimutasi; dipanggil di bawah kunci kode
+    private void pastikanTermuat(String kode, long kunci) {
+        SnapshotProduk snapshot = basis;
+        if (snapshot == null || dihapusDariBasis.contains(kunci) || data.cariByKode(kode).isPresent()) {
+            return;
+        }
+        Produk produk = snapshot.cari(kunci);
+        if (produk != null) {
+            data.simpan(produk);
+        }
+    }
+
+    // Salin semua produk snapshot yang belum ada di memori; indeks sekunder ikut terbentuk.
+    // Mutasi tetap berjalan karena setiap produk disalin di bawah kunci kodenya masing-masing.
+    // Snapshot yang checksum-nya salah tidak dimuat; query pindai gagal dengan UncheckedIOException.
+    private void muatPenuh() {
+        if (basis == null) {
+            return;
+        }
+        kunciPemuatan.lock();
+        try {
+            SnapshotProduk snapshot = basis;
+            if (snapshot == null) {
+                return;
+            }
+            if (!snapshot.verifikasi()) {
+                throw new UncheckedIOException(new IOException("Checksum snapshot tidak cocok: " + pathSnapshot));
+            }
+            for (int i = 0; i < snapshot.jumlah(); i++) {
+                Produk produk = snapshot.baca(i);
+                long kunciProduk = KodeCodec.encode(produk.getKode());
+                ReentrantLock kunci = kunciKode[indeksKunci(kunciProduk)];
+                kunci.lock();
+                try {
+                    if (!dihapusDariBasis.contains(kunciProduk) && data.cariByKode(produk.getKode()).isEmpty()) {
+                        data.simpan(produk);
+                    }
+                } finally {
+                    kunci.unlock();
+                }
+            }
+            // Penanda hapus sengaja tidak dibersihkan: pembaca yang masih memegang referensi
+            // basis lama tetap harus melihat kode itu sebagai terhapus
+            basis = null;
+        } finally {
+            kunciPemuatan.unlock();
+        }
+    }
+
+    private void jadwalkanSnapshotJikaPerlu() {
+        if (log.ukuranByte() > batasUkuranLog && snapshotDijadwalkan.compareAndSet(false, true)) {
+            pelaksanaLatar.execute(() -> {
+                try {
+                    buatSnapshot();
+                } catch (IOException e) {
+                    // Snapshot gagal tidak menghilangkan data karena log tetap utuh; coba lagi nanti
+                } finally {
+                    snapshotDijadwalkan.set(false);
+                }
+            });
+        }
+    }
+
+    private static int indeksKunci(long kunci) {
+        int hash = Long.hashCode(kunci);
+        return (hash ^ (hash >>> 16)) & (JUMLAH_KUNCI - 1);
+    }
+
+    // Hitung keadaan produk sesudah mutasi dari keadaan sebelumnya (null jika kode belum ada).
+    // Mengembalikan null jika mutasi ditolak, atau DIHAPUS jika produk dihapus.
+    private interface Rencana {
+        Produk hitung(Produk lama);
+    }
+}
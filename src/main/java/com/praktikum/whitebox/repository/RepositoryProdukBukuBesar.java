@@ -0,0 +1,325 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.EventStok;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.KodeCodec;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Dekorator yang mencatat setiap perubahan stok yang berhasil ke BukuBesarStok. Event berisi
+// selisih, bukan stok akhir, sehingga stok kode mana pun pada waktu kapan pun bisa dihitung ulang
+// dari buku besar. Kunci per kode menjamin urutan event sama dengan urutan perubahan di repository.
+//
+// Kode yang tidak bisa dicatat buku besar (gagal KodeCodec) ditolak sebelum repository diubah.
+// Jika pencatatan gagal setelah repository berubah (I/O atau buku besar sudah ditutup), perubahan
+// di repository dibatalkan lalu galatnya diteruskan ke pemanggil, sehingga selama proses berjalan
+// repository tidak memuat perubahan yang tidak ada di buku besar.
+//
+// Durabilitas: dekorator ini tidak melakukan fsync. Event ditampung BukuBesarStok dan baru aman
+// dari crash setelah bukuBesar.flush() atau close(); sampai saat itu paling banyak satu buffer
+// (2048 event) terakhir bisa hilang, sementara repository yang tahan lama (misalnya Berkas) sudah
+// menyimpan perubahannya. Karena itu saat dibuka, setiap kode yang saldonya di buku besar berbeda
+// dengan stok di repository diberi event PENYESUAIAN sebesar selisihnya, sehingga jejak audit
+// kembali sama dengan repository. Pemanggil yang butuh setiap event tahan crash memanggil
+// getBukuBesar().flush() di batas transaksinya.
+//
+// Operasi batch memakai implementasi bawaan interface sehingga setiap item melewati operasi
+// tunggal di bawah dan ikut tercatat.
+public class RepositoryProdukBukuBesar implements RepositoryProduk {
+    private static final int JUMLAH_KUNCI = 64;
+
+    private final RepositoryProduk asal;
+    private final BukuBesarStok bukuBesar;
+    private final ReentrantLock[] kunciKode = new ReentrantLock[JUMLAH_KUNCI];
+
+    public RepositoryProdukBukuBesar(RepositoryProduk asal, BukuBesarStok bukuBesar) {
+        if (asal == null || bukuBesar == null) {
+            throw new IllegalArgumentException("Repository asal dan buku besar tidak boleh null");
+        }
+        this.asal = asal;
+        this.bukuBesar = bukuBesar;
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunciKode[i] = new ReentrantLock();
+        }
+        // Buku besar baru dimulai dari saldo produk yang sudah ada di repository
+        if (bukuBesar.jumlahEvent() == 0) {
+            for (Produk produk : asal.cariSemua()) {
+                bukuBesar.catat(produk.getKode(), EventStok.Jenis.SALDO_AWAL, produk.getStok());
+            }
+        } else {
+            rekonsiliasi(asal, bukuBesar);
+        }
+    }
+
+    // Samakan buku besar dengan repository setelah event yang belum di-flush hilang karena crash
+    private static void rekonsiliasi(RepositoryProduk asal, BukuBesarStok bukuBesar) {
+        Set<String> adaDiRepository = new HashSet<>();
+        for (Produk produk : asal.cariSemua()) {
+            String kode = produk.getKode();
+            adaDiRepository.add(KodeCodec.decode(KodeCodec.encode(kode)));
+            int selisih = produk.getStok() - bukuBesar.stokSaatIni(kode);
+            if (selisih != 0) {
+                bukuBesar.catat(kode, EventStok.Jenis.PENYESUAIAN, selisih);
+            }
+        }
+        for (String kode : bukuBesar.kodeBersaldo()) {
+            if (!adaDiRepository.contains(kode)) {
+                bukuBesar.catat(kode, EventStok.Jenis.PENYESUAIAN, -bukuBesar.stokSaatIni(kode));
+            }
+        }
+    }
+
+    public BukuBesarStok getBukuBesar() {
+        return bukuBesar;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        String kode = produk == null ? null : produk.getKode();
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            Optional<Produk> lama = asal.cariByKode(kode);
+            if (!asal.simpan(produk)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.SIMPAN, produk.getStok() - lama.map(Produk::getStok).orElse(0),
+                    () -> {
+                        if (lama.isPresent()) {
+                            asal.simpan(lama.get());
+                        } else {
+                            asal.hapus(kode);
+                        }
+                    });
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            Optional<Produk> lama = asal.cariByKode(kode);
+            if (lama.isEmpty() || !asal.hapus(kode)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.HAPUS, -lama.get().getStok(), () -> asal.simpan(lama.get()));
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            int stokLama = stokSekarang(kode);
+            if (!asal.updateStok(kode, stokBaru)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.PENYESUAIAN, stokBaru - stokLama, () -> asal.updateStok(kode, stokLama));
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            if (!asal.updateStokJikaSama(kode, stokLama, stokBaru)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.PENYESUAIAN, stokBaru - stokLama, () -> asal.updateStok(kode, stokLama));
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            if (!asal.kurangiStok(kode, jumlah)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.KELUAR, -jumlah, () -> asal.tambahStok(kode, jumlah));
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (!bisaDicatat(kode)) {
+            return false;
+        }
+        ReentrantLock kunci = kunciUntuk(kode);
+        kunci.lock();
+        try {
+            if (!asal.tambahStok(kode, jumlah)) {
+                return false;
+            }
+            catat(kode, EventStok.Jenis.MASUK, jumlah, () -> asal.kurangiStok(kode, jumlah));
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Kunci semua kode di pesanan diambil berurutan indeks agar dua pesanan tidak saling menunggu.
+    // Jika pencatatan satu baris gagal, seluruh pesanan dikembalikan ke repository dan baris yang
+    // sudah tercatat diimbangi event MASUK.
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        boolean[] dipakai = new boolean[JUMLAH_KUNCI];
+        for (MutasiStok mutasi : daftarMutasi) {
+            if (mutasi == null || mutasi.getJumlah() <= 0 || !bisaDicatat(mutasi.getKode())) {
+                return false;
+            }
+            dipakai[indeksKunci(mutasi.getKode())] = true;
+        }
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            if (dipakai[i]) {
+                kunciKode[i].lock();
+            }
+        }
+        try {
+            if (!asal.kurangiStokSemua(daftarMutasi)) {
+                return false;
+            }
+            for (int i = 0; i < daftarMutasi.size(); i++) {
+                int tercatat = i;
+                MutasiStok mutasi = daftarMutasi.get(i);
+                catat(mutasi.getKode(), EventStok.Jenis.KELUAR, -mutasi.getJumlah(), () -> {
+                    for (MutasiStok m : daftarMutasi) {
+                        asal.tambahStok(m.getKode(), m.getJumlah());
+                    }
+                    for (int j = 0; j < tercatat; j++) {
+                        MutasiStok m = daftarMutasi.get(j);
+                        bukuBesar.catat(m.getKode(), EventStok.Jenis.MASUK, m.getJumlah());
+                    }
+                });
+            }
+            return true;
+        } finally {
+            for (int i = JUMLAH_KUNCI - 1; i >= 0; i--) {
+                if (dipakai[i]) {
+                    kunciKode[i].unlock();
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        return asal.updateAktif(kode, aktif);
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return asal.cariByKode(kode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return asal.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return asal.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return asal.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return asal.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return asal.cariSemua();
+    }
+
+    @Override
+    public double hitungTotalNilai() {
+        return asal.hitungTotalNilai();
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        return asal.hitungTotalNilaiSen();
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        return asal.hitungTotalStok();
+    }
+
+    // Dipanggil dengan kunci kode dipegang, setelah repository berubah
+    private void catat(String kode, EventStok.Jenis jenis, int selisih, Runnable batalkan) {
+        try {
+            bukuBesar.catat(kode, jenis, selisih);
+        } catch (RuntimeException e) {
+            try {
+                batalkan.run();
+            } catch (RuntimeException galatPembatalan) {
+                e.addSuppressed(galatPembatalan);
+            }
+            throw e;
+        }
+    }
+
+    private int stokSekarang(String kode) {
+        return asal.cariByKode(kode).map(Produk::getStok).orElse(0);
+    }
+
+    private static boolean bisaDicatat(String kode) {
+        return KodeCodec.encode(kode) != KodeCodec.TIDAK_VALID;
+    }
+
+    private ReentrantLock kunciUntuk(String kode) {
+        return kunciKode[indeksKunci(kode)];
+    }
+
+    // Di-hash dari hasil encode agar " A" dan "A" memakai kunci yang sama
+    private static int indeksKunci(String kode) {
+        int hash = Long.hashCode(KodeCodec.encode(kode));
+        return (hash ^ (hash >>> 16)) & (JUMLAH_KUNCI - 1);
+    }
+}
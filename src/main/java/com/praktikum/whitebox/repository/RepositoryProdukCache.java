@@ -0,0 +1,402 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Dekorator cache untuk cariByKode di atas RepositoryProduk lain (mis. repository berkas).
+//
+// Kebijakan eviksi W-TinyLFU: entri baru masuk ke window LRU kecil (1% kapasitas). Entri yang
+// terdorong keluar window menjadi kandidat untuk area utama (SLRU probasi + terlindung) dan
+// hanya diterima jika frekuensinya menurut SketsaFrekuensi lebih tinggi dari korban di kepala
+// probasi. Dengan pola akses Zipf, kode populer bertahan walau ada pindaian kode sekali pakai.
+//
+// Kode yang tidak ditemukan juga di-cache (negative caching). Entri dan stripe memakai kode yang
+// sudah dipangkas seperti KodeCodec, sehingga " A " dan "A" berbagi entri dan invalidasi. Setiap mutasi diteruskan ke
+// repository asal lalu entri kodenya diinvalidasi. Versi per stripe mencegah hasil baca yang
+// dimulai sebelum mutasi dimasukkan ke cache setelah invalidasi.
+// Query pindai dan agregat tidak di-cache dan langsung diteruskan.
+public class RepositoryProdukCache implements RepositoryProduk {
+    private static final int JUMLAH_STRIPE = 64;
+
+    private final RepositoryProduk asal;
+    private final ConcurrentHashMap<String, Entri> entri = new ConcurrentHashMap<>();
+    private final AtomicLongArray versi = new AtomicLongArray(JUMLAH_STRIPE);
+
+    // Struktur kebijakan di bawah hanya diubah dengan kunciKebijakan dipegang
+    private final ReentrantLock kunciKebijakan = new ReentrantLock();
+    private final SketsaFrekuensi sketsa;
+    private final Antrian window = new Antrian();
+    private final Antrian probasi = new Antrian();
+    private final Antrian terlindung = new Antrian();
+    private final int maksWindow;
+    private final int maksUtama;
+    private final int maksTerlindung;
+
+    private final LongAdder hit = new LongAdder();
+    private final LongAdder miss = new LongAdder();
+    private final LongAdder eviksi = new LongAdder();
+
+    public RepositoryProdukCache(RepositoryProduk asal, int kapasitas) {
+        if (asal == null) {
+            throw new IllegalArgumentException("Repository asal tidak boleh null");
+        }
+        if (kapasitas <= 0) {
+            throw new IllegalArgumentException("Kapasitas cache harus positif");
+        }
+        this.asal = asal;
+        this.maksWindow = Math.max(1, kapasitas / 100);
+        this.maksUtama = kapasitas - maksWindow;
+        this.maksTerlindung = (int) (maksUtama * 0.8);
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return asal.cariByKode(null);
+        }
+        String kunci = normalisasi(kode);
+        Entri e = entri.get(kunci);
+        if (e != null) {
+            hit.increment();
+            // Pencatatan akses boleh hilang saat kunci sedang dipakai; jalur baca tidak pernah menunggu
+            if (kunciKebijakan.tryLock()) {
+                try {
+                    catatAkses(e);
+                } finally {
+                    kunciKebijakan.unlock();
+                }
+            }
+            return e.produk == null ? Optional.empty() : Optional.of(new Produk(e.produk));
+        }
+        miss.increment();
+        int stripe = stripe(kunci);
+        long versiAwal = versi.get(stripe);
+        Optional<Produk> hasil = asal.cariByKode(kode);
+        Entri baru = new Entri(kunci, hasil.map(Produk::new).orElse(null));
+        kunciKebijakan.lock();
+        try {
+            sketsa.tambah(kunci);
+            if (versi.get(stripe) == versiAwal && entri.putIfAbsent(kunci, baru) == null) {
+                baru.wilayah = window;
+                window.tambahAkhir(baru);
+                evictJikaPerlu();
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        try {
+            return asal.simpan(produk);
+        } finally {
+            if (produk != null) {
+                invalidasi(produk.getKode());
+            }
+        }
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        try {
+            return asal.hapus(kode);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        try {
+            return asal.updateStok(kode, stokBaru);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        try {
+            return asal.updateStokJikaSama(kode, stokLama, stokBaru);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        try {
+            return asal.kurangiStok(kode, jumlah);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        try {
+            return asal.tambahStok(kode, jumlah);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        try {
+            return asal.updateAktif(kode, aktif);
+        } finally {
+            invalidasi(kode);
+        }
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Produk> daftarProduk) {
+        try {
+            return asal.simpanBatch(daftarProduk);
+        } finally {
+            for (Produk produk : daftarProduk) {
+                if (produk != null) {
+                    invalidasi(produk.getKode());
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        try {
+            return asal.updateStokBatch(daftarMutasi);
+        } finally {
+            invalidasiSemua(daftarMutasi);
+        }
+    }
+
+    @Override
+    public boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        try {
+            return asal.kurangiStokBatch(daftarMutasi);
+        } finally {
+            invalidasiSemua(daftarMutasi);
+        }
+    }
+
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        try {
+            return asal.kurangiStokSemua(daftarMutasi);
+        } finally {
+            invalidasiSemua(daftarMutasi);
+        }
+    }
+
+    @Override
+    public boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        try {
+            return asal.tambahStokBatch(daftarMutasi);
+        } finally {
+            invalidasiSemua(daftarMutasi);
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return asal.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return asal.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return asal.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return asal.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return asal.cariSemua();
+    }
+
+    @Override
+    public double hitungTotalNilai() {
+        return asal.hitungTotalNilai();
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        return asal.hitungTotalNilaiSen();
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        return asal.hitungTotalStok();
+    }
+
+    public long jumlahHit() {
+        return hit.sum();
+    }
+
+    public long jumlahMiss() {
+        return miss.sum();
+    }
+
+    public long jumlahEviksi() {
+        return eviksi.sum();
+    }
+
+    public double rasioHit() {
+        long h = hit.sum();
+        long total = h + miss.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int jumlahEntri() {
+        return entri.size();
+    }
+
+    // Buang entri satu kode, mis. saat repository asal diubah di luar dekorator ini
+    public void invalidasi(String kode) {
+        if (kode == null) {
+            return;
+        }
+        String kunci = normalisasi(kode);
+        kunciKebijakan.lock();
+        try {
+            versi.incrementAndGet(stripe(kunci));
+            Entri e = entri.remove(kunci);
+            if (e != null && e.wilayah != null) {
+                e.wilayah.hapus(e);
+                e.wilayah = null;
+            }
+        } finally {
+            kunciKebijakan.unlock();
+        }
+    }
+
+    private void invalidasiSemua(List<MutasiStok> daftarMutasi) {
+        for (MutasiStok mutasi : daftarMutasi) {
+            if (mutasi != null) {
+                invalidasi(mutasi.getKode());
+            }
+        }
+    }
+
+    private void catatAkses(Entri e) {
+        if (e.wilayah == null) {
+            // Entri sudah diinvalidasi atau dievict setelah dibaca dari map
+            return;
+        }
+        sketsa.tambah(e.kode);
+        if (e.wilayah == probasi) {
+            // Akses kedua di area utama mempromosikan entri ke segmen terlindung
+            probasi.hapus(e);
+            e.wilayah = terlindung;
+            terlindung.tambahAkhir(e);
+            while (terlindung.ukuran > maksTerlindung) {
+                Entri turun = terlindung.pertama();
+                terlindung.hapus(turun);
+                turun.wilayah = probasi;
+                probasi.tambahAkhir(turun);
+            }
+        } else {
+            e.wilayah.hapus(e);
+            e.wilayah.tambahAkhir(e);
+        }
+    }
+
+    private void evictJikaPerlu() {
+        while (window.ukuran > maksWindow) {
+            Entri kandidat = window.pertama();
+            window.hapus(kandidat);
+            kandidat.wilayah = probasi;
+            probasi.tambahAkhir(kandidat);
+            if (probasi.ukuran + terlindung.ukuran > maksUtama) {
+                Entri korban = probasi.pertama();
+                if (korban != kandidat && sketsa.frekuensi(kandidat.kode) > sketsa.frekuensi(korban.kode)) {
+                    buang(korban);
+                } else {
+                    buang(kandidat);
+                }
+            }
+        }
+    }
+
+    private void buang(Entri e) {
+        e.wilayah.hapus(e);
+        e.wilayah = null;
+        entri.remove(e.kode, e);
+        eviksi.increment();
+    }
+
+    // String.trim membuang karakter <= ' ' di kedua ujung, aturan yang sama dengan KodeCodec
+    private static String normalisasi(String kode) {
+        return kode.trim();
+    }
+
+    private static int stripe(String kode) {
+        int hash = kode.hashCode();
+        return (hash ^ (hash >>> 16)) & (JUMLAH_STRIPE - 1);
+    }
+
+    private static final class Entri {
+        final String kode;
+        // null berarti kode tidak ada di repository asal (negative cache)
+        final Produk produk;
+        Entri sebelum;
+        Entri sesudah;
+        Antrian wilayah;
+
+        Entri(String kode, Produk produk) {
+            this.kode = kode;
+            this.produk = produk;
+        }
+    }
+
+    // Daftar berantai ganda dengan urutan LRU: kepala paling lama tidak diakses
+    private static final class Antrian {
+        private final Entri kepala = new Entri(null, null);
+        int ukuran;
+
+        Antrian() {
+            kepala.sebelum = kepala;
+            kepala.sesudah = kepala;
+        }
+
+        Entri pertama() {
+            return kepala.sesudah == kepala ? null : kepala.sesudah;
+        }
+
+        void tambahAkhir(Entri e) {
+            e.sebelum = kepala.sebelum;
+            e.sesudah = kepala;
+            kepala.sebelum.sesudah = e;
+            kepala.sebelum = e;
+            ukuran++;
+        }
+
+        void hapus(Entri e) {
+            e.sebelum.sesudah = e.sesudah;
+            e.sesudah.sebelum = e.sebelum;
+            e.sebelum = null;
+            e.sesudah = null;
+            ukuran--;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+import com.praktikum.whitebox.util.KodeCodec;
+import com.praktikum.whitebox.util.LongIntMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntBinaryOperator;
+
+// Repository kolumnar: harga, stok, stokMinimum dan aktif disimpan off-heap per kolom
+// (direct ByteBuffer) sehingga agregat dan query status stok cukup memindai kolom secara
+// berurutan tanpa membuat objek Produk. Objek Produk hanya dibuat saat hasil dikembalikan.
+// Slot selalu rapat: hapus memindahkan slot terakhir ke slot yang kosong.
+// Seperti repository memori, produk yang nilai stoknya dalam sen tidak muat di long ditolak
+// (AgregatInventaris.bisaDicatat), begitu juga perubahan stok yang melewati batas itu.
+public class RepositoryProdukKolom implements RepositoryProduk {
+    private static final int KAPASITAS_AWAL = 1024;
+    private static final int DITOLAK = -1;
+
+    private final StampedLock kunci = new StampedLock();
+    private final LongIntMap slotByKode = new LongIntMap();
+
+    // Kolom teks tetap di heap
+    private String[] kolomKode;
+    private String[] kolomNama;
+    private String[] kolomKategori;
+
+    // Kolom numerik off-heap
+    private ByteBuffer kolomHarga;
+    private ByteBuffer kolomStok;
+    private ByteBuffer kolomStokMinimum;
+    private ByteBuffer kolomAktif;
+
+    private int kapasitas;
+    private int ukuran;
+
+    public RepositoryProdukKolom() {
+        this(KAPASITAS_AWAL);
+    }
+
+    public RepositoryProdukKolom(int kapasitasAwal) {
+        if (kapasitasAwal <= 0) {
+            throw new IllegalArgumentException("Kapasitas harus positif");
+        }
+        kapasitas = kapasitasAwal;
+        kolomKode = new String[kapasitas];
+        kolomNama = new String[kapasitas];
+        kolomKategori = new String[kapasitas];
+        kolomHarga = alokasi(kapasitas * Double.BYTES);
+        kolomStok = alokasi(kapasitas * Integer.BYTES);
+        kolomStokMinimum = alokasi(kapasitas * Integer.BYTES);
+        kolomAktif = alokasi(kapasitas);
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null) {
+            return false;
+        }
+        long kodeKunci = KodeCodec.encode(produk.getKode());
+        if (kodeKunci == KodeCodec.TIDAK_VALID || !AgregatInventaris.bisaDicatat(produk)) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            simpanTerkunci(kodeKunci, produk);
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        long kodeKunci = KodeCodec.encode(kode);
+        if (kodeKunci == KodeCodec.TIDAK_VALID) {
+            return Optional.empty();
+        }
+        long stamp = kunci.readLock();
+        try {
+            int slot = slotByKode.get(kodeKunci);
+            return slot == LongIntMap.TIDAK_ADA ? Optional.empty() : Optional.of(bacaSlot(slot));
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        List<Produk> hasil = new ArrayList<>();
+        if (nama == null) {
+            return hasil;
+        }
+        String kataKunci = nama.toLowerCase(Locale.ROOT);
+        long stamp = kunci.readLock();
+        try {
+            for (int i = 0; i < ukuran; i++) {
+                if (kolomNama[i] != null && kolomNama[i].toLowerCase(Locale.ROOT).contains(kataKunci)) {
+                    hasil.add(bacaSlot(i));
+                }
+            }
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        List<Produk> hasil = new ArrayList<>();
+        if (kategori == null) {
+            return hasil;
+        }
+        long stamp = kunci.readLock();
+        try {
+            for (int i = 0; i < ukuran; i++) {
+                if (kategori.equals(kolomKategori[i])) {
+                    hasil.add(bacaSlot(i));
+                }
+            }
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        List<Produk> hasil = new ArrayList<>();
+        long stamp = kunci.readLock();
+        try {
+            for (int i = 0; i < ukuran; i++) {
+                int stok = stok(i);
+                if (stok > 0 && stok <= stokMinimum(i)) {
+                    hasil.add(bacaSlot(i));
+                }
+            }
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        List<Produk> hasil = new ArrayList<>();
+        long stamp = kunci.readLock();
+        try {
+            for (int i = 0; i < ukuran; i++) {
+                if (stok(i) == 0) {
+                    hasil.add(bacaSlot(i));
+                }
+            }
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        long kodeKunci = KodeCodec.encode(kode);
+        if (kodeKunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotByKode.remove(kodeKunci);
+            if (slot == LongIntMap.TIDAK_ADA) {
+                return false;
+            }
+            int terakhir = --ukuran;
+            if (slot != terakhir) {
+                pindahSlot(terakhir, slot);
+                slotByKode.put(KodeCodec.encode(kolomKode[slot]), slot);
+            }
+            kolomKode[terakhir] = null;
+            kolomNama[terakhir] = null;
+            kolomKategori[terakhir] = null;
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotUntuk(kode);
+            if (slot == LongIntMap.TIDAK_ADA || stokBaru > stokMaksimal(slot)) {
+                return false;
+            }
+            kolomStok.putInt(slot * Integer.BYTES, stokBaru);
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotUntuk(kode);
+            if (slot == LongIntMap.TIDAK_ADA || stok(slot) != stokLama || stokBaru > stokMaksimal(slot)) {
+                return false;
+            }
+            kolomStok.putInt(slot * Integer.BYTES, stokBaru);
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotUntuk(kode);
+            if (slot == LongIntMap.TIDAK_ADA || stok(slot) < jumlah) {
+                return false;
+            }
+            kolomStok.putInt(slot * Integer.BYTES, stok(slot) - jumlah);
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotUntuk(kode);
+            if (slot == LongIntMap.TIDAK_ADA || stok(slot) > stokMaksimal(slot) - jumlah) {
+                return false;
+            }
+            kolomStok.putInt(slot * Integer.BYTES, stok(slot) + jumlah);
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        long stamp = kunci.writeLock();
+        try {
+            int slot = slotUntuk(kode);
+            if (slot == LongIntMap.TIDAK_ADA) {
+                return false;
+            }
+            kolomAktif.put(slot, (byte) (aktif ? 1 : 0));
+            return true;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        long stamp = kunci.readLock();
+        try {
+            List<Produk> hasil = new ArrayList<>(ukuran);
+            for (int i = 0; i < ukuran; i++) {
+                hasil.add(bacaSlot(i));
+            }
+            return hasil;
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+
+    // Agregat dihitung langsung dari kolom off-heap tanpa membuat objek Produk. Total double
+    // diturunkan dari total sen seperti repository memori agar kedua nilai selalu sepakat.
+    @Override
+    public double hitungTotalNilai() {
+        return hitungTotalNilaiSen() / 100.0;
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        long stamp = kunci.readLock();
+        try {
+            long total = 0;
+            for (int i = 0; i < ukuran; i++) {
+                if (kolomAktif.get(i) != 0) {
+                    long sen = Uang.keSen(kolomHarga.getDouble(i * Double.BYTES));
+                    total = Uang.tambah(total, Uang.kali(sen, stok(i)));
+                }
+            }
+            return total;
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        long stamp = kunci.readLock();
+        try {
+            long total = 0;
+            for (int i = 0; i < ukuran; i++) {
+                if (kolomAktif.get(i) != 0) {
+                    total += stok(i);
+                }
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+
+    // Seluruh batch diproses dengan satu kali ambil kunci tulis
+    @Override
+    public boolean[] simpanBatch(List<Produk> daftarProduk) {
+        boolean[] hasil = new boolean[daftarProduk.size()];
+        long stamp = kunci.writeLock();
+        try {
+            for (int i = 0; i < hasil.length; i++) {
+                Produk produk = daftarProduk.get(i);
+                long kodeKunci = produk == null ? KodeCodec.TIDAK_VALID : KodeCodec.encode(produk.getKode());
+                if (kodeKunci != KodeCodec.TIDAK_VALID && AgregatInventaris.bisaDicatat(produk)) {
+                    simpanTerkunci(kodeKunci, produk);
+                    hasil[i] = true;
+                }
+            }
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (stokBaru, stok) -> stokBaru >= 0 ? stokBaru : DITOLAK);
+    }
+
+    @Override
+    public boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (jumlah, stok) ->
+                jumlah > 0 && stok >= jumlah ? stok - jumlah : DITOLAK);
+    }
+
+    @Override
+    public boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (jumlah, stok) ->
+                jumlah > 0 && stok <= Integer.MAX_VALUE - jumlah ? stok + jumlah : DITOLAK);
+    }
+
+    // Satu kunci tulis untuk seluruh repository: terapkan berurutan, batalkan jika ada yang gagal
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        int[] slot = new int[daftarMutasi.size()];
+        long stamp = kunci.writeLock();
+        try {
+            int i = 0;
+            while (i < slot.length) {
+                MutasiStok mutasi = daftarMutasi.get(i);
+                if (mutasi == null || mutasi.getJumlah() <= 0) {
+                    break;
+                }
+                slot[i] = slotUntuk(mutasi.getKode());
+                if (slot[i] == LongIntMap.TIDAK_ADA || stok(slot[i]) < mutasi.getJumlah()) {
+                    break;
+                }
+                kolomStok.putInt(slot[i] * Integer.BYTES, stok(slot[i]) - mutasi.getJumlah());
+                i++;
+            }
+            if (i == slot.length) {
+                return true;
+            }
+            for (int j = i - 1; j >= 0; j--) {
+                kolomStok.putInt(slot[j] * Integer.BYTES, stok(slot[j]) + daftarMutasi.get(j).getJumlah());
+            }
+            return false;
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+    }
+
+    public int jumlahProduk() {
+        long stamp = kunci.readLock();
+        try {
+            return ukuran;
+        } finally {
+            kunci.unlockRead(stamp);
+        }
+    }
+
+    private void simpanTerkunci(long kodeKunci, Produk produk) {
+        int slot = slotByKode.get(kodeKunci);
+        if (slot == LongIntMap.TIDAK_ADA) {
+            if (ukuran == kapasitas) {
+                perbesar();
+            }
+            slot = ukuran++;
+            slotByKode.put(kodeKunci, slot);
+        }
+        tulisSlot(slot, produk);
+    }
+
+    private boolean[] ubahStokBatch(List<MutasiStok> daftarMutasi, IntBinaryOperator hitungStokBaru) {
+        boolean[] hasil = new boolean[daftarMutasi.size()];
+        long stamp = kunci.writeLock();
+        try {
+            for (int i = 0; i < hasil.length; i++) {
+                MutasiStok mutasi = daftarMutasi.get(i);
+                int slot = mutasi == null ? LongIntMap.TIDAK_ADA : slotUntuk(mutasi.getKode());
+                if (slot == LongIntMap.TIDAK_ADA) {
+                    continue;
+                }
+                int stokBaru = hitungStokBaru.applyAsInt(mutasi.getJumlah(), stok(slot));
+                if (stokBaru != DITOLAK && stokBaru <= stokMaksimal(slot)) {
+                    kolomStok.putInt(slot * Integer.BYTES, stokBaru);
+                    hasil[i] = true;
+                }
+            }
+        } finally {
+            kunci.unlockWrite(stamp);
+        }
+        return hasil;
+    }
+
+    private int slotUntuk(String kode) {
+        long kodeKunci = KodeCodec.encode(kode);
+        return kodeKunci == KodeCodec.TIDAK_VALID ? LongIntMap.TIDAK_ADA : slotByKode.get(kodeKunci);
+    }
+
+    private int stok(int slot) {
+        return kolomStok.getInt(slot * Integer.BYTES);
+    }
+
+    private int stokMaksimal(int slot) {
+        return AgregatInventaris.stokMaksimal(kolomHarga.getDouble(slot * Double.BYTES));
+    }
+
+    private int stokMinimum(int slot) {
+        return kolomStokMinimum.getInt(slot * Integer.BYTES);
+    }
+
+    private void tulisSlot(int slot, Produk produk) {
+        kolomKode[slot] = produk.getKode();
+        kolomNama[slot] = produk.getNama();
+        kolomKategori[slot] = produk.getKategori();
+        kolomHarga.putDouble(slot * Double.BYTES, produk.getHarga());
+        kolomStok.putInt(slot * Integer.BYTES, produk.getStok());
+        kolomStokMinimum.putInt(slot * Integer.BYTES, produk.getStokMinimum());
+        kolomAktif.put(slot, (byte) (produk.isAktif() ? 1 : 0));
+    }
+
+    private Produk bacaSlot(int slot) {
+        Produk produk = new Produk(kolomKode[slot], kolomNama[slot], kolomKategori[slot],
+                kolomHarga.getDouble(slot * Double.BYTES), stok(slot), stokMinimum(slot));
+        produk.setAktif(kolomAktif.get(slot) != 0);
+        return produk;
+    }
+
+    private void pindahSlot(int asal, int tujuan) {
+        kolomKode[tujuan] = kolomKode[asal];
+        kolomNama[tujuan] = kolomNama[asal];
+        kolomKategori[tujuan] = kolomKategori[asal];
+        kolomHarga.putDouble(tujuan * Double.BYTES, kolomHarga.getDouble(asal * Double.BYTES));
+        kolomStok.putInt(tujuan * Integer.BYTES, stok(asal));
+        kolomStokMinimum.putInt(tujuan * Integer.BYTES, stokMinimum(asal));
+        kolomAktif.put(tujuan, kolomAktif.get(asal));
+    }
+
+    private void perbesar() {
+        int kapasitasBaru = Math.multiplyExact(kapasitas, 2);
+        kolomKode = Arrays.copyOf(kolomKode, kapasitasBaru);
+        kolomNama = Arrays.copyOf(kolomNama, kapasitasBaru);
+        kolomKategori = Arrays.copyOf(kolomKategori, kapasitasBaru);
+        kolomHarga = salinKolom(kolomHarga, kapasitasBaru * Double.BYTES);
+        kolomStok = salinKolom(kolomStok, kapasitasBaru * Integer.BYTES);
+        kolomStokMinimum = salinKolom(kolomStokMinimum, kapasitasBaru * Integer.BYTES);
+        kolomAktif = salinKolom(kolomAktif, kapasitasBaru);
+        kapasitas = kapasitasBaru;
+    }
+
+    private static ByteBuffer salinKolom(ByteBuffer lama, int ukuranByte) {
+        ByteBuffer baru = alokasi(ukuranByte);
+        baru.put(0, lama, 0, lama.capacity());
+        return baru;
+    }
+
+    private static ByteBuffer alokasi(int ukuranByte) {
+        return ByteBuffer.allocateDirect(ukuranByte).order(ByteOrder.nativeOrder());
+    }
+}
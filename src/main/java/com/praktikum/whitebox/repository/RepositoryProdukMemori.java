@@ -0,0 +1,904 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.KodeCodec;
+import com.praktikum.whitebox.util.LongObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+public class RepositoryProdukMemori implements RepositoryProduk {
+    private static final int DITOLAK = -1;
+    private static final int JUMLAH_SEGMEN = 64;
+
+    // Indeks utama: kode dikodekan menjadi long lalu disimpan di map primitif per segmen.
+    // Setiap segmen punya kunci sendiri sehingga penulis pada kode berbeda jarang berebut.
+    private final Segmen[] segmen = new Segmen[JUMLAH_SEGMEN];
+
+    // Indeks sekunder: kategori dan status stok
+    private final ConcurrentHashMap<String, Set<String>> kodeByKategori = new ConcurrentHashMap<>();
+    private final Set<String> kodeStokMenipis = ConcurrentHashMap.newKeySet();
+    private final Set<String> kodeStokHabis = ConcurrentHashMap.newKeySet();
+    private final IndeksTrigram indeksNama = new IndeksTrigram();
+
+    // Total nilai dan stok yang diperbarui di setiap mutasi sehingga agregat O(1)
+    private final AgregatInventaris agregat = new AgregatInventaris();
+
+    // Kode panas: stoknya dipindah ke StokBergaris dan produk di segmen menyimpan stok 0, sehingga
+    // agregat inkremental dan indeks status tidak ikut menghitungnya. Peta hanya diganti utuh
+    // (copy-on-write) karena kode panas sedikit dan jarang berubah, sedangkan dibaca di setiap mutasi.
+    private volatile LongObjectMap<KodePanas> kodePanas = new LongObjectMap<>();
+    private final Object kunciKodePanas = new Object();
+
+    // Aliran perubahan stok untuk pelanggan (mis. layanan restock) sebagai pengganti polling
+    // cariProdukStokMenipis. Perubahan diterbitkan di bawah kunci segmen sehingga urutan per kode
+    // terjaga, lewat offer yang tidak pernah memblokir: pelanggan yang buffernya penuh kehilangan
+    // perubahan (dihitung di perubahanTerbuang) dan bisa menyelaraskan ulang dengan query biasa.
+    // Tanpa pelanggan tidak ada objek perubahan yang dibuat.
+    private final SubmissionPublisher<PerubahanStok> penerbitPerubahan = new SubmissionPublisher<>();
+    private final SubmissionPublisher<PerubahanStok> penerbitPerpindahanStatus = new SubmissionPublisher<>();
+    private final LongAdder perubahanTerbuang = new LongAdder();
+
+    public RepositoryProdukMemori() {
+        for (int i = 0; i < JUMLAH_SEGMEN; i++) {
+            segmen[i] = new Segmen();
+        }
+    }
+
+    // Hanya kode alfanumerik 1-10 karakter (lihat KodeCodec) yang dapat disimpan
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null) {
+            return false;
+        }
+        long kunci = KodeCodec.encode(produk.getKode());
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        // Simpan salinan agar perubahan objek di luar repository tidak merusak indeks
+        Produk salinan = new Produk(produk);
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            return simpanTerkunci(s, kunci, salinan);
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        Produk produk = cari(KodeCodec.encode(kode));
+        return produk == null ? Optional.empty() : Optional.of(salin(produk));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        List<Produk> hasil = new ArrayList<>();
+        if (nama == null) {
+            return hasil;
+        }
+        String kataKunci = IndeksTrigram.normalisasi(nama);
+        Collection<String> kandidat = indeksNama.kandidat(nama);
+        if (kandidat == null) {
+            // Kata kunci kurang dari tiga karakter: indeks trigram tidak bisa dipakai
+            for (Segmen s : segmen) {
+                long stamp = s.kunci.readLock();
+                try {
+                    s.produk.forEachValue(produk -> {
+                        if (namaMengandung(produk, kataKunci)) {
+                            hasil.add(salin(produk));
+                        }
+                    });
+                } finally {
+                    s.kunci.unlockRead(stamp);
+                }
+            }
+            return hasil;
+        }
+        for (String kode : kandidat) {
+            Produk produk = cari(KodeCodec.encode(kode));
+            // Trigram yang cocok belum tentu berurutan, jadi kandidat tetap diverifikasi
+            if (produk != null && namaMengandung(produk, kataKunci)) {
+                hasil.add(salin(produk));
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        List<Produk> hasil = new ArrayList<>();
+        if (kategori == null) {
+            return hasil;
+        }
+        Set<String> daftarKode = kodeByKategori.get(kategori);
+        if (daftarKode == null) {
+            return hasil;
+        }
+        for (String kode : daftarKode) {
+            Produk produk = cari(KodeCodec.encode(kode));
+            // Cek ulang karena produk bisa berubah di antara pembacaan indeks dan data
+            if (produk != null && kategori.equals(produk.getKategori())) {
+                hasil.add(salin(produk));
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        List<Produk> hasil = new ArrayList<>();
+        for (String kode : kodeStokMenipis) {
+            Produk produk = cari(KodeCodec.encode(kode));
+            if (produk != null && produk.isStokMenipis()) {
+                hasil.add(new Produk(produk));
+            }
+        }
+        for (Produk produk : produkPanas()) {
+            if (produk.isStokMenipis()) {
+                hasil.add(produk);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        List<Produk> hasil = new ArrayList<>();
+        for (String kode : kodeStokHabis) {
+            Produk produk = cari(KodeCodec.encode(kode));
+            if (produk != null && produk.isStokHabis()) {
+                hasil.add(new Produk(produk));
+            }
+        }
+        for (Produk produk : produkPanas()) {
+            if (produk.isStokHabis()) {
+                hasil.add(produk);
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            Produk lama = s.produk.remove(kunci);
+            if (lama == null) {
+                return false;
+            }
+            StokBergaris stokPanas = lepasKodePanas(kunci);
+            int stokTerakhir = stokPanas != null ? stokPanas.tutup() : lama.getStok();
+            hapusDariIndeks(lama);
+            agregat.catat(lama, null);
+            if (adaPelanggan()) {
+                terbitkan(denganStok(lama, stokTerakhir), null);
+            }
+            return true;
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        return ubahStok(kode, stokLama -> stokBaru);
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        return ubahStok(kode, stok -> stok == stokLama ? stokBaru : DITOLAK);
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        // Jalur cepat kode panas tanpa kunci segmen; stok yang sudah ditutup jatuh ke jalur biasa
+        StokBergaris stokPanas = jalurCepat(kode);
+        if (stokPanas != null) {
+            if (stokPanas.kurangi(jumlah)) {
+                return true;
+            }
+            if (!stokPanas.isDitutup()) {
+                return false;
+            }
+        }
+        return ubahStok(kode, stok -> stok >= jumlah ? stok - jumlah : DITOLAK);
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        StokBergaris stokPanas = jalurCepat(kode);
+        if (stokPanas != null) {
+            if (stokPanas.tambah(jumlah)) {
+                return true;
+            }
+            if (!stokPanas.isDitutup()) {
+                return false;
+            }
+        }
+        return ubahStok(kode, stok -> stok <= Integer.MAX_VALUE - jumlah ? stok + jumlah : DITOLAK);
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            Produk lama = s.produk.get(kunci);
+            if (lama == null) {
+                return false;
+            }
+            if (lama.isAktif() != aktif) {
+                Produk baru = new Produk(lama);
+                baru.setAktif(aktif);
+                s.produk.put(kunci, baru);
+                agregat.catat(lama, baru);
+            }
+            return true;
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    // Batch dikelompokkan per segmen: satu kali ambil kunci per segmen, bukan per item
+    @Override
+    public boolean[] simpanBatch(List<Produk> daftarProduk) {
+        int jumlahItem = daftarProduk.size();
+        long[] kunci = new long[jumlahItem];
+        Produk[] salinan = new Produk[jumlahItem];
+        for (int i = 0; i < jumlahItem; i++) {
+            Produk produk = daftarProduk.get(i);
+            kunci[i] = produk == null ? KodeCodec.TIDAK_VALID : KodeCodec.encode(produk.getKode());
+            if (kunci[i] != KodeCodec.TIDAK_VALID) {
+                salinan[i] = new Produk(produk);
+            }
+        }
+        return prosesBatch(kunci, (s, i) -> simpanTerkunci(s, kunci[i], salinan[i]));
+    }
+
+    @Override
+    public boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (stokBaru, stok) -> stokBaru >= 0 ? stokBaru : DITOLAK);
+    }
+
+    @Override
+    public boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (jumlah, stok) ->
+                jumlah > 0 && stok >= jumlah ? stok - jumlah : DITOLAK);
+    }
+
+    @Override
+    public boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        return ubahStokBatch(daftarMutasi, (jumlah, stok) ->
+                jumlah > 0 && stok <= Integer.MAX_VALUE - jumlah ? stok + jumlah : DITOLAK);
+    }
+
+    // Semua segmen yang disentuh dikunci tulis dalam urutan nomor segmen yang naik, sehingga dua
+    // pesanan yang tumpang tindih tidak bisa saling menunggu (deadlock), sedangkan pesanan yang
+    // menyentuh segmen berbeda berjalan paralel. Stok kode panas berada di stripe yang berubah
+    // tanpa kunci segmen, jadi stripe-nya ikut ditahan (StokBergaris.tahan) selama pemeriksaan.
+    // Semua kode diperiksa dulu, baru kemudian diterapkan, sehingga pesanan yang ditolak tidak
+    // mengubah apa pun dan tidak menerbitkan perubahan; pesanan yang berhasil menerbitkan satu
+    // perubahan per kode.
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        int jumlahItem = daftarMutasi.size();
+        long[] kunci = new long[jumlahItem];
+        long segmenDisentuh = 0;
+        for (int i = 0; i < jumlahItem; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            if (mutasi == null || mutasi.getJumlah() <= 0) {
+                return false;
+            }
+            kunci[i] = KodeCodec.encode(mutasi.getKode());
+            if (kunci[i] == KodeCodec.TIDAK_VALID) {
+                return false;
+            }
+            segmenDisentuh |= 1L << nomorSegmen(kunci[i]);
+        }
+        long[] stamp = new long[JUMLAH_SEGMEN];
+        for (int j = 0; j < JUMLAH_SEGMEN; j++) {
+            if ((segmenDisentuh & (1L << j)) != 0) {
+                stamp[j] = segmen[j].kunci.writeLock();
+            }
+        }
+        try {
+            // {total permintaan, stok sebelum} per kode, karena kode yang sama boleh muncul di
+            // beberapa baris; kodeUnik menyimpan urutan kemunculan pertama
+            LongObjectMap<long[]> totalPerKode = new LongObjectMap<>();
+            long[] kodeUnik = new long[jumlahItem];
+            int jumlahKode = 0;
+            for (int i = 0; i < jumlahItem; i++) {
+                long[] total = totalPerKode.get(kunci[i]);
+                if (total == null) {
+                    Produk produk = segmenUntuk(kunci[i]).produk.get(kunci[i]);
+                    if (produk == null) {
+                        return false;
+                    }
+                    total = new long[]{0, produk.getStok()};
+                    totalPerKode.put(kunci[i], total);
+                    kodeUnik[jumlahKode++] = kunci[i];
+                }
+                total[0] += daftarMutasi.get(i).getJumlah();
+            }
+            KodePanas[] panas = new KodePanas[jumlahKode];
+            boolean cukup = true;
+            try {
+                for (int u = 0; u < jumlahKode; u++) {
+                    panas[u] = kodePanas.get(kodeUnik[u]);
+                    if (panas[u] != null) {
+                        totalPerKode.get(kodeUnik[u])[1] = panas[u].stok.tahan();
+                    }
+                }
+                for (int u = 0; u < jumlahKode && cukup; u++) {
+                    long[] total = totalPerKode.get(kodeUnik[u]);
+                    cukup = total[0] <= total[1];
+                }
+            } finally {
+                for (int u = jumlahKode - 1; u >= 0; u--) {
+                    if (panas[u] != null) {
+                        long[] total = totalPerKode.get(kodeUnik[u]);
+                        panas[u].stok.lepas((int) (cukup ? total[1] - total[0] : total[1]));
+                    }
+                }
+            }
+            if (!cukup) {
+                return false;
+            }
+            for (int u = 0; u < jumlahKode; u++) {
+                long[] total = totalPerKode.get(kodeUnik[u]);
+                int jumlah = (int) total[0];
+                if (panas[u] == null) {
+                    ubahStokTerkunci(segmenUntuk(kodeUnik[u]), kodeUnik[u], stok -> stok - jumlah);
+                } else if (adaPelanggan()) {
+                    Produk dasar = segmenUntuk(kodeUnik[u]).produk.get(kodeUnik[u]);
+                    terbitkan(denganStok(dasar, (int) total[1]), denganStok(dasar, (int) (total[1] - jumlah)));
+                }
+            }
+            return true;
+        } finally {
+            for (int j = JUMLAH_SEGMEN - 1; j >= 0; j--) {
+                if ((segmenDisentuh & (1L << j)) != 0) {
+                    segmen[j].kunci.unlockWrite(stamp[j]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public double hitungTotalNilai() {
+        return totalNilaiSen() / 100.0;
+    }
+
+    // Total yang melebihi int dijenuhkan ke Integer.MAX_VALUE
+    @Override
+    public int hitungTotalStok() {
+        long total = agregat.totalStok();
+        for (Produk produk : produkPanas()) {
+            total += produk.isAktif() ? produk.getStok() : 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        return totalNilaiSen();
+    }
+
+    private long totalNilaiSen() {
+        long total = agregat.totalNilaiSen();
+        for (Produk produk : produkPanas()) {
+            total += produk.isAktif() ? produk.hitungTotalHargaSen() : 0;
+        }
+        return total;
+    }
+
+    public long hitungTotalNilaiSen(String kategori) {
+        long total = agregat.totalNilaiSen(kategori);
+        for (Produk produk : produkPanas()) {
+            total += produk.isAktif() && produk.getKategori() != null && produk.getKategori().equals(kategori)
+                    ? produk.hitungTotalHargaSen() : 0;
+        }
+        return total;
+    }
+
+    public long hitungTotalStok(String kategori) {
+        long total = agregat.totalStok(kategori);
+        for (Produk produk : produkPanas()) {
+            total += produk.isAktif() && produk.getKategori() != null && produk.getKategori().equals(kategori)
+                    ? produk.getStok() : 0;
+        }
+        return total;
+    }
+
+    // Mode kode panas untuk kode yang diserbu banyak thread sekaligus (mis. flash sale): stoknya
+    // dipecah per core sehingga keluarStok tidak lagi berebut satu kunci segmen. Operasi lain tetap
+    // berjalan seperti biasa dan semua pembacaan melihat stok gabungan terkini.
+    //
+    // Batasan: jalur cepat tanpa kunci hanya dipakai selama tidak ada pelanggan aliran perubahan.
+    // Aliran menjanjikan setiap perubahan dengan stok sebelum/sesudah yang menyambung dan urut per
+    // kode, sedangkan CAS di satu stripe tidak tahu stok gabungannya. Begitu ada pelanggan (mis.
+    // layanan restock yang selalu terpasang), kurangiStok/tambahStok kode panas kembali memakai
+    // kunci tulis segmen, sehingga selama itu mode kode panas tidak lebih cepat dari kode biasa.
+    // Pemakai yang butuh throughput penuh saat flash sale melepas pelanggannya selama itu
+    // lalu menyelaraskan ulang dengan cariProdukStokMenipis/cariProdukStokHabis sesudahnya.
+    public boolean aktifkanKodePanas(String kode) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            Produk lama = s.produk.get(kunci);
+            if (lama == null || kodePanas.containsKey(kunci)) {
+                return false;
+            }
+            Produk dasar = new Produk(lama);
+            dasar.setStok(0);
+            s.produk.put(kunci, dasar);
+            kodeStokMenipis.remove(lama.getKode());
+            kodeStokHabis.remove(lama.getKode());
+            agregat.catat(lama, dasar);
+            synchronized (kunciKodePanas) {
+                LongObjectMap<KodePanas> baru = salinKodePanas();
+                baru.put(kunci, new KodePanas(kunci, new StokBergaris(lama.getStok(),
+                        Runtime.getRuntime().availableProcessors(), AgregatInventaris.stokMaksimal(lama))));
+                kodePanas = baru;
+            }
+            return true;
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    // Stok dari semua stripe dikumpulkan kembali ke produk di segmen
+    public boolean nonaktifkanKodePanas(String kode) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            StokBergaris stok = lepasKodePanas(kunci);
+            if (stok == null) {
+                return false;
+            }
+            Produk dasar = s.produk.get(kunci);
+            Produk baru = new Produk(dasar);
+            baru.setStok(stok.tutup());
+            s.produk.put(kunci, baru);
+            tambahKeIndeksStatus(baru);
+            agregat.catat(dasar, baru);
+            return true;
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isKodePanas(String kode) {
+        return stokPanas(kode) != null;
+    }
+
+    // Semua perubahan stok: simpan, hapus, dan setiap mutasi stok yang berhasil
+    public Flow.Publisher<PerubahanStok> getAliranPerubahan() {
+        return penerbitPerubahan;
+    }
+
+    // Hanya perubahan yang memindahkan produk antara aman, menipis, dan habis
+    public Flow.Publisher<PerubahanStok> getAliranPerpindahanStatus() {
+        return penerbitPerpindahanStatus;
+    }
+
+    public long jumlahPerubahanTerbuang() {
+        return perubahanTerbuang.sum();
+    }
+
+    // Pelanggan menerima onComplete; perubahan berikutnya tidak diterbitkan lagi
+    public void tutupAliranPerubahan() {
+        penerbitPerubahan.close();
+        penerbitPerpindahanStatus.close();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        List<Produk> hasil = new ArrayList<>();
+        for (Segmen s : segmen) {
+            long stamp = s.kunci.readLock();
+            try {
+                s.produk.forEachValue(produk -> hasil.add(salin(produk)));
+            } finally {
+                s.kunci.unlockRead(stamp);
+            }
+        }
+        return hasil;
+    }
+
+    public int jumlahProduk() {
+        int jumlah = 0;
+        for (Segmen s : segmen) {
+            long stamp = s.kunci.readLock();
+            try {
+                jumlah += s.produk.size();
+            } finally {
+                s.kunci.unlockRead(stamp);
+            }
+        }
+        return jumlah;
+    }
+
+    // Lookup tanpa alokasi: encode kode, pilih segmen, probe map primitif
+    private Produk cari(long kunci) {
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return null;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.readLock();
+        try {
+            return s.produk.get(kunci);
+        } finally {
+            s.kunci.unlockRead(stamp);
+        }
+    }
+
+    // Hitung stok baru dan tulis secara atomik di bawah kunci segmen untuk kode tersebut
+    private boolean ubahStok(String kode, IntUnaryOperator hitungStokBaru) {
+        long kunci = KodeCodec.encode(kode);
+        if (kunci == KodeCodec.TIDAK_VALID) {
+            return false;
+        }
+        Segmen s = segmenUntuk(kunci);
+        long stamp = s.kunci.writeLock();
+        try {
+            return ubahStokTerkunci(s, kunci, hitungStokBaru);
+        } finally {
+            s.kunci.unlockWrite(stamp);
+        }
+    }
+
+    // Dua method di bawah dipanggil dengan kunci tulis segmen s sudah dipegang
+    // Produk yang nilai stoknya dalam sen tidak muat di long ditolak sebelum apa pun diubah
+    private boolean simpanTerkunci(Segmen s, long kunci, Produk salinan) {
+        if (!AgregatInventaris.bisaDicatat(salinan)) {
+            return false;
+        }
+        KodePanas panas = kodePanas.get(kunci);
+        int[] stokPanas = null;
+        if (panas != null) {
+            // stokPanas berisi {stok sebelum, stok sesudah} stripe untuk perubahan yang diterbitkan
+            int stokBaru = salinan.getStok();
+            int[] stok = new int[2];
+            boolean berhasil = panas.stok.ubah(stokLama -> {
+                stok[0] = stokLama;
+                return stokBaru;
+            }, AgregatInventaris.stokMaksimal(salinan));
+            stok[1] = berhasil ? stokBaru : stok[0];
+            stokPanas = stok;
+            salinan.setStok(0);
+        }
+        Produk lama = s.produk.put(kunci, salinan);
+        if (lama != null) {
+            hapusDariIndeks(lama);
+        }
+        tambahKeIndeks(salinan);
+        agregat.catat(lama, salinan);
+        if (adaPelanggan()) {
+            terbitkan(lama == null || stokPanas == null ? lama : denganStok(lama, stokPanas[0]),
+                    stokPanas == null ? salinan : denganStok(salinan, stokPanas[1]));
+        }
+        return true;
+    }
+
+    private boolean ubahStokTerkunci(Segmen s, long kunci, IntUnaryOperator hitungStokBaru) {
+        Produk lama = s.produk.get(kunci);
+        if (lama == null) {
+            return false;
+        }
+        KodePanas panas = kodePanas.get(kunci);
+        if (panas != null) {
+            // Kode menjadi panas saat pemanggil menunggu kunci segmen: stok ada di stripe
+            if (!adaPelanggan()) {
+                return panas.stok.ubah(hitungStokBaru);
+            }
+            int[] stok = new int[2];
+            boolean berhasil = panas.stok.ubah(stokLama -> {
+                stok[0] = stokLama;
+                stok[1] = hitungStokBaru.applyAsInt(stokLama);
+                return stok[1];
+            });
+            if (berhasil) {
+                terbitkan(denganStok(lama, stok[0]), denganStok(lama, stok[1]));
+            }
+            return berhasil;
+        }
+        int stokBaru = hitungStokBaru.applyAsInt(lama.getStok());
+        if (stokBaru == DITOLAK) {
+            return false;
+        }
+        // Produk yang sudah dipublikasikan tidak pernah diubah; selalu ganti dengan salinan baru
+        Produk baru = new Produk(lama);
+        baru.setStok(stokBaru);
+        if (!AgregatInventaris.bisaDicatat(baru)) {
+            return false;
+        }
+        s.produk.put(kunci, baru);
+        perbaruiIndeksStatus(lama, baru);
+        agregat.catat(lama, baru);
+        if (adaPelanggan()) {
+            terbitkan(lama, baru);
+        }
+        return true;
+    }
+
+    private boolean[] ubahStokBatch(List<MutasiStok> daftarMutasi, IntBinaryOperator hitungStokBaru) {
+        int jumlahItem = daftarMutasi.size();
+        long[] kunci = new long[jumlahItem];
+        int[] jumlah = new int[jumlahItem];
+        for (int i = 0; i < jumlahItem; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            kunci[i] = mutasi == null ? KodeCodec.TIDAK_VALID : KodeCodec.encode(mutasi.getKode());
+            jumlah[i] = mutasi == null ? 0 : mutasi.getJumlah();
+        }
+        return prosesBatch(kunci, (s, i) ->
+                ubahStokTerkunci(s, kunci[i], stok -> hitungStokBaru.applyAsInt(jumlah[i], stok)));
+    }
+
+    // Kelompokkan item per segmen dengan counting sort yang stabil, lalu proses setiap segmen
+    // dengan satu kali ambil kunci tulis. Item untuk kode yang sama selalu berada di segmen yang
+    // sama sehingga urutan penerapannya tetap sesuai urutan masukan.
+    private boolean[] prosesBatch(long[] kunci, OperasiBatch operasi) {
+        int jumlahItem = kunci.length;
+        boolean[] hasil = new boolean[jumlahItem];
+        int[] nomorSegmen = new int[jumlahItem];
+        int[] awal = new int[JUMLAH_SEGMEN + 1];
+        for (int i = 0; i < jumlahItem; i++) {
+            if (kunci[i] != KodeCodec.TIDAK_VALID) {
+                nomorSegmen[i] = nomorSegmen(kunci[i]);
+                awal[nomorSegmen[i] + 1]++;
+            }
+        }
+        for (int j = 0; j < JUMLAH_SEGMEN; j++) {
+            awal[j + 1] += awal[j];
+        }
+        int[] urutan = new int[awal[JUMLAH_SEGMEN]];
+        int[] posisi = Arrays.copyOf(awal, JUMLAH_SEGMEN);
+        for (int i = 0; i < jumlahItem; i++) {
+            if (kunci[i] != KodeCodec.TIDAK_VALID) {
+                urutan[posisi[nomorSegmen[i]]++] = i;
+            }
+        }
+        for (int j = 0; j < JUMLAH_SEGMEN; j++) {
+            if (awal[j] == awal[j + 1]) {
+                continue;
+            }
+            Segmen s = segmen[j];
+            long stamp = s.kunci.writeLock();
+            try {
+                for (int k = awal[j]; k < awal[j + 1]; k++) {
+                    int i = urutan[k];
+                    hasil[i] = operasi.terapkan(s, i);
+                }
+            } finally {
+                s.kunci.unlockWrite(stamp);
+            }
+        }
+        return hasil;
+    }
+
+    private boolean adaPelanggan() {
+        return penerbitPerubahan.hasSubscribers() || penerbitPerpindahanStatus.hasSubscribers();
+    }
+
+    // Produk yang baru disimpan dan yang dihapus selalu diterbitkan; selain itu hanya jika stok berubah
+    private void terbitkan(Produk lama, Produk baru) {
+        if (lama != null && baru != null && lama.getStok() == baru.getStok()) {
+            return;
+        }
+        PerubahanStok perubahan = PerubahanStok.dari(lama, baru);
+        tawarkan(penerbitPerubahan, perubahan);
+        if (perubahan.isPerpindahanStatus()) {
+            tawarkan(penerbitPerpindahanStatus, perubahan);
+        }
+    }
+
+    private void tawarkan(SubmissionPublisher<PerubahanStok> penerbit, PerubahanStok perubahan) {
+        if (!penerbit.hasSubscribers()) {
+            return;
+        }
+        try {
+            penerbit.offer(perubahan, this::terbuang);
+        } catch (IllegalStateException e) {
+            // Aliran ditutup bersamaan dengan mutasi ini; mutasinya sendiri tetap berhasil
+        }
+    }
+
+    // Jalur cepat kode panas tidak memegang kunci apa pun, sehingga stok gabungan sebelum dan
+    // sesudahnya tidak bisa diketahui. Selama ada pelanggan, kode panas lewat jalur terkunci yang
+    // membaca stok sebelum/sesudah dari stripe di bawah kunci segmen, sehingga setiap perubahan
+    // diterbitkan tepat sekali dan berurutan. Perubahan jalur cepat yang bertepatan dengan
+    // datangnya pelanggan pertama tidak diterbitkan.
+    private StokBergaris jalurCepat(String kode) {
+        return adaPelanggan() ? null : stokPanas(kode);
+    }
+
+    private boolean terbuang(Flow.Subscriber<? super PerubahanStok> pelanggan, PerubahanStok perubahan) {
+        perubahanTerbuang.increment();
+        return false;
+    }
+
+    private static Produk denganStok(Produk produk, int stok) {
+        Produk salinan = new Produk(produk);
+        salinan.setStok(stok);
+        return salinan;
+    }
+
+    // Salinan untuk pemanggil; stok kode panas diambil dari stripe
+    private Produk salin(Produk produk) {
+        Produk salinan = new Produk(produk);
+        LongObjectMap<KodePanas> peta = kodePanas;
+        if (!peta.isEmpty()) {
+            KodePanas panas = peta.get(KodeCodec.encode(produk.getKode()));
+            if (panas != null) {
+                salinan.setStok(panas.stok.getStok());
+            }
+        }
+        return salinan;
+    }
+
+    private StokBergaris stokPanas(String kode) {
+        LongObjectMap<KodePanas> peta = kodePanas;
+        if (peta.isEmpty()) {
+            return null;
+        }
+        KodePanas panas = peta.get(KodeCodec.encode(kode));
+        return panas == null ? null : panas.stok;
+    }
+
+    private List<Produk> produkPanas() {
+        List<Produk> hasil = new ArrayList<>();
+        LongObjectMap<KodePanas> peta = kodePanas;
+        if (!peta.isEmpty()) {
+            peta.forEachValue(panas -> {
+                Produk produk = cari(panas.kunci);
+                if (produk != null) {
+                    Produk salinan = new Produk(produk);
+                    salinan.setStok(panas.stok.getStok());
+                    hasil.add(salinan);
+                }
+            });
+        }
+        return hasil;
+    }
+
+    // Dipanggil di bawah kunci tulis segmen milik kode; pemanggil wajib menutup stok yang dikembalikan
+    private StokBergaris lepasKodePanas(long kunci) {
+        if (!kodePanas.containsKey(kunci)) {
+            return null;
+        }
+        synchronized (kunciKodePanas) {
+            LongObjectMap<KodePanas> baru = salinKodePanas();
+            KodePanas panas = baru.remove(kunci);
+            kodePanas = baru;
+            return panas.stok;
+        }
+    }
+
+    private LongObjectMap<KodePanas> salinKodePanas() {
+        LongObjectMap<KodePanas> salinan = new LongObjectMap<>();
+        kodePanas.forEachValue(panas -> salinan.put(panas.kunci, panas));
+        return salinan;
+    }
+
+    private static boolean namaMengandung(Produk produk, String kataKunci) {
+        return produk.getNama() != null && IndeksTrigram.normalisasi(produk.getNama()).contains(kataKunci);
+    }
+
+    private Segmen segmenUntuk(long kunci) {
+        return segmen[nomorSegmen(kunci)];
+    }
+
+    private static int nomorSegmen(long kunci) {
+        return (int) (LongObjectMap.acak(kunci) >>> 58) & (JUMLAH_SEGMEN - 1);
+    }
+
+    // Semua method indeks di bawah dipanggil di bawah kunci tulis segmen milik kode tersebut,
+    // sehingga perubahan indeks untuk satu kode tidak pernah saling tumpang tindih.
+    private void tambahKeIndeks(Produk produk) {
+        if (produk.getKategori() != null) {
+            kodeByKategori.compute(produk.getKategori(), (kategori, daftarKode) -> {
+                Set<String> hasil = daftarKode != null ? daftarKode : ConcurrentHashMap.newKeySet();
+                hasil.add(produk.getKode());
+                return hasil;
+            });
+        }
+        indeksNama.tambah(produk.getKode(), produk.getNama());
+        tambahKeIndeksStatus(produk);
+    }
+
+    private void hapusDariIndeks(Produk produk) {
+        if (produk.getKategori() != null) {
+            kodeByKategori.computeIfPresent(produk.getKategori(), (kategori, daftarKode) -> {
+                daftarKode.remove(produk.getKode());
+                return daftarKode.isEmpty() ? null : daftarKode;
+            });
+        }
+        indeksNama.hapus(produk.getKode(), produk.getNama());
+        kodeStokMenipis.remove(produk.getKode());
+        kodeStokHabis.remove(produk.getKode());
+    }
+
+    private void perbaruiIndeksStatus(Produk lama, Produk baru) {
+        if (lama.isStokMenipis() != baru.isStokMenipis() || lama.isStokHabis() != baru.isStokHabis()) {
+            kodeStokMenipis.remove(lama.getKode());
+            kodeStokHabis.remove(lama.getKode());
+            tambahKeIndeksStatus(baru);
+        }
+    }
+
+    private void tambahKeIndeksStatus(Produk produk) {
+        if (isKodePanas(produk.getKode())) {
+            return;
+        }
+        if (produk.isStokHabis()) {
+            kodeStokHabis.add(produk.getKode());
+        } else if (produk.isStokMenipis()) {
+            kodeStokMenipis.add(produk.getKode());
+        }
+    }
+
+    @FunctionalInterface
+    private interface OperasiBatch {
+        boolean terapkan(Segmen s, int indeks);
+    }
+
+    private static final class KodePanas {
+        private final long kunci;
+        private final StokBergaris stok;
+
+        private KodePanas(long kunci, StokBergaris stok) {
+            this.kunci = kunci;
+            this.stok = stok;
+        }
+    }
+
+    private static final class Segmen {
+        private final StampedLock kunci = new StampedLock();
+        private final LongObjectMap<Produk> produk = new LongObjectMap<>();
+    }
+}
@@ -0,0 +1,214 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.metrik.MetrikOperasi;
+import com.praktikum.whitebox.metrik.RegistriMetrik;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Dekorator yang mencatat latensi dan hasil setiap method RepositoryProduk ke RegistriMetrik
+// dengan nama "<awalan>.<method>". Hasil false dicatat sebagai DITOLAK_REPOSITORY, Optional
+// kosong sebagai PRODUK_TIDAK_DITEMUKAN, dan exception sebagai GALAT (lalu dilempar ulang).
+// Semua method diteruskan, termasuk yang punya implementasi default, agar override
+// repository asal tetap terpakai.
+public class RepositoryProdukTerinstrumentasi implements RepositoryProduk {
+    public static final String AWALAN_BAWAAN = "RepositoryProduk";
+
+    private final RepositoryProduk asal;
+    private final MetrikOperasi mSimpan;
+    private final MetrikOperasi mHapus;
+    private final MetrikOperasi mUpdateStok;
+    private final MetrikOperasi mUpdateStokJikaSama;
+    private final MetrikOperasi mKurangiStok;
+    private final MetrikOperasi mTambahStok;
+    private final MetrikOperasi mUpdateAktif;
+    private final MetrikOperasi mCariByKode;
+    private final MetrikOperasi mSimpanBatch;
+    private final MetrikOperasi mUpdateStokBatch;
+    private final MetrikOperasi mKurangiStokBatch;
+    private final MetrikOperasi mTambahStokBatch;
+    private final MetrikOperasi mKurangiStokSemua;
+    private final MetrikOperasi mCariByNama;
+    private final MetrikOperasi mCariByKategori;
+    private final MetrikOperasi mCariProdukStokMenipis;
+    private final MetrikOperasi mCariProdukStokHabis;
+    private final MetrikOperasi mCariSemua;
+    private final MetrikOperasi mHitungTotalNilai;
+    private final MetrikOperasi mHitungTotalNilaiSen;
+    private final MetrikOperasi mHitungTotalStok;
+
+    public RepositoryProdukTerinstrumentasi(RepositoryProduk asal, RegistriMetrik registri) {
+        this(asal, registri, AWALAN_BAWAAN);
+    }
+
+    public RepositoryProdukTerinstrumentasi(RepositoryProduk asal, RegistriMetrik registri, String awalan) {
+        if (asal == null || registri == null) {
+            throw new IllegalArgumentException("Repository asal dan registri metrik tidak boleh null");
+        }
+        this.asal = asal;
+        mSimpan = registri.operasi(awalan + ".simpan");
+        mHapus = registri.operasi(awalan + ".hapus");
+        mUpdateStok = registri.operasi(awalan + ".updateStok");
+        mUpdateStokJikaSama = registri.operasi(awalan + ".updateStokJikaSama");
+        mKurangiStok = registri.operasi(awalan + ".kurangiStok");
+        mTambahStok = registri.operasi(awalan + ".tambahStok");
+        mUpdateAktif = registri.operasi(awalan + ".updateAktif");
+        mCariByKode = registri.operasi(awalan + ".cariByKode");
+        mSimpanBatch = registri.operasi(awalan + ".simpanBatch");
+        mUpdateStokBatch = registri.operasi(awalan + ".updateStokBatch");
+        mKurangiStokBatch = registri.operasi(awalan + ".kurangiStokBatch");
+        mTambahStokBatch = registri.operasi(awalan + ".tambahStokBatch");
+        mKurangiStokSemua = registri.operasi(awalan + ".kurangiStokSemua");
+        mCariByNama = registri.operasi(awalan + ".cariByNama");
+        mCariByKategori = registri.operasi(awalan + ".cariByKategori");
+        mCariProdukStokMenipis = registri.operasi(awalan + ".cariProdukStokMenipis");
+        mCariProdukStokHabis = registri.operasi(awalan + ".cariProdukStokHabis");
+        mCariSemua = registri.operasi(awalan + ".cariSemua");
+        mHitungTotalNilai = registri.operasi(awalan + ".hitungTotalNilai");
+        mHitungTotalNilaiSen = registri.operasi(awalan + ".hitungTotalNilaiSen");
+        mHitungTotalStok = registri.operasi(awalan + ".hitungTotalStok");
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return ukur(mCariByKode, () -> asal.cariByKode(kode), produk -> produk.isPresent()
+                ? HasilOperasi.SUKSES : HasilOperasi.PRODUK_TIDAK_DITEMUKAN);
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        return ukur(mSimpan, () -> asal.simpan(produk));
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return ukur(mHapus, () -> asal.hapus(kode));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return ukur(mUpdateStok, () -> asal.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public boolean updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        return ukur(mUpdateStokJikaSama, () -> asal.updateStokJikaSama(kode, stokLama, stokBaru));
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return ukur(mKurangiStok, () -> asal.kurangiStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return ukur(mTambahStok, () -> asal.tambahStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        return ukur(mUpdateAktif, () -> asal.updateAktif(kode, aktif));
+    }
+
+    @Override
+    public boolean[] simpanBatch(List<Produk> daftarProduk) {
+        return ukur(mSimpanBatch, () -> asal.simpanBatch(daftarProduk), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public boolean[] updateStokBatch(List<MutasiStok> daftarMutasi) {
+        return ukur(mUpdateStokBatch, () -> asal.updateStokBatch(daftarMutasi), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public boolean[] kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        return ukur(mKurangiStokBatch, () -> asal.kurangiStokBatch(daftarMutasi), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public boolean kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        return ukur(mKurangiStokSemua, () -> asal.kurangiStokSemua(daftarMutasi));
+    }
+
+    @Override
+    public boolean[] tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        return ukur(mTambahStokBatch, () -> asal.tambahStokBatch(daftarMutasi), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return ukur(mCariByNama, () -> asal.cariByNama(nama), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return ukur(mCariByKategori, () -> asal.cariByKategori(kategori), RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return ukur(mCariProdukStokMenipis, asal::cariProdukStokMenipis, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return ukur(mCariProdukStokHabis, asal::cariProdukStokHabis, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return ukur(mCariSemua, asal::cariSemua, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public double hitungTotalNilai() {
+        return ukur(mHitungTotalNilai, asal::hitungTotalNilai, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public long hitungTotalNilaiSen() {
+        return ukur(mHitungTotalNilaiSen, asal::hitungTotalNilaiSen, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        return ukur(mHitungTotalStok, asal::hitungTotalStok, RepositoryProdukTerinstrumentasi::sukses);
+    }
+
+    // Pola yang sama dengan ServiceInventarisTerinstrumentasi.ukur: hasil GALAT bila operasi
+    // melempar exception
+    private static <T> T ukur(MetrikOperasi metrik, Supplier<T> operasi, Function<T, HasilOperasi> hasilDari) {
+        long mulai = System.nanoTime();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            T nilai = operasi.get();
+            hasil = hasilDari.apply(nilai);
+            return nilai;
+        } finally {
+            metrik.catat(hasil, System.nanoTime() - mulai);
+        }
+    }
+
+    // Varian boolean tanpa boxing untuk mutasi tunggal; false dicatat sebagai DITOLAK_REPOSITORY
+    private static boolean ukur(MetrikOperasi metrik, BooleanSupplier operasi) {
+        long mulai = System.nanoTime();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            boolean berhasil = operasi.getAsBoolean();
+            hasil = berhasil ? HasilOperasi.SUKSES : HasilOperasi.DITOLAK_REPOSITORY;
+            return berhasil;
+        } finally {
+            metrik.catat(hasil, System.nanoTime() - mulai);
+        }
+    }
+
+    private static HasilOperasi sukses(Object nilai) {
+        return HasilOperasi.SUKSES;
+    }
+}
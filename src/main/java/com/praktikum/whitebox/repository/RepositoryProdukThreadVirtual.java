@@ -0,0 +1,152 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.PelaksanaAsync;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Adaptor RepositoryProdukAsync untuk repository blocking mana pun (misalnya RepositoryProdukBerkas
+// yang menunggu fsync). Setiap operasi dijalankan di virtual thread sendiri: operasi yang menunggu
+// I/O atau kunci hanya memarkir virtual thread-nya, sehingga puluhan ribu permintaan bisa berjalan
+// bersamaan tanpa pool thread yang harus disetel. Repository asal tetap harus thread-safe.
+public class RepositoryProdukThreadVirtual implements RepositoryProdukAsync, AutoCloseable {
+    private final RepositoryProduk asal;
+    private final PelaksanaAsync pelaksana;
+
+    public RepositoryProdukThreadVirtual(RepositoryProduk asal) {
+        this(asal, PelaksanaAsync.threadVirtual());
+    }
+
+    // Executor lain bisa dipakai, misalnya executor virtual thread bersama milik aplikasi
+    public RepositoryProdukThreadVirtual(RepositoryProduk asal, Executor pelaksana) {
+        this(asal, pelaksana == null ? null : PelaksanaAsync.dari(pelaksana));
+    }
+
+    private RepositoryProdukThreadVirtual(RepositoryProduk asal, PelaksanaAsync pelaksana) {
+        if (asal == null || pelaksana == null) {
+            throw new IllegalArgumentException("Repository asal dan executor tidak boleh null");
+        }
+        this.asal = asal;
+        this.pelaksana = pelaksana;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> simpan(Produk produk) {
+        return jalankan(() -> asal.simpan(produk));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Produk>> cariByKode(String kode) {
+        return jalankan(() -> asal.cariByKode(kode));
+    }
+
+    @Override
+    public CompletableFuture<List<Produk>> cariByNama(String nama) {
+        return jalankan(() -> asal.cariByNama(nama));
+    }
+
+    @Override
+    public CompletableFuture<List<Produk>> cariByKategori(String kategori) {
+        return jalankan(() -> asal.cariByKategori(kategori));
+    }
+
+    @Override
+    public CompletableFuture<List<Produk>> cariProdukStokMenipis() {
+        return jalankan(asal::cariProdukStokMenipis);
+    }
+
+    @Override
+    public CompletableFuture<List<Produk>> cariProdukStokHabis() {
+        return jalankan(asal::cariProdukStokHabis);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hapus(String kode) {
+        return jalankan(() -> asal.hapus(kode));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru) {
+        return jalankan(() -> asal.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public CompletableFuture<List<Produk>> cariSemua() {
+        return jalankan(asal::cariSemua);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateStokJikaSama(String kode, int stokLama, int stokBaru) {
+        return jalankan(() -> asal.updateStokJikaSama(kode, stokLama, stokBaru));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> kurangiStok(String kode, int jumlah) {
+        return jalankan(() -> asal.kurangiStok(kode, jumlah));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> tambahStok(String kode, int jumlah) {
+        return jalankan(() -> asal.tambahStok(kode, jumlah));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> updateAktif(String kode, boolean aktif) {
+        return jalankan(() -> asal.updateAktif(kode, aktif));
+    }
+
+    @Override
+    public CompletableFuture<Double> hitungTotalNilai() {
+        return jalankan(asal::hitungTotalNilai);
+    }
+
+    @Override
+    public CompletableFuture<Long> hitungTotalNilaiSen() {
+        return jalankan(asal::hitungTotalNilaiSen);
+    }
+
+    @Override
+    public CompletableFuture<Integer> hitungTotalStok() {
+        return jalankan(asal::hitungTotalStok);
+    }
+
+    @Override
+    public CompletableFuture<boolean[]> simpanBatch(List<Produk> daftarProduk) {
+        return jalankan(() -> asal.simpanBatch(daftarProduk));
+    }
+
+    @Override
+    public CompletableFuture<boolean[]> updateStokBatch(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> asal.updateStokBatch(daftarMutasi));
+    }
+
+    @Override
+    public CompletableFuture<boolean[]> kurangiStokBatch(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> asal.kurangiStokBatch(daftarMutasi));
+    }
+
+    @Override
+    public CompletableFuture<boolean[]> tambahStokBatch(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> asal.tambahStokBatch(daftarMutasi));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> kurangiStokSemua(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> asal.kurangiStokSemua(daftarMutasi));
+    }
+
+    // Tunggu operasi yang masih berjalan lalu hentikan executor bawaan
+    @Override
+    public void close() {
+        pelaksana.close();
+    }
+
+    private <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        return pelaksana.jalankan(operasi);
+    }
+}
@@ -0,0 +1,83 @@
+package com.praktikum.whitebox.repository;
+
+// Count-min sketch 4-bit untuk memperkirakan frekuensi akses kunci (TinyLFU).
+// Setiap long menampung 16 penghitung; satu kunci memakai satu penghitung di tiap dari empat
+// baris. Saat jumlah penambahan mencapai ukuran sampel semua penghitung dibagi dua, sehingga
+// frekuensi lama perlahan dilupakan dan sketsa mengikuti perubahan pola akses.
+// Tidak thread-safe: pemanggil wajib memegang kunci sendiri.
+final class SketsaFrekuensi {
+    private static final long[] BENIH = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long MASK_RESET = 0x7777777777777777L;
+    private static final int MAKS_PENGHITUNG = 15;
+
+    private final long[] tabel;
+    private final int mask;
+    private final int ukuranSampel;
+    private int jumlahTambah;
+
+    SketsaFrekuensi(int kapasitas) {
+        int ukuran = 16;
+        while (ukuran < kapasitas && ukuran < (1 << 30)) {
+            ukuran <<= 1;
+        }
+        this.tabel = new long[ukuran];
+        this.mask = ukuran - 1;
+        this.ukuranSampel = 10 * Math.max(kapasitas, 1);
+    }
+
+    int frekuensi(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        int minimum = MAKS_PENGHITUNG;
+        for (int baris = 0; baris < BENIH.length; baris++) {
+            long h = campur(hash, baris);
+            int nilai = (int) ((tabel[indeks(h)] >>> geser(h, baris)) & 0xF);
+            minimum = Math.min(minimum, nilai);
+        }
+        return minimum;
+    }
+
+    void tambah(Object kunci) {
+        int hash = sebar(kunci.hashCode());
+        boolean bertambah = false;
+        for (int baris = 0; baris < BENIH.length; baris++) {
+            long h = campur(hash, baris);
+            int i = indeks(h);
+            int geser = geser(h, baris);
+            if (((tabel[i] >>> geser) & 0xF) < MAKS_PENGHITUNG) {
+                tabel[i] += 1L << geser;
+                bertambah = true;
+            }
+        }
+        if (bertambah && ++jumlahTambah >= ukuranSampel) {
+            reset();
+        }
+    }
+
+    // Bagi dua semua penghitung (aging)
+    private void reset() {
+        for (int i = 0; i < tabel.length; i++) {
+            tabel[i] = (tabel[i] >>> 1) & MASK_RESET;
+        }
+        jumlahTambah /= 2;
+    }
+
+    private static long campur(int hash, int baris) {
+        long h = (hash + BENIH[baris]) * BENIH[baris];
+        return h ^ (h >>> 32);
+    }
+
+    private int indeks(long h) {
+        return (int) h & mask;
+    }
+
+    // Baris menentukan kelompok 4 penghitung di dalam long, dua bit hash memilih salah satunya
+    private static int geser(long h, int baris) {
+        return ((baris << 2) + ((int) (h >>> 40) & 3)) << 2;
+    }
+
+    private static int sebar(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
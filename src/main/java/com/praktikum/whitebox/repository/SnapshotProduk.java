@@ -0,0 +1,193 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.KodeCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Snapshot produk yang dapat di-mmap dan dibaca langsung tanpa deserialisasi penuh.
+//
+// Format (big-endian):
+//   header  [magic:int][jumlah:int][generasi:long][offsetTeks:long][crc32:long]
+//   rekaman jumlah x 40 byte, terurut menurut kode terenkode (KodeCodec):
+//           [kode:long][harga:double][stok:int][stokMinimum:int]
+//           [offsetNama:int][offsetKategori:int][aktif:int][cadangan:int]
+//   teks    [panjang:int][utf-8] untuk setiap nama/kategori; offset -1 berarti null
+//
+// Lookup kode adalah binary search di atas rekaman yang dipetakan, sehingga repository
+// bisa melayani cariByKode beberapa milidetik setelah berkas dibuka. Satu pemetaan dibatasi
+// 2 GB oleh MappedByteBuffer.
+final class SnapshotProduk {
+    private static final int MAGIC = 0x534E5032;
+    private static final int UKURAN_HEADER = 32;
+    private static final int UKURAN_REKAMAN = 40;
+    private static final int TANPA_TEKS = -1;
+
+    private final ByteBuffer data;
+    private final int jumlah;
+    private final long generasi;
+    private final long offsetTeks;
+
+    private SnapshotProduk(ByteBuffer data, int jumlah, long generasi, long offsetTeks) {
+        this.data = data;
+        this.jumlah = jumlah;
+        this.generasi = generasi;
+        this.offsetTeks = offsetTeks;
+    }
+
+    static void tulis(Path path, long generasi, List<Produk> semuaProduk) throws IOException {
+        List<Produk> terurut = new ArrayList<>(semuaProduk);
+        terurut.sort(Comparator.comparingLong(p -> KodeCodec.encode(p.getKode())));
+
+        ByteArrayOutputStream teks = new ByteArrayOutputStream();
+        ByteBuffer rekaman = ByteBuffer.allocate(Math.multiplyExact(terurut.size(), UKURAN_REKAMAN));
+        for (Produk produk : terurut) {
+            rekaman.putLong(KodeCodec.encode(produk.getKode()));
+            rekaman.putDouble(produk.getHarga());
+            rekaman.putInt(produk.getStok());
+            rekaman.putInt(produk.getStokMinimum());
+            rekaman.putInt(tulisTeks(teks, produk.getNama()));
+            rekaman.putInt(tulisTeks(teks, produk.getKategori()));
+            rekaman.putInt(produk.isAktif() ? 1 : 0);
+            rekaman.putInt(0);
+        }
+        rekaman.flip();
+        ByteBuffer isiTeks = ByteBuffer.wrap(teks.toByteArray());
+
+        CRC32 crc = new CRC32();
+        crc.update(rekaman.duplicate());
+        crc.update(isiTeks.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER);
+        header.putInt(MAGIC).putInt(terurut.size()).putLong(generasi)
+                .putLong(UKURAN_HEADER + (long) rekaman.remaining()).putLong(crc.getValue()).flip();
+
+        Path sementara = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] bagian = {header, rekaman, isiTeks};
+            while (header.hasRemaining() || rekaman.hasRemaining() || isiTeks.hasRemaining()) {
+                channel.write(bagian);
+            }
+            channel.force(true);
+        }
+        // Snapshot lama tetap utuh jika proses mati sebelum pemindahan atomik ini
+        Files.move(sementara, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Entri direktori hasil rename juga harus durable sebelum pemanggil mengosongkan log
+        try (FileChannel direktori = FileChannel.open(path.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            direktori.force(true);
+        }
+    }
+
+    // Petakan snapshot ke memori; null jika berkas belum ada
+    static SnapshotProduk buka(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long ukuran = channel.size();
+            if (ukuran < UKURAN_HEADER || ukuran > Integer.MAX_VALUE) {
+                throw new IOException("Ukuran snapshot tidak valid: " + path);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, ukuran);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Berkas snapshot tidak dikenal: " + path);
+            }
+            int jumlah = data.getInt(4);
+            long generasi = data.getLong(8);
+            long offsetTeks = data.getLong(16);
+            if (jumlah < 0 || offsetTeks != UKURAN_HEADER + (long) jumlah * UKURAN_REKAMAN || offsetTeks > ukuran) {
+                throw new IOException("Header snapshot rusak: " + path);
+            }
+            return new SnapshotProduk(data, jumlah, generasi, offsetTeks);
+        }
+    }
+
+    long generasi() {
+        return generasi;
+    }
+
+    int jumlah() {
+        return jumlah;
+    }
+
+    Produk cari(long kodeKunci) {
+        int bawah = 0;
+        int atas = jumlah - 1;
+        while (bawah <= atas) {
+            int tengah = (bawah + atas) >>> 1;
+            long kode = kode(tengah);
+            if (kode < kodeKunci) {
+                bawah = tengah + 1;
+            } else if (kode > kodeKunci) {
+                atas = tengah - 1;
+            } else {
+                return baca(tengah);
+            }
+        }
+        return null;
+    }
+
+    Produk baca(int indeks) {
+        int posisi = posisi(indeks);
+        Produk produk = new Produk(KodeCodec.decode(data.getLong(posisi)),
+                bacaTeks(data.getInt(posisi + 24)), bacaTeks(data.getInt(posisi + 28)),
+                data.getDouble(posisi + 8), data.getInt(posisi + 16), data.getInt(posisi + 20));
+        produk.setAktif(data.getInt(posisi + 32) != 0);
+        return produk;
+    }
+
+    // Pemeriksaan integritas penuh (O(ukuran berkas)); RepositoryProdukBerkas menjalankannya saat
+    // pemuatan penuh, atau saat buka jika diminta
+    boolean verifikasi() {
+        CRC32 crc = new CRC32();
+        crc.update(data.slice(UKURAN_HEADER, data.limit() - UKURAN_HEADER));
+        return crc.getValue() == data.getLong(24);
+    }
+
+    private long kode(int indeks) {
+        return data.getLong(posisi(indeks));
+    }
+
+    private static int posisi(int indeks) {
+        return UKURAN_HEADER + indeks * UKURAN_REKAMAN;
+    }
+
+    private String bacaTeks(int offset) {
+        if (offset == TANPA_TEKS) {
+            return null;
+        }
+        int posisi = (int) (offsetTeks + offset);
+        int panjang = data.getInt(posisi);
+        byte[] isi = new byte[panjang];
+        data.get(posisi + Integer.BYTES, isi);
+        return new String(isi, StandardCharsets.UTF_8);
+    }
+
+    private static int tulisTeks(ByteArrayOutputStream teks, String nilai) {
+        if (nilai == null) {
+            return TANPA_TEKS;
+        }
+        int offset = teks.size();
+        byte[] isi = nilai.getBytes(StandardCharsets.UTF_8);
+        teks.write(isi.length >>> 24);
+        teks.write(isi.length >>> 16);
+        teks.write(isi.length >>> 8);
+        teks.write(isi.length);
+        teks.writeBytes(isi);
+        return offset;
+    }
+}
@@ -0,0 +1,248 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.util.LongObjectMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+
+// Stok satu produk yang dipecah ke beberapa stripe (kira-kira satu per core), masing-masing di
+// cache line sendiri. Dipakai untuk kode "panas" seperti flash sale, di mana ribuan thread
+// mengurangi stok kode yang sama dan satu variabel CAS pun sudah menjadi titik rebutan.
+//
+// Setiap thread punya stripe rumah dan mengambil stok dari sana dengan CAS; bila rumah kering,
+// stok diambil dari stripe tetangga. CAS tidak pernah membuat stripe negatif sehingga stok tidak
+// pernah oversell. Jika tidak ada satu stripe pun yang cukup, jalur lambat mengambil kunci,
+// mengumpulkan isi semua stripe, memutuskan, lalu membagi sisanya merata ke semua stripe.
+// Pemindahan stok antar stripe dibungkus seqlock (versi ganjil = sedang dipindah) sehingga
+// pembaca total tidak pernah menghitung stok yang sedang berpindah dua kali atau nol kali.
+final class StokBergaris {
+    // 16 long = 128 byte per stripe agar dua stripe tidak berbagi cache line (termasuk prefetch pasangan)
+    private static final int JARAK = 16;
+    private static final int STRIPE_MAKSIMAL = 64;
+
+    private final AtomicLongArray stripe;
+    private final int jumlahStripe;
+    private final int mask;
+    private final AtomicLong versi = new AtomicLong();
+    private final ReentrantLock kunci = new ReentrantLock();
+    private volatile boolean ditutup;
+    // Batas atas total stok (mis. agar nilai stok dalam sen tetap muat di long); dijaga kunci
+    private int stokMaksimal;
+
+    StokBergaris(int stokAwal) {
+        this(stokAwal, Runtime.getRuntime().availableProcessors());
+    }
+
+    StokBergaris(int stokAwal, int perkiraanCore) {
+        this(stokAwal, perkiraanCore, Integer.MAX_VALUE);
+    }
+
+    StokBergaris(int stokAwal, int perkiraanCore, int stokMaksimal) {
+        if (stokAwal < 0 || stokAwal > stokMaksimal) {
+            throw new IllegalArgumentException("Stok awal harus di antara 0 dan stok maksimal");
+        }
+        if (perkiraanCore <= 0) {
+            throw new IllegalArgumentException("Jumlah stripe harus positif");
+        }
+        int n = Math.min(STRIPE_MAKSIMAL, perkiraanCore);
+        this.jumlahStripe = Integer.highestOneBit(n * 2 - 1);
+        this.mask = jumlahStripe - 1;
+        this.stripe = new AtomicLongArray(jumlahStripe * JARAK);
+        this.stokMaksimal = stokMaksimal;
+        bagi(stokAwal);
+    }
+
+    int getJumlahStripe() {
+        return jumlahStripe;
+    }
+
+    boolean isDitutup() {
+        return ditutup;
+    }
+
+    // Total stok. Pengurangan di jalur cepat tidak memindahkan stok sehingga cukup dibaca ulang
+    // bila ada pemindahan antar stripe yang berjalan bersamaan.
+    int getStok() {
+        while (true) {
+            long v = versi.get();
+            if ((v & 1) == 0) {
+                long total = jumlahkan();
+                if (versi.get() == v) {
+                    return (int) total;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // Gagal tanpa perubahan bila stok tidak cukup atau stok sudah ditutup
+    boolean kurangi(int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        int rumah = stripeRumah();
+        if (ambil(rumah, jumlah)) {
+            return true;
+        }
+        for (int i = 1; i < jumlahStripe; i++) {
+            if (ambil((rumah + i) & mask, jumlah)) {
+                // Rumah kering dan harus meminjam: ratakan lagi bila masih ada cukup stok untuk dibagi
+                if (jumlahkan() >= 2L * jumlahStripe && kunci.tryLock()) {
+                    try {
+                        if (!ditutup) {
+                            pindahkan(stok -> stok);
+                        }
+                    } finally {
+                        kunci.unlock();
+                    }
+                }
+                return true;
+            }
+        }
+        return ubah(stok -> stok >= jumlah ? stok - jumlah : -1);
+    }
+
+    // Penambahan jarang terjadi dibanding pengurangan, jadi cukup di bawah kunci: tanpa pemindahan
+    // yang berjalan, total hanya bisa turun sehingga batas stok aman dicek dari jumlah stripe.
+    boolean tambah(int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        kunci.lock();
+        try {
+            if (ditutup || jumlahkan() > stokMaksimal - jumlah) {
+                return false;
+            }
+            stripe.getAndAdd(stripeRumah() * JARAK, jumlah);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Hitung stok baru dari total saat ini secara atomik; hasil negatif atau di atas stok
+    // maksimal berarti ditolak
+    boolean ubah(IntUnaryOperator hitungStokBaru) {
+        kunci.lock();
+        try {
+            return !ditutup && pindahkan(hitungStokBaru);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Sama dengan ubah, tetapi stok maksimal diganti lebih dulu di bawah kunci yang sama (mis. harga
+    // produk berubah) sehingga tidak ada penambahan yang sempat memakai batas lama
+    boolean ubah(IntUnaryOperator hitungStokBaru, int stokMaksimalBaru) {
+        kunci.lock();
+        try {
+            if (ditutup) {
+                return false;
+            }
+            stokMaksimal = stokMaksimalBaru;
+            return pindahkan(hitungStokBaru);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Kumpulkan seluruh stok dan pegang kunci sampai lepas(stokBaru). Selama ditahan semua stripe
+    // kosong sehingga jalur cepat gagal dan menunggu kunci, dan getStok menunggu versi genap.
+    // Dipakai untuk memeriksa dan mengubah stok beberapa kode panas sekaligus secara atomik.
+    int tahan() {
+        kunci.lock();
+        versi.incrementAndGet();
+        return kumpulkan();
+    }
+
+    // Pasangan tahan(); stokBaru tidak diperiksa terhadap stok maksimal, jadi pemanggil hanya
+    // boleh menurunkan stok atau mengembalikan nilai dari tahan()
+    void lepas(int stokBaru) {
+        try {
+            bagi(stokBaru);
+        } finally {
+            versi.incrementAndGet();
+            kunci.unlock();
+        }
+    }
+
+    void seimbangkan() {
+        ubah(stok -> stok);
+    }
+
+    // Kumpulkan seluruh stok dan tolak semua operasi berikutnya; dipakai saat mode kode panas dimatikan
+    int tutup() {
+        kunci.lock();
+        try {
+            if (ditutup) {
+                return 0;
+            }
+            versi.incrementAndGet();
+            try {
+                int total = kumpulkan();
+                ditutup = true;
+                return total;
+            } finally {
+                versi.incrementAndGet();
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Dipanggil dengan kunci dipegang. Setelah dikumpulkan semua stripe bernilai nol, sehingga CAS
+    // jalur cepat pasti gagal dan tidak ada yang bisa mengubah stripe sampai stok dibagi ulang.
+    private boolean pindahkan(IntUnaryOperator hitungStokBaru) {
+        versi.incrementAndGet();
+        try {
+            int stok = kumpulkan();
+            int stokBaru = hitungStokBaru.applyAsInt(stok);
+            boolean diterima = stokBaru >= 0 && stokBaru <= stokMaksimal;
+            bagi(diterima ? stokBaru : stok);
+            return diterima;
+        } finally {
+            versi.incrementAndGet();
+        }
+    }
+
+    private boolean ambil(int s, int jumlah) {
+        int i = s * JARAK;
+        long nilai;
+        while ((nilai = stripe.get(i)) >= jumlah) {
+            if (stripe.compareAndSet(i, nilai, nilai - jumlah)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int kumpulkan() {
+        long total = 0;
+        for (int s = 0; s < jumlahStripe; s++) {
+            total += stripe.getAndSet(s * JARAK, 0);
+        }
+        return Math.toIntExact(total);
+    }
+
+    private void bagi(int total) {
+        int bagian = total / jumlahStripe;
+        int sisa = total % jumlahStripe;
+        for (int s = 0; s < jumlahStripe; s++) {
+            stripe.set(s * JARAK, bagian + (s < sisa ? 1 : 0));
+        }
+    }
+
+    private long jumlahkan() {
+        long total = 0;
+        for (int s = 0; s < jumlahStripe; s++) {
+            total += stripe.get(s * JARAK);
+        }
+        return total;
+    }
+
+    private int stripeRumah() {
+        return (int) LongObjectMap.acak(Thread.currentThread().threadId()) & mask;
+    }
+}
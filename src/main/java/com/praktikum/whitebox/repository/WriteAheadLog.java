@@ -0,0 +1,254 @@
+package com.praktikum.whitebox.repository;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+// Write-ahead log append-only dengan group commit. Penulis menambahkan rekaman ke buffer
+// memori lalu menunggu durabilitas; penunggu pertama yang mendapati tidak ada flush berjalan
+// menjadi leader dan menulis + fsync semua rekaman yang tertunda sekaligus, sehingga satu
+// fsync melayani banyak penulis.
+//
+// Format berkas: header [magic:int][generasi:long], lalu rekaman [panjang:int][crc32:int][isi].
+// Rekaman terakhir yang terpotong atau rusak (crash di tengah tulis) dibuang saat pemulihan.
+final class WriteAheadLog implements Closeable {
+    private static final int MAGIC = 0x57414C31;
+    static final int UKURAN_HEADER = Integer.BYTES + Long.BYTES;
+    static final int UKURAN_BINGKAI = Integer.BYTES * 2;
+
+    private final FileChannel channel;
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final Condition flushSelesai = kunci.newCondition();
+
+    private ByteBuffer tertunda = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer cadangan = ByteBuffer.allocate(64 * 1024);
+    private long urutanTerakhir;
+    private long urutanDurable;
+    private long ukuranByte;
+    private boolean sedangFlush;
+    private IOException gagal;
+
+    private WriteAheadLog(FileChannel channel, long ukuranByte) {
+        this.channel = channel;
+        this.ukuranByte = ukuranByte;
+    }
+
+    // Buka log untuk generasi snapshot tertentu. Log dari generasi lama (sudah tercakup
+    // snapshot) dibuang; log generasi yang sama diputar ulang ke tujuan. Log generasi yang lebih
+    // baru berarti snapshot pasangannya hilang atau tertimpa versi lama, jadi pembukaan ditolak
+    // alih-alih membuang rekaman yang belum tercakup snapshot mana pun.
+    static WriteAheadLog buka(Path path, long generasi, RepositoryProduk tujuan) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long akhirValid = putarUlang(channel, generasi, tujuan);
+            if (akhirValid < 0) {
+                tulisHeader(channel, generasi);
+                akhirValid = UKURAN_HEADER;
+            } else if (akhirValid < channel.size()) {
+                channel.truncate(akhirValid);
+                channel.force(true);
+            }
+            channel.position(akhirValid);
+            return new WriteAheadLog(channel, akhirValid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Mengembalikan posisi akhir rekaman valid terakhir, atau -1 jika log harus dibuat ulang
+    // (berkas baru, header terpotong, atau generasi lama)
+    private static long putarUlang(FileChannel channel, long generasi, RepositoryProduk tujuan) throws IOException {
+        if (channel.size() < UKURAN_HEADER) {
+            return -1;
+        }
+        channel.position(0);
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Berkas write-ahead log tidak dikenal");
+        }
+        long generasiLog = in.readLong();
+        if (generasiLog < generasi) {
+            return -1;
+        }
+        if (generasiLog > generasi) {
+            throw new IOException("Write-ahead log generasi " + generasiLog
+                    + " lebih baru dari snapshot generasi " + generasi);
+        }
+        long posisi = UKURAN_HEADER;
+        CRC32 crc = new CRC32();
+        while (true) {
+            byte[] isi;
+            try {
+                int panjang = in.readInt();
+                int checksum = in.readInt();
+                if (panjang <= 0 || panjang > channel.size() - posisi) {
+                    break;
+                }
+                isi = new byte[panjang];
+                in.readFully(isi);
+                crc.reset();
+                crc.update(isi);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+            } catch (EOFException e) {
+                break;
+            }
+            RekamanLog.terapkan(new DataInputStream(new ByteArrayInputStream(isi)), tujuan);
+            posisi += UKURAN_BINGKAI + isi.length;
+        }
+        return posisi;
+    }
+
+    long tambah(byte[] isi) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(isi);
+        kunci.lock();
+        try {
+            periksaGagal();
+            pastikanKapasitas(UKURAN_BINGKAI + isi.length);
+            tertunda.putInt(isi.length);
+            tertunda.putInt((int) crc.getValue());
+            tertunda.put(isi);
+            ukuranByte += UKURAN_BINGKAI + isi.length;
+            return ++urutanTerakhir;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    void tungguDurable(long urutan) throws IOException {
+        kunci.lock();
+        try {
+            while (urutanDurable < urutan) {
+                periksaGagal();
+                if (sedangFlush) {
+                    flushSelesai.awaitUninterruptibly();
+                    continue;
+                }
+                flushSebagaiLeader();
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Pastikan semua rekaman yang sudah ditambahkan tersimpan permanen
+    void flush() throws IOException {
+        long urutan;
+        kunci.lock();
+        try {
+            urutan = urutanTerakhir;
+        } finally {
+            kunci.unlock();
+        }
+        tungguDurable(urutan);
+    }
+
+    // Dipanggil setelah snapshot generasi baru tersimpan, saat tidak ada penulis aktif
+    void reset(long generasiBaru) throws IOException {
+        flush();
+        kunci.lock();
+        try {
+            channel.truncate(0);
+            tulisHeader(channel, generasiBaru);
+            channel.position(UKURAN_HEADER);
+            ukuranByte = UKURAN_HEADER;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    long ukuranByte() {
+        kunci.lock();
+        try {
+            return ukuranByte;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Dipanggil dengan kunci dipegang; kunci dilepas selama I/O agar penulis lain tetap bisa
+    // menambahkan rekaman ke buffer berikutnya.
+    private void flushSebagaiLeader() throws IOException {
+        sedangFlush = true;
+        ByteBuffer data = tertunda;
+        tertunda = cadangan;
+        cadangan = data;
+        long target = urutanTerakhir;
+        kunci.unlock();
+        IOException error = null;
+        try {
+            data.flip();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            data.clear();
+            kunci.lock();
+            sedangFlush = false;
+            if (error != null) {
+                gagal = error;
+            } else {
+                urutanDurable = target;
+            }
+            flushSelesai.signalAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void pastikanKapasitas(int tambahan) {
+        if (tertunda.remaining() < tambahan) {
+            ByteBuffer baru = ByteBuffer.allocate(Math.max(tertunda.capacity() * 2, tertunda.position() + tambahan));
+            tertunda.flip();
+            baru.put(tertunda);
+            tertunda = baru;
+        }
+    }
+
+    private void periksaGagal() throws IOException {
+        if (gagal != null) {
+            throw new IOException("Write-ahead log gagal sebelumnya", gagal);
+        }
+    }
+
+    private static void tulisHeader(FileChannel channel, long generasi) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(UKURAN_HEADER);
+        header.putInt(MAGIC).putLong(generasi).flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+}
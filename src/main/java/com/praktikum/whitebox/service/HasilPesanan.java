@@ -0,0 +1,50 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.util.Uang;
+
+// Hasil ServicePesanan.pesan. Jika tidak sukses, tidak ada stok yang berubah; barisGagal menunjuk
+// baris pertama yang ditolak saat validasi, atau -1 jika penolakan datang dari repository
+// (stok habis diambil pesanan lain di antara validasi dan pengurangan).
+public final class HasilPesanan {
+    private final HasilOperasi hasil;
+    private final int barisGagal;
+    private final long subtotalSen;
+    private final long diskonSen;
+
+    HasilPesanan(HasilOperasi hasil, int barisGagal, long subtotalSen, long diskonSen) {
+        this.hasil = hasil;
+        this.barisGagal = barisGagal;
+        this.subtotalSen = subtotalSen;
+        this.diskonSen = diskonSen;
+    }
+
+    static HasilPesanan ditolak(HasilOperasi hasil, int barisGagal) {
+        return new HasilPesanan(hasil, barisGagal, 0, 0);
+    }
+
+    public boolean isSukses() { return hasil == HasilOperasi.SUKSES; }
+
+    public HasilOperasi getHasil() { return hasil; }
+
+    public int getBarisGagal() { return barisGagal; }
+
+    // Total harga sebelum diskon, jumlah diskon semua baris, dan yang harus dibayar (dalam sen)
+    public long getSubtotalSen() { return subtotalSen; }
+
+    public long getDiskonSen() { return diskonSen; }
+
+    public long getTotalSen() { return Uang.kurang(subtotalSen, diskonSen); }
+
+    public double getTotal() { return Uang.keRupiah(getTotalSen()); }
+
+    @Override
+    public String toString() {
+        return "HasilPesanan{" +
+                "hasil=" + hasil +
+                ", barisGagal=" + barisGagal +
+                ", subtotalSen=" + subtotalSen +
+                ", diskonSen=" + diskonSen +
+                '}';
+    }
+}
@@ -1,36 +1,28 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.metrik.EventDiskon;
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.util.Uang;
+
 public class KalkulatorDiskon {
+    // Tipe pelanggan diselesaikan menjadi enum lalu dihitung dengan tabel MesinDiskon.
+    // Pemanggil di jalur panas sebaiknya menyimpan TipePelanggan dan memanggil MesinDiskon langsung.
+    // Event JFR hanya terekam untuk perhitungan yang melewati threshold (mis. tertahan GC)
     public double hitungDiskon(double harga, int kuantitas, String
             tipePelanggan) {
-        if (harga <= 0 || kuantitas <= 0) {
-            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
-        }
-        double diskon = 0.0;
-
-        // Diskon berdasarkan kuantitas
-        if (kuantitas >= 100) {
-            diskon += 0.20; // 20%
-        } else if (kuantitas >= 50) {
-            diskon += 0.15; // 15%
-        } else if (kuantitas >= 10) {
-            diskon += 0.10; // 10%
-        } else if (kuantitas >= 5) {
-            diskon += 0.05; // 5%
+        EventDiskon event = new EventDiskon();
+        event.begin();
+        double diskon = MesinDiskon.hitungDiskon(harga, kuantitas, TipePelanggan.dari(tipePelanggan));
+        event.end();
+        if (event.shouldCommit()) {
+            event.tipePelanggan = tipePelanggan;
+            event.harga = harga;
+            event.kuantitas = kuantitas;
+            event.diskon = diskon;
+            event.jumlahBaris = 1;
+            event.commit();
         }
-
-        // Diskon berdasarkan tipe pelanggan
-        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.10; // 10% tambahan
-        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.05; // 5% tambahan
-        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.02; // 2% tambahan
-        }
-
-        // Maksimal diskon 30%
-        diskon = Math.min(diskon, 0.30);
-        return harga * kuantitas * diskon;
+        return diskon;
     }
 
     public double hitungHargaSetelahDiskon(double harga, int kuantitas, String tipePelanggan) {
@@ -39,15 +31,31 @@ public class KalkulatorDiskon {
         return totalSebelumDiskon - diskon;
     }
 
-    public String getKategoriDiskon(double persentaseDiskon) {
-        if (persentaseDiskon <= 0) {
-            return "TANPA_DISKON";
-        } else if (persentaseDiskon < 0.10) {
-            return "DISKON_RINGAN";
-        } else if (persentaseDiskon < 0.20) {
-            return "DISKON_SEDANG";
-        } else {
-            return "DISKON_BESAR";
+    // Jalur uang eksak: harga satuan dalam sen, hasil dalam sen. Event JFR memakai field yang sama
+    // dengan hitungDiskon, sehingga harga dan diskon dicatat dalam rupiah.
+    public long hitungDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        EventDiskon event = new EventDiskon();
+        event.begin();
+        long diskon = MesinDiskon.hitungDiskonSen(hargaSen, kuantitas, TipePelanggan.dari(tipePelanggan));
+        event.end();
+        if (event.shouldCommit()) {
+            event.tipePelanggan = tipePelanggan;
+            event.harga = Uang.keRupiah(hargaSen);
+            event.kuantitas = kuantitas;
+            event.diskon = Uang.keRupiah(diskon);
+            event.jumlahBaris = 1;
+            event.commit();
         }
+        return diskon;
+    }
+
+    public long hitungHargaSetelahDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        long diskon = hitungDiskonSen(hargaSen, kuantitas, tipePelanggan);
+        return Uang.kurang(Uang.kali(hargaSen, kuantitas), diskon);
+    }
+
+    // Batas kategori mengikuti tabel aturan yang sedang aktif (lihat MesinDiskon)
+    public String getKategoriDiskon(double persentaseDiskon) {
+        return MesinDiskon.tabelAktif().kategoriDiskon(persentaseDiskon);
     }
 }
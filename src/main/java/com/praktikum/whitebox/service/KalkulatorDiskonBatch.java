@@ -0,0 +1,80 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.EventDiskon;
+import com.praktikum.whitebox.model.TipePelanggan;
+
+// Perhitungan diskon untuk seluruh keranjang/katalog sekaligus di atas array primitif.
+// Hasil setiap elemen identik bit per bit dengan KalkulatorDiskon.hitungDiskon dan
+// hitungHargaSetelahDiskon, karena urutan operasi double-nya sama:
+//   diskon = harga * kuantitas * tarif,  hargaBersih = harga * kuantitas - diskon
+//
+// Jika modul jdk.incubator.vector dimuat (--add-modules jdk.incubator.vector), perkaliannya
+// dijalankan dengan Vector API; jika tidak, dipakai loop skalar biasa.
+public final class KalkulatorDiskonBatch {
+    private static final boolean VECTOR_TERSEDIA = cekVector();
+
+    private KalkulatorDiskonBatch() {}
+
+    // Tipe null diperlakukan sebagai UMUM. Array keluaran boleh dipakai ulang antar panggilan.
+    public static void hitung(double[] harga, int[] kuantitas, TipePelanggan[] tipe,
+                              double[] diskonKeluar, double[] hargaBersihKeluar) {
+        EventDiskon event = new EventDiskon();
+        event.begin();
+        int jumlah = validasi(harga, kuantitas, tipe, diskonKeluar, hargaBersihKeluar);
+        if (VECTOR_TERSEDIA) {
+            KalkulatorDiskonVector.hitung(harga, kuantitas, diskonKeluar, hargaBersihKeluar, jumlah);
+        } else {
+            hitungSkalar(harga, kuantitas, diskonKeluar, hargaBersihKeluar, 0, jumlah);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.jumlahBaris = jumlah;
+            event.commit();
+        }
+    }
+
+    public static boolean memakaiVector() {
+        return VECTOR_TERSEDIA;
+    }
+
+    // Memeriksa parameter sekaligus mengisi diskonKeluar dengan tarif per elemen. Tabel aturan
+    // dibaca sekali sehingga satu batch selalu memakai satu versi aturan walau ada muat ulang.
+    static int validasi(double[] harga, int[] kuantitas, TipePelanggan[] tipe,
+                        double[] diskonKeluar, double[] hargaBersihKeluar) {
+        TabelAturanDiskon tabel = MesinDiskon.tabelAktif();
+        int jumlah = harga.length;
+        if (kuantitas.length != jumlah || tipe.length != jumlah
+                || diskonKeluar.length < jumlah || hargaBersihKeluar.length < jumlah) {
+            throw new IllegalArgumentException("Panjang array tidak sesuai");
+        }
+        for (int i = 0; i < jumlah; i++) {
+            if (harga[i] <= 0 || kuantitas[i] <= 0) {
+                throw new IllegalArgumentException("Harga dan kuantitas harus positif (indeks " + i + ")");
+            }
+            diskonKeluar[i] = tabel.tarif(kuantitas[i], tipe[i]);
+        }
+        return jumlah;
+    }
+
+    // diskon[i] berisi tarif saat masuk dan nominal diskon saat keluar
+    static void hitungSkalar(double[] harga, int[] kuantitas, double[] diskon, double[] hargaBersih,
+                             int dari, int sampai) {
+        for (int i = dari; i < sampai; i++) {
+            double total = harga[i] * kuantitas[i];
+            double nominal = total * diskon[i];
+            diskon[i] = nominal;
+            hargaBersih[i] = total - nominal;
+        }
+    }
+
+    private static boolean cekVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return false;
+        }
+        try {
+            return KalkulatorDiskonVector.didukung();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
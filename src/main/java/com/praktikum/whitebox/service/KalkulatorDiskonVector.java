@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Implementasi Vector API untuk KalkulatorDiskonBatch. Kelas ini hanya dimuat jika modul
+// jdk.incubator.vector tersedia. Konversi int ke double (I2D) dan perkalian/pengurangan
+// per lane sama persis dengan operasi skalarnya (tanpa FMA), sehingga hasilnya identik.
+final class KalkulatorDiskonVector {
+    private static final VectorSpecies<Double> SPESIES_DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    // Jumlah lane int harus sama dengan lane double, jadi lebar bitnya separuh
+    private static final VectorSpecies<Integer> SPESIES_INT = SPESIES_DOUBLE.length() < 2 ? null
+            : VectorSpecies.of(int.class, VectorShape.forBitSize(SPESIES_DOUBLE.vectorBitSize() / 2));
+
+    private KalkulatorDiskonVector() {}
+
+    static boolean didukung() {
+        return SPESIES_INT != null && SPESIES_INT.length() == SPESIES_DOUBLE.length();
+    }
+
+    // diskon[i] berisi tarif saat masuk (lihat KalkulatorDiskonBatch.validasi)
+    static void hitung(double[] harga, int[] kuantitas, double[] diskon, double[] hargaBersih, int jumlah) {
+        int batas = SPESIES_DOUBLE.loopBound(jumlah);
+        int i = 0;
+        for (; i < batas; i += SPESIES_DOUBLE.length()) {
+            DoubleVector vHarga = DoubleVector.fromArray(SPESIES_DOUBLE, harga, i);
+            DoubleVector vKuantitas = (DoubleVector) IntVector.fromArray(SPESIES_INT, kuantitas, i)
+                    .convertShape(VectorOperators.I2D, SPESIES_DOUBLE, 0);
+            DoubleVector vTarif = DoubleVector.fromArray(SPESIES_DOUBLE, diskon, i);
+            DoubleVector vTotal = vHarga.mul(vKuantitas);
+            DoubleVector vNominal = vTotal.mul(vTarif);
+            vNominal.intoArray(diskon, i);
+            vTotal.sub(vNominal).intoArray(hargaBersih, i);
+        }
+        KalkulatorDiskonBatch.hitungSkalar(harga, kuantitas, diskon, hargaBersih, i, jumlah);
+    }
+}
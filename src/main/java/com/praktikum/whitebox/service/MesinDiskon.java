@@ -0,0 +1,38 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+
+// Titik masuk perhitungan diskon di jalur panas. Aturan yang berlaku disimpan sebagai satu
+// referensi volatile ke TabelAturanDiskon yang immutable: pemuat aturan cukup mengganti
+// referensinya, dan thread yang sedang menghitung tidak pernah mengambil kunci ataupun
+// melihat aturan setengah termuat. Per baris keranjang hanya ada beberapa lookup array dan
+// dua perkalian, tanpa alokasi.
+public final class MesinDiskon {
+    private static volatile TabelAturanDiskon tabelAktif = TabelAturanDiskon.BAWAAN;
+
+    private MesinDiskon() {}
+
+    public static TabelAturanDiskon tabelAktif() {
+        return tabelAktif;
+    }
+
+    public static void pasang(TabelAturanDiskon tabel) {
+        if (tabel == null) {
+            throw new IllegalArgumentException("Tabel aturan diskon tidak boleh null");
+        }
+        tabelAktif = tabel;
+    }
+
+    // Persentase diskon menurut aturan aktif; tipe null diperlakukan sebagai UMUM
+    public static double tarif(int kuantitas, TipePelanggan tipe) {
+        return tabelAktif.tarif(kuantitas, tipe);
+    }
+
+    public static double hitungDiskon(double harga, int kuantitas, TipePelanggan tipe) {
+        return tabelAktif.hitungDiskon(harga, kuantitas, tipe);
+    }
+
+    public static long hitungDiskonSen(long hargaSen, int kuantitas, TipePelanggan tipe) {
+        return tabelAktif.hitungDiskonSen(hargaSen, kuantitas, tipe);
+    }
+}
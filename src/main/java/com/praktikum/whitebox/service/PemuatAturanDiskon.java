@@ -0,0 +1,101 @@
+package com.praktikum.whitebox.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Memuat berkas aturan diskon ke MesinDiskon dan memuat ulang setiap kali berkasnya berubah.
+// Berkas dikompilasi penuh menjadi TabelAturanDiskon baru sebelum referensinya dipasang;
+// jika berkas tidak valid (mis. sedang setengah ditulis), aturan lama tetap dipakai.
+public class PemuatAturanDiskon implements Closeable {
+    private final Path berkas;
+    private final WatchService pengamat;
+    // Diisi buka() setelah objek selesai dibangun
+    private Thread threadPengamat;
+    private final AtomicLong jumlahMuat = new AtomicLong();
+    private volatile Exception galatTerakhir;
+
+    private PemuatAturanDiskon(Path berkas, WatchService pengamat) {
+        this.berkas = berkas;
+        this.pengamat = pengamat;
+    }
+
+    // Gagal jika berkas awal tidak bisa dimuat, agar salah konfigurasi terlihat saat startup.
+    // Thread pengamat dimulai di sini, bukan di constructor, agar tidak melihat objek setengah jadi.
+    public static PemuatAturanDiskon buka(Path berkas) throws IOException {
+        Path absolut = berkas.toAbsolutePath();
+        MesinDiskon.pasang(TabelAturanDiskon.muat(absolut));
+        WatchService pengamat = absolut.getFileSystem().newWatchService();
+        try {
+            absolut.getParent().register(pengamat,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException e) {
+            pengamat.close();
+            throw e;
+        }
+        PemuatAturanDiskon pemuat = new PemuatAturanDiskon(absolut, pengamat);
+        pemuat.jumlahMuat.incrementAndGet();
+        pemuat.threadPengamat = new Thread(pemuat::amati, "pemuat-aturan-diskon");
+        pemuat.threadPengamat.setDaemon(true);
+        pemuat.threadPengamat.start();
+        return pemuat;
+    }
+
+    // Muat ulang sekarang; false jika berkas tidak valid dan aturan lama dipertahankan
+    public boolean muatUlang() {
+        try {
+            MesinDiskon.pasang(TabelAturanDiskon.muat(berkas));
+            jumlahMuat.incrementAndGet();
+            galatTerakhir = null;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            galatTerakhir = e;
+            return false;
+        }
+    }
+
+    public long getJumlahMuat() {
+        return jumlahMuat.get();
+    }
+
+    public Exception getGalatTerakhir() {
+        return galatTerakhir;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pengamat.close();
+        try {
+            threadPengamat.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void amati() {
+        Path namaBerkas = berkas.getFileName();
+        try {
+            while (true) {
+                WatchKey key = pengamat.take();
+                boolean berubah = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || namaBerkas.equals(event.context())) {
+                        berubah = true;
+                    }
+                }
+                key.reset();
+                if (berubah) {
+                    muatUlang();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Pemuat ditutup
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.service;
+
+// Tahanan stok yang dibuat ServiceReservasi: jumlah unit sudah dikurangi dari stok produk dan
+// akan dikembalikan jika dilepas atau kedaluwarsa sebelum dikomit.
+public final class Reservasi {
+    private final long id;
+    private final String kode;
+    private final int jumlah;
+    private final long berakhirNanos;
+
+    // Dikelola RodaWaktu: tick kedaluwarsa dan tautan daftar ganda di slot roda
+    long tick;
+    Reservasi sebelum;
+    Reservasi sesudah;
+
+    Reservasi(long id, String kode, int jumlah, long berakhirNanos) {
+        this.id = id;
+        this.kode = kode;
+        this.jumlah = jumlah;
+        this.berakhirNanos = berakhirNanos;
+    }
+
+    public long getId() { return id; }
+
+    public String getKode() { return kode; }
+
+    public int getJumlah() { return jumlah; }
+
+    // Dalam satuan jam milik ServiceReservasi yang membuatnya
+    public long getBerakhirNanos() { return berakhirNanos; }
+
+    @Override
+    public String toString() {
+        return "Reservasi{" +
+                "id=" + id +
+                ", kode='" + kode + '\'' +
+                ", jumlah=" + jumlah +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.praktikum.whitebox.service;
+
+import java.util.function.Consumer;
+
+// Hashed timing wheel untuk kedaluwarsa reservasi. Waktu dibagi menjadi tick berdurasi tetap;
+// reservasi dimasukkan ke slot (tick berakhir mod jumlah slot) sebagai daftar ganda intrusif,
+// sehingga tambah dan hapus O(1) tanpa alokasi tambahan dan setiap tick hanya memeriksa satu slot.
+// Reservasi yang berakhir beberapa putaran lagi ikut terperiksa tapi dilewati.
+// Tidak thread-safe; sinkronisasi menjadi tanggung jawab pemanggil.
+final class RodaWaktu {
+    private final long durasiTickNanos;
+    private final long awalNanos;
+    private final Reservasi[] slot;
+    private final int mask;
+    private long tickSekarang;
+    private int ukuran;
+
+    RodaWaktu(long durasiTickNanos, int jumlahSlot, long sekarangNanos) {
+        if (durasiTickNanos <= 0) {
+            throw new IllegalArgumentException("Durasi tick harus positif");
+        }
+        if (jumlahSlot <= 0) {
+            throw new IllegalArgumentException("Jumlah slot harus positif");
+        }
+        this.durasiTickNanos = durasiTickNanos;
+        this.awalNanos = sekarangNanos;
+        this.slot = new Reservasi[Integer.highestOneBit(jumlahSlot * 2 - 1)];
+        this.mask = slot.length - 1;
+    }
+
+    int ukuran() {
+        return ukuran;
+    }
+
+    // Dibulatkan ke atas agar reservasi tidak pernah kedaluwarsa lebih awal dari waktunya
+    void tambah(Reservasi reservasi) {
+        long selisih = reservasi.getBerakhirNanos() - awalNanos;
+        long tick = selisih <= 0 ? 0 : (selisih - 1) / durasiTickNanos + 1;
+        reservasi.tick = Math.max(tick, tickSekarang + 1);
+        int i = (int) (reservasi.tick & mask);
+        reservasi.sebelum = null;
+        reservasi.sesudah = slot[i];
+        if (slot[i] != null) {
+            slot[i].sebelum = reservasi;
+        }
+        slot[i] = reservasi;
+        ukuran++;
+    }
+
+    void hapus(Reservasi reservasi) {
+        if (reservasi.sebelum != null) {
+            reservasi.sebelum.sesudah = reservasi.sesudah;
+        } else {
+            slot[(int) (reservasi.tick & mask)] = reservasi.sesudah;
+        }
+        if (reservasi.sesudah != null) {
+            reservasi.sesudah.sebelum = reservasi.sebelum;
+        }
+        reservasi.sebelum = null;
+        reservasi.sesudah = null;
+        ukuran--;
+    }
+
+    // Putar roda sampai waktu sekarang dan serahkan setiap reservasi yang berakhir. Jika yang
+    // tertinggal lebih dari satu putaran, setiap slot cukup diperiksa satu kali.
+    void majukan(long sekarangNanos, Consumer<Reservasi> kedaluwarsa) {
+        long target = Math.floorDiv(sekarangNanos - awalNanos, durasiTickNanos);
+        if (target <= tickSekarang) {
+            return;
+        }
+        long langkah = Math.min(target - tickSekarang, slot.length);
+        for (long t = tickSekarang + 1; t <= tickSekarang + langkah; t++) {
+            Reservasi r = slot[(int) (t & mask)];
+            while (r != null) {
+                Reservasi berikut = r.sesudah;
+                if (r.tick <= target) {
+                    hapus(r);
+                    kedaluwarsa.accept(r);
+                }
+                r = berikut;
+            }
+        }
+        tickSekarang = target;
+    }
+}
@@ -1,124 +1,380 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.metrik.EventAgregat;
+import com.praktikum.whitebox.metrik.EventCariProduk;
+import com.praktikum.whitebox.metrik.EventMutasiStok;
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
 import com.praktikum.whitebox.model.Produk;
 import com.praktikum.whitebox.repository.RepositoryProduk;
 import com.praktikum.whitebox.util.ValidationUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+// Mutasi stok, pencarian, dan agregat memancarkan event JFR (lihat paket metrik) yang hanya
+// terekam jika JFR aktif dan durasinya melewati threshold event. Latensi dan alasan penolakan
+// per method dicatat oleh dekorator ServiceInventarisTerinstrumentasi.
 public class ServiceInventaris {
     private final RepositoryProduk repositoryProduk;
+
     public ServiceInventaris(RepositoryProduk repositoryProduk) {
         this.repositoryProduk = repositoryProduk;
     }
 
+    RepositoryProduk getRepositoryProduk() {
+        return repositoryProduk;
+    }
+
     public boolean tambahProduk(Produk produk) {
+        return hasilTambahProduk(produk) == HasilOperasi.SUKSES;
+    }
+
+    public boolean hapusProduk(String kode) {
+        return hasilHapusProduk(kode) == HasilOperasi.SUKSES;
+    }
+
+    public Optional<Produk> cariProdukByKode(String kode) {
+        EventCariProduk event = new EventCariProduk();
+        event.begin();
+        Optional<Produk> produk = Optional.empty();
+        try {
+            if (!ValidationUtils.isValidKodeProduk(kode)) {
+                return produk;
+            }
+            produk = repositoryProduk.cariByKode(kode);
+            return produk;
+        } finally {
+            Produk ditemukan = produk.orElse(null);
+            selesai(event, "KODE", kode, ditemukan == null ? null : ditemukan.getKategori(), ditemukan == null ? 0 : 1);
+        }
+    }
+
+    public List<Produk> cariProdukByNama(String nama) {
+        EventCariProduk event = new EventCariProduk();
+        event.begin();
+        List<Produk> produk = null;
+        try {
+            produk = repositoryProduk.cariByNama(nama);
+            return produk;
+        } finally {
+            selesai(event, "NAMA", nama, null, produk == null ? 0 : produk.size());
+        }
+    }
+
+    public List<Produk> cariProdukByKategori(String kategori) {
+        EventCariProduk event = new EventCariProduk();
+        event.begin();
+        List<Produk> produk = null;
+        try {
+            produk = repositoryProduk.cariByKategori(kategori);
+            return produk;
+        } finally {
+            selesai(event, "KATEGORI", kategori, kategori, produk == null ? 0 : produk.size());
+        }
+    }
+
+    public boolean updateStok(String kode, int stokBaru) {
+        return hasilUpdateStok(kode, stokBaru) == HasilOperasi.SUKSES;
+    }
+
+    public boolean keluarStok(String kode, int jumlah) {
+        return hasilKeluarStok(kode, jumlah) == HasilOperasi.SUKSES;
+    }
+
+    public boolean masukStok(String kode, int jumlah) {
+        return hasilMasukStok(kode, jumlah) == HasilOperasi.SUKSES;
+    }
+
+    // Versi updateStok/keluarStok/masukStok yang mengembalikan alasan penolakan, untuk dekorator metrik
+    HasilOperasi hasilUpdateStok(String kode, int stokBaru) {
+        EventMutasiStok event = new EventMutasiStok();
+        event.begin();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            hasil = prosesUpdateStok(kode, stokBaru, event);
+            return hasil;
+        } finally {
+            selesai(event, "UPDATE", kode, stokBaru, hasil);
+        }
+    }
+
+    HasilOperasi hasilKeluarStok(String kode, int jumlah) {
+        EventMutasiStok event = new EventMutasiStok();
+        event.begin();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            hasil = prosesKeluarStok(kode, jumlah, event);
+            return hasil;
+        } finally {
+            selesai(event, "KELUAR", kode, jumlah, hasil);
+        }
+    }
+
+    HasilOperasi hasilMasukStok(String kode, int jumlah) {
+        EventMutasiStok event = new EventMutasiStok();
+        event.begin();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            hasil = prosesMasukStok(kode, jumlah, event);
+            return hasil;
+        } finally {
+            selesai(event, "MASUK", kode, jumlah, hasil);
+        }
+    }
+
+    // Versi batch masukStok/keluarStok untuk umpan data besar. Validasi dan pemeriksaan produk
+    // sama dengan versi satuan; item yang lolos dikirim ke repository dalam satu batch.
+    // Hasil per item sesuai urutan masukan.
+    public boolean[] masukStokBatch(List<MutasiStok> daftarMutasi) {
+        EventMutasiStok event = new EventMutasiStok();
+        event.begin();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            boolean[] hasilBatch = prosesStokBatch(daftarMutasi, false);
+            hasil = HasilOperasi.SUKSES;
+            return hasilBatch;
+        } finally {
+            selesai(event, "MASUK_BATCH", null, daftarMutasi == null ? 0 : daftarMutasi.size(), hasil);
+        }
+    }
+
+    public boolean[] keluarStokBatch(List<MutasiStok> daftarMutasi) {
+        EventMutasiStok event = new EventMutasiStok();
+        event.begin();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            boolean[] hasilBatch = prosesStokBatch(daftarMutasi, true);
+            hasil = HasilOperasi.SUKSES;
+            return hasilBatch;
+        } finally {
+            selesai(event, "KELUAR_BATCH", null, daftarMutasi == null ? 0 : daftarMutasi.size(), hasil);
+        }
+    }
+
+    public boolean updateStatusAktif(String kode, boolean aktif) {
+        return hasilUpdateStatusAktif(kode, aktif) == HasilOperasi.SUKSES;
+    }
+
+    public List<Produk> getProdukStokMenipis() {
+        EventAgregat event = new EventAgregat();
+        event.begin();
+        List<Produk> produk = null;
+        try {
+            produk = repositoryProduk.cariProdukStokMenipis();
+            return produk;
+        } finally {
+            selesai(event, "getProdukStokMenipis", produk == null ? 0 : produk.size());
+        }
+    }
+
+    public List<Produk> getProdukStokHabis() {
+        EventAgregat event = new EventAgregat();
+        event.begin();
+        List<Produk> produk = null;
+        try {
+            produk = repositoryProduk.cariProdukStokHabis();
+            return produk;
+        } finally {
+            selesai(event, "getProdukStokHabis", produk == null ? 0 : produk.size());
+        }
+    }
+
+    public double hitungTotalNilaiInventaris() {
+        EventAgregat event = new EventAgregat();
+        event.begin();
+        try {
+            return repositoryProduk.hitungTotalNilai();
+        } finally {
+            selesai(event, "hitungTotalNilaiInventaris", 0);
+        }
+    }
+
+    // Nilai inventaris eksak dalam sen, tanpa akumulasi galat pembulatan double
+    public long hitungTotalNilaiInventarisSen() {
+        EventAgregat event = new EventAgregat();
+        event.begin();
+        try {
+            return repositoryProduk.hitungTotalNilaiSen();
+        } finally {
+            selesai(event, "hitungTotalNilaiInventarisSen", 0);
+        }
+    }
+
+    public int hitungTotalStok() {
+        EventAgregat event = new EventAgregat();
+        event.begin();
+        try {
+            return repositoryProduk.hitungTotalStok();
+        } finally {
+            selesai(event, "hitungTotalStok", 0);
+        }
+    }
+
+    // Versi tambahProduk/hapusProduk/updateStatusAktif yang mengembalikan alasan penolakan
+    HasilOperasi hasilTambahProduk(Produk produk) {
         if (!ValidationUtils.isValidProduk(produk)) {
-            return false;
+            return HasilOperasi.PRODUK_TIDAK_VALID;
         }
 
         // Cek apakah produk dengan kode yang sama sudah ada
         Optional<Produk> produkExist = repositoryProduk.cariByKode(produk.getKode());
         if (produkExist.isPresent()) {
-            return false;
+            return HasilOperasi.PRODUK_SUDAH_ADA;
         }
-        return repositoryProduk.simpan(produk);
+        return dariRepository(repositoryProduk.simpan(produk));
     }
 
-    public boolean hapusProduk(String kode) {
+    HasilOperasi hasilHapusProduk(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
-            return false;
+            return HasilOperasi.KODE_TIDAK_VALID;
         }
 
         Optional<Produk> produk = repositoryProduk.cariByKode(kode);
         if (!produk.isPresent()) {
-            return false;
+            return HasilOperasi.PRODUK_TIDAK_DITEMUKAN;
         }
 
         // Tidak bisa hapus produk yang masih ada stoknya
         if (produk.get().getStok() > 0) {
-            return false;
-        }
-
-        return repositoryProduk.hapus(kode);
-    }
-
-    public Optional<Produk> cariProdukByKode(String kode) {
-        if (!ValidationUtils.isValidKodeProduk(kode)) {
-            return Optional.empty();
+            return HasilOperasi.STOK_MASIH_ADA;
         }
-        return repositoryProduk.cariByKode(kode);
-    }
 
-    public List<Produk> cariProdukByNama(String nama) {
-        return repositoryProduk.cariByNama(nama);
+        return dariRepository(repositoryProduk.hapus(kode));
     }
 
-    public List<Produk> cariProdukByKategori(String kategori) {
-        return repositoryProduk.cariByKategori(kategori);
+    HasilOperasi hasilUpdateStatusAktif(String kode, boolean aktif) {
+        return !ValidationUtils.isValidKodeProduk(kode) ? HasilOperasi.KODE_TIDAK_VALID
+                : dariRepository(repositoryProduk.updateAktif(kode, aktif));
     }
 
-    public boolean updateStok(String kode, int stokBaru) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
-            return false;
+    // Ketiga helper proses* di bawah mencatat kategori produk ke event JFR begitu produknya ditemukan
+    private HasilOperasi prosesUpdateStok(String kode, int stokBaru, EventMutasiStok event) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (stokBaru < 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
         Optional<Produk> produk = repositoryProduk.cariByKode(kode);
         if (!produk.isPresent()) {
-            return false;
+            return HasilOperasi.PRODUK_TIDAK_DITEMUKAN;
         }
-        return repositoryProduk.updateStok(kode, stokBaru);
+        event.kategori = produk.get().getKategori();
+        return dariRepository(repositoryProduk.updateStok(kode, stokBaru));
     }
 
-    public boolean keluarStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+    private HasilOperasi prosesKeluarStok(String kode, int jumlah, EventMutasiStok event) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (jumlah <= 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
         Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
-        if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
-            return false;
+        if (!produkOpt.isPresent()) {
+            return HasilOperasi.PRODUK_TIDAK_DITEMUKAN;
         }
         Produk produk = produkOpt.get();
+        event.kategori = produk.getKategori();
+        if (!produk.isAktif()) {
+            return HasilOperasi.PRODUK_TIDAK_AKTIF;
+        }
         if (produk.getStok() < jumlah) {
-            return false;
+            return HasilOperasi.STOK_TIDAK_CUKUP;
         }
-        int stokBaru = produk.getStok() - jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        // Pengurangan dilakukan atomik di repository agar tidak terjadi oversell
+        return dariRepository(repositoryProduk.kurangiStok(kode, jumlah));
     }
 
-    public boolean masukStok(String kode, int jumlah) {
-        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
-            return false;
+    private HasilOperasi prosesMasukStok(String kode, int jumlah, EventMutasiStok event) {
+        if (!ValidationUtils.isValidKodeProduk(kode)) {
+            return HasilOperasi.KODE_TIDAK_VALID;
+        }
+        if (jumlah <= 0) {
+            return HasilOperasi.JUMLAH_TIDAK_VALID;
         }
         Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent() || !produk.get().isAktif()) {
-            return false;
+        if (!produk.isPresent()) {
+            return HasilOperasi.PRODUK_TIDAK_DITEMUKAN;
+        }
+        event.kategori = produk.get().getKategori();
+        if (!produk.get().isAktif()) {
+            return HasilOperasi.PRODUK_TIDAK_AKTIF;
         }
-        int stokBaru = produk.get().getStok() + jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        return dariRepository(repositoryProduk.tambahStok(kode, jumlah));
     }
 
-    public List<Produk> getProdukStokMenipis() {
-        return repositoryProduk.cariProdukStokMenipis();
+    private boolean[] prosesStokBatch(List<MutasiStok> daftarMutasi, boolean keluar) {
+        if (daftarMutasi == null) {
+            return new boolean[0];
+        }
+        boolean[] hasil = new boolean[daftarMutasi.size()];
+        List<MutasiStok> lolos = new ArrayList<>(hasil.length);
+        int[] posisi = new int[hasil.length];
+        for (int i = 0; i < hasil.length; i++) {
+            MutasiStok mutasi = daftarMutasi.get(i);
+            if (mutasi == null || !ValidationUtils.isValidKodeProduk(mutasi.getKode()) || mutasi.getJumlah() <= 0) {
+                continue;
+            }
+            Optional<Produk> produk = repositoryProduk.cariByKode(mutasi.getKode());
+            if (produk.isEmpty() || !produk.get().isAktif()) {
+                continue;
+            }
+            if (keluar && produk.get().getStok() < mutasi.getJumlah()) {
+                continue;
+            }
+            posisi[lolos.size()] = i;
+            lolos.add(mutasi);
+        }
+        if (lolos.isEmpty()) {
+            return hasil;
+        }
+        // Stok tetap diperiksa ulang secara atomik di repository
+        boolean[] hasilRepository = keluar
+                ? repositoryProduk.kurangiStokBatch(lolos)
+                : repositoryProduk.tambahStokBatch(lolos);
+        for (int j = 0; j < hasilRepository.length; j++) {
+            hasil[posisi[j]] = hasilRepository[j];
+        }
+        return hasil;
     }
 
-    public List<Produk> getProdukStokHabis() {
-        return repositoryProduk.cariProdukStokHabis();
+    // false dari repository setelah lolos semua pemeriksaan service
+    private static HasilOperasi dariRepository(boolean berhasil) {
+        return berhasil ? HasilOperasi.SUKSES : HasilOperasi.DITOLAK_REPOSITORY;
     }
 
-    public double hitungTotalNilaiInventaris() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToDouble(p -> p.getHarga() * p.getStok())
-                .sum();
+    // Field event JFR hanya diisi jika event benar-benar akan direkam
+    private static void selesai(EventMutasiStok event, String jenis, String kode, int jumlah, HasilOperasi hasil) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.jenis = jenis;
+            event.kode = kode;
+            event.jumlah = jumlah;
+            event.hasil = hasil.name();
+            event.commit();
+        }
     }
 
-    public int hitungTotalStok() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToInt(Produk::getStok)
-                .sum();
+    private static void selesai(EventCariProduk event, String jenis, String kueri, String kategori, int jumlahHasil) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.jenis = jenis;
+            event.kueri = kueri;
+            event.kategori = kategori;
+            event.jumlahHasil = jumlahHasil;
+            event.commit();
+        }
+    }
+
+    private static void selesai(EventAgregat event, String operasi, int jumlahProduk) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operasi = operasi;
+            event.jumlahProduk = jumlahProduk;
+            event.commit();
+        }
     }
 }
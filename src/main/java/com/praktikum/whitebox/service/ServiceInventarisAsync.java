@@ -0,0 +1,110 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.PelaksanaAsync;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Versi asinkron ServiceInventaris. Setiap method menjalankan method ServiceInventaris bernama sama
+// di virtual thread sendiri, sehingga validasi, metrik, dan event JFR-nya tetap sama persis,
+// sementara thread pemanggil langsung mendapat future. Cocok untuk repository blocking: banyak
+// permintaan yang menunggu I/O cukup memarkir virtual thread, bukan menahan thread platform.
+public class ServiceInventarisAsync implements AutoCloseable {
+    private final ServiceInventaris serviceInventaris;
+    private final PelaksanaAsync pelaksana;
+
+    public ServiceInventarisAsync(ServiceInventaris serviceInventaris) {
+        this(serviceInventaris, PelaksanaAsync.threadVirtual());
+    }
+
+    public ServiceInventarisAsync(ServiceInventaris serviceInventaris, Executor pelaksana) {
+        this(serviceInventaris, pelaksana == null ? null : PelaksanaAsync.dari(pelaksana));
+    }
+
+    private ServiceInventarisAsync(ServiceInventaris serviceInventaris, PelaksanaAsync pelaksana) {
+        if (serviceInventaris == null || pelaksana == null) {
+            throw new IllegalArgumentException("Service dan executor tidak boleh null");
+        }
+        this.serviceInventaris = serviceInventaris;
+        this.pelaksana = pelaksana;
+    }
+
+    public CompletableFuture<Boolean> tambahProduk(Produk produk) {
+        return jalankan(() -> serviceInventaris.tambahProduk(produk));
+    }
+
+    public CompletableFuture<Boolean> hapusProduk(String kode) {
+        return jalankan(() -> serviceInventaris.hapusProduk(kode));
+    }
+
+    public CompletableFuture<Optional<Produk>> cariProdukByKode(String kode) {
+        return jalankan(() -> serviceInventaris.cariProdukByKode(kode));
+    }
+
+    public CompletableFuture<List<Produk>> cariProdukByNama(String nama) {
+        return jalankan(() -> serviceInventaris.cariProdukByNama(nama));
+    }
+
+    public CompletableFuture<List<Produk>> cariProdukByKategori(String kategori) {
+        return jalankan(() -> serviceInventaris.cariProdukByKategori(kategori));
+    }
+
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru) {
+        return jalankan(() -> serviceInventaris.updateStok(kode, stokBaru));
+    }
+
+    public CompletableFuture<Boolean> keluarStok(String kode, int jumlah) {
+        return jalankan(() -> serviceInventaris.keluarStok(kode, jumlah));
+    }
+
+    public CompletableFuture<Boolean> masukStok(String kode, int jumlah) {
+        return jalankan(() -> serviceInventaris.masukStok(kode, jumlah));
+    }
+
+    public CompletableFuture<boolean[]> masukStokBatch(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> serviceInventaris.masukStokBatch(daftarMutasi));
+    }
+
+    public CompletableFuture<boolean[]> keluarStokBatch(List<MutasiStok> daftarMutasi) {
+        return jalankan(() -> serviceInventaris.keluarStokBatch(daftarMutasi));
+    }
+
+    public CompletableFuture<Boolean> updateStatusAktif(String kode, boolean aktif) {
+        return jalankan(() -> serviceInventaris.updateStatusAktif(kode, aktif));
+    }
+
+    public CompletableFuture<List<Produk>> getProdukStokMenipis() {
+        return jalankan(serviceInventaris::getProdukStokMenipis);
+    }
+
+    public CompletableFuture<List<Produk>> getProdukStokHabis() {
+        return jalankan(serviceInventaris::getProdukStokHabis);
+    }
+
+    public CompletableFuture<Double> hitungTotalNilaiInventaris() {
+        return jalankan(serviceInventaris::hitungTotalNilaiInventaris);
+    }
+
+    public CompletableFuture<Long> hitungTotalNilaiInventarisSen() {
+        return jalankan(serviceInventaris::hitungTotalNilaiInventarisSen);
+    }
+
+    public CompletableFuture<Integer> hitungTotalStok() {
+        return jalankan(serviceInventaris::hitungTotalStok);
+    }
+
+    // Tunggu operasi yang masih berjalan lalu hentikan executor bawaan
+    @Override
+    public void close() {
+        pelaksana.close();
+    }
+
+    private <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        return pelaksana.jalankan(operasi);
+    }
+}
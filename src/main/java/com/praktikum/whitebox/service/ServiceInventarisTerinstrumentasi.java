@@ -0,0 +1,175 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.metrik.MetrikOperasi;
+import com.praktikum.whitebox.metrik.RegistriMetrik;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.ValidationUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Dekorator yang mencatat latensi dan hasil setiap method publik ServiceInventaris ke
+// RegistriMetrik dengan nama "<awalan>.<method>". Mutasi mencatat alasan penolakan dari
+// service asal (mis. STOK_TIDAK_CUKUP), pencarian kode kosong sebagai PRODUK_TIDAK_DITEMUKAN
+// atau KODE_TIDAK_VALID, dan exception sebagai GALAT (lalu dilempar ulang). Batch dicatat
+// satu entri per panggilan.
+public class ServiceInventarisTerinstrumentasi extends ServiceInventaris {
+    public static final String AWALAN_BAWAAN = "ServiceInventaris";
+
+    private final ServiceInventaris asal;
+    private final MetrikOperasi mTambahProduk;
+    private final MetrikOperasi mHapusProduk;
+    private final MetrikOperasi mCariProdukByKode;
+    private final MetrikOperasi mCariProdukByNama;
+    private final MetrikOperasi mCariProdukByKategori;
+    private final MetrikOperasi mUpdateStok;
+    private final MetrikOperasi mKeluarStok;
+    private final MetrikOperasi mMasukStok;
+    private final MetrikOperasi mMasukStokBatch;
+    private final MetrikOperasi mKeluarStokBatch;
+    private final MetrikOperasi mUpdateStatusAktif;
+    private final MetrikOperasi mGetProdukStokMenipis;
+    private final MetrikOperasi mGetProdukStokHabis;
+    private final MetrikOperasi mHitungTotalNilaiInventaris;
+    private final MetrikOperasi mHitungTotalNilaiInventarisSen;
+    private final MetrikOperasi mHitungTotalStok;
+
+    public ServiceInventarisTerinstrumentasi(ServiceInventaris asal, RegistriMetrik registri) {
+        this(asal, registri, AWALAN_BAWAAN);
+    }
+
+    public ServiceInventarisTerinstrumentasi(ServiceInventaris asal, RegistriMetrik registri, String awalan) {
+        super(repositoryDari(asal, registri));
+        this.asal = asal;
+        mTambahProduk = registri.operasi(awalan + ".tambahProduk");
+        mHapusProduk = registri.operasi(awalan + ".hapusProduk");
+        mCariProdukByKode = registri.operasi(awalan + ".cariProdukByKode");
+        mCariProdukByNama = registri.operasi(awalan + ".cariProdukByNama");
+        mCariProdukByKategori = registri.operasi(awalan + ".cariProdukByKategori");
+        mUpdateStok = registri.operasi(awalan + ".updateStok");
+        mKeluarStok = registri.operasi(awalan + ".keluarStok");
+        mMasukStok = registri.operasi(awalan + ".masukStok");
+        mMasukStokBatch = registri.operasi(awalan + ".masukStokBatch");
+        mKeluarStokBatch = registri.operasi(awalan + ".keluarStokBatch");
+        mUpdateStatusAktif = registri.operasi(awalan + ".updateStatusAktif");
+        mGetProdukStokMenipis = registri.operasi(awalan + ".getProdukStokMenipis");
+        mGetProdukStokHabis = registri.operasi(awalan + ".getProdukStokHabis");
+        mHitungTotalNilaiInventaris = registri.operasi(awalan + ".hitungTotalNilaiInventaris");
+        mHitungTotalNilaiInventarisSen = registri.operasi(awalan + ".hitungTotalNilaiInventarisSen");
+        mHitungTotalStok = registri.operasi(awalan + ".hitungTotalStok");
+    }
+
+    // Method publik mutasi di ServiceInventaris memanggil versi hasil* di bawah, sehingga cukup
+    // versi ini yang diteruskan ke service asal
+    @Override
+    HasilOperasi hasilTambahProduk(Produk produk) {
+        return ukur(mTambahProduk, () -> asal.hasilTambahProduk(produk), Function.identity());
+    }
+
+    @Override
+    HasilOperasi hasilHapusProduk(String kode) {
+        return ukur(mHapusProduk, () -> asal.hasilHapusProduk(kode), Function.identity());
+    }
+
+    @Override
+    HasilOperasi hasilUpdateStok(String kode, int stokBaru) {
+        return ukur(mUpdateStok, () -> asal.hasilUpdateStok(kode, stokBaru), Function.identity());
+    }
+
+    @Override
+    HasilOperasi hasilKeluarStok(String kode, int jumlah) {
+        return ukur(mKeluarStok, () -> asal.hasilKeluarStok(kode, jumlah), Function.identity());
+    }
+
+    @Override
+    HasilOperasi hasilMasukStok(String kode, int jumlah) {
+        return ukur(mMasukStok, () -> asal.hasilMasukStok(kode, jumlah), Function.identity());
+    }
+
+    @Override
+    HasilOperasi hasilUpdateStatusAktif(String kode, boolean aktif) {
+        return ukur(mUpdateStatusAktif, () -> asal.hasilUpdateStatusAktif(kode, aktif), Function.identity());
+    }
+
+    @Override
+    public Optional<Produk> cariProdukByKode(String kode) {
+        return ukur(mCariProdukByKode, () -> asal.cariProdukByKode(kode), produk -> produk.isPresent()
+                ? HasilOperasi.SUKSES
+                : ValidationUtils.isValidKodeProduk(kode) ? HasilOperasi.PRODUK_TIDAK_DITEMUKAN : HasilOperasi.KODE_TIDAK_VALID);
+    }
+
+    @Override
+    public List<Produk> cariProdukByNama(String nama) {
+        return ukur(mCariProdukByNama, () -> asal.cariProdukByNama(nama), ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> cariProdukByKategori(String kategori) {
+        return ukur(mCariProdukByKategori, () -> asal.cariProdukByKategori(kategori), ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public boolean[] masukStokBatch(List<MutasiStok> daftarMutasi) {
+        return ukur(mMasukStokBatch, () -> asal.masukStokBatch(daftarMutasi), ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public boolean[] keluarStokBatch(List<MutasiStok> daftarMutasi) {
+        return ukur(mKeluarStokBatch, () -> asal.keluarStokBatch(daftarMutasi), ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> getProdukStokMenipis() {
+        return ukur(mGetProdukStokMenipis, asal::getProdukStokMenipis, ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public List<Produk> getProdukStokHabis() {
+        return ukur(mGetProdukStokHabis, asal::getProdukStokHabis, ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public double hitungTotalNilaiInventaris() {
+        return ukur(mHitungTotalNilaiInventaris, asal::hitungTotalNilaiInventaris, ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public long hitungTotalNilaiInventarisSen() {
+        return ukur(mHitungTotalNilaiInventarisSen, asal::hitungTotalNilaiInventarisSen, ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    @Override
+    public int hitungTotalStok() {
+        return ukur(mHitungTotalStok, asal::hitungTotalStok, ServiceInventarisTerinstrumentasi::sukses);
+    }
+
+    private static <T> T ukur(MetrikOperasi metrik, Supplier<T> operasi, Function<T, HasilOperasi> hasilDari) {
+        long mulai = System.nanoTime();
+        HasilOperasi hasil = HasilOperasi.GALAT;
+        try {
+            T nilai = operasi.get();
+            hasil = hasilDari.apply(nilai);
+            return nilai;
+        } finally {
+            metrik.catat(hasil, System.nanoTime() - mulai);
+        }
+    }
+
+    private static HasilOperasi sukses(Object nilai) {
+        return HasilOperasi.SUKSES;
+    }
+
+    // Service induk memakai repository yang sama dengan service asal, jadi method yang kelak
+    // ditambahkan tanpa override tetap berjalan benar meski belum terukur
+    private static RepositoryProduk repositoryDari(ServiceInventaris asal, RegistriMetrik registri) {
+        if (asal == null || registri == null) {
+            throw new IllegalArgumentException("Service asal dan registri metrik tidak boleh null");
+        }
+        return asal.getRepositoryProduk();
+    }
+}
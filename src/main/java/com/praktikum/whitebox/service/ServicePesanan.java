@@ -0,0 +1,73 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.KodeCodec;
+import com.praktikum.whitebox.util.Uang;
+import com.praktikum.whitebox.util.ValidationUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Pesanan banyak baris: stok semua baris dikurangi atau tidak sama sekali. Satu putaran atas baris
+// pesanan memvalidasi setiap baris sekaligus menghitung harga (Produk.hitungTotalHargaSen) dan
+// diskonnya (KalkulatorDiskon) dari produk yang sama; setelah itu seluruh pengurangan diserahkan ke
+// RepositoryProduk.kurangiStokSemua yang atomik. Diskon dihitung per baris sesuai kuantitasnya.
+// Stok diperiksa terhadap total permintaan per kode, sehingga penolakan repository sesudahnya
+// (mis. stok terjual oleh pesanan lain di antara pemeriksaan dan pengurangan) dilaporkan sebagai
+// DITOLAK_REPOSITORY.
+public class ServicePesanan {
+    private final RepositoryProduk repositoryProduk;
+    private final KalkulatorDiskon kalkulatorDiskon;
+
+    public ServicePesanan(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, new KalkulatorDiskon());
+    }
+
+    public ServicePesanan(RepositoryProduk repositoryProduk, KalkulatorDiskon kalkulatorDiskon) {
+        this.repositoryProduk = repositoryProduk;
+        this.kalkulatorDiskon = kalkulatorDiskon;
+    }
+
+    public HasilPesanan pesan(List<MutasiStok> daftarBaris, String tipePelanggan) {
+        if (daftarBaris == null || daftarBaris.isEmpty()) {
+            return HasilPesanan.ditolak(HasilOperasi.JUMLAH_TIDAK_VALID, -1);
+        }
+        long subtotalSen = 0;
+        long diskonSen = 0;
+        Map<Long, Long> permintaanPerKode = new HashMap<>();
+        for (int i = 0; i < daftarBaris.size(); i++) {
+            MutasiStok baris = daftarBaris.get(i);
+            if (baris == null || !ValidationUtils.isValidKodeProduk(baris.getKode())) {
+                return HasilPesanan.ditolak(HasilOperasi.KODE_TIDAK_VALID, i);
+            }
+            if (baris.getJumlah() <= 0) {
+                return HasilPesanan.ditolak(HasilOperasi.JUMLAH_TIDAK_VALID, i);
+            }
+            Optional<Produk> produkOpt = repositoryProduk.cariByKode(baris.getKode());
+            if (!produkOpt.isPresent()) {
+                return HasilPesanan.ditolak(HasilOperasi.PRODUK_TIDAK_DITEMUKAN, i);
+            }
+            Produk produk = produkOpt.get();
+            if (!produk.isAktif()) {
+                return HasilPesanan.ditolak(HasilOperasi.PRODUK_TIDAK_AKTIF, i);
+            }
+            long permintaan = permintaanPerKode.merge(KodeCodec.encode(baris.getKode()),
+                    (long) baris.getJumlah(), Long::sum);
+            if (produk.getStok() < permintaan) {
+                return HasilPesanan.ditolak(HasilOperasi.STOK_TIDAK_CUKUP, i);
+            }
+            subtotalSen = Uang.tambah(subtotalSen, produk.hitungTotalHargaSen(baris.getJumlah()));
+            diskonSen = Uang.tambah(diskonSen,
+                    kalkulatorDiskon.hitungDiskonSen(produk.getHargaSen(), baris.getJumlah(), tipePelanggan));
+        }
+        if (!repositoryProduk.kurangiStokSemua(daftarBaris)) {
+            return HasilPesanan.ditolak(HasilOperasi.DITOLAK_REPOSITORY, -1);
+        }
+        return new HasilPesanan(HasilOperasi.SUKSES, -1, subtotalSen, diskonSen);
+    }
+}
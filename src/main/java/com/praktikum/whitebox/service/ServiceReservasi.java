@@ -0,0 +1,187 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.LongObjectMap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Reservasi stok antara keranjang dan pembayaran. Menahan stok langsung mengurangi stok produk
+// lewat ServiceInventaris.keluarStok, sehingga stok, isStokMenipis, dan isStokHabis langsung
+// memperhitungkan unit yang ditahan dan dua pembeli tidak bisa menahan unit yang sama. Komit
+// menjadikan pengurangan itu permanen; lepas atau kedaluwarsa mengembalikan unitnya ke stok.
+//
+// Kedaluwarsa memakai satu RodaWaktu, bukan thread atau timer per reservasi. Roda diputar di
+// setiap pemanggilan method service ini; aplikasi yang jarang memanggilnya bisa menjadwalkan
+// prosesKedaluwarsa() secara berkala dari satu thread.
+public class ServiceReservasi {
+    public static final Duration DURASI_TICK_BAWAAN = Duration.ofMillis(100);
+    private static final int JUMLAH_SLOT = 4096;
+    // Separuh rentang long (~146 tahun) agar selisih batas waktu dengan awal roda tidak meluap
+    static final Duration BATAS_TTL = Duration.ofNanos(Long.MAX_VALUE / 2);
+
+    private final ServiceInventaris serviceInventaris;
+    private final RepositoryProduk repositoryProduk;
+    private final LongSupplier jamNanos;
+    private final AtomicLong idBerikutnya = new AtomicLong(1);
+    private final AtomicLong gagalKembali = new AtomicLong();
+
+    // Tiga struktur di bawah hanya diakses dengan kunci dipegang
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final RodaWaktu roda;
+    private final LongObjectMap<Reservasi> reservasiById = new LongObjectMap<>();
+    private final Map<String, Integer> ditahanPerKode = new HashMap<>();
+
+    public ServiceReservasi(ServiceInventaris serviceInventaris, RepositoryProduk repositoryProduk) {
+        this(serviceInventaris, repositoryProduk, System::nanoTime, DURASI_TICK_BAWAAN);
+    }
+
+    // Jam dan durasi tick bisa diganti, misalnya jam palsu untuk pengujian
+    public ServiceReservasi(ServiceInventaris serviceInventaris, RepositoryProduk repositoryProduk,
+                            LongSupplier jamNanos, Duration durasiTick) {
+        if (serviceInventaris == null || repositoryProduk == null || jamNanos == null) {
+            throw new IllegalArgumentException("Service, repository, dan jam tidak boleh null");
+        }
+        if (durasiTick == null || durasiTick.isNegative() || durasiTick.isZero()) {
+            throw new IllegalArgumentException("Durasi tick harus positif");
+        }
+        this.serviceInventaris = serviceInventaris;
+        this.repositoryProduk = repositoryProduk;
+        this.jamNanos = jamNanos;
+        this.roda = new RodaWaktu(durasiTick.toNanos(), JUMLAH_SLOT, jamNanos.getAsLong());
+    }
+
+    // Kosong jika masukan tidak valid atau keluarStok menolak (produk tidak ada, tidak aktif,
+    // atau stok tidak cukup). Batas waktu dihitung sebelum stok disentuh sehingga TTL yang
+    // terlalu besar tidak bisa melempar setelah unit keluar; TTL di atas BATAS_TTL disamakan
+    // dengan BATAS_TTL dan penjumlahan dengan jam jenuh di Long.MAX_VALUE.
+    public Optional<Reservasi> tahan(String kode, int jumlah, Duration ttl) {
+        prosesKedaluwarsa();
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return Optional.empty();
+        }
+        long berakhir = batasWaktu(jamNanos.getAsLong(), ttl);
+        if (!serviceInventaris.keluarStok(kode, jumlah)) {
+            return Optional.empty();
+        }
+        Reservasi reservasi = new Reservasi(idBerikutnya.getAndIncrement(), kode, jumlah, berakhir);
+        kunci.lock();
+        try {
+            reservasiById.put(reservasi.getId(), reservasi);
+            roda.tambah(reservasi);
+            ditahanPerKode.merge(kode, jumlah, Integer::sum);
+        } finally {
+            kunci.unlock();
+        }
+        return Optional.of(reservasi);
+    }
+
+    // Unit yang ditahan menjadi terjual; stok tidak berubah lagi
+    public boolean komit(long idReservasi) {
+        prosesKedaluwarsa();
+        return ambil(idReservasi) != null;
+    }
+
+    // False jika reservasi tidak ada atau unitnya tidak bisa dikembalikan ke stok; pada kasus
+    // kedua reservasi tetap dilepas dan dihitung di jumlahGagalKembali()
+    public boolean lepas(long idReservasi) {
+        prosesKedaluwarsa();
+        Reservasi reservasi = ambil(idReservasi);
+        return reservasi != null && kembalikan(reservasi);
+    }
+
+    // Kembalikan stok semua reservasi yang sudah melewati TTL; hasilnya jumlah reservasi tersebut
+    public int prosesKedaluwarsa() {
+        List<Reservasi> kedaluwarsa = new ArrayList<>();
+        kunci.lock();
+        try {
+            roda.majukan(jamNanos.getAsLong(), reservasi -> {
+                reservasiById.remove(reservasi.getId());
+                kurangiDitahan(reservasi);
+                kedaluwarsa.add(reservasi);
+            });
+        } finally {
+            kunci.unlock();
+        }
+        // Stok dikembalikan di luar kunci agar repository tidak ditunggu sambil memegang roda
+        for (Reservasi reservasi : kedaluwarsa) {
+            kembalikan(reservasi);
+        }
+        return kedaluwarsa.size();
+    }
+
+    public Optional<Reservasi> cariReservasi(long idReservasi) {
+        kunci.lock();
+        try {
+            return Optional.ofNullable(reservasiById.get(idReservasi));
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int jumlahReservasi() {
+        kunci.lock();
+        try {
+            return roda.ukuran();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Unit kode ini yang sedang ditahan dan belum dikomit, dilepas, atau kedaluwarsa
+    public int jumlahDitahan(String kode) {
+        kunci.lock();
+        try {
+            return ditahanPerKode.getOrDefault(kode, 0);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Reservasi yang sudah dilepas atau kedaluwarsa tapi unitnya ditolak repository
+    public long jumlahGagalKembali() {
+        return gagalKembali.get();
+    }
+
+    static long batasWaktu(long sekarang, Duration ttl) {
+        long ttlNanos = ttl.compareTo(BATAS_TTL) >= 0 ? BATAS_TTL.toNanos() : ttl.toNanos();
+        long berakhir = sekarang + ttlNanos;
+        return berakhir < sekarang ? Long.MAX_VALUE : berakhir;
+    }
+
+    private Reservasi ambil(long idReservasi) {
+        kunci.lock();
+        try {
+            Reservasi reservasi = reservasiById.remove(idReservasi);
+            if (reservasi != null) {
+                roda.hapus(reservasi);
+                kurangiDitahan(reservasi);
+            }
+            return reservasi;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void kurangiDitahan(Reservasi reservasi) {
+        ditahanPerKode.computeIfPresent(reservasi.getKode(), (kode, jumlah) ->
+                jumlah == reservasi.getJumlah() ? null : jumlah - reservasi.getJumlah());
+    }
+
+    // Langsung ke repository, bukan masukStok: unit tetap kembali walau produk dinonaktifkan
+    // selama ditahan. Produk yang sudah dihapus tidak punya stok untuk dikembalikan.
+    private boolean kembalikan(Reservasi reservasi) {
+        if (repositoryProduk.tambahStok(reservasi.getKode(), reservasi.getJumlah())) {
+            return true;
+        }
+        gagalKembali.incrementAndGet();
+        return false;
+    }
+}
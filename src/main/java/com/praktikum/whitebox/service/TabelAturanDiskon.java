@@ -0,0 +1,232 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.util.Uang;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+// Aturan diskon yang sudah dikompilasi dan tidak bisa diubah setelah dibuat. Tarif per
+// (tipe pelanggan, pita kuantitas) dan pemetaan kuantitas -> pita dihitung di konstruktor,
+// sehingga objek ini aman dibagi antar thread tanpa sinkronisasi.
+//
+// Format berkas aturan (java.util.Properties); semua kunci wajib ada:
+//   kuantitas.batas   = 5,10,50,100          ambang kuantitas, naik tegas
+//   kuantitas.diskon  = 0.05,0.10,0.15,0.20  diskon untuk kuantitas >= ambang yang sama
+//   tipe.PREMIUM      = 0.10                 tambahan per TipePelanggan, satu kunci untuk setiap tipe
+//   diskon.maksimal   = 0.30
+//   kategori.batas    = 0.10,0.20            batas atas (eksklusif) kategori selain yang pertama/terakhir
+//   kategori.nama     = TANPA_DISKON,DISKON_RINGAN,DISKON_SEDANG,DISKON_BESAR
+//   akhir             = true                 baris terakhir berkas
+// Berkas kosong, berkas yang terbaca setengah ditulis (tanpa penanda akhir), atau yang
+// kehilangan satu kunci ditolak, bukan dilengkapi dengan nilai bawaan.
+public final class TabelAturanDiskon {
+    // Ambang di atas ini tidak ikut tabel langsung, melainkan dicari dengan binary search
+    static final int BATAS_TABEL_PITA = 1 << 16;
+    static final String PENANDA_AKHIR = "akhir";
+
+    public static final TabelAturanDiskon BAWAAN = new TabelAturanDiskon(
+            new int[]{5, 10, 50, 100},
+            new double[]{0.05, 0.10, 0.15, 0.20},
+            tambahanTipeBawaan(),
+            0.30,
+            new double[]{0.10, 0.20},
+            new String[]{"TANPA_DISKON", "DISKON_RINGAN", "DISKON_SEDANG", "DISKON_BESAR"});
+
+    private final int[] batasKuantitas;
+    private final double diskonMaksimal;
+    private final double[] batasKategori;
+    private final String[] namaKategori;
+
+    // Hasil kompilasi
+    private final byte[] pitaKuantitas;
+    private final double[][] tarif;
+    // Tarif yang sama dalam basis poin untuk jalur uang sen yang eksak
+    private final int[][] tarifBasisPoin;
+
+    TabelAturanDiskon(int[] batasKuantitas, double[] diskonKuantitas, double[] tambahanTipe,
+                      double diskonMaksimal, double[] batasKategori, String[] namaKategori) {
+        if (batasKuantitas.length != diskonKuantitas.length || batasKuantitas.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Jumlah ambang dan diskon kuantitas tidak sesuai");
+        }
+        for (int i = 0; i < batasKuantitas.length; i++) {
+            if (batasKuantitas[i] <= 0 || (i > 0 && batasKuantitas[i] <= batasKuantitas[i - 1])) {
+                throw new IllegalArgumentException("Ambang kuantitas harus positif dan naik");
+            }
+            periksaPersentase(diskonKuantitas[i]);
+        }
+        if (tambahanTipe.length != TipePelanggan.values().length) {
+            throw new IllegalArgumentException("Tambahan diskon harus ada untuk setiap tipe pelanggan");
+        }
+        for (double tambahan : tambahanTipe) {
+            periksaPersentase(tambahan);
+        }
+        periksaPersentase(diskonMaksimal);
+        if (namaKategori.length != batasKategori.length + 2) {
+            throw new IllegalArgumentException("Jumlah nama kategori harus jumlah batas + 2");
+        }
+        for (int i = 0; i < batasKategori.length; i++) {
+            if (!(batasKategori[i] > 0) || (i > 0 && batasKategori[i] <= batasKategori[i - 1])) {
+                throw new IllegalArgumentException("Batas kategori harus positif dan naik");
+            }
+        }
+        for (String nama : namaKategori) {
+            if (nama == null || nama.isBlank()) {
+                throw new IllegalArgumentException("Nama kategori tidak boleh kosong");
+            }
+        }
+        this.batasKuantitas = batasKuantitas.clone();
+        this.diskonMaksimal = diskonMaksimal;
+        this.batasKategori = batasKategori.clone();
+        this.namaKategori = namaKategori.clone();
+
+        int kuantitasTabel = batasKuantitas.length == 0 ? 0
+                : Math.min(batasKuantitas[batasKuantitas.length - 1], BATAS_TABEL_PITA);
+        pitaKuantitas = new byte[kuantitasTabel + 1];
+        for (int kuantitas = 0; kuantitas <= kuantitasTabel; kuantitas++) {
+            byte pita = 0;
+            while (pita < batasKuantitas.length && kuantitas >= batasKuantitas[pita]) {
+                pita++;
+            }
+            pitaKuantitas[kuantitas] = pita;
+        }
+        // Urutan operasi sama dengan aturan if/else lama: 0.0 + diskon kuantitas + tambahan tipe,
+        // lalu dibatasi; menambah 0.0 tidak mengubah nilai sehingga hasilnya identik bit per bit
+        tarif = new double[tambahanTipe.length][batasKuantitas.length + 1];
+        tarifBasisPoin = new int[tambahanTipe.length][batasKuantitas.length + 1];
+        for (int tipe = 0; tipe < tambahanTipe.length; tipe++) {
+            for (int pita = 0; pita <= batasKuantitas.length; pita++) {
+                double diskon = 0.0;
+                if (pita > 0) {
+                    diskon += diskonKuantitas[pita - 1];
+                }
+                diskon += tambahanTipe[tipe];
+                tarif[tipe][pita] = Math.min(diskon, diskonMaksimal);
+                tarifBasisPoin[tipe][pita] = Uang.keBasisPoin(tarif[tipe][pita]);
+            }
+        }
+    }
+
+    public static TabelAturanDiskon muat(Path path) throws IOException {
+        Properties properti = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properti.load(reader);
+        }
+        return dari(properti);
+    }
+
+    public static TabelAturanDiskon dari(Properties properti) {
+        if (!"true".equals(wajib(properti, PENANDA_AKHIR).trim())) {
+            throw new IllegalArgumentException("Penanda akhir berkas aturan harus bernilai true");
+        }
+        double[] tambahanTipe = new double[TipePelanggan.values().length];
+        for (TipePelanggan tipe : TipePelanggan.values()) {
+            tambahanTipe[tipe.ordinal()] = parseDouble(wajib(properti, "tipe." + tipe.name()));
+        }
+        return new TabelAturanDiskon(
+                parseInt(wajib(properti, "kuantitas.batas")),
+                parseDoubles(wajib(properti, "kuantitas.diskon")),
+                tambahanTipe,
+                parseDouble(wajib(properti, "diskon.maksimal")),
+                parseDoubles(wajib(properti, "kategori.batas")),
+                Arrays.stream(wajib(properti, "kategori.nama").split(",")).map(String::trim).toArray(String[]::new));
+    }
+
+    public double tarif(int kuantitas, TipePelanggan tipe) {
+        return tarif[indeksTipe(tipe)][pita(kuantitas)];
+    }
+
+    public int tarifBasisPoin(int kuantitas, TipePelanggan tipe) {
+        return tarifBasisPoin[indeksTipe(tipe)][pita(kuantitas)];
+    }
+
+    public double hitungDiskon(double harga, int kuantitas, TipePelanggan tipe) {
+        if (harga <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        return harga * kuantitas * tarif(kuantitas, tipe);
+    }
+
+    // Diskon dalam sen: total sen eksak dikali tarif basis poin, dibulatkan half-up ke sen
+    public long hitungDiskonSen(long hargaSen, int kuantitas, TipePelanggan tipe) {
+        if (hargaSen <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        return Uang.persen(Uang.kali(hargaSen, kuantitas), tarifBasisPoin(kuantitas, tipe));
+    }
+
+    public String kategoriDiskon(double persentaseDiskon) {
+        if (persentaseDiskon <= 0) {
+            return namaKategori[0];
+        }
+        for (int i = 0; i < batasKategori.length; i++) {
+            if (persentaseDiskon < batasKategori[i]) {
+                return namaKategori[i + 1];
+            }
+        }
+        return namaKategori[namaKategori.length - 1];
+    }
+
+    public double getDiskonMaksimal() { return diskonMaksimal; }
+
+    private int pita(int kuantitas) {
+        if (kuantitas <= 0) {
+            return 0;
+        }
+        if (kuantitas < pitaKuantitas.length) {
+            return pitaKuantitas[kuantitas];
+        }
+        // Jumlah ambang <= kuantitas
+        int indeks = Arrays.binarySearch(batasKuantitas, kuantitas);
+        return indeks >= 0 ? indeks + 1 : -indeks - 1;
+    }
+
+    private static int indeksTipe(TipePelanggan tipe) {
+        return tipe == null ? TipePelanggan.UMUM.ordinal() : tipe.ordinal();
+    }
+
+    private static double[] tambahanTipeBawaan() {
+        double[] hasil = new double[TipePelanggan.values().length];
+        for (TipePelanggan tipe : TipePelanggan.values()) {
+            hasil[tipe.ordinal()] = tipe.getTambahanDiskon();
+        }
+        return hasil;
+    }
+
+    private static void periksaPersentase(double nilai) {
+        if (!(nilai >= 0 && nilai <= 1)) {
+            throw new IllegalArgumentException("Persentase diskon harus di antara 0 dan 1: " + nilai);
+        }
+    }
+
+    private static String wajib(Properties properti, String kunci) {
+        String nilai = properti.getProperty(kunci);
+        if (nilai == null) {
+            throw new IllegalArgumentException("Kunci aturan wajib tidak ada: " + kunci);
+        }
+        return nilai;
+    }
+
+    private static int[] parseInt(String nilai) {
+        if (nilai.isBlank()) {
+            return new int[0];
+        }
+        return Arrays.stream(nilai.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+    }
+
+    private static double[] parseDoubles(String nilai) {
+        if (nilai.isBlank()) {
+            return new double[0];
+        }
+        return Arrays.stream(nilai.split(",")).mapToDouble(TabelAturanDiskon::parseDouble).toArray();
+    }
+
+    private static double parseDouble(String nilai) {
+        return Double.parseDouble(nilai.trim());
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.util;
+
+// Kode produk yang valid (1-10 karakter alfanumerik ASCII) dikodekan tanpa kehilangan
+// informasi ke dalam satu long berbasis 63: tiap karakter bernilai 1..62, sehingga
+// nilai 0 tidak pernah dipakai dan panjang kode ikut tersimpan secara implisit.
+// Spasi di awal/akhir diabaikan dengan aturan yang sama seperti ValidationUtils.isValidKodeProduk
+// (semua karakter <= ' '), sehingga kode yang lolos validasi selalu bisa dikodekan.
+public final class KodeCodec {
+    public static final long TIDAK_VALID = -1L;
+    public static final int PANJANG_MAKSIMAL = 10;
+    private static final int BASIS = 63;
+
+    private static final byte[] DIGIT = new byte[128];
+    private static final char[] KARAKTER = new char[BASIS];
+
+    static {
+        int nilai = 1;
+        for (char c = '0'; c <= '9'; c++) {
+            DIGIT[c] = (byte) nilai;
+            KARAKTER[nilai++] = c;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            DIGIT[c] = (byte) nilai;
+            KARAKTER[nilai++] = c;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            DIGIT[c] = (byte) nilai;
+            KARAKTER[nilai++] = c;
+        }
+    }
+
+    private KodeCodec() {}
+
+    public static long encode(CharSequence kode) {
+        if (kode == null) {
+            return TIDAK_VALID;
+        }
+        int awal = 0;
+        int akhir = kode.length();
+        while (awal < akhir && kode.charAt(awal) <= ' ') {
+            awal++;
+        }
+        while (akhir > awal && kode.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        int panjang = akhir - awal;
+        if (panjang == 0 || panjang > PANJANG_MAKSIMAL) {
+            return TIDAK_VALID;
+        }
+        long hasil = 0;
+        for (int i = awal; i < akhir; i++) {
+            char c = kode.charAt(i);
+            if (c >= 128 || DIGIT[c] == 0) {
+                return TIDAK_VALID;
+            }
+            hasil = hasil * BASIS + DIGIT[c];
+        }
+        return hasil;
+    }
+
+    public static String decode(long kunci) {
+        if (kunci <= 0) {
+            throw new IllegalArgumentException("Kunci kode tidak valid: " + kunci);
+        }
+        char[] buffer = new char[PANJANG_MAKSIMAL];
+        int posisi = PANJANG_MAKSIMAL;
+        while (kunci > 0) {
+            int digit = (int) (kunci % BASIS);
+            if (digit == 0 || posisi == 0) {
+                throw new IllegalArgumentException("Kunci kode tidak valid");
+            }
+            buffer[--posisi] = KARAKTER[digit];
+            kunci /= BASIS;
+        }
+        return new String(buffer, posisi, PANJANG_MAKSIMAL - posisi);
+    }
+}
@@ -0,0 +1,110 @@
+package com.praktikum.whitebox.util;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Hasil ValidationUtils.validate: satu bitmask field tidak valid per produk, urut sesuai
+// daftar masukan. Produk valid tidak menambah alokasi apa pun selain satu int di array.
+public final class LaporanValidasi {
+    public enum Field {
+        PRODUK("Produk tidak boleh null"),
+        KODE("Kode harus 3-10 huruf atau angka"),
+        NAMA("Nama harus 3-100 karakter"),
+        KATEGORI("Kategori harus 3-100 karakter"),
+        HARGA("Harga harus positif"),
+        STOK("Stok tidak boleh negatif"),
+        STOK_MINIMUM("Stok minimum tidak boleh negatif");
+
+        private final String pesan;
+
+        Field(String pesan) {
+            this.pesan = pesan;
+        }
+
+        public String getPesan() {
+            return pesan;
+        }
+
+        int bit() {
+            return 1 << ordinal();
+        }
+    }
+
+    private static final Field[] SEMUA_FIELD = Field.values();
+
+    private final int[] pelanggaran;
+    private final int jumlahTidakValid;
+
+    LaporanValidasi(int[] pelanggaran) {
+        this.pelanggaran = pelanggaran;
+        int tidakValid = 0;
+        for (int bit : pelanggaran) {
+            if (bit != 0) {
+                tidakValid++;
+            }
+        }
+        this.jumlahTidakValid = tidakValid;
+    }
+
+    public int jumlahProduk() {
+        return pelanggaran.length;
+    }
+
+    public int jumlahTidakValid() {
+        return jumlahTidakValid;
+    }
+
+    public boolean semuaValid() {
+        return jumlahTidakValid == 0;
+    }
+
+    public boolean isValid(int indeks) {
+        return pelanggaran[indeks] == 0;
+    }
+
+    public boolean isValid(int indeks, Field field) {
+        return (pelanggaran[indeks] & field.bit()) == 0;
+    }
+
+    public Set<Field> fieldTidakValid(int indeks) {
+        EnumSet<Field> hasil = EnumSet.noneOf(Field.class);
+        int bit = pelanggaran[indeks];
+        for (Field field : SEMUA_FIELD) {
+            if ((bit & field.bit()) != 0) {
+                hasil.add(field);
+            }
+        }
+        return hasil;
+    }
+
+    // Indeks produk yang tidak valid, urut naik
+    public int[] indeksTidakValid() {
+        int[] hasil = new int[jumlahTidakValid];
+        int n = 0;
+        for (int i = 0; i < pelanggaran.length; i++) {
+            if (pelanggaran[i] != 0) {
+                hasil[n++] = i;
+            }
+        }
+        return hasil;
+    }
+
+    // Jumlah produk yang gagal di satu field, mis. untuk ringkasan job impor
+    public int jumlahPelanggaran(Field field) {
+        int jumlah = 0;
+        for (int bit : pelanggaran) {
+            if ((bit & field.bit()) != 0) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+
+    @Override
+    public String toString() {
+        return "LaporanValidasi{jumlahProduk=" + pelanggaran.length +
+                ", jumlahTidakValid=" + jumlahTidakValid +
+                ", indeksTidakValid=" + Arrays.toString(indeksTidakValid()) + "}";
+    }
+}
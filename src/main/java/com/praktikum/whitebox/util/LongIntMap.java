@@ -0,0 +1,130 @@
+package com.praktikum.whitebox.util;
+
+import java.util.Arrays;
+
+// Varian LongObjectMap dengan nilai int primitif, dipakai untuk indeks kode -> slot.
+// Kunci 0 tidak boleh disimpan; TIDAK_ADA dikembalikan jika kunci tidak ditemukan.
+// Tidak thread-safe; sinkronisasi menjadi tanggung jawab pemanggil.
+public class LongIntMap {
+    public static final int TIDAK_ADA = -1;
+    private static final int KAPASITAS_AWAL = 16;
+    private static final float FAKTOR_MUAT = 0.6f;
+
+    private long[] kunci;
+    private int[] nilai;
+    private int ukuran;
+    private int batasResize;
+
+    public LongIntMap() {
+        alokasi(KAPASITAS_AWAL);
+    }
+
+    public int get(long k) {
+        if (k == 0) {
+            return TIDAK_ADA;
+        }
+        int mask = kunci.length - 1;
+        int i = LongObjectMap.indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                return nilai[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return TIDAK_ADA;
+    }
+
+    public int put(long k, int v) {
+        if (k == 0) {
+            throw new IllegalArgumentException("Kunci 0 tidak didukung");
+        }
+        int mask = kunci.length - 1;
+        int i = LongObjectMap.indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                int lama = nilai[i];
+                nilai[i] = v;
+                return lama;
+            }
+            i = (i + 1) & mask;
+        }
+        kunci[i] = k;
+        nilai[i] = v;
+        if (++ukuran > batasResize) {
+            rehash(kunci.length * 2);
+        }
+        return TIDAK_ADA;
+    }
+
+    public int remove(long k) {
+        if (k == 0) {
+            return TIDAK_ADA;
+        }
+        int mask = kunci.length - 1;
+        int i = LongObjectMap.indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                int lama = nilai[i];
+                geserMundur(i, mask);
+                ukuran--;
+                return lama;
+            }
+            i = (i + 1) & mask;
+        }
+        return TIDAK_ADA;
+    }
+
+    public int size() {
+        return ukuran;
+    }
+
+    public void clear() {
+        Arrays.fill(kunci, 0L);
+        ukuran = 0;
+    }
+
+    private void geserMundur(int kosong, int mask) {
+        int i = kosong;
+        while (true) {
+            i = (i + 1) & mask;
+            long slot = kunci[i];
+            if (slot == 0) {
+                break;
+            }
+            int ideal = LongObjectMap.indeks(slot, mask);
+            if (((i - ideal) & mask) >= ((i - kosong) & mask)) {
+                kunci[kosong] = slot;
+                nilai[kosong] = nilai[i];
+                kosong = i;
+            }
+        }
+        kunci[kosong] = 0;
+    }
+
+    private void rehash(int kapasitasBaru) {
+        long[] kunciLama = kunci;
+        int[] nilaiLama = nilai;
+        alokasi(kapasitasBaru);
+        int mask = kapasitasBaru - 1;
+        for (int j = 0; j < kunciLama.length; j++) {
+            long k = kunciLama[j];
+            if (k != 0) {
+                int i = LongObjectMap.indeks(k, mask);
+                while (kunci[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                kunci[i] = k;
+                nilai[i] = nilaiLama[j];
+            }
+        }
+    }
+
+    private void alokasi(int kapasitas) {
+        kunci = new long[kapasitas];
+        nilai = new int[kapasitas];
+        batasResize = (int) (kapasitas * FAKTOR_MUAT);
+    }
+}
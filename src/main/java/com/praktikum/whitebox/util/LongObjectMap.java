@@ -0,0 +1,176 @@
+package com.praktikum.whitebox.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Map open-addressing (linear probing) dengan kunci long primitif.
+// Kunci 0 dipakai sebagai penanda slot kosong sehingga tidak boleh disimpan.
+// Tidak thread-safe; sinkronisasi menjadi tanggung jawab pemanggil.
+public class LongObjectMap<V> {
+    private static final int KAPASITAS_AWAL = 16;
+    private static final float FAKTOR_MUAT = 0.6f;
+
+    private long[] kunci;
+    private Object[] nilai;
+    private int ukuran;
+    private int batasResize;
+
+    public LongObjectMap() {
+        this(KAPASITAS_AWAL);
+    }
+
+    public LongObjectMap(int kapasitasAwal) {
+        int kapasitas = Integer.highestOneBit(Math.max(KAPASITAS_AWAL, (int) (kapasitasAwal / FAKTOR_MUAT)) * 2 - 1);
+        alokasi(kapasitas);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long k) {
+        if (k == 0) {
+            return null;
+        }
+        int mask = kunci.length - 1;
+        int i = indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                return (V) nilai[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long k) {
+        return get(k) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long k, V v) {
+        if (k == 0) {
+            throw new IllegalArgumentException("Kunci 0 tidak didukung");
+        }
+        if (v == null) {
+            throw new IllegalArgumentException("Nilai tidak boleh null");
+        }
+        int mask = kunci.length - 1;
+        int i = indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                V lama = (V) nilai[i];
+                nilai[i] = v;
+                return lama;
+            }
+            i = (i + 1) & mask;
+        }
+        kunci[i] = k;
+        nilai[i] = v;
+        if (++ukuran > batasResize) {
+            rehash(kunci.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long k) {
+        if (k == 0) {
+            return null;
+        }
+        int mask = kunci.length - 1;
+        int i = indeks(k, mask);
+        long slot;
+        while ((slot = kunci[i]) != 0) {
+            if (slot == k) {
+                V lama = (V) nilai[i];
+                geserMundur(i, mask);
+                ukuran--;
+                return lama;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return ukuran;
+    }
+
+    public boolean isEmpty() {
+        return ukuran == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(kunci, 0L);
+        Arrays.fill(nilai, null);
+        ukuran = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> aksi) {
+        for (int i = 0; i < kunci.length; i++) {
+            if (kunci[i] != 0) {
+                aksi.accept((V) nilai[i]);
+            }
+        }
+    }
+
+    // Hapus tanpa tombstone: entri setelah slot kosong digeser mundur bila perlu
+    private void geserMundur(int kosong, int mask) {
+        int i = kosong;
+        while (true) {
+            i = (i + 1) & mask;
+            long slot = kunci[i];
+            if (slot == 0) {
+                break;
+            }
+            int ideal = indeks(slot, mask);
+            // Geser jika slot ideal entri ini tidak berada di antara (kosong, i]
+            if (((i - ideal) & mask) >= ((i - kosong) & mask)) {
+                kunci[kosong] = slot;
+                nilai[kosong] = nilai[i];
+                kosong = i;
+            }
+        }
+        kunci[kosong] = 0;
+        nilai[kosong] = null;
+    }
+
+    private void rehash(int kapasitasBaru) {
+        long[] kunciLama = kunci;
+        Object[] nilaiLama = nilai;
+        alokasi(kapasitasBaru);
+        int mask = kapasitasBaru - 1;
+        for (int j = 0; j < kunciLama.length; j++) {
+            long k = kunciLama[j];
+            if (k != 0) {
+                int i = indeks(k, mask);
+                while (kunci[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                kunci[i] = k;
+                nilai[i] = nilaiLama[j];
+            }
+        }
+    }
+
+    private void alokasi(int kapasitas) {
+        kunci = new long[kapasitas];
+        nilai = new Object[kapasitas];
+        batasResize = (int) (kapasitas * FAKTOR_MUAT);
+    }
+
+    static int indeks(long k, int mask) {
+        return (int) acak(k) & mask;
+    }
+
+    // Finalizer MurmurHash3 agar kunci berurutan tersebar merata
+    public static long acak(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -0,0 +1,53 @@
+package com.praktikum.whitebox.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// Executor bersama untuk adaptor asinkron (RepositoryProdukThreadVirtual, ServiceInventarisAsync):
+// menjalankan operasi blocking sebagai CompletableFuture dan mengingat siapa pemilik executor-nya.
+public final class PelaksanaAsync implements AutoCloseable {
+    private final Executor pelaksana;
+    // Hanya executor yang dibuat sendiri yang ditutup oleh close()
+    private final ExecutorService pelaksanaMilikSendiri;
+
+    private PelaksanaAsync(Executor pelaksana, ExecutorService pelaksanaMilikSendiri) {
+        this.pelaksana = pelaksana;
+        this.pelaksanaMilikSendiri = pelaksanaMilikSendiri;
+    }
+
+    // Satu virtual thread per operasi; executor-nya ditutup oleh close()
+    public static PelaksanaAsync threadVirtual() {
+        ExecutorService pelaksana = Executors.newVirtualThreadPerTaskExecutor();
+        return new PelaksanaAsync(pelaksana, pelaksana);
+    }
+
+    // Executor milik pemanggil, misalnya executor virtual thread bersama aplikasi; tidak ditutup
+    public static PelaksanaAsync dari(Executor pelaksana) {
+        if (pelaksana == null) {
+            throw new IllegalArgumentException("Executor tidak boleh null");
+        }
+        return new PelaksanaAsync(pelaksana, null);
+    }
+
+    // Executor yang sudah ditutup menolak tugas secara sinkron; penolakan itu dikembalikan sebagai
+    // future gagal agar pemanggil cukup menangani satu jalur galat
+    public <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        try {
+            return CompletableFuture.supplyAsync(operasi, pelaksana);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Tunggu operasi yang masih berjalan lalu hentikan executor bawaan
+    @Override
+    public void close() {
+        if (pelaksanaMilikSendiri != null) {
+            pelaksanaMilikSendiri.close();
+        }
+    }
+}
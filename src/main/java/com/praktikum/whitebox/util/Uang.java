@@ -0,0 +1,57 @@
+package com.praktikum.whitebox.util;
+
+// Uang sebagai fixed-point long dalam sen (1/100 rupiah). Penjumlahan dan perkalian dengan
+// bilangan bulat selalu eksak; overflow menghasilkan ArithmeticException, bukan nilai salah.
+// Persentase dinyatakan dalam basis poin (1/10000) dan hasil pembagiannya dibulatkan half-up.
+// Semua method statis dan tidak mengalokasikan objek.
+public final class Uang {
+    public static final long SEN_PER_RUPIAH = 100;
+    public static final int BASIS_POIN_PENUH = 10_000;
+    // Batas nilai rupiah yang masih bisa dikonversi ke sen tanpa overflow
+    private static final double RUPIAH_MAKSIMAL = Long.MAX_VALUE / (double) SEN_PER_RUPIAH;
+
+    private Uang() {}
+
+    // Bulatkan nilai rupiah double ke sen terdekat (mis. 19.99 -> 1999)
+    public static long keSen(double rupiah) {
+        if (!(Math.abs(rupiah) < RUPIAH_MAKSIMAL)) {
+            throw new ArithmeticException("Nilai uang di luar jangkauan: " + rupiah);
+        }
+        return Math.round(rupiah * SEN_PER_RUPIAH);
+    }
+
+    public static double keRupiah(long sen) {
+        return sen / (double) SEN_PER_RUPIAH;
+    }
+
+    public static long tambah(long sen, long senLain) {
+        return Math.addExact(sen, senLain);
+    }
+
+    public static long kurang(long sen, long senLain) {
+        return Math.subtractExact(sen, senLain);
+    }
+
+    public static long kali(long sen, long jumlah) {
+        return Math.multiplyExact(sen, jumlah);
+    }
+
+    // Persentase double (mis. 0.15) ke basis poin (1500)
+    public static int keBasisPoin(double persentase) {
+        if (!(persentase >= 0 && persentase <= 1)) {
+            throw new IllegalArgumentException("Persentase harus di antara 0 dan 1: " + persentase);
+        }
+        return (int) Math.round(persentase * BASIS_POIN_PENUH);
+    }
+
+    // sen * basisPoin / 10000, dibulatkan half-up (menjauhi nol untuk nilai negatif)
+    public static long persen(long sen, int basisPoin) {
+        long hasilKali = Math.multiplyExact(sen, (long) basisPoin);
+        long hasilBagi = hasilKali / BASIS_POIN_PENUH;
+        long sisa = hasilKali % BASIS_POIN_PENUH;
+        if (Math.abs(sisa) * 2 >= BASIS_POIN_PENUH) {
+            hasilBagi += Long.signum(hasilKali);
+        }
+        return hasilBagi;
+    }
+}
@@ -3,22 +3,38 @@ package com.praktikum.whitebox.util;
 import com.praktikum.whitebox.model.Kategori;
 import com.praktikum.whitebox.model.Produk;
 
+import java.util.List;
+
 public class ValidationUtils {
+    // Validasi dilakukan dengan memindai karakter langsung: tanpa regex, tanpa trim() yang
+    // membuat String baru. Spasi di awal/akhir diabaikan dengan aturan yang sama seperti
+    // String.trim(), yaitu semua karakter <= ' '.
     public static boolean isValidKodeProduk(String kode) {
-        if (kode == null || kode.trim().isEmpty()) {
+        if (kode == null) {
+            return false;
+        }
+        int awal = awalTrim(kode);
+        int akhir = akhirTrim(kode, awal);
+        int panjang = akhir - awal;
+        if (panjang < 3 || panjang > 10) {
             return false;
         }
-        String kodeBersih = kode.trim();
-        return kodeBersih.matches("^[A-Za-z0-9]{3,10}$");
+        for (int i = awal; i < akhir; i++) {
+            if (!isAlfanumerikAscii(kode.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     // Validasi nama (3-100 karakter, boleh huruf, angka, spasi)
     public static boolean isValidNama(String nama) {
-        if (nama == null || nama.trim().isEmpty()) {
+        if (nama == null) {
             return false;
         }
-        String namaBersih = nama.trim();
-        return namaBersih.length() >= 3 && namaBersih.length() <= 100;
+        int awal = awalTrim(nama);
+        int panjang = akhirTrim(nama, awal) - awal;
+        return panjang >= 3 && panjang <= 100;
     }
 
     // Validasi harga (harus positif)
@@ -46,9 +62,44 @@ public class ValidationUtils {
                 isValidNama(produk.getKategori()) &&
                 isValidHarga(produk.getHarga()) &&
                 isValidStok(produk.getStok()) &&
-                isValidStokMinimum(produk.getStokMinimum()) &&
-                produk.getStok() >= 0 &&
-                produk.getStokMinimum() >= 0;
+                isValidStokMinimum(produk.getStokMinimum());
+    }
+
+    // Validasi massal (mis. job impor): setiap produk diperiksa di semua field, bukan berhenti
+    // di kesalahan pertama, dan hasilnya dikumpulkan per field dalam satu laporan
+    public static LaporanValidasi validate(List<Produk> daftarProduk) {
+        int[] pelanggaran = new int[daftarProduk.size()];
+        for (int i = 0; i < pelanggaran.length; i++) {
+            pelanggaran[i] = periksa(daftarProduk.get(i));
+        }
+        return new LaporanValidasi(pelanggaran);
+    }
+
+    // Bitmask field yang tidak valid (lihat LaporanValidasi.Field), 0 berarti valid
+    static int periksa(Produk produk) {
+        if (produk == null) {
+            return LaporanValidasi.Field.PRODUK.bit();
+        }
+        int hasil = 0;
+        if (!isValidKodeProduk(produk.getKode())) {
+            hasil |= LaporanValidasi.Field.KODE.bit();
+        }
+        if (!isValidNama(produk.getNama())) {
+            hasil |= LaporanValidasi.Field.NAMA.bit();
+        }
+        if (!isValidNama(produk.getKategori())) {
+            hasil |= LaporanValidasi.Field.KATEGORI.bit();
+        }
+        if (!isValidHarga(produk.getHarga())) {
+            hasil |= LaporanValidasi.Field.HARGA.bit();
+        }
+        if (!isValidStok(produk.getStok())) {
+            hasil |= LaporanValidasi.Field.STOK.bit();
+        }
+        if (!isValidStokMinimum(produk.getStokMinimum())) {
+            hasil |= LaporanValidasi.Field.STOK_MINIMUM.bit();
+        }
+        return hasil;
     }
 
     // Validasi kategori
@@ -71,4 +122,24 @@ public class ValidationUtils {
     public static boolean isValidKuantitas(int kuantitas) {
         return kuantitas > 0;
     }
+
+    private static int awalTrim(String teks) {
+        int awal = 0;
+        while (awal < teks.length() && teks.charAt(awal) <= ' ') {
+            awal++;
+        }
+        return awal;
+    }
+
+    private static int akhirTrim(String teks, int awal) {
+        int akhir = teks.length();
+        while (akhir > awal && teks.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        return akhir;
+    }
+
+    private static boolean isAlfanumerikAscii(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
 }
@@ -0,0 +1,120 @@
+package com.praktikum.whitebox.metrik;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.TipePelanggan;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import com.praktikum.whitebox.service.KalkulatorDiskonBatch;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Event JFR Inventaris")
+public class EventJfrTest {
+    @TempDir
+    Path direktori;
+
+    private List<RecordedEvent> rekam(boolean semuaDurasi, Runnable aksi) throws IOException {
+        Path berkas = direktori.resolve("rekaman.jfr");
+        try (Recording rekaman = new Recording()) {
+            for (Class<?> kelas : List.of(EventMutasiStok.class, EventCariProduk.class, EventAgregat.class, EventDiskon.class)) {
+                if (semuaDurasi) {
+                    rekaman.enable(kelas.getAnnotation(jdk.jfr.Name.class).value()).withThreshold(java.time.Duration.ZERO);
+                } else {
+                    rekaman.enable(kelas.getAnnotation(jdk.jfr.Name.class).value());
+                }
+            }
+            rekaman.start();
+            aksi.run();
+            rekaman.stop();
+            rekaman.dump(berkas);
+        }
+        return RecordingFile.readAllEvents(berkas).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.praktikum.whitebox."))
+                .collect(Collectors.toList());
+    }
+
+    private static List<RecordedEvent> jenis(List<RecordedEvent> events, String nama) {
+        return events.stream().filter(e -> e.getEventType().getName().equals("com.praktikum.whitebox." + nama))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Operasi service dan diskon memancarkan event dengan field domain")
+    void testEventTerekam() throws IOException {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        ServiceInventaris service = new ServiceInventaris(repository);
+
+        List<RecordedEvent> events = rekam(true, () -> {
+            service.keluarStok("PROD001", 3);
+            service.keluarStok("PROD001", 100);
+            service.masukStokBatch(List.of(new MutasiStok("PROD001", 1)));
+            service.cariProdukByKode("PROD001");
+            service.cariProdukByNama("laptop");
+            service.hitungTotalStok();
+            service.getProdukStokHabis();
+            new KalkulatorDiskon().hitungDiskon(1000, 10, "PREMIUM");
+            new KalkulatorDiskon().hitungDiskonSen(100_000, 10, "PREMIUM");
+            KalkulatorDiskonBatch.hitung(new double[]{1000, 2000}, new int[]{1, 2},
+                    new TipePelanggan[]{null, TipePelanggan.BARU}, new double[2], new double[2]);
+        });
+
+        List<RecordedEvent> mutasi = jenis(events, "MutasiStok");
+        assertEquals(3, mutasi.size());
+        RecordedEvent keluar = mutasi.get(0);
+        assertEquals("KELUAR", keluar.getString("jenis"));
+        assertEquals("PROD001", keluar.getString("kode"));
+        assertEquals("Elektronik", keluar.getString("kategori"));
+        assertEquals(3, keluar.getInt("jumlah"));
+        assertEquals("SUKSES", keluar.getString("hasil"));
+        assertEquals("STOK_TIDAK_CUKUP", mutasi.get(1).getString("hasil"));
+        assertEquals("MASUK_BATCH", mutasi.get(2).getString("jenis"));
+        assertEquals(1, mutasi.get(2).getInt("jumlah"));
+
+        List<RecordedEvent> cari = jenis(events, "CariProduk");
+        assertEquals(2, cari.size());
+        assertEquals("Elektronik", cari.get(0).getString("kategori"));
+        assertEquals("NAMA", cari.get(1).getString("jenis"));
+        assertEquals(1, cari.get(1).getInt("jumlahHasil"));
+
+        List<RecordedEvent> agregat = jenis(events, "Agregat");
+        assertEquals(List.of("hitungTotalStok", "getProdukStokHabis"),
+                agregat.stream().map(e -> e.getString("operasi")).collect(Collectors.toList()));
+
+        List<RecordedEvent> diskon = jenis(events, "Diskon");
+        assertEquals(3, diskon.size());
+        assertEquals("PREMIUM", diskon.get(0).getString("tipePelanggan"));
+        assertEquals(2000.0, diskon.get(0).getDouble("diskon"), 1e-9);
+        assertEquals(1000.0, diskon.get(1).getDouble("harga"), 1e-9);
+        assertEquals(2000.0, diskon.get(1).getDouble("diskon"), 1e-9);
+        assertEquals(1, diskon.get(1).getInt("jumlahBaris"));
+        assertEquals(2, diskon.get(2).getInt("jumlahBaris"));
+    }
+
+    @Test
+    @DisplayName("Dengan threshold bawaan operasi cepat tidak direkam")
+    void testThresholdBawaan() throws IOException {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+
+        List<RecordedEvent> events = rekam(false, () -> {
+            for (int i = 0; i < 1000; i++) {
+                kalkulator.hitungDiskon(1000, 1 + i % 100, "BARU");
+            }
+        });
+
+        assertTrue(jenis(events, "Diskon").size() < 10);
+    }
+}
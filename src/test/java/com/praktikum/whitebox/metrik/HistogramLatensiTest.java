@@ -0,0 +1,109 @@
+package com.praktikum.whitebox.metrik;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Histogram Latensi")
+public class HistogramLatensiTest {
+
+    @ParameterizedTest
+    @DisplayName("Nilai tengah bucket berada dalam galat relatif 1.6%")
+    @ValueSource(longs = {0, 1, 63, 64, 127, 128, 129, 1000, 123_456, 99_999_999, Long.MAX_VALUE / 3})
+    void testGalatRelatif(long nilai) {
+        long tengah = HistogramLatensi.tengahBucket(HistogramLatensi.indeks(nilai));
+
+        assertTrue(Math.abs(tengah - nilai) <= Math.max(1, nilai / 64), nilai + " -> " + tengah);
+    }
+
+    @Test
+    @DisplayName("Indeks bucket naik monoton dan tidak melewati ukuran array")
+    void testIndeksMonoton() {
+        int sebelum = -1;
+        for (long nilai = 0; nilai < 100_000; nilai += 7) {
+            int indeks = HistogramLatensi.indeks(nilai);
+            assertTrue(indeks >= sebelum);
+            sebelum = indeks;
+        }
+        assertTrue(HistogramLatensi.indeks(Long.MAX_VALUE) < HistogramLatensi.JUMLAH_BUCKET);
+    }
+
+    @Test
+    @DisplayName("Persentil dihitung dari distribusi yang dicatat")
+    void testPersentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.catat(i * 1000L);
+        }
+        histogram.catat(-5);
+
+        SnapshotHistogram snapshot = histogram.snapshot();
+
+        assertEquals(1001, snapshot.getJumlah());
+        assertEquals(1_000_000, snapshot.getMaksimum());
+        assertEquals(500_000, snapshot.persentil(50), 500_000 / 64.0);
+        assertEquals(990_000, snapshot.persentil(99), 990_000 / 64.0);
+        assertEquals(1_000_000, snapshot.persentil(100));
+        assertEquals(0, snapshot.persentil(0));
+        assertEquals(500_500_000 / 1001.0, snapshot.getRataRata(), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.persentil(101));
+        assertTrue(snapshot.toString().contains("jumlah=1001"));
+    }
+
+    @Test
+    @DisplayName("Histogram kosong menghasilkan nol")
+    void testKosong() {
+        SnapshotHistogram snapshot = new HistogramLatensi().snapshot();
+
+        assertEquals(0, snapshot.getJumlah());
+        assertEquals(0, snapshot.persentil(99));
+        assertEquals(0.0, snapshot.getRataRata());
+    }
+
+    @Test
+    @DisplayName("Pencatatan paralel tidak kehilangan sampel")
+    void testPencatatanParalel() throws InterruptedException {
+        HistogramLatensi histogram = new HistogramLatensi();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            long dasar = t * 10_000L;
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.catat(dasar + i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        SnapshotHistogram snapshot = histogram.snapshot();
+        assertEquals(40_000, snapshot.getJumlah());
+        assertEquals(39_999, snapshot.getMaksimum());
+    }
+
+    @Test
+    @DisplayName("Gabungan snapshot menjumlahkan bucket, total, dan maksimum")
+    void testGabung() {
+        HistogramLatensi a = new HistogramLatensi();
+        HistogramLatensi b = new HistogramLatensi();
+        for (int i = 1; i <= 500; i++) {
+            a.catat(i * 1000L);
+            b.catat((i + 500) * 1000L);
+        }
+
+        SnapshotHistogram gabungan = new HistogramLatensi().snapshot().gabung(a.snapshot()).gabung(b.snapshot());
+
+        assertEquals(1000, gabungan.getJumlah());
+        assertEquals(1_000_000, gabungan.getMaksimum());
+        assertEquals(500_500.0, gabungan.getRataRata(), 0.001);
+        assertEquals(500_000, gabungan.persentil(50), 500_000 / 64.0);
+        assertEquals(500, a.snapshot().getJumlah());
+    }
+}
@@ -0,0 +1,85 @@
+package com.praktikum.whitebox.metrik;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Registri Metrik")
+public class RegistriMetrikTest {
+
+    @Test
+    @DisplayName("Operasi dengan nama sama memakai metrik yang sama")
+    void testOperasiSama() {
+        RegistriMetrik registri = new RegistriMetrik();
+
+        assertSame(registri.operasi("A.b"), registri.operasi("A.b"));
+        assertEquals("A.b", registri.operasi("A.b").getNama());
+        assertThrows(IllegalArgumentException.class, () -> registri.operasi(" "));
+        assertThrows(IllegalArgumentException.class, () -> registri.operasi(null));
+    }
+
+    @Test
+    @DisplayName("Snapshot memuat hitungan per hasil dan latensi")
+    void testSnapshot() {
+        RegistriMetrik registri = new RegistriMetrik();
+        MetrikOperasi metrik = registri.operasi("Service.keluarStok");
+        metrik.catat(HasilOperasi.SUKSES, 1000);
+        metrik.catat(HasilOperasi.SUKSES, 2000);
+        metrik.catat(HasilOperasi.STOK_TIDAK_CUKUP, 500);
+        registri.operasi("Service.masukStok");
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        SnapshotOperasi keluar = snapshot.operasi("Service.keluarStok");
+
+        assertEquals(2, keluar.jumlah(HasilOperasi.SUKSES));
+        assertEquals(1, keluar.jumlah(HasilOperasi.STOK_TIDAK_CUKUP));
+        assertEquals(0, keluar.jumlah(HasilOperasi.GALAT));
+        assertEquals(2, keluar.getHasil().size());
+        assertEquals(3, keluar.getLatensi().getJumlah());
+        assertEquals(2000, keluar.getLatensi().getMaksimum());
+        assertTrue(snapshot.operasi("Service.masukStok").getHasil().isEmpty());
+        assertNull(snapshot.operasi("Service.tidakAda"));
+        assertEquals(List.of("Service.keluarStok", "Service.masukStok"), new ArrayList<>(snapshot.getOperasi().keySet()));
+        assertTrue(snapshot.getWaktuMilidetik() > 0);
+        assertTrue(keluar.toString().startsWith("Service.keluarStok"));
+        assertEquals(2, metrik.jumlah(HasilOperasi.SUKSES));
+    }
+
+    @Test
+    @DisplayName("Snapshot tidak berubah oleh pencatatan berikutnya")
+    void testSnapshotImmutable() {
+        RegistriMetrik registri = new RegistriMetrik();
+        registri.operasi("op").catat(HasilOperasi.SUKSES, 10);
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        registri.operasi("op").catat(HasilOperasi.SUKSES, 10);
+
+        assertEquals(1, snapshot.operasi("op").jumlah(HasilOperasi.SUKSES));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getOperasi().clear());
+    }
+
+    @Test
+    @DisplayName("Terbitkan mengirim snapshot yang sama ke semua penerbit")
+    void testPenerbit() {
+        RegistriMetrik registri = new RegistriMetrik();
+        registri.operasi("op").catat(HasilOperasi.GALAT, 10);
+        List<SnapshotMetrik> diterimaA = new ArrayList<>();
+        List<SnapshotMetrik> diterimaB = new ArrayList<>();
+        PenerbitMetrik penerbitB = diterimaB::add;
+        registri.tambahPenerbit(diterimaA::add);
+        registri.tambahPenerbit(penerbitB);
+
+        SnapshotMetrik snapshot = registri.terbitkan();
+        assertTrue(registri.hapusPenerbit(penerbitB));
+        registri.terbitkan();
+
+        assertEquals(2, diterimaA.size());
+        assertEquals(List.of(snapshot), diterimaB);
+        assertEquals(1, snapshot.operasi("op").jumlah(HasilOperasi.GALAT));
+        assertThrows(IllegalArgumentException.class, () -> registri.tambahPenerbit(null));
+    }
+}
@@ -0,0 +1,38 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventStokTest {
+
+    @Test
+    @DisplayName("Test getter event stok")
+    void testGetter() {
+        EventStok event = new EventStok(3, 1000, "PROD001", EventStok.Jenis.KELUAR, -2);
+        assertEquals(3, event.getUrutan());
+        assertEquals(1000, event.getWaktuMilis());
+        assertEquals("PROD001", event.getKode());
+        assertEquals(EventStok.Jenis.KELUAR, event.getJenis());
+        assertEquals(-2, event.getSelisih());
+        assertTrue(event.toString().contains("KELUAR"));
+    }
+
+    @Test
+    @DisplayName("Test kesamaan event stok")
+    void testEquals() {
+        EventStok event = new EventStok(3, 1000, "PROD001", EventStok.Jenis.KELUAR, -2);
+        EventStok sama = new EventStok(3, 1000, "PROD001", EventStok.Jenis.KELUAR, -2);
+        assertEquals(event, event);
+        assertEquals(event, sama);
+        assertEquals(event.hashCode(), sama.hashCode());
+        assertNotEquals(event, null);
+        assertNotEquals(event, "PROD001");
+        assertNotEquals(event, new EventStok(4, 1000, "PROD001", EventStok.Jenis.KELUAR, -2));
+        assertNotEquals(event, new EventStok(3, 1001, "PROD001", EventStok.Jenis.KELUAR, -2));
+        assertNotEquals(event, new EventStok(3, 1000, "PROD002", EventStok.Jenis.KELUAR, -2));
+        assertNotEquals(event, new EventStok(3, 1000, "PROD001", EventStok.Jenis.MASUK, -2));
+        assertNotEquals(event, new EventStok(3, 1000, "PROD001", EventStok.Jenis.KELUAR, -3));
+    }
+}
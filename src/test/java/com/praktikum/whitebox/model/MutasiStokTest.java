@@ -0,0 +1,25 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MutasiStokTest {
+
+    @Test
+    @DisplayName("Test getter, equals, hashCode dan toString")
+    void testNilai() {
+        MutasiStok mutasi = new MutasiStok("PROD001", 5);
+
+        assertEquals("PROD001", mutasi.getKode());
+        assertEquals(5, mutasi.getJumlah());
+        assertEquals(new MutasiStok("PROD001", 5), mutasi);
+        assertEquals(new MutasiStok("PROD001", 5).hashCode(), mutasi.hashCode());
+        assertNotEquals(new MutasiStok("PROD001", 6), mutasi);
+        assertNotEquals(new MutasiStok("PROD002", 5), mutasi);
+        assertNotEquals(null, mutasi);
+        assertEquals(mutasi, mutasi);
+        assertTrue(mutasi.toString().contains("PROD001"));
+    }
+}
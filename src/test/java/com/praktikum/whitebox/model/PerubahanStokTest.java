@@ -0,0 +1,66 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerubahanStokTest {
+
+    @Test
+    @DisplayName("Test perubahan dari produk lama ke produk baru")
+    void testDari() {
+        Produk lama = new Produk("PROD001", "Laptop", "Elektronik", 1, 6, 5);
+        Produk baru = new Produk(lama);
+        baru.setStok(5);
+
+        PerubahanStok perubahan = PerubahanStok.dari(lama, baru);
+        assertEquals("PROD001", perubahan.getKode());
+        assertEquals("Elektronik", perubahan.getKategori());
+        assertEquals(6, perubahan.getStokLama());
+        assertEquals(5, perubahan.getStokBaru());
+        assertEquals(-1, perubahan.getSelisih());
+        assertEquals(StatusStok.AMAN, perubahan.getStatusLama());
+        assertEquals(StatusStok.MENIPIS, perubahan.getStatusBaru());
+        assertTrue(perubahan.isPerpindahanStatus());
+
+        baru.setStok(7);
+        assertFalse(PerubahanStok.dari(lama, baru).isPerpindahanStatus());
+    }
+
+    @Test
+    @DisplayName("Test produk baru dan produk terhapus")
+    void testTambahDanHapus() {
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1, 0, 5);
+
+        PerubahanStok tambah = PerubahanStok.dari(null, produk);
+        assertNull(tambah.getStatusLama());
+        assertEquals(StatusStok.HABIS, tambah.getStatusBaru());
+        assertTrue(tambah.isPerpindahanStatus());
+
+        PerubahanStok hapus = PerubahanStok.dari(produk, null);
+        assertEquals("PROD001", hapus.getKode());
+        assertEquals(StatusStok.HABIS, hapus.getStatusLama());
+        assertNull(hapus.getStatusBaru());
+    }
+
+    @Test
+    @DisplayName("Test equals, hashCode dan toString")
+    void testNilai() {
+        PerubahanStok perubahan = new PerubahanStok("PROD001", "K", 1, 0, StatusStok.MENIPIS, StatusStok.HABIS);
+
+        assertEquals(new PerubahanStok("PROD001", "K", 1, 0, StatusStok.MENIPIS, StatusStok.HABIS), perubahan);
+        assertEquals(new PerubahanStok("PROD001", "K", 1, 0, StatusStok.MENIPIS, StatusStok.HABIS).hashCode(),
+                perubahan.hashCode());
+        assertNotEquals(new PerubahanStok("PROD002", "K", 1, 0, StatusStok.MENIPIS, StatusStok.HABIS), perubahan);
+        assertNotEquals(new PerubahanStok("PROD001", "L", 1, 0, StatusStok.MENIPIS, StatusStok.HABIS), perubahan);
+        assertNotEquals(new PerubahanStok("PROD001", "K", 2, 0, StatusStok.MENIPIS, StatusStok.HABIS), perubahan);
+        assertNotEquals(new PerubahanStok("PROD001", "K", 1, 1, StatusStok.MENIPIS, StatusStok.HABIS), perubahan);
+        assertNotEquals(new PerubahanStok("PROD001", "K", 1, 0, StatusStok.AMAN, StatusStok.HABIS), perubahan);
+        assertNotEquals(new PerubahanStok("PROD001", "K", 1, 0, StatusStok.MENIPIS, StatusStok.AMAN), perubahan);
+        assertNotEquals(null, perubahan);
+        assertNotEquals("PROD001", perubahan);
+        assertEquals(perubahan, perubahan);
+        assertTrue(perubahan.toString().contains("HABIS"));
+    }
+}
@@ -191,4 +191,16 @@ public class ProdukTest {
         assertTrue(result.contains("PROD001"));
         assertTrue(result.contains("Laptop Gaming"));
     }
+
+    @Test
+    @DisplayName("Test hitung total harga dalam sen eksak")
+    void testHitungTotalHargaSen() {
+        Produk murah = new Produk("PROD002", "Pulpen", "ATK", 0.1, 3, 1);
+
+        assertEquals(30, murah.hitungTotalHargaSen(3));
+        assertEquals(1999, new Produk("PROD003", "Buku", "ATK", 19.99, 1, 1).getHargaSen());
+        assertEquals(150000000000L, produk.hitungTotalHargaSen(100));
+        assertEquals(15000000000L, produk.hitungTotalHargaSen());
+        assertThrows(IllegalArgumentException.class, () -> produk.hitungTotalHargaSen(0));
+    }
 }
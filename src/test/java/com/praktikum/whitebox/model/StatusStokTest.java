@@ -0,0 +1,18 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusStokTest {
+
+    @Test
+    @DisplayName("Test status stok sesuai isStokAman, isStokMenipis, dan isStokHabis")
+    void testDari() {
+        assertEquals(StatusStok.HABIS, StatusStok.dari(new Produk("PROD001", "A", "K", 1, 0, 5)));
+        assertEquals(StatusStok.MENIPIS, StatusStok.dari(new Produk("PROD001", "A", "K", 1, 1, 5)));
+        assertEquals(StatusStok.MENIPIS, StatusStok.dari(new Produk("PROD001", "A", "K", 1, 5, 5)));
+        assertEquals(StatusStok.AMAN, StatusStok.dari(new Produk("PROD001", "A", "K", 1, 6, 5)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TipePelangganTest {
+
+    @Test
+    @DisplayName("Test konversi String ke tipe pelanggan tanpa peka huruf besar")
+    void testDari() {
+        assertEquals(TipePelanggan.PREMIUM, TipePelanggan.dari("premium"));
+        assertEquals(TipePelanggan.REGULER, TipePelanggan.dari("Reguler"));
+        assertEquals(TipePelanggan.BARU, TipePelanggan.dari("BARU"));
+        assertEquals(TipePelanggan.UMUM, TipePelanggan.dari("VIP"));
+        assertEquals(TipePelanggan.UMUM, TipePelanggan.dari(""));
+        assertEquals(TipePelanggan.UMUM, TipePelanggan.dari(null));
+    }
+
+    @Test
+    @DisplayName("Test tambahan diskon per tipe")
+    void testTambahanDiskon() {
+        assertEquals(0.10, TipePelanggan.PREMIUM.getTambahanDiskon());
+        assertEquals(0.05, TipePelanggan.REGULER.getTambahanDiskon());
+        assertEquals(0.02, TipePelanggan.BARU.getTambahanDiskon());
+        assertEquals(0.0, TipePelanggan.UMUM.getTambahanDiskon());
+    }
+}
@@ -0,0 +1,53 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Agregat Inventaris")
+public class AgregatInventarisTest {
+
+    @Test
+    @DisplayName("Stok maksimal mengikuti batas long untuk nilai dalam sen")
+    void testStokMaksimal() {
+        assertEquals(Integer.MAX_VALUE, AgregatInventaris.stokMaksimal(new Produk("A01", "Gratis", "Lain", 0, 1, 0)));
+        assertEquals(Integer.MAX_VALUE, AgregatInventaris.stokMaksimal(new Produk("A02", "Murah", "Lain", 1000, 1, 0)));
+        assertEquals((int) (Long.MAX_VALUE / 1e16), AgregatInventaris.stokMaksimal(new Produk("A03", "Mahal", "Lain", 1e14, 1, 0)));
+        assertEquals(-1, AgregatInventaris.stokMaksimal(new Produk("A04", "Rusak", "Lain", Double.NaN, 1, 0)));
+
+        assertTrue(AgregatInventaris.bisaDicatat(new Produk("A05", "Mahal", "Lain", 1e14, 922, 0)));
+        assertFalse(AgregatInventaris.bisaDicatat(new Produk("A06", "Mahal", "Lain", 1e14, 923, 0)));
+        assertFalse(AgregatInventaris.bisaDicatat(new Produk("A07", "Rusak", "Lain", Double.NaN, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Subtotal kategori dihapus saat produk aktif terakhirnya keluar")
+    void testSubtotalDihapus() {
+        AgregatInventaris agregat = new AgregatInventaris();
+        Produk laptop = new Produk("P01", "Laptop", "Elektronik", 10, 2, 0);
+        Produk mouse = new Produk("P02", "Mouse", "Elektronik", 1, 0, 0);
+        agregat.catat(null, laptop);
+        agregat.catat(null, mouse);
+        assertEquals(1, agregat.jumlahKategori());
+        assertEquals(2000, agregat.totalNilaiSen("Elektronik"));
+
+        agregat.catat(laptop, null);
+        assertEquals(1, agregat.jumlahKategori());
+        assertEquals(0, agregat.totalStok("Elektronik"));
+
+        Produk mousePindah = new Produk(mouse);
+        mousePindah.setKategori("Aksesoris");
+        agregat.catat(mouse, mousePindah);
+        assertEquals(1, agregat.jumlahKategori());
+        assertEquals(0, agregat.totalNilaiSen("Elektronik"));
+
+        Produk mouseNonaktif = new Produk(mousePindah);
+        mouseNonaktif.setAktif(false);
+        agregat.catat(mousePindah, mouseNonaktif);
+        assertEquals(0, agregat.jumlahKategori());
+        assertEquals(0, agregat.totalNilaiSen());
+        assertEquals(0, agregat.totalStok(null));
+    }
+}
@@ -0,0 +1,208 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.EventStok;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Buku Besar Stok")
+public class BukuBesarStokTest {
+    @TempDir
+    Path direktori;
+
+    private final AtomicLong jam = new AtomicLong(1000);
+    private BukuBesarStok bukuBesar;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (bukuBesar != null) {
+            bukuBesar.close();
+        }
+    }
+
+    private BukuBesarStok buka(int eventPerSegmen) throws IOException {
+        bukuBesar = new BukuBesarStok(direktori, eventPerSegmen, jam::get);
+        return bukuBesar;
+    }
+
+    @Test
+    @DisplayName("Stok saat ini adalah jumlah selisih semua event")
+    void testStokSaatIni() throws IOException {
+        buka(100);
+        assertTrue(bukuBesar.catat("PROD001", EventStok.Jenis.SALDO_AWAL, 10));
+        assertTrue(bukuBesar.catat("PROD001", EventStok.Jenis.KELUAR, -3));
+        assertTrue(bukuBesar.catat("PROD002", EventStok.Jenis.MASUK, 5));
+
+        assertEquals(7, bukuBesar.stokSaatIni("PROD001"));
+        assertEquals(5, bukuBesar.stokSaatIni("PROD002"));
+        assertEquals(0, bukuBesar.stokSaatIni("PROD999"));
+        assertEquals(0, bukuBesar.stokSaatIni("kode tidak valid!"));
+        assertEquals(3, bukuBesar.jumlahEvent());
+    }
+
+    @Test
+    @DisplayName("Kode di luar format KodeCodec tidak dicatat")
+    void testKodeTidakValid() throws IOException {
+        buka(100);
+        assertFalse(bukuBesar.catat("kode tidak valid!", EventStok.Jenis.MASUK, 1));
+        assertFalse(bukuBesar.catat(null, EventStok.Jenis.MASUK, 1));
+        assertThrows(IllegalArgumentException.class, () -> bukuBesar.catat("PROD001", null, 1));
+        assertEquals(0, bukuBesar.jumlahEvent());
+        assertEquals(0, bukuBesar.stokPada("kode tidak valid!", 5000));
+        assertTrue(bukuBesar.riwayat("kode tidak valid!", 0, 5000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Stok pada titik waktu dihitung ulang melewati segmen dan checkpoint")
+    void testStokPadaWaktu() throws Exception {
+        buka(4);
+        for (int i = 0; i < 20; i++) {
+            jam.set(1000 + i * 10L);
+            bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 1);
+            bukuBesar.catat("PROD002", EventStok.Jenis.MASUK, 2);
+        }
+        bukuBesar.tungguPemadatan();
+        assertEquals(10, bukuBesar.jumlahSegmen());
+        assertEquals(9, bukuBesar.jumlahCheckpoint());
+        assertTrue(Files.exists(direktori.resolve("checkpoint-0.bin")));
+
+        assertEquals(0, bukuBesar.stokPada("PROD001", 999));
+        assertEquals(1, bukuBesar.stokPada("PROD001", 1000));
+        assertEquals(1, bukuBesar.stokPada("PROD001", 1009));
+        assertEquals(8, bukuBesar.stokPada("PROD001", 1070));
+        assertEquals(16, bukuBesar.stokPada("PROD002", 1075));
+        assertEquals(20, bukuBesar.stokPada("PROD001", Long.MAX_VALUE));
+        assertEquals(0, bukuBesar.stokPada("PROD999", Long.MAX_VALUE));
+        assertEquals(20, bukuBesar.stokSaatIni("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Riwayat mengembalikan event kode dalam rentang waktu beserta urutannya")
+    void testRiwayat() throws IOException {
+        buka(3);
+        for (int i = 0; i < 10; i++) {
+            jam.set(1000 + i * 10L);
+            bukuBesar.catat("PROD001", i % 2 == 0 ? EventStok.Jenis.MASUK : EventStok.Jenis.KELUAR, i % 2 == 0 ? 5 : -1);
+            bukuBesar.catat("PROD002", EventStok.Jenis.PENYESUAIAN, 1);
+        }
+
+        List<EventStok> riwayat = bukuBesar.riwayat("PROD001", 1020, 1055);
+        assertEquals(4, riwayat.size());
+        assertEquals(new EventStok(4, 1020, "PROD001", EventStok.Jenis.MASUK, 5), riwayat.get(0));
+        assertEquals(new EventStok(10, 1050, "PROD001", EventStok.Jenis.KELUAR, -1), riwayat.get(3));
+        assertEquals(10, bukuBesar.riwayat("PROD002", 0, Long.MAX_VALUE).size());
+        assertTrue(bukuBesar.riwayat("PROD001", 2000, 3000).isEmpty());
+        assertTrue(bukuBesar.riwayat("PROD001", 1050, 1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Waktu event tidak mundur walau jam mundur")
+    void testJamMundur() throws IOException {
+        buka(100);
+        jam.set(5000);
+        bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 3);
+        jam.set(4000);
+        bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 4);
+
+        List<EventStok> riwayat = bukuBesar.riwayat("PROD001", 0, Long.MAX_VALUE);
+        assertEquals(5000, riwayat.get(1).getWaktuMilis());
+        assertEquals(0, bukuBesar.stokPada("PROD001", 4500));
+        assertEquals(7, bukuBesar.stokPada("PROD001", 5000));
+    }
+
+    @Test
+    @DisplayName("Buku besar dibuka ulang dari checkpoint dan segmen di disk")
+    void testBukaUlang() throws Exception {
+        buka(5);
+        for (int i = 0; i < 23; i++) {
+            jam.set(1000 + i);
+            bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 2);
+        }
+        bukuBesar.catat("PROD002", EventStok.Jenis.SALDO_AWAL, 9);
+        bukuBesar.close();
+        bukuBesar.close();
+        assertThrows(IllegalStateException.class, () -> bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 1));
+
+        buka(5);
+        assertEquals(24, bukuBesar.jumlahEvent());
+        assertEquals(46, bukuBesar.stokSaatIni("PROD001"));
+        assertEquals(9, bukuBesar.stokSaatIni("PROD002"));
+        assertEquals(20, bukuBesar.stokPada("PROD001", 1009));
+
+        bukuBesar.catat("PROD001", EventStok.Jenis.KELUAR, -6);
+        assertEquals(40, bukuBesar.stokSaatIni("PROD001"));
+        assertEquals(24, bukuBesar.riwayat("PROD001", 0, Long.MAX_VALUE).size());
+    }
+
+    @Test
+    @DisplayName("Segmen tanpa checkpoint dipadatkan saat dibuka ulang")
+    void testPemadatanSaatBukaUlang() throws Exception {
+        buka(2);
+        for (int i = 0; i < 6; i++) {
+            jam.set(1000 + i);
+            bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 1);
+        }
+        bukuBesar.close();
+        Files.delete(direktori.resolve("checkpoint-1.bin"));
+
+        buka(2);
+        bukuBesar.tungguPemadatan();
+        assertTrue(Files.exists(direktori.resolve("checkpoint-1.bin")));
+        assertEquals(2, bukuBesar.jumlahCheckpoint());
+        assertEquals(3, bukuBesar.stokPada("PROD001", 1002));
+        assertEquals(6, bukuBesar.stokSaatIni("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Event terakhir yang terpotong dibuang saat pemulihan")
+    void testEventTerpotong() throws IOException {
+        buka(100);
+        bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 4);
+        bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 5);
+        bukuBesar.close();
+        Path segmen = direktori.resolve("segmen-0.bin");
+        try (FileChannel channel = FileChannel.open(segmen, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(segmen) - 3);
+        }
+
+        buka(100);
+        assertEquals(1, bukuBesar.jumlahEvent());
+        assertEquals(4, bukuBesar.stokSaatIni("PROD001"));
+        assertEquals(BukuBesarStok.UKURAN_HEADER_SEGMEN + BukuBesarStok.UKURAN_EVENT, Files.size(segmen));
+        bukuBesar.catat("PROD001", EventStok.Jenis.MASUK, 1);
+        bukuBesar.flush();
+        assertEquals(5, bukuBesar.stokPada("PROD001", Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Segmen yang header-nya rusak ditolak, berkas header terpotong dibuang")
+    void testSegmenRusak() throws IOException {
+        Files.write(direktori.resolve("segmen-0.bin"), new byte[]{1, 2});
+        buka(100);
+        assertEquals(1, bukuBesar.jumlahSegmen());
+        assertEquals(0, bukuBesar.jumlahEvent());
+        bukuBesar.close();
+        bukuBesar = null;
+
+        Files.write(direktori.resolve("segmen-0.bin"), new byte[16]);
+        assertThrows(IOException.class, () -> new BukuBesarStok(direktori, 100, jam::get));
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new BukuBesarStok(direktori, 0, jam::get));
+        assertThrows(IllegalArgumentException.class, () -> new BukuBesarStok(direktori, 10, null));
+    }
+}
@@ -0,0 +1,90 @@
+package com.praktikum.whitebox.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks Trigram")
+public class IndeksTrigramTest {
+    private IndeksTrigram indeks;
+
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksTrigram();
+        indeks.tambah("PROD001", "Laptop Gaming");
+        indeks.tambah("PROD002", "Mouse Gaming");
+        indeks.tambah("PROD003", "Kaos Polos");
+    }
+
+    @Test
+    @DisplayName("Kandidat adalah irisan posting list semua trigram")
+    void testKandidat() {
+        Collection<String> kandidat = indeks.kandidat("GAMING");
+
+        assertEquals(2, kandidat.size());
+        assertTrue(kandidat.contains("PROD001"));
+        assertTrue(kandidat.contains("PROD002"));
+        assertEquals(1, indeks.kandidat("top gam").size());
+    }
+
+    @Test
+    @DisplayName("Trigram yang tidak ada menghasilkan kandidat kosong")
+    void testKandidatKosong() {
+        assertTrue(indeks.kandidat("xyz").isEmpty());
+        assertTrue(indeks.kandidat("gaminx").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Kata kunci pendek tidak memakai indeks")
+    void testKataKunciPendek() {
+        assertNull(indeks.kandidat("ga"));
+        assertNull(indeks.kandidat(""));
+    }
+
+    @Test
+    @DisplayName("Hapus membersihkan posting list yang kosong")
+    void testHapus() {
+        int sebelum = indeks.jumlahTrigram();
+        indeks.hapus("PROD003", "Kaos Polos");
+
+        assertTrue(indeks.kandidat("polos").isEmpty());
+        assertTrue(indeks.jumlahTrigram() < sebelum);
+        indeks.hapus("PROD003", null);
+        indeks.tambah("PROD004", null);
+    }
+
+    @Test
+    @DisplayName("Tambah yang berselang dengan hapus kode lain pada trigram sama tidak hilang")
+    void testTambahHapusParalel() throws Exception {
+        IndeksTrigram bersama = new IndeksTrigram();
+        int jumlahThread = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        List<Future<?>> hasil = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            String kode = "KODE" + t;
+            hasil.add(executor.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    bersama.tambah(kode, "abc");
+                    bersama.hapus(kode, "abc");
+                }
+                bersama.tambah(kode, "abc");
+            }));
+        }
+        for (Future<?> f : hasil) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(jumlahThread, bersama.kandidat("abc").size());
+    }
+}
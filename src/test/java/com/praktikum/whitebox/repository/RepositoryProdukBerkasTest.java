@@ -0,0 +1,336 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Berkas (WAL + Snapshot)")
+public class RepositoryProdukBerkasTest {
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Mutasi dipulihkan dari log setelah dibuka ulang")
+    void testPulihDariLog() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+            repository.simpan(new Produk("PROD003", "Kaos", "Fashion", 50000, 0, 5));
+            assertTrue(repository.kurangiStok("PROD001", 4));
+            assertTrue(repository.tambahStok("PROD002", 7));
+            assertTrue(repository.updateStok("PROD003", 2));
+            assertTrue(repository.updateAktif("PROD003", false));
+            assertTrue(repository.hapus("PROD002"));
+            assertFalse(repository.kurangiStok("PROD001", 100));
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            assertTrue(repository.cariByKode("PROD002").isEmpty());
+            Produk kaos = repository.cariByKode("PROD003").get();
+            assertEquals(2, kaos.getStok());
+            assertFalse(kaos.isAktif());
+            assertEquals(6, repository.hitungTotalStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot mengosongkan log dan tetap bisa dipulihkan")
+    void testSnapshotLaluLog() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.buatSnapshot();
+            assertEquals(WriteAheadLog.UKURAN_HEADER, repository.ukuranLog());
+
+            repository.kurangiStok("PROD001", 3);
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+            assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        }
+    }
+
+    @Test
+    @DisplayName("Kode berspasi di tepi diperlakukan sama dengan kode tanpa spasi")
+    void testKodeBerspasi() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("ABC", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.simpan(new Produk("DEF", "Mouse", "Elektronik", 250000, 3, 5));
+            repository.buatSnapshot();
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertTrue(repository.hapus(" ABC "));
+            assertTrue(repository.cariByKode("ABC").isEmpty());
+            assertTrue(repository.cariByKode(" ABC ").isEmpty());
+            assertFalse(repository.hapus("ABC"));
+            assertArrayEquals(new boolean[]{true, true}, repository.kurangiStokBatch(
+                    List.of(new MutasiStok(" DEF", 1), new MutasiStok("DEF ", 2))));
+            assertEquals(0, repository.cariByKode("DEF").get().getStok());
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertTrue(repository.cariByKode("ABC").isEmpty());
+            assertEquals(0, repository.cariByKode("DEF").get().getStok());
+            assertEquals(1, repository.cariSemua().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Log generasi lama diabaikan jika snapshot lebih baru")
+    void testLogGenerasiLama() throws IOException {
+        byte[] logLama;
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.kurangiStok("PROD001", 1);
+            logLama = Files.readAllBytes(direktori.resolve(RepositoryProdukBerkas.NAMA_LOG));
+            repository.buatSnapshot();
+        }
+        // Simulasi crash setelah snapshot tersimpan tetapi sebelum log dikosongkan
+        Files.write(direktori.resolve(RepositoryProdukBerkas.NAMA_LOG), logLama);
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(9, repository.cariByKode("PROD001").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Log generasi lebih baru dari snapshot ditolak, bukan dibuang")
+    void testLogGenerasiBaruDitolak() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.buatSnapshot();
+            repository.kurangiStok("PROD001", 1);
+        }
+        // Snapshot generasi 1 hilang sementara log generasi 1 masih berisi rekaman
+        Files.delete(direktori.resolve(RepositoryProdukBerkas.NAMA_SNAPSHOT));
+        long ukuranLog = Files.size(direktori.resolve(RepositoryProdukBerkas.NAMA_LOG));
+
+        assertThrows(IOException.class, () -> RepositoryProdukBerkas.buka(direktori));
+        assertEquals(ukuranLog, Files.size(direktori.resolve(RepositoryProdukBerkas.NAMA_LOG)));
+    }
+
+    @Test
+    @DisplayName("Checksum snapshot diperiksa saat pemuatan penuh, atau saat buka jika diminta")
+    void testSnapshotRusakDitolak() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.buatSnapshot();
+        }
+        Path snapshot = direktori.resolve(RepositoryProdukBerkas.NAMA_SNAPSHOT);
+        byte[] isi = Files.readAllBytes(snapshot);
+        isi[isi.length - 1] ^= 1;
+        Files.write(snapshot, isi);
+
+        assertThrows(IOException.class, () -> RepositoryProdukBerkas.buka(direktori, 1 << 20, true));
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+            assertThrows(UncheckedIOException.class, repository::cariSemua);
+            assertFalse(repository.isTermuatPenuh());
+        }
+    }
+
+    @Test
+    @DisplayName("Mutasi yang gagal ditulis ke log tidak terlihat di memori")
+    void testGagalLogTidakDiterapkan() throws IOException {
+        RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.close();
+
+        assertThrows(UncheckedIOException.class, () -> repository.kurangiStok("PROD001", 4));
+        assertThrows(UncheckedIOException.class, () -> repository.hapus("PROD001"));
+        assertThrows(UncheckedIOException.class,
+                () -> repository.tambahStokBatch(List.of(new MutasiStok("PROD001", 5))));
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(10, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong dibuang saat pemulihan")
+    void testEkorLogTerpotong() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.kurangiStok("PROD001", 2);
+        }
+        Files.write(direktori.resolve(RepositoryProdukBerkas.NAMA_LOG), new byte[]{0, 0, 0, 40, 1, 2, 3},
+                StandardOpenOption.APPEND);
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(8, repository.cariByKode("PROD001").get().getStok());
+            repository.kurangiStok("PROD001", 1);
+        }
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot otomatis saat log melewati batas dan penulisan paralel tetap utuh")
+    void testSnapshotOtomatisParalel() throws Exception {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori, 4096)) {
+            for (int i = 0; i < 8; i++) {
+                repository.simpan(new Produk("KODE" + i, "Produk " + i, "Massal", 1000, 0, 5));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 8; i++) {
+                String kode = "KODE" + i;
+                executor.submit(() -> {
+                    for (int j = 0; j < 250; j++) {
+                        repository.tambahStok(kode, 1);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertTrue(Files.exists(direktori.resolve(RepositoryProdukBerkas.NAMA_SNAPSHOT)));
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(8 * 250, repository.hitungTotalStok());
+            assertTrue(repository.hitungTotalNilaiSen() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("cariByKode dilayani dari snapshot terpetakan sebelum termuat penuh")
+    void testCariDariSnapshotTerpetakan() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+            repository.simpan(new Produk("PROD003", "Kaos", "Fashion", 50000, 0, 5));
+            repository.buatSnapshot();
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertFalse(repository.isTermuatPenuh());
+            assertEquals("Mouse", repository.cariByKode("PROD002").get().getNama());
+            assertTrue(repository.cariByKode("PROD999").isEmpty());
+
+            // Mutasi menyalin produk dari snapshot, penghapusan menutupi entri snapshot
+            assertTrue(repository.kurangiStok("PROD001", 4));
+            assertTrue(repository.hapus("PROD003"));
+            assertTrue(repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 300000, 3, 5)));
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            assertEquals("Mouse Wireless", repository.cariByKode("PROD002").get().getNama());
+            assertTrue(repository.cariByKode("PROD003").isEmpty());
+            assertFalse(repository.isTermuatPenuh());
+
+            // Query pindai memuat sisa snapshot dan membangun indeks
+            assertEquals(2, repository.cariByKategori("Elektronik").size());
+            assertTrue(repository.isTermuatPenuh());
+            assertTrue(repository.cariByKategori("Fashion").isEmpty());
+            assertEquals(9, repository.hitungTotalStok());
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertTrue(repository.cariByKode("PROD003").isEmpty());
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(2, repository.cariSemua().size());
+            assertEquals(1, repository.cariByNama("wireless").size());
+        }
+    }
+
+    @Test
+    @DisplayName("siapkanIndeks memuat snapshot di latar belakang")
+    void testSiapkanIndeks() throws Exception {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            for (int i = 0; i < 100; i++) {
+                repository.simpan(new Produk("KODE" + i, "Produk " + i, "Massal", 1000, i, 5));
+            }
+            repository.buatSnapshot();
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.siapkanIndeks();
+            long batas = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!repository.isTermuatPenuh() && System.nanoTime() < batas) {
+                Thread.sleep(5);
+            }
+            assertTrue(repository.isTermuatPenuh());
+            assertEquals(100, repository.cariByKategori("Massal").size());
+            assertEquals(1, repository.cariByNama("Produk 42").size());
+        }
+    }
+
+    @Test
+    @DisplayName("Batas log harus positif")
+    void testBatasLogTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> RepositoryProdukBerkas.buka(direktori, 0));
+    }
+
+    @Test
+    @DisplayName("Batch ditulis ke log dan dipulihkan setelah dibuka ulang")
+    void testBatchDipulihkan() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            List<Produk> daftar = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                daftar.add(new Produk("KODE" + i, "Produk " + i, "Massal", 1000, 10, 5));
+            }
+            boolean[] hasilSimpan = repository.simpanBatch(daftar);
+            for (boolean berhasil : hasilSimpan) {
+                assertTrue(berhasil);
+            }
+            assertArrayEquals(new boolean[]{true, false, true},
+                    repository.kurangiStokBatch(List.of(new MutasiStok("KODE0", 10),
+                            new MutasiStok("KODE1", 11), new MutasiStok("KODE1", 4))));
+            assertArrayEquals(new boolean[]{true, false},
+                    repository.tambahStokBatch(List.of(new MutasiStok("KODE2", 5), new MutasiStok("TIDAKADA", 5))));
+            assertArrayEquals(new boolean[]{true},
+                    repository.updateStokBatch(List.of(new MutasiStok("KODE3", 0))));
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(0, repository.cariByKode("KODE0").get().getStok());
+            assertEquals(6, repository.cariByKode("KODE1").get().getStok());
+            assertEquals(15, repository.cariByKode("KODE2").get().getStok());
+            assertEquals(0, repository.cariByKode("KODE3").get().getStok());
+            assertEquals(50 * 10 - 10 - 4 + 5 - 10, repository.hitungTotalStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Pesanan semua-atau-tidak ditulis sebagai satu rekaman log dan dipulihkan")
+    void testKurangiStokSemuaSatuRekaman() throws IOException {
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+            repository.buatSnapshot();
+
+            long ukuranAwal = repository.ukuranLog();
+            assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 4), new MutasiStok("PROD002", 4))));
+            assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD999", 1))));
+            assertEquals(ukuranAwal, repository.ukuranLog());
+            assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+
+            List<MutasiStok> pesanan = List.of(new MutasiStok("PROD001", 4), new MutasiStok(" PROD002", 2),
+                    new MutasiStok("PROD002", 1));
+            assertTrue(repository.kurangiStokSemua(pesanan));
+            assertEquals(ukuranAwal + WriteAheadLog.UKURAN_BINGKAI + RekamanLog.kurangiSemua(pesanan).length,
+                    repository.ukuranLog());
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(0, repository.cariByKode("PROD002").get().getStok());
+            assertTrue(repository.kurangiStokSemua(List.of()));
+        }
+
+        try (RepositoryProdukBerkas repository = RepositoryProdukBerkas.buka(direktori)) {
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(0, repository.cariByKode("PROD002").get().getStok());
+        }
+    }
+}
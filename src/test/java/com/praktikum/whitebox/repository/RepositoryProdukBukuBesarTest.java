@@ -0,0 +1,265 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.EventStok;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Buku Besar")
+public class RepositoryProdukBukuBesarTest {
+    @TempDir
+    Path direktori;
+
+    private final AtomicLong jam = new AtomicLong(1000);
+    private RepositoryProdukMemori asal;
+    private BukuBesarStok bukuBesar;
+    private RepositoryProdukBukuBesar repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        asal = new RepositoryProdukMemori();
+        asal.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        asal.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+        bukuBesar = new BukuBesarStok(direktori, 8, jam::get);
+        repository = new RepositoryProdukBukuBesar(asal, bukuBesar);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        bukuBesar.close();
+    }
+
+    private void assertStokSama(String kode) {
+        int stokRepository = asal.cariByKode(kode).map(Produk::getStok).orElse(0);
+        assertEquals(stokRepository, bukuBesar.stokSaatIni(kode));
+        assertEquals(stokRepository, bukuBesar.stokPada(kode, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("Buku besar baru dimulai dari saldo awal produk yang sudah ada")
+    void testSaldoAwal() throws IOException {
+        assertSame(bukuBesar, repository.getBukuBesar());
+        assertEquals(2, bukuBesar.jumlahEvent());
+        assertEquals(List.of(new EventStok(0, 1000, "PROD001", EventStok.Jenis.SALDO_AWAL, 10)),
+                bukuBesar.riwayat("PROD001", 0, Long.MAX_VALUE));
+
+        // Buku besar yang sudah berisi tidak diberi saldo awal lagi
+        new RepositoryProdukBukuBesar(asal, bukuBesar);
+        assertEquals(2, bukuBesar.jumlahEvent());
+    }
+
+    @Test
+    @DisplayName("Setiap mutasi stok yang berhasil tercatat dengan jenis dan selisihnya")
+    void testMutasiTercatat() {
+        assertTrue(repository.tambahStok("PROD001", 5));
+        assertTrue(repository.kurangiStok("PROD001", 3));
+        assertTrue(repository.updateStok("PROD001", 20));
+        assertTrue(repository.updateStokJikaSama("PROD001", 20, 18));
+        assertTrue(repository.simpan(new Produk("PROD001", "Laptop Baru", "Elektronik", 1, 25, 5)));
+        assertTrue(repository.simpan(new Produk("PROD003", "Keyboard", "Elektronik", 1, 4, 2)));
+        assertTrue(repository.hapus("PROD002"));
+
+        List<EventStok> riwayat = bukuBesar.riwayat("PROD001", 0, Long.MAX_VALUE);
+        assertEquals(List.of(EventStok.Jenis.SALDO_AWAL, EventStok.Jenis.MASUK, EventStok.Jenis.KELUAR,
+                        EventStok.Jenis.PENYESUAIAN, EventStok.Jenis.PENYESUAIAN, EventStok.Jenis.SIMPAN),
+                riwayat.stream().map(EventStok::getJenis).toList());
+        assertEquals(List.of(10, 5, -3, 8, -2, 7), riwayat.stream().map(EventStok::getSelisih).toList());
+        assertEquals(EventStok.Jenis.HAPUS, bukuBesar.riwayat("PROD002", 0, Long.MAX_VALUE).get(1).getJenis());
+        assertStokSama("PROD001");
+        assertStokSama("PROD002");
+        assertStokSama("PROD003");
+    }
+
+    @Test
+    @DisplayName("Event yang hilang sebelum flush diimbangi PENYESUAIAN saat dibuka ulang")
+    void testRekonsiliasiSaatDibuka() throws IOException {
+        assertTrue(repository.tambahStok("PROD001", 2));
+        bukuBesar.close();
+        // Perubahan yang sudah ada di repository tetapi event-nya hilang
+        asal.updateStok("PROD001", 7);
+        asal.hapus("PROD002");
+        asal.simpan(new Produk("PROD003", "Keyboard", "Elektronik", 1, 4, 2));
+
+        bukuBesar = new BukuBesarStok(direktori, 8, jam::get);
+        long jumlahSebelum = bukuBesar.jumlahEvent();
+        repository = new RepositoryProdukBukuBesar(asal, bukuBesar);
+        assertEquals(jumlahSebelum + 3, bukuBesar.jumlahEvent());
+        for (String kode : List.of("PROD001", "PROD002", "PROD003")) {
+            assertStokSama(kode);
+            List<EventStok> riwayat = bukuBesar.riwayat(kode, 0, Long.MAX_VALUE);
+            assertEquals(EventStok.Jenis.PENYESUAIAN, riwayat.get(riwayat.size() - 1).getJenis());
+        }
+        assertEquals(-3, bukuBesar.riwayat("PROD002", 0, Long.MAX_VALUE).get(1).getSelisih());
+        assertEquals(List.of("PROD001", "PROD003"), bukuBesar.kodeBersaldo().stream().sorted().toList());
+
+        // Buku besar yang sudah sama tidak diberi event tambahan
+        new RepositoryProdukBukuBesar(asal, bukuBesar);
+        assertEquals(jumlahSebelum + 3, bukuBesar.jumlahEvent());
+    }
+
+    @Test
+    @DisplayName("Kode berspasi memakai kunci yang sama dengan kode aslinya")
+    void testKodeBerspasi() {
+        assertTrue(repository.updateStok(" PROD001", 12));
+        assertTrue(repository.kurangiStok("PROD001 ", 2));
+        assertStokSama("PROD001");
+        assertEquals(10, bukuBesar.stokSaatIni("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Mutasi yang ditolak repository tidak dicatat")
+    void testMutasiGagalTidakDicatat() {
+        assertFalse(repository.kurangiStok("PROD002", 4));
+        assertFalse(repository.tambahStok("PROD999", 1));
+        assertFalse(repository.updateStok("PROD999", 1));
+        assertFalse(repository.updateStokJikaSama("PROD001", 9, 1));
+        assertFalse(repository.hapus("PROD999"));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 4))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 0))));
+        assertEquals(2, bukuBesar.jumlahEvent());
+    }
+
+    @Test
+    @DisplayName("Perubahan repository dibatalkan jika buku besar gagal mencatat")
+    void testCatatGagalDibatalkan() throws IOException {
+        bukuBesar.close();
+
+        assertThrows(IllegalStateException.class, () -> repository.tambahStok("PROD001", 5));
+        assertThrows(IllegalStateException.class, () -> repository.kurangiStok("PROD001", 5));
+        assertThrows(IllegalStateException.class, () -> repository.updateStok("PROD001", 1));
+        assertThrows(IllegalStateException.class, () -> repository.updateStokJikaSama("PROD001", 10, 1));
+        assertThrows(IllegalStateException.class,
+                () -> repository.simpan(new Produk("PROD001", "Laptop Baru", "Elektronik", 1, 25, 5)));
+        assertThrows(IllegalStateException.class,
+                () -> repository.simpan(new Produk("PROD003", "Keyboard", "Elektronik", 1, 4, 2)));
+        assertThrows(IllegalStateException.class, () -> repository.hapus("PROD002"));
+        assertFalse(repository.tambahStok("bukan kode", 1));
+
+        assertEquals(10, asal.cariByKode("PROD001").get().getStok());
+        assertEquals("Laptop Gaming", asal.cariByKode("PROD001").get().getNama());
+        assertEquals(3, asal.cariByKode("PROD002").get().getStok());
+        assertTrue(asal.cariByKode("PROD003").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pesanan yang gagal dicatat di tengah dikembalikan ke repository dan diimbangi di buku besar")
+    void testPesananGagalDicatat() throws IOException {
+        BukuBesarStok bukuBesarRusak = new BukuBesarStok(direktori.resolve("rusak"), 8, jam::get) {
+            @Override
+            public boolean catat(String kode, EventStok.Jenis jenis, int selisih) {
+                if (kode.equals("PROD002") && jenis == EventStok.Jenis.KELUAR) {
+                    throw new UncheckedIOException(new IOException("Disk penuh"));
+                }
+                return super.catat(kode, jenis, selisih);
+            }
+        };
+        try (bukuBesarRusak) {
+            RepositoryProdukBukuBesar rusak = new RepositoryProdukBukuBesar(asal, bukuBesarRusak);
+
+            assertThrows(UncheckedIOException.class, () -> rusak.kurangiStokSemua(
+                    List.of(new MutasiStok("PROD001", 2), new MutasiStok("PROD002", 1))));
+
+            assertEquals(10, asal.cariByKode("PROD001").get().getStok());
+            assertEquals(3, asal.cariByKode("PROD002").get().getStok());
+            assertEquals(10, bukuBesarRusak.stokSaatIni("PROD001"));
+            assertEquals(3, bukuBesarRusak.stokSaatIni("PROD002"));
+        }
+    }
+
+    @Test
+    @DisplayName("Pesanan semua-atau-tidak dan batch tercatat per baris")
+    void testPesananDanBatch() {
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 2), new MutasiStok("PROD002", 1))));
+        assertArrayEquals(new boolean[]{true, false},
+                repository.kurangiStokBatch(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 9))));
+        repository.tambahStokBatch(List.of(new MutasiStok("PROD002", 4)));
+        repository.updateStokBatch(List.of(new MutasiStok("PROD001", 30)));
+        repository.simpanBatch(List.of(new Produk("PROD004", "Monitor", "Elektronik", 1, 6, 2)));
+
+        assertEquals(8, bukuBesar.jumlahEvent());
+        assertStokSama("PROD001");
+        assertStokSama("PROD002");
+        assertStokSama("PROD004");
+    }
+
+    @Test
+    @DisplayName("Stok pada titik waktu mengikuti urutan mutasi")
+    void testStokPadaWaktu() throws Exception {
+        for (int i = 1; i <= 20; i++) {
+            jam.set(1000 + i * 100L);
+            repository.tambahStok("PROD001", i);
+        }
+        bukuBesar.tungguPemadatan();
+        assertTrue(bukuBesar.jumlahCheckpoint() > 0);
+
+        assertEquals(10, bukuBesar.stokPada("PROD001", 1099));
+        assertEquals(10 + 55, bukuBesar.stokPada("PROD001", 2000));
+        assertEquals(10 + 210, bukuBesar.stokPada("PROD001", 3000));
+        assertStokSama("PROD001");
+    }
+
+    @Test
+    @DisplayName("Mutasi paralel tetap menghasilkan stok turunan yang sama dengan repository")
+    void testParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            boolean pengurang = t % 2 == 0;
+            executor.submit(() -> {
+                for (int i = 0; i < 300; i++) {
+                    if (pengurang) {
+                        repository.kurangiStok("PROD001", 2);
+                        repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 1)));
+                    } else {
+                        repository.tambahStok("PROD001", 1);
+                        repository.tambahStok("PROD002", 1);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertStokSama("PROD001");
+        assertStokSama("PROD002");
+    }
+
+    @Test
+    @DisplayName("Query diteruskan ke repository asal")
+    void testDelegasiQuery() {
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByNama("mouse").size());
+        assertEquals(2, repository.cariSemua().size());
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(13, repository.hitungTotalStok());
+        assertEquals(150750000.0, repository.hitungTotalNilai());
+        assertEquals(15075000000L, repository.hitungTotalNilaiSen());
+        assertTrue(repository.updateAktif("PROD002", false));
+        assertFalse(repository.cariByKode("PROD002").get().isAktif());
+        assertEquals(2, bukuBesar.jumlahEvent());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukBukuBesar(null, bukuBesar));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukBukuBesar(asal, null));
+    }
+}
@@ -0,0 +1,191 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repository Produk Cache (W-TinyLFU)")
+public class RepositoryProdukCacheTest {
+    private RepositoryProdukMemori asal;
+    private RepositoryProdukCache cache;
+
+    @BeforeEach
+    void setUp() {
+        asal = spy(new RepositoryProdukMemori());
+        asal.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        asal.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+        cache = new RepositoryProdukCache(asal, 100);
+    }
+
+    @Test
+    @DisplayName("Pencarian kedua dilayani dari cache")
+    void testHitSetelahMiss() {
+        assertEquals("Laptop Gaming", cache.cariByKode("PROD001").get().getNama());
+        assertEquals("Laptop Gaming", cache.cariByKode("PROD001").get().getNama());
+
+        verify(asal, times(1)).cariByKode("PROD001");
+        assertEquals(1, cache.jumlahHit());
+        assertEquals(1, cache.jumlahMiss());
+        assertEquals(0.5, cache.rasioHit());
+    }
+
+    @Test
+    @DisplayName("Produk yang dikembalikan adalah salinan")
+    void testSalinan() {
+        cache.cariByKode("PROD001").get().setStok(999);
+        cache.cariByKode("PROD001").get().setNama("Diubah");
+
+        Produk produk = cache.cariByKode("PROD001").get();
+        assertEquals(10, produk.getStok());
+        assertEquals("Laptop Gaming", produk.getNama());
+    }
+
+    @Test
+    @DisplayName("Kode yang tidak ada di-cache dan terlihat setelah disimpan")
+    void testNegativeCaching() {
+        assertTrue(cache.cariByKode("PROD999").isEmpty());
+        assertTrue(cache.cariByKode("PROD999").isEmpty());
+        verify(asal, times(1)).cariByKode("PROD999");
+
+        assertTrue(cache.simpan(new Produk("PROD999", "Baru", "Lain", 1000, 1, 1)));
+        assertEquals("Baru", cache.cariByKode("PROD999").get().getNama());
+    }
+
+    @Test
+    @DisplayName("Kode berspasi berbagi entri dan invalidasi dengan kode aslinya")
+    void testKodeBerspasi() {
+        assertTrue(cache.cariByKode(" PROD999 ").isEmpty());
+        assertTrue(cache.cariByKode("PROD999").isEmpty());
+        assertEquals(1, cache.jumlahEntri());
+        assertEquals(1, cache.jumlahHit());
+
+        assertTrue(cache.simpan(new Produk("PROD999", "Baru", "Lain", 1000, 1, 1)));
+        assertEquals("Baru", cache.cariByKode(" PROD999 ").get().getNama());
+
+        cache.cariByKode("PROD001");
+        assertTrue(cache.kurangiStok("PROD001\t", 4));
+        assertEquals(6, cache.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Mutasi meneruskan ke repository asal dan menginvalidasi entri")
+    void testInvalidasiWriteThrough() {
+        cache.cariByKode("PROD001");
+
+        assertTrue(cache.updateStok("PROD001", 7));
+        assertEquals(7, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.kurangiStok("PROD001", 2));
+        assertEquals(5, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.tambahStok("PROD001", 5));
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.updateStokJikaSama("PROD001", 10, 4));
+        assertEquals(4, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.updateAktif("PROD001", false));
+        assertFalse(cache.cariByKode("PROD001").get().isAktif());
+        assertTrue(cache.hapus("PROD001"));
+        assertTrue(cache.cariByKode("PROD001").isEmpty());
+        assertTrue(asal.cariByKode("PROD001").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Jumlah entri tidak melebihi kapasitas")
+    void testKapasitasTerbatas() {
+        for (int i = 0; i < 1000; i++) {
+            cache.cariByKode("KODE" + i);
+        }
+        assertTrue(cache.jumlahEntri() <= 100);
+        assertTrue(cache.jumlahEviksi() >= 900);
+    }
+
+    @Test
+    @DisplayName("Kode populer bertahan saat ada pindaian kode sekali pakai")
+    void testTahanPindaian() {
+        for (int putaran = 0; putaran < 10; putaran++) {
+            for (int i = 0; i < 50; i++) {
+                cache.cariByKode("PANAS" + i);
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            cache.cariByKode("DINGIN" + i);
+        }
+        long hitSebelum = cache.jumlahHit();
+        for (int i = 0; i < 50; i++) {
+            cache.cariByKode("PANAS" + i);
+        }
+        assertTrue(cache.jumlahHit() - hitSebelum >= 45);
+    }
+
+    @Test
+    @DisplayName("Query pindai dan agregat diteruskan ke repository asal")
+    void testDelegasiPindai() {
+        assertEquals(2, cache.cariByKategori("Elektronik").size());
+        assertEquals(1, cache.cariByNama("mouse").size());
+        assertEquals(2, cache.cariSemua().size());
+        assertEquals(1, cache.cariProdukStokMenipis().size());
+        assertTrue(cache.cariProdukStokHabis().isEmpty());
+        assertEquals(13, cache.hitungTotalStok());
+        assertEquals(150750000.0, cache.hitungTotalNilai());
+        assertEquals(15075000000L, cache.hitungTotalNilaiSen());
+    }
+
+    @Test
+    @DisplayName("Baca dan tulis paralel tidak meninggalkan entri basi")
+    void testParalel() throws InterruptedException {
+        asal.updateStok("PROD001", 4000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            boolean penulis = t % 2 == 0;
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (penulis) {
+                        cache.kurangiStok("PROD001", 1);
+                    } else {
+                        cache.cariByKode("PROD001");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(2000, asal.cariByKode("PROD001").get().getStok());
+        assertEquals(2000, cache.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(asal, 0));
+    }
+
+    @Test
+    @DisplayName("Operasi batch menginvalidasi semua kode di dalam batch")
+    void testBatchMenginvalidasi() {
+        cache.cariByKode("PROD001");
+        cache.cariByKode("PROD002");
+
+        assertArrayEquals(new boolean[]{true, true},
+                cache.kurangiStokBatch(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 1))));
+        assertEquals(9, cache.cariByKode("PROD001").get().getStok());
+        assertEquals(2, cache.cariByKode("PROD002").get().getStok());
+
+        assertTrue(cache.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1))));
+        assertEquals(8, cache.cariByKode("PROD001").get().getStok());
+        cache.tambahStokBatch(List.of(new MutasiStok("PROD001", 2)));
+        cache.updateStokBatch(List.of(new MutasiStok("PROD002", 50)));
+        cache.simpanBatch(List.of(new Produk("PROD001", "Laptop Baru", "Elektronik", 1, 1, 1)));
+        assertEquals("Laptop Baru", cache.cariByKode("PROD001").get().getNama());
+        assertEquals(50, cache.cariByKode("PROD002").get().getStok());
+    }
+}
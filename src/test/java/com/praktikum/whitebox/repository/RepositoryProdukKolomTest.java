@@ -0,0 +1,176 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Kolumnar")
+public class RepositoryProdukKolomTest {
+    private RepositoryProdukKolom repository;
+
+    @BeforeEach
+    void setUp() {
+        // Kapasitas kecil agar proses perbesar kolom ikut teruji
+        repository = new RepositoryProdukKolom(2);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 10000000, 2, 1));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 500000, 5, 5));
+        Produk nonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 0, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+    }
+
+    @Test
+    @DisplayName("Produk dibaca kembali lengkap dari kolom")
+    void testCariByKode() {
+        Optional<Produk> hasil = repository.cariByKode("PROD003");
+
+        assertTrue(hasil.isPresent());
+        Produk produk = hasil.get();
+        assertEquals("Keyboard", produk.getNama());
+        assertEquals("Elektronik", produk.getKategori());
+        assertEquals(300000, produk.getHarga(), 0.001);
+        assertEquals(0, produk.getStok());
+        assertEquals(1, produk.getStokMinimum());
+        assertFalse(produk.isAktif());
+        assertTrue(repository.cariByKode("PROD999").isEmpty());
+        assertTrue(repository.cariByKode("KODE TIDAK VALID").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Agregat dihitung dari kolom hanya untuk produk aktif")
+    void testAgregat() {
+        assertEquals(10000000 * 2 + 500000 * 5, repository.hitungTotalNilai(), 0.001);
+        assertEquals((10000000L * 2 + 500000L * 5) * 100, repository.hitungTotalNilaiSen());
+        assertEquals(7, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Produk yang nilai stoknya tidak muat di long ditolak tanpa perubahan apa pun")
+    void testNilaiMelimpahDitolak() {
+        long nilaiAwal = repository.hitungTotalNilaiSen();
+        assertFalse(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 1000, 1)));
+        assertArrayEquals(new boolean[]{false},
+                repository.simpanBatch(List.of(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 1000, 1))));
+        assertTrue(repository.cariByKode("MAHAL").isEmpty());
+        assertEquals(3, repository.jumlahProduk());
+
+        assertTrue(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 900, 1)));
+        assertFalse(repository.tambahStok("MAHAL", 100));
+        assertFalse(repository.updateStok("MAHAL", 1000));
+        assertFalse(repository.updateStokJikaSama("MAHAL", 900, 1000));
+        assertArrayEquals(new boolean[]{false}, repository.tambahStokBatch(List.of(new MutasiStok("MAHAL", 100))));
+        assertEquals(900, repository.cariByKode("MAHAL").get().getStok());
+        assertEquals(nilaiAwal + 900 * 10_000_000_000_000_000L, repository.hitungTotalNilaiSen());
+        assertEquals(repository.hitungTotalNilaiSen() / 100.0, repository.hitungTotalNilai());
+    }
+
+    @Test
+    @DisplayName("Query status stok memindai kolom stok")
+    void testStatusStok() {
+        List<Produk> menipis = repository.cariProdukStokMenipis();
+        List<Produk> habis = repository.cariProdukStokHabis();
+
+        assertEquals(1, menipis.size());
+        assertEquals("PROD002", menipis.get(0).getKode());
+        assertEquals(1, habis.size());
+        assertEquals("PROD003", habis.get(0).getKode());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang menimpa slot yang sama")
+    void testSimpanUlang() {
+        repository.simpan(new Produk("PROD001", "Laptop Kantor", "Komputer", 8000000, 4, 1));
+
+        assertEquals(3, repository.jumlahProduk());
+        assertEquals("Laptop Kantor", repository.cariByKode("PROD001").get().getNama());
+        assertEquals(1, repository.cariByKategori("Komputer").size());
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk("BAD KODE", "Nama", "Kat", 1, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Hapus memindahkan slot terakhir tanpa merusak indeks")
+    void testHapus() {
+        assertTrue(repository.hapus("PROD001"));
+        assertFalse(repository.hapus("PROD001"));
+
+        assertEquals(2, repository.jumlahProduk());
+        assertTrue(repository.cariByKode("PROD001").isEmpty());
+        assertEquals("Keyboard", repository.cariByKode("PROD003").get().getNama());
+        assertTrue(repository.updateStok("PROD003", 9));
+        assertEquals(9, repository.cariByKode("PROD003").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Operasi stok atomik pada kolom")
+    void testOperasiStok() {
+        assertTrue(repository.kurangiStok("PROD002", 5));
+        assertFalse(repository.kurangiStok("PROD002", 1));
+        assertTrue(repository.tambahStok("PROD002", 3));
+        assertFalse(repository.updateStokJikaSama("PROD002", 5, 10));
+        assertTrue(repository.updateStokJikaSama("PROD002", 3, 10));
+        assertFalse(repository.updateStok("PROD002", -1));
+        assertFalse(repository.updateStok("PROD999", 1));
+
+        assertEquals(10, repository.cariByKode("PROD002").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Cari nama dan kategori")
+    void testCariNamaKategori() {
+        assertEquals(1, repository.cariByNama("MOUSE").size());
+        assertEquals(3, repository.cariByKategori("Elektronik").size());
+        assertTrue(repository.cariByNama(null).isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+        assertEquals(3, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Kapasitas awal harus positif")
+    void testKapasitasTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukKolom(0));
+    }
+
+    @Test
+    @DisplayName("Batch simpan dan stok diproses dengan satu kunci")
+    void testBatch() {
+        boolean[] hasilSimpan = repository.simpanBatch(List.of(
+                new Produk("PROD004", "Monitor", "Elektronik", 2000000, 4, 1),
+                new Produk("PROD005", "Webcam", "Elektronik", 400000, 1, 1)));
+        assertArrayEquals(new boolean[]{true, true}, hasilSimpan);
+        assertEquals(5, repository.jumlahProduk());
+
+        assertArrayEquals(new boolean[]{true, false, true},
+                repository.kurangiStokBatch(List.of(new MutasiStok("PROD004", 4),
+                        new MutasiStok("PROD005", 2), new MutasiStok("PROD001", 1))));
+        assertArrayEquals(new boolean[]{true, false},
+                repository.tambahStokBatch(List.of(new MutasiStok("PROD004", 3), new MutasiStok("PROD999", 1))));
+        assertArrayEquals(new boolean[]{true, false},
+                repository.updateStokBatch(List.of(new MutasiStok("PROD005", 9), new MutasiStok("PROD005", -1))));
+
+        assertEquals(3, repository.cariByKode("PROD004").get().getStok());
+        assertEquals(1, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(9, repository.cariByKode("PROD005").get().getStok());
+    }
+
+    @Test
+    @DisplayName("kurangiStokSemua membatalkan baris yang sudah diterapkan jika ada yang gagal")
+    void testKurangiStokSemua() {
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 5))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD001", 1))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD999", 1))));
+        assertFalse(repository.kurangiStokSemua(Arrays.asList(new MutasiStok("PROD001", 1), null)));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 0))));
+
+        assertEquals(1, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(0, repository.cariByKode("PROD002").get().getStok());
+    }
+}
@@ -0,0 +1,770 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk In-Memory")
+public class RepositoryProdukMemoriTest {
+    private RepositoryProdukMemori repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 250000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Kaos Polos", "Fashion", 50000, 0, 5));
+    }
+
+    @Test
+    @DisplayName("Simpan dan cari produk berdasarkan kode")
+    void testSimpanDanCariByKode() {
+        Optional<Produk> hasil = repository.cariByKode("PROD001");
+
+        assertTrue(hasil.isPresent());
+        assertEquals("Laptop Gaming", hasil.get().getNama());
+        assertTrue(repository.cariByKode("PROD999").isEmpty());
+        assertTrue(repository.cariByKode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan produk null atau tanpa kode gagal")
+    void testSimpanProdukTidakValid() {
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk()));
+        assertEquals(3, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Kode berspasi di tepi yang lolos validasi bisa disimpan dan dicari")
+    void testKodeBerspasiTepi() {
+        assertTrue(repository.simpan(new Produk(" PROD009 ", "Kabel Data", "Elektronik", 1000, 4, 1)));
+        assertTrue(repository.cariByKode("PROD009").isPresent());
+        assertTrue(repository.kurangiStok("PROD009", 1));
+        assertTrue(repository.hapus(" PROD009 "));
+        assertTrue(repository.cariByKode("PROD009").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Perubahan objek di luar repository tidak merusak data")
+    void testSalinanDefensif() {
+        Produk produk = repository.cariByKode("PROD001").get();
+        produk.setStok(0);
+        produk.setKategori("Lain");
+
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertTrue(repository.cariProdukStokHabis().stream().noneMatch(p -> p.getKode().equals("PROD001")));
+        assertTrue(repository.cariByKategori("Lain").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari produk berdasarkan kategori memakai indeks")
+    void testCariByKategori() {
+        List<Produk> elektronik = repository.cariByKategori("Elektronik");
+
+        assertEquals(2, elektronik.size());
+        assertEquals(1, repository.cariByKategori("Fashion").size());
+        assertTrue(repository.cariByKategori("Olahraga").isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang dengan kategori berbeda memindahkan indeks")
+    void testSimpanUlangPindahKategori() {
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Aksesoris", 250000, 3, 5));
+
+        assertEquals(1, repository.cariByKategori("Elektronik").size());
+        assertEquals("PROD002", repository.cariByKategori("Aksesoris").get(0).getKode());
+    }
+
+    @Test
+    @DisplayName("Cari produk berdasarkan nama tidak peka huruf besar")
+    void testCariByNama() {
+        assertEquals(1, repository.cariByNama("laptop").size());
+        assertEquals(2, repository.cariByNama("S").size());
+        assertTrue(repository.cariByNama(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indeks status stok mengikuti update stok")
+    void testIndeksStatusStok() {
+        assertEquals("PROD002", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals("PROD003", repository.cariProdukStokHabis().get(0).getKode());
+
+        assertTrue(repository.updateStok("PROD001", 0));
+        assertTrue(repository.updateStok("PROD002", 20));
+        assertTrue(repository.updateStok("PROD003", 2));
+
+        assertEquals("PROD003", repository.cariProdukStokMenipis().get(0).getKode());
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertEquals("PROD001", repository.cariProdukStokHabis().get(0).getKode());
+        assertEquals(1, repository.cariProdukStokHabis().size());
+    }
+
+    @Test
+    @DisplayName("Update stok gagal untuk kode tidak ada atau stok negatif")
+    void testUpdateStokGagal() {
+        assertFalse(repository.updateStok("PROD999", 5));
+        assertFalse(repository.updateStok(null, 5));
+        assertFalse(repository.updateStok("PROD001", -1));
+    }
+
+    @Test
+    @DisplayName("Hapus produk membersihkan semua indeks")
+    void testHapus() {
+        assertTrue(repository.hapus("PROD003"));
+        assertFalse(repository.hapus("PROD003"));
+        assertFalse(repository.hapus(null));
+
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(repository.cariByKategori("Fashion").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("Update stok paralel pada kode berbeda tetap konsisten")
+    void testUpdateParalel() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 200; i++) {
+            String kode = "KODE" + i;
+            executor.submit(() -> {
+                repository.simpan(new Produk(kode, "Produk " + kode, "Massal", 1000, 10, 5));
+                repository.updateStok(kode, 0);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(200, repository.cariByKategori("Massal").size());
+        assertEquals(201, repository.cariProdukStokHabis().size());
+    }
+
+    @Test
+    @DisplayName("Compare-and-set stok hanya berhasil jika stok lama cocok")
+    void testUpdateStokCompareAndSet() {
+        assertFalse(repository.updateStokJikaSama("PROD001", 9, 20));
+        assertTrue(repository.updateStokJikaSama("PROD001", 10, 20));
+        assertEquals(20, repository.cariByKode("PROD001").get().getStok());
+        assertFalse(repository.updateStokJikaSama("PROD001", 20, -1));
+    }
+
+    @Test
+    @DisplayName("Kurangi dan tambah stok atomik")
+    void testKurangiDanTambahStok() {
+        assertTrue(repository.kurangiStok("PROD001", 10));
+        assertFalse(repository.kurangiStok("PROD001", 1));
+        assertFalse(repository.kurangiStok("PROD001", 0));
+        assertFalse(repository.kurangiStok("PROD999", 1));
+        assertEquals("PROD001", repository.cariProdukStokHabis().stream()
+                .filter(p -> p.getKode().equals("PROD001")).findFirst().get().getKode());
+
+        assertTrue(repository.tambahStok("PROD001", 3));
+        assertFalse(repository.tambahStok("PROD001", -3));
+        assertFalse(repository.tambahStok("PROD001", Integer.MAX_VALUE));
+        assertEquals(3, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Kurangi stok paralel pada satu kode tidak pernah oversell")
+    void testKurangiStokParalelTidakOversell() throws InterruptedException {
+        repository.updateStok("PROD001", 1000);
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1500; i++) {
+            executor.submit(() -> {
+                if (repository.kurangiStok("PROD001", 1)) {
+                    berhasil.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, berhasil.get());
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Agregat dipelihara inkremental pada setiap mutasi")
+    void testAgregatInkremental() {
+        // 15.000.000 x 10 + 250.000 x 3 + 50.000 x 0
+        assertEquals(150750000.0, repository.hitungTotalNilai(), 0.0);
+        assertEquals(13, repository.hitungTotalStok());
+
+        repository.kurangiStok("PROD001", 4);
+        repository.tambahStok("PROD003", 2);
+        repository.updateStok("PROD002", 1);
+        assertEquals(15000000L * 6 * 100 + 250000L * 100 + 50000L * 2 * 100, repository.hitungTotalNilaiSen());
+        assertEquals(9, repository.hitungTotalStok());
+
+        repository.hapus("PROD001");
+        assertEquals(250000L * 100 + 50000L * 2 * 100, repository.hitungTotalNilaiSen());
+        assertEquals(3, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Status aktif memengaruhi agregat")
+    void testAgregatStatusAktif() {
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertFalse(repository.updateAktif("PROD999", false));
+        assertEquals(3, repository.hitungTotalStok());
+        assertFalse(repository.cariByKode("PROD001").get().isAktif());
+
+        // Perubahan stok produk nonaktif tidak ikut terhitung
+        repository.tambahStok("PROD001", 100);
+        assertEquals(3, repository.hitungTotalStok());
+
+        repository.updateAktif("PROD001", true);
+        assertEquals(113, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Subtotal per kategori")
+    void testAgregatPerKategori() {
+        assertEquals(13, repository.hitungTotalStok("Elektronik"));
+        assertEquals(0, repository.hitungTotalStok("Fashion"));
+        assertEquals(0, repository.hitungTotalStok("Olahraga"));
+        assertEquals(0, repository.hitungTotalNilaiSen(null));
+
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Aksesoris", 250000, 3, 5));
+        assertEquals(10, repository.hitungTotalStok("Elektronik"));
+        assertEquals(3, repository.hitungTotalStok("Aksesoris"));
+        assertEquals(25000000L * 3, repository.hitungTotalNilaiSen("Aksesoris"));
+    }
+
+    @Test
+    @DisplayName("Produk yang nilai stoknya tidak muat di long ditolak tanpa perubahan apa pun")
+    void testNilaiMelimpahDitolak() {
+        long nilaiAwal = repository.hitungTotalNilaiSen();
+        assertFalse(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 1000, 1)));
+        assertTrue(repository.cariByKode("MAHAL").isEmpty());
+        assertTrue(repository.cariByKategori("Perhiasan").isEmpty());
+        assertTrue(repository.cariByNama("berlian").isEmpty());
+        assertArrayEquals(new boolean[]{false},
+                repository.simpanBatch(List.of(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 1000, 1))));
+
+        assertTrue(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 900, 1)));
+        assertFalse(repository.tambahStok("MAHAL", 100));
+        assertFalse(repository.updateStok("MAHAL", 1000));
+        assertEquals(900, repository.cariByKode("MAHAL").get().getStok());
+        assertEquals(nilaiAwal + 900 * 10_000_000_000_000_000L, repository.hitungTotalNilaiSen());
+
+        // Batas yang sama berlaku untuk stok yang dipecah di mode kode panas
+        assertTrue(repository.aktifkanKodePanas("MAHAL"));
+        assertFalse(repository.tambahStok("MAHAL", 100));
+        assertFalse(repository.updateStok("MAHAL", 1000));
+        assertFalse(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 1e14, 1000, 1)));
+        assertTrue(repository.simpan(new Produk("MAHAL", "Berlian Besar", "Perhiasan", 2e14, 400, 1)));
+        assertFalse(repository.tambahStok("MAHAL", 100));
+        assertEquals(nilaiAwal + 400 * 20_000_000_000_000_000L, repository.hitungTotalNilaiSen());
+    }
+
+    @Test
+    @DisplayName("Total stok di atas batas int dijenuhkan")
+    void testTotalStokDijenuhkan() {
+        repository.simpan(new Produk("BANYAK1", "Baut", "Perkakas", 0.01, Integer.MAX_VALUE, 0));
+        repository.simpan(new Produk("BANYAK2", "Mur", "Perkakas", 0.01, Integer.MAX_VALUE, 0));
+        assertEquals(Integer.MAX_VALUE, repository.hitungTotalStok());
+        assertEquals(2L * Integer.MAX_VALUE, repository.hitungTotalStok("Perkakas"));
+    }
+
+    @Test
+    @DisplayName("Total nilai eksak walau harga pecahan dijumlah berkali-kali")
+    void testAgregatTidakBergeser() {
+        repository.simpan(new Produk("RECEH", "Permen Receh", "Makanan", 0.1, 0, 0));
+        for (int i = 0; i < 10000; i++) {
+            repository.tambahStok("RECEH", 1);
+        }
+        for (int i = 0; i < 5000; i++) {
+            repository.kurangiStok("RECEH", 1);
+        }
+        assertEquals(10L * 5000, repository.hitungTotalNilaiSen("Makanan"));
+    }
+
+    @Test
+    @DisplayName("Cari nama memakai indeks trigram dan mengikuti perubahan nama")
+    void testCariByNamaTrigram() {
+        assertEquals(1, repository.cariByNama("WIRELESS").size());
+        assertEquals(1, repository.cariByNama("ptop gam").size());
+        assertTrue(repository.cariByNama("ptopgam").isEmpty());
+        assertEquals(3, repository.cariByNama("").size());
+
+        repository.simpan(new Produk("PROD002", "Keyboard Mekanik", "Elektronik", 250000, 3, 5));
+        assertTrue(repository.cariByNama("wireless").isEmpty());
+        assertEquals("PROD002", repository.cariByNama("mekan").get(0).getKode());
+
+        repository.hapus("PROD002");
+        assertTrue(repository.cariByNama("mekan").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Simpan batch menyimpan semua produk valid dan memperbarui indeks")
+    void testSimpanBatch() {
+        List<Produk> daftar = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            daftar.add(new Produk("BATCH" + i, "Barang Batch " + i, "Massal", 1000, 1, 5));
+        }
+        daftar.add(null);
+        daftar.add(new Produk("KODE-TIDAK-VALID", "X", "Massal", 1, 1, 1));
+
+        boolean[] hasil = repository.simpanBatch(daftar);
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(hasil[i]);
+        }
+        assertFalse(hasil[200]);
+        assertFalse(hasil[201]);
+        assertEquals(203, repository.jumlahProduk());
+        assertEquals(200, repository.cariByKategori("Massal").size());
+        assertEquals(1, repository.cariByNama("barang batch 199").size());
+        assertEquals(200 + 13, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Batch stok diterapkan sesuai urutan dan hasilnya per item")
+    void testStokBatch() {
+        boolean[] hasilKurangi = repository.kurangiStokBatch(Arrays.asList(
+                new MutasiStok("PROD001", 6),
+                new MutasiStok("PROD001", 6),
+                new MutasiStok("PROD002", 3),
+                new MutasiStok("PROD999", 1),
+                new MutasiStok("PROD001", 0),
+                null));
+        assertArrayEquals(new boolean[]{true, false, true, false, false, false}, hasilKurangi);
+        assertEquals(4, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(1, repository.cariProdukStokHabis().stream().filter(p -> p.getKode().equals("PROD002")).count());
+
+        boolean[] hasilTambah = repository.tambahStokBatch(List.of(
+                new MutasiStok("PROD002", 10), new MutasiStok("PROD003", Integer.MAX_VALUE),
+                new MutasiStok("PROD003", 1)));
+        assertArrayEquals(new boolean[]{true, true, false}, hasilTambah);
+
+        boolean[] hasilUpdate = repository.updateStokBatch(List.of(
+                new MutasiStok("PROD001", 100), new MutasiStok("PROD003", -1), new MutasiStok("PROD003", 0)));
+        assertArrayEquals(new boolean[]{true, false, true}, hasilUpdate);
+        assertEquals(100, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(0, repository.cariByKode("PROD003").get().getStok());
+        assertEquals(110, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("Mode kode panas menjaga stok, status, dan agregat tetap akurat")
+    void testKodePanas() {
+        assertTrue(repository.aktifkanKodePanas("PROD001"));
+        assertFalse(repository.aktifkanKodePanas("PROD001"));
+        assertFalse(repository.aktifkanKodePanas("PROD999"));
+        assertFalse(repository.aktifkanKodePanas("BUKAN KODE"));
+        assertTrue(repository.isKodePanas("PROD001"));
+        assertFalse(repository.isKodePanas("PROD002"));
+
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(13, repository.hitungTotalStok());
+        assertEquals(150750000.0, repository.hitungTotalNilai());
+
+        assertTrue(repository.kurangiStok("PROD001", 6));
+        assertFalse(repository.kurangiStok("PROD001", 5));
+        Produk produk = repository.cariByKode("PROD001").get();
+        assertEquals(4, produk.getStok());
+        assertTrue(produk.isStokMenipis());
+        assertEquals(2, repository.cariProdukStokMenipis().size());
+        assertEquals(7, repository.hitungTotalStok());
+        assertEquals(6000000000L + 75000000L, repository.hitungTotalNilaiSen());
+        assertEquals(6075000000L, repository.hitungTotalNilaiSen("Elektronik"));
+        assertEquals(7, repository.hitungTotalStok("Elektronik"));
+        assertEquals(0, repository.hitungTotalStok("Fashion"));
+
+        assertTrue(repository.kurangiStok("PROD001", 4));
+        assertTrue(repository.cariByKode("PROD001").get().isStokHabis());
+        assertEquals(2, repository.cariProdukStokHabis().size());
+        assertTrue(repository.tambahStok("PROD001", 20));
+        assertFalse(repository.tambahStok("PROD001", Integer.MAX_VALUE));
+        assertTrue(repository.updateStokJikaSama("PROD001", 20, 15));
+        assertFalse(repository.updateStokJikaSama("PROD001", 20, 1));
+        assertTrue(repository.updateStok("PROD001", 12));
+        assertEquals(12, repository.cariSemua().stream()
+                .filter(p -> p.getKode().equals("PROD001")).findFirst().get().getStok());
+        assertEquals(12, repository.cariByNama("laptop").get(0).getStok());
+        assertEquals(12, repository.cariByKategori("Elektronik").stream()
+                .mapToInt(Produk::getStok).max().getAsInt());
+
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertEquals(3, repository.hitungTotalStok());
+        assertTrue(repository.updateAktif("PROD001", true));
+        assertTrue(repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 9, 5)));
+        assertEquals(9, repository.cariByKode("PROD001").get().getStok());
+        assertArrayEquals(new boolean[]{true}, repository.kurangiStokBatch(List.of(new MutasiStok("PROD001", 2))));
+        assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+
+        assertTrue(repository.nonaktifkanKodePanas("PROD001"));
+        assertFalse(repository.nonaktifkanKodePanas("PROD001"));
+        assertFalse(repository.nonaktifkanKodePanas("BUKAN KODE"));
+        assertFalse(repository.isKodePanas("PROD001"));
+        assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(10, repository.hitungTotalStok());
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.kurangiStok("PROD001", 7));
+        assertEquals(2, repository.cariProdukStokHabis().size());
+    }
+
+    @Test
+    @DisplayName("Menghapus kode panas menutup stripe-nya")
+    void testHapusKodePanas() {
+        repository.aktifkanKodePanas("PROD001");
+
+        assertTrue(repository.hapus("PROD001"));
+        assertFalse(repository.isKodePanas("PROD001"));
+        assertFalse(repository.kurangiStok("PROD001", 1));
+        assertFalse(repository.tambahStok("PROD001", 1));
+        assertEquals(3, repository.hitungTotalStok());
+
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        assertTrue(repository.kurangiStok("PROD001", 10));
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Flash sale paralel pada kode panas tidak pernah oversell")
+    void testKodePanasParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 3000);
+        repository.aktifkanKodePanas("PROD001");
+        AtomicInteger terjual = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int urutan = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (repository.kurangiStok("PROD001", 1)) {
+                        terjual.incrementAndGet();
+                    }
+                    // Mode dimatikan dan dinyalakan lagi di tengah penjualan
+                    if (urutan == 0 && i == 250) {
+                        repository.nonaktifkanKodePanas("PROD001");
+                        repository.aktifkanKodePanas("PROD001");
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(3000, terjual.get());
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(3, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("kurangiStokSemua mengurangi semua baris atau tidak sama sekali")
+    void testKurangiStokSemua() {
+        assertTrue(repository.kurangiStokSemua(List.of(
+                new MutasiStok("PROD001", 4), new MutasiStok("PROD002", 1), new MutasiStok("PROD001", 2))));
+        assertEquals(4, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariByKode("PROD002").get().getStok());
+
+        // Baris terakhir gagal karena kode yang sama sudah dikurangi di baris pertama
+        assertFalse(repository.kurangiStokSemua(List.of(
+                new MutasiStok("PROD002", 1), new MutasiStok("PROD001", 3), new MutasiStok("PROD001", 2))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD999", 1))));
+        assertFalse(repository.kurangiStokSemua(Arrays.asList(new MutasiStok("PROD001", 1), null)));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", -1))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("BUKAN KODE", 1))));
+        assertTrue(repository.kurangiStokSemua(List.of()));
+
+        assertEquals(4, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariByKode("PROD002").get().getStok());
+        assertEquals(6, repository.hitungTotalStok());
+        assertEquals(1, repository.cariProdukStokMenipis().stream()
+                .filter(p -> p.getKode().equals("PROD001")).count());
+    }
+
+    @Test
+    @DisplayName("Pesanan paralel yang tumpang tindih tidak deadlock dan tidak oversell")
+    void testKurangiStokSemuaParalel() throws InterruptedException {
+        List<String> daftarKode = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String kode = "PX" + i;
+            daftarKode.add(kode);
+            repository.simpan(new Produk(kode, "Barang " + i, "Lain", 1000, 300, 1));
+        }
+        AtomicInteger berhasil = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int benih = t;
+            executor.submit(() -> {
+                Random acak = new Random(benih);
+                for (int i = 0; i < 300; i++) {
+                    // Urutan baris acak: penguncian tetap berurutan menurut segmen
+                    List<MutasiStok> pesanan = new ArrayList<>();
+                    for (int b = 0; b < 4; b++) {
+                        pesanan.add(new MutasiStok(daftarKode.get(acak.nextInt(daftarKode.size())), 1));
+                    }
+                    if (repository.kurangiStokSemua(pesanan)) {
+                        berhasil.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int sisa = daftarKode.stream().mapToInt(k -> repository.cariByKode(k).get().getStok()).sum();
+        assertEquals(40 * 300 - berhasil.get() * 4, sisa);
+        assertTrue(daftarKode.stream().allMatch(k -> repository.cariByKode(k).get().getStok() >= 0));
+    }
+
+    // Pelanggan yang meminta satu perubahan setiap kali selesai memproses (backpressure)
+    private static final class PelangganUji implements Flow.Subscriber<PerubahanStok> {
+        private final BlockingQueue<PerubahanStok> diterima = new LinkedBlockingQueue<>();
+        private final CountDownLatch selesai = new CountDownLatch(1);
+        private Flow.Subscription langganan;
+
+        @Override
+        public void onSubscribe(Flow.Subscription langganan) {
+            this.langganan = langganan;
+            langganan.request(1);
+        }
+
+        @Override
+        public void onNext(PerubahanStok perubahan) {
+            diterima.add(perubahan);
+            langganan.request(1);
+        }
+
+        @Override
+        public void onError(Throwable galat) {
+            selesai.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            selesai.countDown();
+        }
+
+        PerubahanStok ambil() throws InterruptedException {
+            PerubahanStok perubahan = diterima.poll(10, TimeUnit.SECONDS);
+            assertNotNull(perubahan, "perubahan tidak diterima");
+            return perubahan;
+        }
+    }
+
+    @Test
+    @DisplayName("kurangiStokSemua yang ditolak tidak menerbitkan perubahan, termasuk untuk kode panas")
+    void testKurangiStokSemuaDitolakTanpaPerubahan() throws InterruptedException {
+        assertTrue(repository.updateStok("PROD003", 5));
+        assertTrue(repository.aktifkanKodePanas("PROD003"));
+        PelangganUji semua = new PelangganUji();
+        repository.getAliranPerubahan().subscribe(semua);
+
+        assertFalse(repository.kurangiStokSemua(List.of(
+                new MutasiStok("PROD002", 1), new MutasiStok("PROD001", 7), new MutasiStok("PROD001", 4))));
+        assertFalse(repository.kurangiStokSemua(List.of(
+                new MutasiStok("PROD001", 1), new MutasiStok("PROD003", 3), new MutasiStok("PROD003", 3))));
+        assertTrue(repository.kurangiStok("PROD002", 1));
+        assertTrue(repository.kurangiStokSemua(List.of(
+                new MutasiStok("PROD001", 1), new MutasiStok("PROD003", 2), new MutasiStok("PROD003", 1))));
+
+        // Perubahan pertama yang diterima adalah kurangiStok, bukan kompensasi pesanan yang ditolak
+        PerubahanStok perubahan = semua.ambil();
+        assertEquals("PROD002", perubahan.getKode());
+        assertEquals(3, perubahan.getStokLama());
+        assertEquals(2, perubahan.getStokBaru());
+        PerubahanStok laptop = semua.ambil();
+        assertEquals("PROD001", laptop.getKode());
+        assertEquals(10, laptop.getStokLama());
+        assertEquals(9, laptop.getStokBaru());
+        PerubahanStok kaos = semua.ambil();
+        assertEquals("PROD003", kaos.getKode());
+        assertEquals(5, kaos.getStokLama());
+        assertEquals(2, kaos.getStokBaru());
+        assertEquals(9, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariByKode("PROD003").get().getStok());
+        assertTrue(repository.isKodePanas("PROD003"));
+    }
+
+    @Test
+    @DisplayName("Pesanan berisi kode panas tidak oversell walau jalur cepat berjalan bersamaan")
+    void testKurangiStokSemuaKodePanasParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 1000);
+        repository.updateStok("PROD002", 1000);
+        repository.aktifkanKodePanas("PROD001");
+        AtomicInteger pesanan = new AtomicInteger();
+        AtomicInteger tunggal = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            boolean jalurPesanan = t % 2 == 0;
+            executor.submit(() -> {
+                for (int i = 0; i < 400; i++) {
+                    if (jalurPesanan) {
+                        if (repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 1)))) {
+                            pesanan.incrementAndGet();
+                        }
+                    } else if (repository.kurangiStok("PROD001", 1)) {
+                        tunggal.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, pesanan.get() + tunggal.get());
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(1000 - pesanan.get(), repository.cariByKode("PROD002").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Aliran perubahan mengirim setiap mutasi stok dan perpindahan status")
+    void testAliranPerubahan() throws InterruptedException {
+        PelangganUji semua = new PelangganUji();
+        PelangganUji status = new PelangganUji();
+        repository.getAliranPerubahan().subscribe(semua);
+        repository.getAliranPerpindahanStatus().subscribe(status);
+
+        assertTrue(repository.kurangiStok("PROD001", 4));
+        assertTrue(repository.kurangiStok("PROD001", 1));
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertTrue(repository.updateStok("PROD002", 3));
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 5))));
+        repository.simpan(new Produk("PROD004", "Baru", "Lain", 1, 2, 5));
+        assertTrue(repository.hapus("PROD004"));
+
+        PerubahanStok p1 = semua.ambil();
+        assertEquals("PROD001", p1.getKode());
+        assertEquals(10, p1.getStokLama());
+        assertEquals(6, p1.getStokBaru());
+        assertFalse(p1.isPerpindahanStatus());
+        PerubahanStok p2 = semua.ambil();
+        assertEquals(StatusStok.AMAN, p2.getStatusLama());
+        assertEquals(StatusStok.MENIPIS, p2.getStatusBaru());
+        PerubahanStok p3 = semua.ambil();
+        assertEquals(StatusStok.HABIS, p3.getStatusBaru());
+        PerubahanStok p4 = semua.ambil();
+        assertNull(p4.getStatusLama());
+        assertEquals("PROD004", p4.getKode());
+        PerubahanStok p5 = semua.ambil();
+        assertNull(p5.getStatusBaru());
+        // updateAktif dan updateStok tanpa perubahan stok tidak diterbitkan
+        assertEquals(p2, status.ambil());
+        assertEquals(p3, status.ambil());
+        assertEquals(p4, status.ambil());
+        assertEquals(p5, status.ambil());
+
+        repository.tutupAliranPerubahan();
+        assertTrue(semua.selesai.await(10, TimeUnit.SECONDS));
+        assertTrue(status.selesai.await(10, TimeUnit.SECONDS));
+        assertTrue(repository.kurangiStok("PROD002", 1));
+        assertTrue(semua.diterima.isEmpty());
+        assertEquals(0, repository.jumlahPerubahanTerbuang());
+    }
+
+    @Test
+    @DisplayName("Perubahan kode panas diterbitkan dengan stok gabungan stripe")
+    void testAliranKodePanas() throws InterruptedException {
+        PelangganUji status = new PelangganUji();
+        repository.getAliranPerpindahanStatus().subscribe(status);
+        repository.aktifkanKodePanas("PROD001");
+
+        assertTrue(repository.kurangiStok("PROD001", 5));
+        PerubahanStok menipis = status.ambil();
+        assertEquals(10, menipis.getStokLama());
+        assertEquals(5, menipis.getStokBaru());
+        assertEquals(StatusStok.MENIPIS, menipis.getStatusBaru());
+
+        assertTrue(repository.updateStok("PROD001", 0));
+        assertEquals(StatusStok.HABIS, status.ambil().getStatusBaru());
+        assertTrue(repository.tambahStok("PROD001", 9));
+        assertEquals(StatusStok.AMAN, status.ambil().getStatusBaru());
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 2, 5));
+        PerubahanStok simpan = status.ambil();
+        assertEquals(9, simpan.getStokLama());
+        assertEquals(2, simpan.getStokBaru());
+        assertTrue(repository.hapus("PROD001"));
+        PerubahanStok hapus = status.ambil();
+        assertEquals(2, hapus.getStokLama());
+        assertNull(hapus.getStatusBaru());
+    }
+
+    @Test
+    @DisplayName("Perubahan kode panas paralel diterbitkan berurutan tanpa duplikasi ambang")
+    void testAliranKodePanasParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 200);
+        repository.aktifkanKodePanas("PROD001");
+        PelangganUji semua = new PelangganUji();
+        repository.getAliranPerubahan().subscribe(semua);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    repository.kurangiStok("PROD001", 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Jumlah perubahan di bawah buffer penerbit sehingga tidak ada yang terbuang.
+        // Setiap perubahan menyambung dari stok sesudah perubahan sebelumnya
+        int stokSebelum = 200;
+        int keMenipis = 0;
+        for (int i = 0; i < 200; i++) {
+            PerubahanStok perubahan = semua.ambil();
+            assertEquals(stokSebelum, perubahan.getStokLama());
+            assertEquals(stokSebelum - 1, perubahan.getStokBaru());
+            if (perubahan.getStatusBaru() == StatusStok.MENIPIS && perubahan.getStatusLama() == StatusStok.AMAN) {
+                keMenipis++;
+            }
+            stokSebelum = perubahan.getStokBaru();
+        }
+        assertEquals(1, keMenipis);
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Pelanggan lambat kehilangan perubahan tanpa memblokir mutasi")
+    void testPelangganLambat() throws InterruptedException {
+        CountDownLatch berlangganan = new CountDownLatch(1);
+        repository.getAliranPerubahan().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription langganan) {
+                // Tidak pernah meminta perubahan: buffer penerbit akhirnya penuh
+                berlangganan.countDown();
+            }
+
+            @Override
+            public void onNext(PerubahanStok perubahan) {}
+
+            @Override
+            public void onError(Throwable galat) {}
+
+            @Override
+            public void onComplete() {}
+        });
+        assertTrue(berlangganan.await(10, TimeUnit.SECONDS));
+
+        for (int i = 0; i < Flow.defaultBufferSize() + 100; i++) {
+            assertTrue(repository.updateStok("PROD001", i % 2 == 0 ? 100 : 101));
+        }
+        assertTrue(repository.jumlahPerubahanTerbuang() >= 100);
+    }
+}
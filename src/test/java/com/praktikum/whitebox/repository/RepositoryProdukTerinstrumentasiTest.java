@@ -0,0 +1,106 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.metrik.RegistriMetrik;
+import com.praktikum.whitebox.metrik.SnapshotMetrik;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repository Produk Terinstrumentasi")
+public class RepositoryProdukTerinstrumentasiTest {
+    private RepositoryProdukMemori asal;
+    private RegistriMetrik registri;
+    private RepositoryProdukTerinstrumentasi repository;
+
+    @BeforeEach
+    void setUp() {
+        asal = spy(new RepositoryProdukMemori());
+        registri = new RegistriMetrik();
+        repository = new RepositoryProdukTerinstrumentasi(asal, registri);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+    }
+
+    private long jumlah(String method, HasilOperasi hasil) {
+        return registri.snapshot().operasi("RepositoryProduk." + method).jumlah(hasil);
+    }
+
+    @Test
+    @DisplayName("Hasil true, false, dan Optional kosong dicatat terpisah")
+    void testHasilDicatat() {
+        assertTrue(repository.cariByKode("PROD001").isPresent());
+        assertFalse(repository.cariByKode("PROD999").isPresent());
+        assertTrue(repository.kurangiStok("PROD001", 3));
+        assertFalse(repository.kurangiStok("PROD001", 100));
+
+        assertEquals(1, jumlah("simpan", HasilOperasi.SUKSES));
+        assertEquals(1, jumlah("cariByKode", HasilOperasi.SUKSES));
+        assertEquals(1, jumlah("cariByKode", HasilOperasi.PRODUK_TIDAK_DITEMUKAN));
+        assertEquals(1, jumlah("kurangiStok", HasilOperasi.SUKSES));
+        assertEquals(1, jumlah("kurangiStok", HasilOperasi.DITOLAK_REPOSITORY));
+        assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Exception dicatat sebagai GALAT lalu dilempar ulang")
+    void testGalat() {
+        doThrow(new IllegalStateException("rusak")).when(asal).hitungTotalStok();
+
+        assertThrows(IllegalStateException.class, () -> repository.hitungTotalStok());
+        assertEquals(1, jumlah("hitungTotalStok", HasilOperasi.GALAT));
+    }
+
+    @Test
+    @DisplayName("Semua method diteruskan ke repository asal termasuk method default")
+    void testDelegasi() {
+        assertTrue(repository.tambahStok("PROD001", 5));
+        assertTrue(repository.updateStok("PROD001", 20));
+        assertTrue(repository.updateStokJikaSama("PROD001", 20, 2));
+        assertTrue(repository.updateAktif("PROD001", true));
+        assertEquals(1, repository.cariByNama("laptop").size());
+        assertEquals(1, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(1, repository.cariSemua().size());
+        assertEquals(30000000.0, repository.hitungTotalNilai());
+        assertEquals(3000000000L, repository.hitungTotalNilaiSen());
+        assertEquals(2, repository.hitungTotalStok());
+        assertArrayEquals(new boolean[]{true}, repository.simpanBatch(
+                List.of(new Produk("PROD002", "Mouse", "Elektronik", 250000, 0, 5))));
+        assertArrayEquals(new boolean[]{true}, repository.tambahStokBatch(List.of(new MutasiStok("PROD002", 4))));
+        assertArrayEquals(new boolean[]{true}, repository.kurangiStokBatch(List.of(new MutasiStok("PROD002", 1))));
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD002", 1))));
+        assertArrayEquals(new boolean[]{true}, repository.updateStokBatch(List.of(new MutasiStok("PROD002", 0))));
+        assertTrue(repository.hapus("PROD002"));
+        assertFalse(repository.hapus("PROD002"));
+        assertFalse(repository.updateStok("PROD002", 1));
+        assertFalse(repository.updateStokJikaSama("PROD001", 99, 1));
+        assertFalse(repository.tambahStok("PROD002", 1));
+        assertFalse(repository.updateAktif("PROD002", true));
+
+        verify(asal).updateStokJikaSama("PROD001", 20, 2);
+        verify(asal).hitungTotalNilaiSen();
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(21, snapshot.getOperasi().size());
+        snapshot.getOperasi().values().forEach(op ->
+                assertEquals(0, op.jumlah(HasilOperasi.GALAT), op.getNama()));
+    }
+
+    @Test
+    @DisplayName("Awalan nama metrik bisa diatur dan argumen null ditolak")
+    void testAwalan() {
+        RepositoryProdukTerinstrumentasi cache = new RepositoryProdukTerinstrumentasi(asal, registri, "Cache");
+        cache.cariByKode("PROD001");
+
+        assertEquals(1, registri.snapshot().operasi("Cache.cariByKode").jumlah(HasilOperasi.SUKSES));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukTerinstrumentasi(null, registri));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukTerinstrumentasi(asal, null));
+    }
+}
@@ -0,0 +1,177 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Implementasi Default Repository Produk")
+public class RepositoryProdukTest {
+    private RepositorySederhana repository;
+
+    // Hanya method abstrak yang diimplementasikan, semua method default memakai fallback interface
+    private static class RepositorySederhana implements RepositoryProduk {
+        private final Map<String, Produk> data = new LinkedHashMap<>();
+        // Jika diisi, updateStok berikutnya gagal sekali setelah stok diubah ke nilai ini (simulasi penulis lain)
+        Integer stokSela;
+
+        @Override
+        public boolean simpan(Produk produk) {
+            data.put(produk.getKode(), new Produk(produk));
+            return true;
+        }
+
+        @Override
+        public Optional<Produk> cariByKode(String kode) {
+            return Optional.ofNullable(data.get(kode)).map(Produk::new);
+        }
+
+        @Override
+        public List<Produk> cariByNama(String nama) {
+            return data.values().stream().filter(p -> p.getNama().contains(nama)).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<Produk> cariByKategori(String kategori) {
+            return data.values().stream().filter(p -> p.getKategori().equals(kategori)).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<Produk> cariProdukStokMenipis() {
+            return data.values().stream().filter(Produk::isStokMenipis).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<Produk> cariProdukStokHabis() {
+            return data.values().stream().filter(Produk::isStokHabis).collect(Collectors.toList());
+        }
+
+        @Override
+        public boolean hapus(String kode) {
+            return data.remove(kode) != null;
+        }
+
+        @Override
+        public boolean updateStok(String kode, int stokBaru) {
+            Produk produk = data.get(kode);
+            if (produk == null) {
+                return false;
+            }
+            if (stokSela != null) {
+                produk.setStok(stokSela);
+                stokSela = null;
+                return false;
+            }
+            produk.setStok(stokBaru);
+            return true;
+        }
+
+        @Override
+        public List<Produk> cariSemua() {
+            return new ArrayList<>(data.values());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositorySederhana();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 19.99, 10, 2));
+        Produk nonAktif = new Produk("PROD002", "Mouse", "Elektronik", 5, 4, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+    }
+
+    @Test
+    @DisplayName("updateStokJikaSama hanya mengubah jika stok lama cocok")
+    void testUpdateStokJikaSama() {
+        assertFalse(repository.updateStokJikaSama("PROD001", 9, 1));
+        assertFalse(repository.updateStokJikaSama("PROD999", 10, 1));
+        assertTrue(repository.updateStokJikaSama("PROD001", 10, 1));
+        assertEquals(1, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("kurangiStok dan tambahStok menolak jumlah tidak valid dan overflow")
+    void testKurangiTambahStok() {
+        assertFalse(repository.kurangiStok("PROD001", 0));
+        assertFalse(repository.kurangiStok("PROD001", 11));
+        assertFalse(repository.kurangiStok("PROD999", 1));
+        assertTrue(repository.kurangiStok("PROD001", 4));
+        assertFalse(repository.tambahStok("PROD001", -1));
+        assertFalse(repository.tambahStok("PROD999", 1));
+        assertFalse(repository.tambahStok("PROD001", Integer.MAX_VALUE));
+        assertTrue(repository.tambahStok("PROD001", 3));
+        assertEquals(9, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("CAS yang kalah diulang jika stok memang diubah penulis lain")
+    void testUlangSetelahStokBerubah() {
+        repository.stokSela = 8;
+        assertTrue(repository.kurangiStok("PROD001", 3));
+        assertEquals(5, repository.cariByKode("PROD001").get().getStok());
+
+        repository.stokSela = 7;
+        assertTrue(repository.tambahStok("PROD001", 1));
+        assertEquals(8, repository.cariByKode("PROD001").get().getStok());
+
+        // Stok yang turun di bawah jumlah saat diulang membuat pengurangan gagal
+        repository.stokSela = 1;
+        assertFalse(repository.kurangiStok("PROD001", 3));
+    }
+
+    @Test
+    @DisplayName("Agregat bawaan hanya menghitung produk aktif")
+    void testAgregat() {
+        assertEquals(199.9, repository.hitungTotalNilai(), 1e-9);
+        assertEquals(19990, repository.hitungTotalNilaiSen());
+        assertEquals(10, repository.hitungTotalStok());
+    }
+
+    @Test
+    @DisplayName("updateAktif menyimpan ulang produk dengan status baru")
+    void testUpdateAktif() {
+        assertTrue(repository.updateAktif("PROD002", true));
+        assertFalse(repository.updateAktif("PROD999", true));
+        assertTrue(repository.cariByKode("PROD002").get().isAktif());
+    }
+
+    @Test
+    @DisplayName("Batch bawaan memproses item satu per satu dan menolak item null")
+    void testBatch() {
+        assertArrayEquals(new boolean[]{true}, repository.simpanBatch(
+                List.of(new Produk("PROD003", "Kaos", "Fashion", 50, 0, 1))));
+        assertArrayEquals(new boolean[]{true, false, false},
+                repository.updateStokBatch(Arrays.asList(new MutasiStok("PROD003", 6), null, new MutasiStok("PROD999", 1))));
+        assertArrayEquals(new boolean[]{true, false, false},
+                repository.kurangiStokBatch(Arrays.asList(new MutasiStok("PROD003", 2), null, new MutasiStok("PROD003", 100))));
+        assertArrayEquals(new boolean[]{true, false},
+                repository.tambahStokBatch(Arrays.asList(new MutasiStok("PROD003", 1), null)));
+        assertEquals(5, repository.cariByKode("PROD003").get().getStok());
+    }
+
+    @Test
+    @DisplayName("kurangiStokSemua bawaan mengembalikan mutasi yang sudah diterapkan jika ada yang gagal")
+    void testKurangiStokSemua() {
+        repository.simpan(new Produk("PROD003", "Kabel", "Elektronik", 1, 3, 1));
+
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 4), new MutasiStok("PROD003", 1))));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 6), new MutasiStok("PROD003", 3))));
+        assertFalse(repository.kurangiStokSemua(Arrays.asList(new MutasiStok("PROD001", 1), null)));
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 0))));
+
+        assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(2, repository.cariByKode("PROD003").get().getStok());
+    }
+}
@@ -0,0 +1,174 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk di Virtual Thread")
+public class RepositoryProdukThreadVirtualTest {
+    private RepositoryProdukMemori asal;
+    private RepositoryProdukThreadVirtual repository;
+
+    @BeforeEach
+    void setUp() {
+        asal = new RepositoryProdukMemori();
+        asal.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        asal.simpan(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5));
+        repository = new RepositoryProdukThreadVirtual(asal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    // Repository blocking tiruan: setiap pencarian menunggu seperti I/O lambat
+    private static class RepositoryLambat extends RepositoryProdukMemori {
+        private final AtomicBoolean semuaVirtual = new AtomicBoolean(true);
+
+        @Override
+        public Optional<Produk> cariByKode(String kode) {
+            semuaVirtual.compareAndSet(true, Thread.currentThread().isVirtual());
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.cariByKode(kode);
+        }
+    }
+
+    @Test
+    @DisplayName("Mutasi stok asinkron diteruskan ke repository asal")
+    void testMutasi() {
+        assertTrue(repository.kurangiStok("PROD001", 3).join());
+        assertTrue(repository.tambahStok("PROD001", 1).join());
+        assertTrue(repository.updateStokJikaSama("PROD001", 8, 9).join());
+        assertFalse(repository.updateStokJikaSama("PROD001", 8, 1).join());
+        assertTrue(repository.updateStok("PROD002", 20).join());
+        assertTrue(repository.updateAktif("PROD002", false).join());
+        assertTrue(repository.simpan(new Produk("PROD003", "Keyboard", "Elektronik", 1, 4, 2)).join());
+        assertTrue(repository.hapus("PROD003").join());
+
+        assertEquals(9, asal.cariByKode("PROD001").get().getStok());
+        assertEquals(20, asal.cariByKode("PROD002").get().getStok());
+        assertFalse(asal.cariByKode("PROD002").get().isAktif());
+        assertTrue(repository.cariByKode("PROD003").join().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Query dan agregat asinkron memberi hasil yang sama dengan repository asal")
+    void testQuery() {
+        assertEquals("Mouse", repository.cariByKode("PROD002").join().get().getNama());
+        assertEquals(1, repository.cariByNama("mouse").join().size());
+        assertEquals(2, repository.cariByKategori("Elektronik").join().size());
+        assertEquals(2, repository.cariSemua().join().size());
+        assertEquals(1, repository.cariProdukStokMenipis().join().size());
+        assertTrue(repository.cariProdukStokHabis().join().isEmpty());
+        assertEquals(13, repository.hitungTotalStok().join());
+        assertEquals(150750000.0, repository.hitungTotalNilai().join());
+        assertEquals(15075000000L, repository.hitungTotalNilaiSen().join());
+    }
+
+    @Test
+    @DisplayName("Operasi batch dan pesanan semua-atau-tidak diteruskan")
+    void testBatch() {
+        assertArrayEquals(new boolean[]{true, false},
+                repository.kurangiStokBatch(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 9))).join());
+        assertArrayEquals(new boolean[]{true},
+                repository.tambahStokBatch(List.of(new MutasiStok("PROD002", 2))).join());
+        assertArrayEquals(new boolean[]{true},
+                repository.updateStokBatch(List.of(new MutasiStok("PROD001", 30))).join());
+        assertArrayEquals(new boolean[]{true},
+                repository.simpanBatch(List.of(new Produk("PROD004", "Monitor", "Elektronik", 1, 6, 2))).join());
+        assertTrue(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 5), new MutasiStok("PROD002", 5))).join());
+        assertFalse(repository.kurangiStokSemua(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 1))).join());
+
+        assertEquals(25, asal.cariByKode("PROD001").get().getStok());
+        assertEquals(0, asal.cariByKode("PROD002").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Exception repository dilaporkan lewat future")
+    void testException() {
+        RepositoryProduk rusak = new RepositoryProdukMemori() {
+            @Override
+            public boolean updateStok(String kode, int stokBaru) {
+                throw new IllegalStateException("disk penuh");
+            }
+        };
+        try (RepositoryProdukThreadVirtual async = new RepositoryProdukThreadVirtual(rusak)) {
+            CompletableFuture<Boolean> hasil = async.updateStok("PROD001", 1);
+            CompletionException e = assertThrows(CompletionException.class, hasil::join);
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Ribuan operasi blocking berjalan bersamaan di virtual thread")
+    void testRibuanOperasiBlocking() {
+        RepositoryLambat lambat = new RepositoryLambat();
+        lambat.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        long mulai = System.nanoTime();
+        try (RepositoryProdukThreadVirtual async = new RepositoryProdukThreadVirtual(lambat)) {
+            List<CompletableFuture<Optional<Produk>>> hasil = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                hasil.add(async.cariByKode("PROD001"));
+            }
+            for (CompletableFuture<Optional<Produk>> produk : hasil) {
+                assertTrue(produk.join().isPresent());
+            }
+        }
+        // Berurutan butuh 2000 detik; di virtual thread semua tidur bersamaan
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - mulai) < 30);
+        assertTrue(lambat.semuaVirtual.get());
+    }
+
+    @Test
+    @DisplayName("Executor dari pemanggil dipakai dan tidak ditutup")
+    void testExecutorPemanggil() {
+        ExecutorService pelaksana = Executors.newSingleThreadExecutor();
+        try {
+            RepositoryProdukThreadVirtual async = new RepositoryProdukThreadVirtual(asal, pelaksana);
+            assertEquals(13, async.hitungTotalStok().join());
+            async.close();
+            assertFalse(pelaksana.isShutdown());
+        } finally {
+            pelaksana.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi setelah ditutup menghasilkan future gagal, bukan exception langsung")
+    void testSetelahDitutup() {
+        RepositoryProdukThreadVirtual async = new RepositoryProdukThreadVirtual(asal);
+        async.close();
+
+        CompletableFuture<Integer> hasil = async.hitungTotalStok();
+        CompletionException galat = assertThrows(CompletionException.class, hasil::join);
+        assertInstanceOf(RejectedExecutionException.class, galat.getCause());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukThreadVirtual(null));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukThreadVirtual(asal, null));
+    }
+}
@@ -0,0 +1,54 @@
+package com.praktikum.whitebox.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Sketsa Frekuensi (Count-Min 4-bit)")
+public class SketsaFrekuensiTest {
+
+    @Test
+    @DisplayName("Frekuensi bertambah dan dibatasi 15")
+    void testTambahDanBatas() {
+        SketsaFrekuensi sketsa = new SketsaFrekuensi(1000);
+        assertEquals(0, sketsa.frekuensi("PROD001"));
+        for (int i = 0; i < 5; i++) {
+            sketsa.tambah("PROD001");
+        }
+        assertEquals(5, sketsa.frekuensi("PROD001"));
+        for (int i = 0; i < 100; i++) {
+            sketsa.tambah("PROD001");
+        }
+        assertEquals(15, sketsa.frekuensi("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Kunci populer lebih tinggi daripada kunci jarang")
+    void testUrutanFrekuensi() {
+        SketsaFrekuensi sketsa = new SketsaFrekuensi(1000);
+        for (int i = 0; i < 1000; i++) {
+            sketsa.tambah("JARANG" + i);
+            if (i % 100 == 0) {
+                sketsa.tambah("PANAS");
+            }
+        }
+        assertTrue(sketsa.frekuensi("PANAS") >= 10);
+        assertTrue(sketsa.frekuensi("JARANG7") < sketsa.frekuensi("PANAS"));
+    }
+
+    @Test
+    @DisplayName("Penghitung dibagi dua setelah ukuran sampel tercapai")
+    void testAging() {
+        SketsaFrekuensi sketsa = new SketsaFrekuensi(10);
+        for (int i = 0; i < 8; i++) {
+            sketsa.tambah("PROD001");
+        }
+        assertEquals(8, sketsa.frekuensi("PROD001"));
+        // Ukuran sampel 100: kunci lain menghabiskan sisa sampel dan memicu reset
+        for (int i = 0; i < 92; i++) {
+            sketsa.tambah("LAIN" + i);
+        }
+        assertEquals(4, sketsa.frekuensi("PROD001"));
+    }
+}
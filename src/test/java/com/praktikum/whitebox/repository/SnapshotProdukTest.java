@@ -0,0 +1,100 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.KodeCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Snapshot Produk Terpetakan")
+public class SnapshotProdukTest {
+    @TempDir
+    Path direktori;
+
+    @Test
+    @DisplayName("Tulis lalu baca kembali semua field produk")
+    void testTulisBaca() throws IOException {
+        Path path = direktori.resolve("produk.snapshot");
+        Produk laptop = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000.5, 10, 5);
+        Produk tanpaNama = new Produk("X", null, null, 0, 0, 0);
+        tanpaNama.setAktif(false);
+        SnapshotProduk.tulis(path, 7, List.of(laptop, tanpaNama));
+
+        SnapshotProduk snapshot = SnapshotProduk.buka(path);
+        assertEquals(7, snapshot.generasi());
+        assertEquals(2, snapshot.jumlah());
+        assertTrue(snapshot.verifikasi());
+
+        Produk hasil = snapshot.cari(KodeCodec.encode("PROD001"));
+        assertEquals("Laptop Gaming", hasil.getNama());
+        assertEquals("Elektronik", hasil.getKategori());
+        assertEquals(15000000.5, hasil.getHarga());
+        assertEquals(10, hasil.getStok());
+        assertEquals(5, hasil.getStokMinimum());
+        assertTrue(hasil.isAktif());
+
+        Produk hasilTanpaNama = snapshot.cari(KodeCodec.encode("X"));
+        assertNull(hasilTanpaNama.getNama());
+        assertNull(hasilTanpaNama.getKategori());
+        assertFalse(hasilTanpaNama.isAktif());
+    }
+
+    @Test
+    @DisplayName("Binary search menemukan semua kode dan menolak kode yang tidak ada")
+    void testBinarySearch() throws IOException {
+        Path path = direktori.resolve("produk.snapshot");
+        List<Produk> semua = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            semua.add(new Produk("K" + i, "Produk " + i, "Kat", i, i, 1));
+        }
+        Collections.shuffle(semua);
+        SnapshotProduk.tulis(path, 1, semua);
+
+        SnapshotProduk snapshot = SnapshotProduk.buka(path);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, snapshot.cari(KodeCodec.encode("K" + i)).getStok());
+        }
+        assertNull(snapshot.cari(KodeCodec.encode("K500")));
+        assertNull(snapshot.cari(KodeCodec.encode("A")));
+    }
+
+    @Test
+    @DisplayName("Snapshot kosong dan berkas yang belum ada")
+    void testSnapshotKosong() throws IOException {
+        Path path = direktori.resolve("produk.snapshot");
+        assertNull(SnapshotProduk.buka(path));
+
+        SnapshotProduk.tulis(path, 3, List.of());
+        SnapshotProduk snapshot = SnapshotProduk.buka(path);
+        assertEquals(0, snapshot.jumlah());
+        assertEquals(3, snapshot.generasi());
+        assertNull(snapshot.cari(KodeCodec.encode("PROD001")));
+        assertTrue(snapshot.verifikasi());
+    }
+
+    @Test
+    @DisplayName("Kerusakan isi terdeteksi oleh verifikasi, header rusak ditolak saat buka")
+    void testKerusakan() throws IOException {
+        Path path = direktori.resolve("produk.snapshot");
+        SnapshotProduk.tulis(path, 1, List.of(new Produk("PROD001", "Laptop", "Elektronik", 1, 1, 1)));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), 48);
+        }
+        assertFalse(SnapshotProduk.buka(path).verifikasi());
+
+        Files.write(path, new byte[]{1, 2, 3, 4});
+        assertThrows(IOException.class, () -> SnapshotProduk.buka(path));
+    }
+}
@@ -0,0 +1,184 @@
+package com.praktikum.whitebox.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Stok Bergaris")
+public class StokBergarisTest {
+
+    @Test
+    @DisplayName("Stok awal dibagi ke stripe berjumlah pangkat dua")
+    void testPembagianAwal() {
+        StokBergaris stok = new StokBergaris(10, 3);
+
+        assertEquals(4, stok.getJumlahStripe());
+        assertEquals(10, stok.getStok());
+        assertEquals(1, new StokBergaris(0, 1).getJumlahStripe());
+        assertEquals(64, new StokBergaris(0, 1000).getJumlahStripe());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new StokBergaris(-1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new StokBergaris(10, 0));
+    }
+
+    @Test
+    @DisplayName("Pengurangan meminjam dari stripe tetangga dan tidak pernah melebihi stok")
+    void testKurangiMeminjam() {
+        StokBergaris stok = new StokBergaris(8, 4);
+
+        assertTrue(stok.kurangi(2));
+        assertTrue(stok.kurangi(2));
+        assertTrue(stok.kurangi(3));
+        assertEquals(1, stok.getStok());
+        assertFalse(stok.kurangi(2));
+        assertTrue(stok.kurangi(1));
+        assertEquals(0, stok.getStok());
+        assertFalse(stok.kurangi(1));
+        assertFalse(stok.kurangi(0));
+    }
+
+    @Test
+    @DisplayName("Jumlah lebih besar dari satu stripe dilayani lewat jalur lambat")
+    void testKurangiLintasStripe() {
+        StokBergaris stok = new StokBergaris(100, 8);
+
+        assertTrue(stok.kurangi(90));
+        assertEquals(10, stok.getStok());
+        assertFalse(stok.kurangi(11));
+        assertEquals(10, stok.getStok());
+    }
+
+    @Test
+    @DisplayName("Penambahan ditolak bila melebihi batas int")
+    void testTambah() {
+        StokBergaris stok = new StokBergaris(Integer.MAX_VALUE - 5, 4);
+
+        assertTrue(stok.tambah(5));
+        assertEquals(Integer.MAX_VALUE, stok.getStok());
+        assertFalse(stok.tambah(1));
+        assertFalse(stok.tambah(0));
+    }
+
+    @Test
+    @DisplayName("Ubah menerapkan stok baru secara atomik dan menolak hasil negatif")
+    void testUbah() {
+        StokBergaris stok = new StokBergaris(20, 4);
+
+        assertTrue(stok.ubah(s -> s == 20 ? 7 : -1));
+        assertEquals(7, stok.getStok());
+        assertFalse(stok.ubah(s -> s == 20 ? 3 : -1));
+        assertEquals(7, stok.getStok());
+        stok.seimbangkan();
+        assertEquals(7, stok.getStok());
+    }
+
+    @Test
+    @DisplayName("Stok yang ditutup mengembalikan total dan menolak operasi berikutnya")
+    void testTutup() {
+        StokBergaris stok = new StokBergaris(12, 4);
+        stok.kurangi(2);
+
+        assertEquals(10, stok.tutup());
+        assertTrue(stok.isDitutup());
+        assertEquals(0, stok.getStok());
+        assertFalse(stok.kurangi(1));
+        assertFalse(stok.tambah(1));
+        assertFalse(stok.ubah(s -> 5));
+        assertEquals(0, stok.tutup());
+    }
+
+    @Test
+    @DisplayName("Stok yang ditahan tidak bisa dikurangi jalur cepat sampai dilepas")
+    void testTahanLepas() throws Exception {
+        StokBergaris stok = new StokBergaris(12, 4);
+
+        assertEquals(12, stok.tahan());
+        CompletableFuture<Boolean> kurangi = CompletableFuture.supplyAsync(() -> stok.kurangi(3));
+        Thread.sleep(50);
+        assertFalse(kurangi.isDone());
+        stok.lepas(9);
+
+        assertTrue(kurangi.get(10, TimeUnit.SECONDS));
+        assertEquals(6, stok.getStok());
+    }
+
+    @Test
+    @DisplayName("Banyak thread pada satu stok tidak pernah oversell dan pembaca tidak melihat nilai palsu")
+    void testParalelTanpaOversell() throws Exception {
+        int stokAwal = 20000;
+        StokBergaris stok = new StokBergaris(stokAwal, 8);
+        AtomicBoolean selesai = new AtomicBoolean();
+        AtomicBoolean bacaanSalah = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        Future<?> pembaca = executor.submit(() -> {
+            int sebelumnya = Integer.MAX_VALUE;
+            while (!selesai.get()) {
+                int sekarang = stok.getStok();
+                // Hanya ada pengurangan, jadi total yang terbaca tidak boleh naik
+                if (sekarang < 0 || sekarang > sebelumnya) {
+                    bacaanSalah.set(true);
+                }
+                sebelumnya = sekarang;
+            }
+        });
+        List<Callable<Integer>> pembeli = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int jumlahPerBeli = 1 + t % 3;
+            pembeli.add(() -> {
+                int terjual = 0;
+                for (int i = 0; i < 5000; i++) {
+                    if (stok.kurangi(jumlahPerBeli)) {
+                        terjual += jumlahPerBeli;
+                    }
+                }
+                return terjual;
+            });
+        }
+        int totalTerjual = 0;
+        for (Future<Integer> hasil : executor.invokeAll(pembeli)) {
+            totalTerjual += hasil.get();
+        }
+        selesai.set(true);
+        pembaca.get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertFalse(bacaanSalah.get());
+        assertTrue(totalTerjual <= stokAwal);
+        assertEquals(stokAwal - totalTerjual, stok.getStok());
+        // Permintaan total melebihi stok, jadi sisa stok lebih kecil dari pembelian terbesar
+        assertTrue(stok.getStok() < 3);
+    }
+
+    @Test
+    @DisplayName("Stok tidak pernah melewati stok maksimal")
+    void testStokMaksimal() {
+        assertThrows(IllegalArgumentException.class, () -> new StokBergaris(11, 2, 10));
+        StokBergaris stok = new StokBergaris(8, 2, 10);
+
+        assertFalse(stok.tambah(3));
+        assertTrue(stok.tambah(2));
+        assertFalse(stok.ubah(s -> 11));
+        assertTrue(stok.ubah(s -> 5, 5));
+        assertFalse(stok.tambah(1));
+        assertTrue(stok.ubah(s -> 20, 20));
+        assertEquals(20, stok.getStok());
+        stok.tutup();
+        assertFalse(stok.ubah(s -> 1, 30));
+    }
+}
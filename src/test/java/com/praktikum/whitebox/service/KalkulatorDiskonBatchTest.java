@@ -0,0 +1,86 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kalkulator Diskon Batch")
+public class KalkulatorDiskonBatchTest {
+    private final KalkulatorDiskon kalkulatorDiskon = new KalkulatorDiskon();
+
+    @Test
+    @DisplayName("Hasil batch identik bit per bit dengan perhitungan per elemen")
+    void testIdentikDenganPerElemen() {
+        // Panjang ganjil agar sisa di luar lebar vector ikut teruji
+        int jumlah = 1003;
+        Random random = new Random(42);
+        double[] harga = new double[jumlah];
+        int[] kuantitas = new int[jumlah];
+        TipePelanggan[] tipe = new TipePelanggan[jumlah];
+        String[] namaTipe = {"PREMIUM", "REGULER", "BARU", "UMUM", null};
+        String[] tipeString = new String[jumlah];
+        for (int i = 0; i < jumlah; i++) {
+            harga[i] = 0.01 + random.nextDouble() * 1_000_000;
+            kuantitas[i] = 1 + random.nextInt(150);
+            tipeString[i] = namaTipe[random.nextInt(namaTipe.length)];
+            tipe[i] = tipeString[i] == null ? null : TipePelanggan.dari(tipeString[i]);
+        }
+        double[] diskon = new double[jumlah];
+        double[] hargaBersih = new double[jumlah];
+
+        KalkulatorDiskonBatch.hitung(harga, kuantitas, tipe, diskon, hargaBersih);
+
+        for (int i = 0; i < jumlah; i++) {
+            double diskonAcuan = kalkulatorDiskon.hitungDiskon(harga[i], kuantitas[i], tipeString[i]);
+            double bersihAcuan = kalkulatorDiskon.hitungHargaSetelahDiskon(harga[i], kuantitas[i], tipeString[i]);
+            assertEquals(Double.doubleToLongBits(diskonAcuan), Double.doubleToLongBits(diskon[i]));
+            assertEquals(Double.doubleToLongBits(bersihAcuan), Double.doubleToLongBits(hargaBersih[i]));
+        }
+    }
+
+    @Test
+    @DisplayName("Loop skalar menghasilkan nilai yang sama dengan jalur vector")
+    void testSkalarSamaDenganVector() {
+        double[] harga = {1000, 2500.5, 99.99, 15000000, 1, 7};
+        int[] kuantitas = {1, 5, 10, 50, 100, 1000};
+        TipePelanggan[] tipe = {TipePelanggan.PREMIUM, TipePelanggan.REGULER, TipePelanggan.BARU,
+                TipePelanggan.UMUM, null, TipePelanggan.PREMIUM};
+        double[] diskon = new double[harga.length];
+        double[] bersih = new double[harga.length];
+        double[] diskonSkalar = new double[harga.length];
+        double[] bersihSkalar = new double[harga.length];
+
+        KalkulatorDiskonBatch.hitung(harga, kuantitas, tipe, diskon, bersih);
+        KalkulatorDiskonBatch.validasi(harga, kuantitas, tipe, diskonSkalar, bersihSkalar);
+        KalkulatorDiskonBatch.hitungSkalar(harga, kuantitas, diskonSkalar, bersihSkalar, 0, harga.length);
+
+        assertArrayEquals(diskonSkalar, diskon);
+        assertArrayEquals(bersihSkalar, bersih);
+        assertEquals(300, diskon[5] / 7, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Vector API dipakai saat modul incubator dimuat")
+    void testMemakaiVector() {
+        boolean modulAda = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(modulAda && KalkulatorDiskonVector.didukung(), KalkulatorDiskonBatch.memakaiVector());
+    }
+
+    @Test
+    @DisplayName("Parameter tidak valid ditolak")
+    void testParameterTidakValid() {
+        double[] keluaran = new double[2];
+        assertThrows(IllegalArgumentException.class, () -> KalkulatorDiskonBatch.hitung(
+                new double[]{1, 2}, new int[]{1}, new TipePelanggan[2], keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> KalkulatorDiskonBatch.hitung(
+                new double[]{1, 0}, new int[]{1, 1}, new TipePelanggan[2], keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> KalkulatorDiskonBatch.hitung(
+                new double[]{1, 1}, new int[]{1, -1}, new TipePelanggan[2], keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> KalkulatorDiskonBatch.hitung(
+                new double[]{1, 1}, new int[]{1, 1}, new TipePelanggan[2], new double[1], keluaran));
+    }
+}
@@ -353,4 +353,35 @@ public class KalkulatorDiskonTest {
         String kategori = kalkulatorDiskon.getKategoriDiskon(persenDiskon);
         assertEquals("DISKON_SEDANG", kategori);  // 0.10 termasuk DISKON_SEDANG
     }
+
+    @ParameterizedTest
+    @DisplayName("Test hitung diskon dalam sen sama dengan jalur double untuk nilai bulat")
+    @CsvSource({
+            "1, 'BARU', 2000",
+            "5, 'BARU', 35000",
+            "10, 'REGULER', 150000",
+            "50, 'PREMIUM', 1250000",
+            "200, 'PREMIUM', 6000000",
+            "3, 'UNKNOWN', 0"
+    })
+    void testHitungDiskonSen(int kuantitas, String tipe, long expectedSen) {
+        assertEquals(expectedSen, kalkulatorDiskon.hitungDiskonSen(100000, kuantitas, tipe));
+        assertEquals(100000L * kuantitas - expectedSen,
+                kalkulatorDiskon.hitungHargaSetelahDiskonSen(100000, kuantitas, tipe));
+    }
+
+    @Test
+    @DisplayName("Test diskon sen dibulatkan half-up ke sen terdekat")
+    void testHitungDiskonSenPembulatan() {
+        // 7 x 19.99 = 139.93; diskon 7% = 9.7951 -> 9.80
+        assertEquals(980, kalkulatorDiskon.hitungDiskonSen(1999, 7, "BARU"));
+        assertEquals(13013, kalkulatorDiskon.hitungHargaSetelahDiskonSen(1999, 7, "BARU"));
+    }
+
+    @Test
+    @DisplayName("Test hitung diskon sen dengan harga atau kuantitas tidak valid")
+    void testHitungDiskonSenTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskonSen(0, 1, "BARU"));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskonSen(100, 0, "BARU"));
+    }
 }
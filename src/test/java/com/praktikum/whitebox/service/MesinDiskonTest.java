@@ -0,0 +1,73 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Mesin Diskon Terkompilasi")
+public class MesinDiskonTest {
+
+    // Salinan aturan if/else lama sebagai acuan kesetaraan
+    private static double diskonAcuan(double harga, int kuantitas, String tipePelanggan) {
+        double diskon = 0.0;
+        if (kuantitas >= 100) {
+            diskon += 0.20;
+        } else if (kuantitas >= 50) {
+            diskon += 0.15;
+        } else if (kuantitas >= 10) {
+            diskon += 0.10;
+        } else if (kuantitas >= 5) {
+            diskon += 0.05;
+        }
+        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.10;
+        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.05;
+        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.02;
+        }
+        diskon = Math.min(diskon, 0.30);
+        return harga * kuantitas * diskon;
+    }
+
+    @Test
+    @DisplayName("Hasil identik bit per bit dengan aturan lama")
+    void testIdentikDenganAturanLama() {
+        String[] daftarTipe = {"PREMIUM", "premium", "Reguler", "BARU", "UMUM", "VIP", "", null};
+        double[] daftarHarga = {0.01, 1, 999.99, 1000, 12345.678, 15000000, 1e12};
+        for (String tipe : daftarTipe) {
+            for (double harga : daftarHarga) {
+                for (int kuantitas = 1; kuantitas <= 250; kuantitas++) {
+                    double acuan = diskonAcuan(harga, kuantitas, tipe);
+                    double hasil = MesinDiskon.hitungDiskon(harga, kuantitas, TipePelanggan.dari(tipe));
+                    assertEquals(Double.doubleToLongBits(acuan), Double.doubleToLongBits(hasil),
+                            () -> tipe + " " + harga);
+                }
+            }
+        }
+        assertEquals(Double.doubleToLongBits(diskonAcuan(10, Integer.MAX_VALUE, "PREMIUM")),
+                Double.doubleToLongBits(MesinDiskon.hitungDiskon(10, Integer.MAX_VALUE, TipePelanggan.PREMIUM)));
+    }
+
+    @Test
+    @DisplayName("Tarif per pita kuantitas dan batas maksimal 30%")
+    void testTarif() {
+        assertEquals(0.0, MesinDiskon.tarif(4, TipePelanggan.UMUM));
+        assertEquals(0.05, MesinDiskon.tarif(5, null));
+        assertEquals(0.07, MesinDiskon.tarif(9, TipePelanggan.BARU), 1e-12);
+        assertEquals(0.15, MesinDiskon.tarif(10, TipePelanggan.REGULER), 1e-12);
+        assertEquals(0.25, MesinDiskon.tarif(50, TipePelanggan.PREMIUM), 1e-12);
+        assertEquals(MesinDiskon.tabelAktif().getDiskonMaksimal(), MesinDiskon.tarif(100, TipePelanggan.PREMIUM));
+        assertEquals(MesinDiskon.tabelAktif().getDiskonMaksimal(), MesinDiskon.tarif(5000, TipePelanggan.PREMIUM));
+    }
+
+    @Test
+    @DisplayName("Harga atau kuantitas tidak positif ditolak")
+    void testParameterTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> MesinDiskon.hitungDiskon(0, 1, TipePelanggan.UMUM));
+        assertThrows(IllegalArgumentException.class, () -> MesinDiskon.hitungDiskon(100, 0, TipePelanggan.UMUM));
+        assertThrows(IllegalArgumentException.class, () -> MesinDiskon.hitungDiskon(-1, -1, null));
+    }
+}
@@ -0,0 +1,102 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Roda Waktu")
+public class RodaWaktuTest {
+    private static final long TICK = 100;
+
+    private static Reservasi reservasi(long id, long berakhir) {
+        return new Reservasi(id, "PROD001", 1, berakhir);
+    }
+
+    private static List<Long> majukan(RodaWaktu roda, long sekarang) {
+        List<Long> hasil = new ArrayList<>();
+        roda.majukan(sekarang, r -> hasil.add(r.getId()));
+        return hasil;
+    }
+
+    @Test
+    @DisplayName("Reservasi kedaluwarsa tepat setelah waktunya, tidak lebih awal")
+    void testTidakLebihAwal() {
+        RodaWaktu roda = new RodaWaktu(TICK, 8, 1000);
+        roda.tambah(reservasi(1, 1250));
+        roda.tambah(reservasi(2, 1301));
+
+        assertTrue(majukan(roda, 1299).isEmpty());
+        assertEquals(List.of(1L), majukan(roda, 1300));
+        assertEquals(List.of(2L), majukan(roda, 1300 + TICK));
+        assertEquals(0, roda.ukuran());
+    }
+
+    @Test
+    @DisplayName("Reservasi beberapa putaran ke depan dilewati sampai putarannya tiba")
+    void testBeberapaPutaran() {
+        RodaWaktu roda = new RodaWaktu(TICK, 4, 0);
+        roda.tambah(reservasi(1, 2 * TICK));
+        roda.tambah(reservasi(2, 6 * TICK));
+
+        assertEquals(List.of(1L), majukan(roda, 5 * TICK));
+        assertEquals(1, roda.ukuran());
+        assertEquals(List.of(2L), majukan(roda, 6 * TICK));
+    }
+
+    @Test
+    @DisplayName("Lompatan waktu panjang memeriksa setiap slot cukup sekali")
+    void testLompatanPanjang() {
+        RodaWaktu roda = new RodaWaktu(TICK, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            roda.tambah(reservasi(i, i * TICK));
+        }
+
+        assertEquals(15, majukan(roda, 15 * TICK).size());
+        assertEquals(5, roda.ukuran());
+        assertEquals(5, majukan(roda, 1000 * TICK).size());
+    }
+
+    @Test
+    @DisplayName("Reservasi yang sudah lewat masuk ke tick berikutnya")
+    void testSudahLewat() {
+        RodaWaktu roda = new RodaWaktu(TICK, 8, 0);
+        majukan(roda, 5 * TICK);
+        roda.tambah(reservasi(1, TICK));
+        roda.tambah(reservasi(2, -TICK));
+
+        assertEquals(2, majukan(roda, 6 * TICK).size());
+    }
+
+    @Test
+    @DisplayName("Hapus dari awal, tengah, dan akhir daftar slot")
+    void testHapus() {
+        RodaWaktu roda = new RodaWaktu(TICK, 4, 0);
+        Reservasi a = reservasi(1, TICK);
+        Reservasi b = reservasi(2, TICK);
+        Reservasi c = reservasi(3, TICK);
+        Reservasi d = reservasi(4, TICK);
+        roda.tambah(a);
+        roda.tambah(b);
+        roda.tambah(c);
+        roda.tambah(d);
+
+        roda.hapus(c);
+        roda.hapus(d);
+        roda.hapus(a);
+        assertEquals(1, roda.ukuran());
+        assertEquals(List.of(2L), majukan(roda, TICK));
+        // Jam mundur tidak memutar roda
+        assertTrue(majukan(roda, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RodaWaktu(TICK, 0, 0));
+    }
+}
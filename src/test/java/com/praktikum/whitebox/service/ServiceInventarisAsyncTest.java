@@ -0,0 +1,134 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.metrik.RegistriMetrik;
+import com.praktikum.whitebox.metrik.SnapshotOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Inventaris Asinkron")
+public class ServiceInventarisAsyncTest {
+    private RepositoryProdukMemori repository;
+    private RegistriMetrik registriMetrik;
+    private ServiceInventarisAsync service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        registriMetrik = new RegistriMetrik();
+        service = new ServiceInventarisAsync(
+                new ServiceInventarisTerinstrumentasi(new ServiceInventaris(repository), registriMetrik));
+        assertTrue(service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5)).join());
+        assertTrue(service.tambahProduk(new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5)).join());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Mutasi stok asinkron memakai validasi service yang sama")
+    void testMutasiStok() {
+        assertTrue(service.keluarStok("PROD001", 4).join());
+        assertFalse(service.keluarStok("PROD001", 0).join());
+        assertTrue(service.masukStok("PROD001", 2).join());
+        assertFalse(service.updateStok("PROD001", -1).join());
+        assertTrue(service.updateStok("PROD002", 0).join());
+        assertArrayEquals(new boolean[]{true, false},
+                service.masukStokBatch(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD999", 1))).join());
+        assertArrayEquals(new boolean[]{true},
+                service.keluarStokBatch(List.of(new MutasiStok("PROD001", 1))).join());
+        assertTrue(service.updateStatusAktif("PROD002", false).join());
+
+        assertEquals(8, repository.cariByKode("PROD001").get().getStok());
+        assertFalse(repository.cariByKode("PROD002").get().isAktif());
+        assertTrue(service.hapusProduk("PROD002").join());
+        assertTrue(service.cariProdukByKode("PROD002").join().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pencarian dan agregat asinkron")
+    void testPencarianDanAgregat() {
+        assertEquals("Mouse", service.cariProdukByKode("PROD002").join().get().getNama());
+        assertEquals(1, service.cariProdukByNama("mouse").join().size());
+        assertEquals(2, service.cariProdukByKategori("Elektronik").join().size());
+        assertEquals(1, service.getProdukStokMenipis().join().size());
+        assertTrue(service.getProdukStokHabis().join().isEmpty());
+        assertEquals(13, service.hitungTotalStok().join());
+        assertEquals(150750000.0, service.hitungTotalNilaiInventaris().join());
+        assertEquals(15075000000L, service.hitungTotalNilaiInventarisSen().join());
+    }
+
+    @Test
+    @DisplayName("Metrik service tetap tercatat dari virtual thread")
+    void testMetrik() {
+        service.cariProdukByKode("PROD001").join();
+        service.cariProdukByKode("PROD999").join();
+        SnapshotOperasi operasi = registriMetrik.snapshot()
+                .operasi(ServiceInventarisTerinstrumentasi.AWALAN_BAWAAN + ".cariProdukByKode");
+        assertEquals(1, operasi.jumlah(HasilOperasi.SUKSES));
+        assertEquals(1, operasi.jumlah(HasilOperasi.PRODUK_TIDAK_DITEMUKAN));
+    }
+
+    @Test
+    @DisplayName("Ribuan pengurangan stok bersamaan tidak pernah oversell")
+    void testKeluarStokBersamaan() {
+        repository.updateStok("PROD001", 5000);
+        List<CompletableFuture<Boolean>> hasil = new ArrayList<>();
+        for (int i = 0; i < 6000; i++) {
+            hasil.add(service.keluarStok("PROD001", 1));
+        }
+        long berhasil = hasil.stream().filter(CompletableFuture::join).count();
+        assertEquals(5000, berhasil);
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Executor dari pemanggil dipakai dan tidak ditutup")
+    void testExecutorPemanggil() {
+        ExecutorService pelaksana = Executors.newSingleThreadExecutor();
+        try {
+            ServiceInventarisAsync async = new ServiceInventarisAsync(new ServiceInventaris(repository), pelaksana);
+            assertEquals(13, async.hitungTotalStok().join());
+            async.close();
+            assertFalse(pelaksana.isShutdown());
+        } finally {
+            pelaksana.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi setelah ditutup menghasilkan future gagal, bukan exception langsung")
+    void testSetelahDitutup() {
+        ServiceInventarisAsync async = new ServiceInventarisAsync(new ServiceInventaris(repository));
+        async.close();
+
+        CompletableFuture<Integer> hasil = async.hitungTotalStok();
+        CompletionException galat = assertThrows(CompletionException.class, hasil::join);
+        assertInstanceOf(RejectedExecutionException.class, galat.getCause());
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceInventarisAsync(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceInventarisAsync(new ServiceInventaris(repository), null));
+    }
+}
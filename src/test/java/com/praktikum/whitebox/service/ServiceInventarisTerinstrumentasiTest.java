@@ -0,0 +1,144 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.metrik.RegistriMetrik;
+import com.praktikum.whitebox.metrik.SnapshotMetrik;
+import com.praktikum.whitebox.metrik.SnapshotOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Test Service Inventaris Terinstrumentasi")
+public class ServiceInventarisTerinstrumentasiTest {
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private RepositoryProduk mockRepositoryProduk;
+    private RegistriMetrik registri;
+    private ServiceInventaris service;
+    private Produk produkTest;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        service = new ServiceInventarisTerinstrumentasi(new ServiceInventaris(mockRepositoryProduk), registri);
+        produkTest = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    }
+
+    @Test
+    @DisplayName("Metrik service mencatat sukses dan setiap alasan penolakan")
+    void testMetrikAlasanPenolakan() {
+        Produk nonAktif = new Produk("PROD002", "Mouse", "Elektronik", 250000, 10, 5);
+        nonAktif.setAktif(false);
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.of(nonAktif));
+        when(mockRepositoryProduk.cariByKode("PROD003")).thenReturn(Optional.empty());
+        doReturn(true).when(mockRepositoryProduk).kurangiStok("PROD001", 2);
+
+        assertFalse(service.keluarStok("X", 1));
+        assertFalse(service.keluarStok("PROD001", 0));
+        assertFalse(service.keluarStok("PROD003", 1));
+        assertFalse(service.keluarStok("PROD002", 1));
+        assertFalse(service.keluarStok("PROD001", 50));
+        assertTrue(service.keluarStok("PROD001", 2));
+        assertFalse(service.hapusProduk("PROD001"));
+        assertFalse(service.tambahProduk(produkTest));
+        assertFalse(service.tambahProduk(null));
+        assertFalse(service.cariProdukByKode("PROD003").isPresent());
+
+        SnapshotOperasi keluar = registri.snapshot().operasi("ServiceInventaris.keluarStok");
+        assertEquals(1, keluar.jumlah(HasilOperasi.KODE_TIDAK_VALID));
+        assertEquals(1, keluar.jumlah(HasilOperasi.JUMLAH_TIDAK_VALID));
+        assertEquals(1, keluar.jumlah(HasilOperasi.PRODUK_TIDAK_DITEMUKAN));
+        assertEquals(1, keluar.jumlah(HasilOperasi.PRODUK_TIDAK_AKTIF));
+        assertEquals(1, keluar.jumlah(HasilOperasi.STOK_TIDAK_CUKUP));
+        assertEquals(1, keluar.jumlah(HasilOperasi.SUKSES));
+        assertEquals(6, keluar.getLatensi().getJumlah());
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(1, snapshot.operasi("ServiceInventaris.hapusProduk").jumlah(HasilOperasi.STOK_MASIH_ADA));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.tambahProduk").jumlah(HasilOperasi.PRODUK_SUDAH_ADA));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.tambahProduk").jumlah(HasilOperasi.PRODUK_TIDAK_VALID));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.cariProdukByKode").jumlah(HasilOperasi.PRODUK_TIDAK_DITEMUKAN));
+    }
+
+    @Test
+    @DisplayName("Metrik service mencatat penolakan repository dan exception")
+    void testMetrikDitolakRepositoryDanGalat() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        doReturn(false).when(mockRepositoryProduk).tambahStok("PROD001", 1);
+        when(mockRepositoryProduk.hitungTotalStok()).thenThrow(new IllegalStateException("rusak"));
+        when(mockRepositoryProduk.cariProdukStokHabis()).thenReturn(List.of());
+
+        assertFalse(service.masukStok("PROD001", 1));
+        assertFalse(service.updateStok("PROD001", -1));
+        assertFalse(service.updateStatusAktif("?", true));
+        assertThrows(IllegalStateException.class, service::hitungTotalStok);
+        assertTrue(service.getProdukStokHabis().isEmpty());
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(1, snapshot.operasi("ServiceInventaris.masukStok").jumlah(HasilOperasi.DITOLAK_REPOSITORY));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.updateStok").jumlah(HasilOperasi.JUMLAH_TIDAK_VALID));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.updateStatusAktif").jumlah(HasilOperasi.KODE_TIDAK_VALID));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.hitungTotalStok").jumlah(HasilOperasi.GALAT));
+        assertEquals(1, snapshot.operasi("ServiceInventaris.getProdukStokHabis").jumlah(HasilOperasi.SUKSES));
+    }
+
+    @Test
+    @DisplayName("Pencarian, batch, dan agregat diteruskan dan dicatat satu entri per panggilan")
+    void testMethodLainDiteruskan() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.cariByNama("Laptop")).thenReturn(List.of(produkTest));
+        when(mockRepositoryProduk.cariByKategori("Elektronik")).thenReturn(List.of(produkTest));
+        when(mockRepositoryProduk.cariProdukStokMenipis()).thenReturn(List.of());
+        when(mockRepositoryProduk.cariSemua()).thenReturn(List.of(produkTest));
+        doReturn(new boolean[]{true}).when(mockRepositoryProduk).tambahStokBatch(any());
+        doReturn(new boolean[]{true}).when(mockRepositoryProduk).kurangiStokBatch(any());
+        doReturn(true).when(mockRepositoryProduk).updateStok("PROD001", 3);
+        doReturn(true).when(mockRepositoryProduk).updateAktif("PROD001", false);
+
+        assertFalse(service.cariProdukByKode("?").isPresent());
+        assertEquals(1, service.cariProdukByNama("Laptop").size());
+        assertEquals(1, service.cariProdukByKategori("Elektronik").size());
+        assertArrayEquals(new boolean[]{true}, service.masukStokBatch(List.of(new MutasiStok("PROD001", 1))));
+        assertArrayEquals(new boolean[]{true}, service.keluarStokBatch(List.of(new MutasiStok("PROD001", 1))));
+        assertTrue(service.getProdukStokMenipis().isEmpty());
+        assertEquals(150000000.0, service.hitungTotalNilaiInventaris());
+        assertEquals(15000000000L, service.hitungTotalNilaiInventarisSen());
+        assertTrue(service.updateStok("PROD001", 3));
+        assertTrue(service.updateStatusAktif("PROD001", false));
+
+        SnapshotMetrik snapshot = registri.snapshot();
+        assertEquals(1, snapshot.operasi("ServiceInventaris.cariProdukByKode").jumlah(HasilOperasi.KODE_TIDAK_VALID));
+        for (String method : List.of("cariProdukByNama", "cariProdukByKategori", "masukStokBatch", "keluarStokBatch",
+                "getProdukStokMenipis", "hitungTotalNilaiInventaris", "hitungTotalNilaiInventarisSen",
+                "updateStok", "updateStatusAktif")) {
+            assertEquals(1, snapshot.operasi("ServiceInventaris." + method).jumlah(HasilOperasi.SUKSES), method);
+        }
+    }
+
+    @Test
+    @DisplayName("Dekorator bisa ditumpuk dengan awalan berbeda dan menolak argumen null")
+    void testBertumpuk() {
+        doReturn(true).when(mockRepositoryProduk).tambahStok("PROD001", 1);
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        ServiceInventaris luar = new ServiceInventarisTerinstrumentasi(service, registri, "Luar");
+
+        assertTrue(luar.masukStok("PROD001", 1));
+        assertEquals(1, registri.snapshot().operasi("Luar.masukStok").jumlah(HasilOperasi.SUKSES));
+        assertEquals(1, registri.snapshot().operasi("ServiceInventaris.masukStok").jumlah(HasilOperasi.SUKSES));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceInventarisTerinstrumentasi(null, registri));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceInventarisTerinstrumentasi(service, null));
+    }
+}
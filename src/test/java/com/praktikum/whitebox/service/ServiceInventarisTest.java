@@ -1,11 +1,13 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.MutasiStok;
 import com.praktikum.whitebox.model.Produk;
 import com.praktikum.whitebox.repository.RepositoryProduk;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -21,7 +23,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Test Service Inventaris dengan Mocking")
 public class ServiceInventarisTest {
-    @Mock
+    // Method default di RepositoryProduk (operasi stok atomik) dijalankan dengan implementasi aslinya
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private RepositoryProduk mockRepositoryProduk;
     private ServiceInventaris serviceInventaris;
     private Produk produkTest;
@@ -461,5 +464,112 @@ public class ServiceInventarisTest {
 
         assertEquals(0, total);
     }
-}
 
+    @Test
+    @DisplayName("Keluar stok memakai pengurangan atomik repository")
+    void testKeluarStokMemakaiKurangiStokAtomik() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        doReturn(true).when(mockRepositoryProduk).kurangiStok("PROD001", 4);
+
+        boolean hasil = serviceInventaris.keluarStok("PROD001", 4);
+
+        assertTrue(hasil);
+        verify(mockRepositoryProduk).kurangiStok("PROD001", 4);
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Keluar stok gagal jika stok sudah diambil transaksi lain")
+    void testKeluarStokGagalKalahBalapan() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        doReturn(false).when(mockRepositoryProduk).kurangiStok("PROD001", 4);
+
+        boolean hasil = serviceInventaris.keluarStok("PROD001", 4);
+
+        assertFalse(hasil);
+    }
+
+    @Test
+    @DisplayName("Masuk stok memakai penambahan atomik repository")
+    void testMasukStokMemakaiTambahStokAtomik() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        doReturn(true).when(mockRepositoryProduk).tambahStok("PROD001", 7);
+
+        boolean hasil = serviceInventaris.masukStok("PROD001", 7);
+
+        assertTrue(hasil);
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Update status aktif diteruskan ke repository")
+    void testUpdateStatusAktif() {
+        doReturn(true).when(mockRepositoryProduk).updateAktif("PROD001", false);
+
+        assertTrue(serviceInventaris.updateStatusAktif("PROD001", false));
+        assertFalse(serviceInventaris.updateStatusAktif("", false));
+        verify(mockRepositoryProduk).updateAktif("PROD001", false);
+    }
+
+    @Test
+    @DisplayName("Masuk stok batch memvalidasi per item dan mengirim sisanya dalam satu batch")
+    void testMasukStokBatch() {
+        Produk nonaktif = new Produk("PROD002", "Mouse", "Elektronik", 250000, 3, 5);
+        nonaktif.setAktif(false);
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.of(nonaktif));
+        when(mockRepositoryProduk.cariByKode("PROD999")).thenReturn(Optional.empty());
+        List<MutasiStok> lolos = List.of(new MutasiStok("PROD001", 5), new MutasiStok("PROD001", 2));
+        doReturn(new boolean[]{true, true}).when(mockRepositoryProduk).tambahStokBatch(lolos);
+
+        boolean[] hasil = serviceInventaris.masukStokBatch(Arrays.asList(
+                new MutasiStok("PROD001", 5),
+                new MutasiStok("PROD002", 5),
+                new MutasiStok("PROD999", 5),
+                new MutasiStok("", 5),
+                new MutasiStok("PROD001", 0),
+                null,
+                new MutasiStok("PROD001", 2)));
+
+        assertArrayEquals(new boolean[]{true, false, false, false, false, false, true}, hasil);
+        verify(mockRepositoryProduk).tambahStokBatch(lolos);
+        verify(mockRepositoryProduk, never()).tambahStok(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Keluar stok batch menolak item yang stoknya kurang dan meneruskan hasil repository")
+    void testKeluarStokBatch() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        List<MutasiStok> lolos = List.of(new MutasiStok("PROD001", 6), new MutasiStok("PROD001", 6));
+        // Repository menolak item kedua karena stok sudah dipakai item pertama
+        doReturn(new boolean[]{true, false}).when(mockRepositoryProduk).kurangiStokBatch(lolos);
+
+        boolean[] hasil = serviceInventaris.keluarStokBatch(List.of(
+                new MutasiStok("PROD001", 6),
+                new MutasiStok("PROD001", 11),
+                new MutasiStok("PROD001", 6)));
+
+        assertArrayEquals(new boolean[]{true, false, false}, hasil);
+    }
+
+    @Test
+    @DisplayName("Batch kosong atau null tidak memanggil repository")
+    void testStokBatchKosong() {
+        assertEquals(0, serviceInventaris.masukStokBatch(null).length);
+        assertEquals(0, serviceInventaris.keluarStokBatch(Collections.emptyList()).length);
+        verify(mockRepositoryProduk, never()).tambahStokBatch(any());
+        verify(mockRepositoryProduk, never()).kurangiStokBatch(any());
+    }
+
+    @Test
+    @DisplayName("Hitung total nilai inventaris dalam sen hanya produk aktif")
+    void testHitungTotalNilaiInventarisSen() {
+        Produk produk1 = new Produk("PROD001", "Pulpen", "ATK", 0.1, 10, 1);
+        Produk produk2 = new Produk("PROD002", "Buku", "ATK", 19.99, 3, 1);
+        Produk produkNonAktif = new Produk("PROD003", "Map", "ATK", 5, 3, 1);
+        produkNonAktif.setAktif(false);
+        when(mockRepositoryProduk.cariSemua()).thenReturn(List.of(produk1, produk2, produkNonAktif));
+
+        assertEquals(100 + 5997, serviceInventaris.hitungTotalNilaiInventarisSen());
+    }
+}
@@ -0,0 +1,127 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.metrik.HasilOperasi;
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Service Pesanan")
+public class ServicePesananTest {
+    private RepositoryProdukMemori repository;
+    private ServicePesanan service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 250000.5, 20, 5));
+        Produk nonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 5, 1);
+        nonAktif.setAktif(false);
+        repository.simpan(nonAktif);
+        service = new ServicePesanan(repository);
+    }
+
+    private int stok(String kode) {
+        return repository.cariByKode(kode).get().getStok();
+    }
+
+    @Test
+    @DisplayName("Pesanan sukses mengurangi semua baris dan menghitung harga serta diskon")
+    void testPesanSukses() {
+        HasilPesanan hasil = service.pesan(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 10)), "PREMIUM");
+
+        assertTrue(hasil.isSukses());
+        assertEquals(HasilOperasi.SUKSES, hasil.getHasil());
+        assertEquals(-1, hasil.getBarisGagal());
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        long subtotal = 1500000000L + 25000050L * 10;
+        long diskon = kalkulator.hitungDiskonSen(1500000000L, 1, "PREMIUM")
+                + kalkulator.hitungDiskonSen(25000050L, 10, "PREMIUM");
+        assertEquals(subtotal, hasil.getSubtotalSen());
+        assertEquals(diskon, hasil.getDiskonSen());
+        assertEquals(subtotal - diskon, hasil.getTotalSen());
+        assertEquals((subtotal - diskon) / 100.0, hasil.getTotal(), 1e-6);
+        assertEquals(9, stok("PROD001"));
+        assertEquals(10, stok("PROD002"));
+        assertTrue(hasil.toString().contains("SUKSES"));
+    }
+
+    @Test
+    @DisplayName("Baris yang tidak valid menolak seluruh pesanan tanpa mengubah stok")
+    void testPesanDitolak() {
+        assertDitolak(null, HasilOperasi.JUMLAH_TIDAK_VALID, -1);
+        assertDitolak(List.of(), HasilOperasi.JUMLAH_TIDAK_VALID, -1);
+        assertDitolak(Arrays.asList(new MutasiStok("PROD001", 1), null), HasilOperasi.KODE_TIDAK_VALID, 1);
+        assertDitolak(List.of(new MutasiStok("", 1)), HasilOperasi.KODE_TIDAK_VALID, 0);
+        assertDitolak(List.of(new MutasiStok("PROD001", 0)), HasilOperasi.JUMLAH_TIDAK_VALID, 0);
+        assertDitolak(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD999", 1)),
+                HasilOperasi.PRODUK_TIDAK_DITEMUKAN, 1);
+        assertDitolak(List.of(new MutasiStok("PROD003", 1)), HasilOperasi.PRODUK_TIDAK_AKTIF, 0);
+        assertDitolak(List.of(new MutasiStok("PROD001", 1), new MutasiStok("PROD002", 21)),
+                HasilOperasi.STOK_TIDAK_CUKUP, 1);
+        // Tiap baris cukup sendiri-sendiri, tapi jumlahnya melebihi stok: baris kedua yang gagal
+        assertDitolak(List.of(new MutasiStok("PROD001", 6), new MutasiStok(" PROD001", 6)),
+                HasilOperasi.STOK_TIDAK_CUKUP, 1);
+
+        assertEquals(10, stok("PROD001"));
+        assertEquals(20, stok("PROD002"));
+    }
+
+    @Test
+    @DisplayName("Penolakan repository sesudah pemeriksaan dilaporkan sebagai DITOLAK_REPOSITORY")
+    void testDitolakRepository() {
+        RepositoryProduk mockRepository = spy(repository);
+        doReturn(false).when(mockRepository).kurangiStokSemua(anyList());
+
+        HasilPesanan hasil = new ServicePesanan(mockRepository).pesan(List.of(new MutasiStok("PROD001", 1)), "UMUM");
+
+        assertEquals(HasilOperasi.DITOLAK_REPOSITORY, hasil.getHasil());
+        assertEquals(-1, hasil.getBarisGagal());
+    }
+
+    @Test
+    @DisplayName("Pesanan berisi kode panas dan kode biasa berhasil")
+    void testPesanKodePanas() {
+        repository.simpan(new Produk("HOT1", "Flash Sale", "Elektronik", 1000, 500, 5));
+        repository.aktifkanKodePanas("HOT1");
+
+        HasilPesanan hasil = service.pesan(List.of(new MutasiStok("HOT1", 1), new MutasiStok("PROD002", 1)), "UMUM");
+
+        assertTrue(hasil.isSukses());
+        assertEquals(499, stok("HOT1"));
+        assertEquals(19, stok("PROD002"));
+    }
+
+    private void assertDitolak(List<MutasiStok> baris, HasilOperasi alasan, int barisGagal) {
+        HasilPesanan hasil = service.pesan(baris, "UMUM");
+        assertFalse(hasil.isSukses());
+        assertEquals(alasan, hasil.getHasil());
+        assertEquals(barisGagal, hasil.getBarisGagal());
+        assertEquals(0, hasil.getTotalSen());
+    }
+
+    @Test
+    @DisplayName("Pengurangan diserahkan ke repository dalam satu panggilan atomik")
+    void testSatuPanggilanRepository() {
+        RepositoryProduk mockRepository = spy(repository);
+        KalkulatorDiskon kalkulator = spy(new KalkulatorDiskon());
+        ServicePesanan servicePesanan = new ServicePesanan(mockRepository, kalkulator);
+        List<MutasiStok> baris = List.of(new MutasiStok("PROD001", 2), new MutasiStok("PROD002", 3));
+
+        assertTrue(servicePesanan.pesan(baris, "BARU").isSukses());
+
+        verify(mockRepository).kurangiStokSemua(baris);
+        verify(mockRepository, never()).kurangiStok(anyString(), anyInt());
+        verify(kalkulator, times(2)).hitungDiskonSen(anyLong(), anyInt(), eq("BARU"));
+    }
+}
@@ -0,0 +1,204 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Service Reservasi")
+public class ServiceReservasiTest {
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private RepositoryProdukMemori repository;
+    private AtomicLong jam;
+    private ServiceReservasi service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        jam = new AtomicLong(1_000_000L);
+        service = new ServiceReservasi(new ServiceInventaris(repository), repository, jam::get,
+                Duration.ofSeconds(1));
+    }
+
+    private int stok() {
+        return repository.cariByKode("PROD001").get().getStok();
+    }
+
+    @Test
+    @DisplayName("Menahan stok langsung mengurangi stok dan memengaruhi status menipis/habis")
+    void testTahan() {
+        Optional<Reservasi> reservasi = service.tahan("PROD001", 6, TTL);
+
+        assertTrue(reservasi.isPresent());
+        assertEquals("PROD001", reservasi.get().getKode());
+        assertEquals(6, reservasi.get().getJumlah());
+        assertEquals(4, stok());
+        assertTrue(repository.cariByKode("PROD001").get().isStokMenipis());
+        assertEquals(6, service.jumlahDitahan("PROD001"));
+        assertEquals(1, service.jumlahReservasi());
+
+        assertTrue(service.tahan("PROD001", 4, TTL).isPresent());
+        assertTrue(repository.cariByKode("PROD001").get().isStokHabis());
+        assertTrue(service.tahan("PROD001", 1, TTL).isEmpty());
+        assertEquals(10, service.jumlahDitahan("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Masukan tidak valid tidak membuat reservasi")
+    void testTahanTidakValid() {
+        assertTrue(service.tahan("PROD999", 1, TTL).isEmpty());
+        assertTrue(service.tahan("PROD001", 0, TTL).isEmpty());
+        assertTrue(service.tahan("PROD001", 1, null).isEmpty());
+        assertTrue(service.tahan("PROD001", 1, Duration.ZERO).isEmpty());
+        assertTrue(service.tahan("PROD001", 1, Duration.ofSeconds(-1)).isEmpty());
+        assertEquals(10, stok());
+        assertEquals(0, service.jumlahReservasi());
+    }
+
+    @Test
+    @DisplayName("Komit membuat pengurangan permanen, lepas mengembalikan stok")
+    void testKomitDanLepas() {
+        Reservasi a = service.tahan("PROD001", 3, TTL).get();
+        Reservasi b = service.tahan("PROD001", 2, TTL).get();
+
+        assertTrue(service.komit(a.getId()));
+        assertFalse(service.komit(a.getId()));
+        assertFalse(service.lepas(a.getId()));
+        assertTrue(service.lepas(b.getId()));
+        assertFalse(service.lepas(b.getId()));
+
+        assertEquals(7, stok());
+        assertEquals(0, service.jumlahDitahan("PROD001"));
+        assertEquals(0, service.jumlahReservasi());
+        assertTrue(service.cariReservasi(a.getId()).isEmpty());
+
+        jam.addAndGet(TTL.toNanos() * 2);
+        assertEquals(0, service.prosesKedaluwarsa());
+        assertEquals(7, stok());
+    }
+
+    @Test
+    @DisplayName("Reservasi yang melewati TTL dikembalikan ke stok")
+    void testKedaluwarsa() {
+        Reservasi pendek = service.tahan("PROD001", 3, Duration.ofSeconds(5)).get();
+        Reservasi panjang = service.tahan("PROD001", 2, Duration.ofSeconds(30)).get();
+
+        jam.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(0, service.prosesKedaluwarsa());
+        assertEquals(pendek, service.cariReservasi(pendek.getId()).get());
+
+        jam.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(1, service.prosesKedaluwarsa());
+        assertEquals(8, stok());
+        assertFalse(service.komit(pendek.getId()));
+        assertEquals(2, service.jumlahDitahan("PROD001"));
+
+        // Pemanggilan method lain juga memutar roda
+        jam.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertFalse(service.lepas(panjang.getId()));
+        assertEquals(10, stok());
+    }
+
+    @Test
+    @DisplayName("Unit tetap kembali walau produk dinonaktifkan selama ditahan")
+    void testLepasProdukTidakAktif() {
+        Reservasi reservasi = service.tahan("PROD001", 4, TTL).get();
+        repository.updateAktif("PROD001", false);
+
+        assertTrue(service.lepas(reservasi.getId()));
+        assertEquals(10, stok());
+    }
+
+    @Test
+    @DisplayName("TTL sangat besar tidak meluap dan tidak membocorkan stok")
+    void testTtlSangatBesar() {
+        Reservasi reservasi = service.tahan("PROD001", 3, Duration.ofSeconds(Long.MAX_VALUE)).get();
+
+        assertEquals(1_000_000L + ServiceReservasi.BATAS_TTL.toNanos(), reservasi.getBerakhirNanos());
+        jam.addAndGet(Duration.ofDays(365).toNanos());
+        assertEquals(0, service.prosesKedaluwarsa());
+        assertEquals(7, stok());
+        assertEquals(Long.MAX_VALUE, ServiceReservasi.batasWaktu(Long.MAX_VALUE - 5, Duration.ofSeconds(1)));
+        assertEquals(-5 + ServiceReservasi.BATAS_TTL.toNanos(),
+                ServiceReservasi.batasWaktu(-5, Duration.ofSeconds(Long.MAX_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Lepas produk yang sudah dihapus melaporkan unit yang gagal dikembalikan")
+    void testKembalikanGagal() {
+        Reservasi pertama = service.tahan("PROD001", 2, TTL).get();
+        service.tahan("PROD001", 3, TTL);
+        repository.hapus("PROD001");
+
+        assertFalse(service.lepas(pertama.getId()));
+        assertEquals(1, service.jumlahReservasi());
+        jam.addAndGet(TTL.toNanos() + Duration.ofSeconds(2).toNanos());
+        assertEquals(1, service.prosesKedaluwarsa());
+        assertEquals(2, service.jumlahGagalKembali());
+        assertEquals(0, service.jumlahDitahan("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Parameter konstruktor tidak valid ditolak")
+    void testKonstruktorTidakValid() {
+        ServiceInventaris inventaris = new ServiceInventaris(repository);
+        assertThrows(IllegalArgumentException.class, () -> new ServiceReservasi(null, repository));
+        assertThrows(IllegalArgumentException.class, () -> new ServiceReservasi(inventaris, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceReservasi(inventaris, repository, null, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceReservasi(inventaris, repository, jam::get, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceReservasi(inventaris, repository, jam::get, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceReservasi(inventaris, repository, jam::get, Duration.ofSeconds(-1)));
+        assertNotNull(new ServiceReservasi(inventaris, repository));
+    }
+
+    @Test
+    @DisplayName("Banyak reservasi paralel tidak pernah menahan lebih dari stok")
+    void testParalel() throws InterruptedException {
+        repository.updateStok("PROD001", 1000);
+        AtomicInteger berhasil = new AtomicInteger();
+        List<Long> daftarId = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    service.tahan("PROD001", 1, TTL).ifPresent(r -> {
+                        berhasil.incrementAndGet();
+                        daftarId.add(r.getId());
+                    });
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, berhasil.get());
+        assertEquals(0, stok());
+        assertEquals(1000, service.jumlahDitahan("PROD001"));
+        for (int i = 0; i < 500; i++) {
+            service.komit(daftarId.get(i));
+        }
+        jam.addAndGet(TTL.toNanos() + 1);
+        assertEquals(500, service.prosesKedaluwarsa());
+        assertEquals(500, stok());
+    }
+}
@@ -0,0 +1,205 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.TipePelanggan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Tabel Aturan Diskon dan Pemuat Ulang")
+public class TabelAturanDiskonTest {
+    @TempDir
+    Path direktori;
+
+    @AfterEach
+    void kembalikanAturanBawaan() {
+        MesinDiskon.pasang(TabelAturanDiskon.BAWAAN);
+    }
+
+    @Test
+    @DisplayName("Berkas aturan bawaan identik bit per bit dengan tabel bawaan")
+    void testBerkasBawaanSamaDenganBawaan() throws IOException {
+        Properties properti = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/aturan-diskon.properties")) {
+            properti.load(in);
+        }
+        TabelAturanDiskon dariBerkas = TabelAturanDiskon.dari(properti);
+        for (TipePelanggan tipe : TipePelanggan.values()) {
+            for (int kuantitas = 0; kuantitas <= 200; kuantitas++) {
+                assertEquals(Double.doubleToLongBits(TabelAturanDiskon.BAWAAN.tarif(kuantitas, tipe)),
+                        Double.doubleToLongBits(dariBerkas.tarif(kuantitas, tipe)));
+            }
+        }
+        for (double persentase : new double[]{-1, 0, 0.05, 0.0999, 0.10, 0.15, 0.20, 0.5}) {
+            assertEquals(TabelAturanDiskon.BAWAAN.kategoriDiskon(persentase), dariBerkas.kategoriDiskon(persentase));
+        }
+    }
+
+    @Test
+    @DisplayName("Aturan dari properti dikompilasi dengan ambang dan kategori baru")
+    void testAturanKustom() throws IOException {
+        Properties properti = lengkap();
+        properti.setProperty("kuantitas.batas", "3, 20");
+        properti.setProperty("kuantitas.diskon", "0.07, 0.12");
+        properti.setProperty("tipe.PREMIUM", "0.2");
+        properti.setProperty("tipe.REGULER", "0");
+        properti.setProperty("diskon.maksimal", "0.25");
+        properti.setProperty("kategori.batas", "0.15");
+        properti.setProperty("kategori.nama", "NOL,KECIL,BESAR");
+
+        TabelAturanDiskon tabel = TabelAturanDiskon.dari(properti);
+
+        assertEquals(0.0, tabel.tarif(2, TipePelanggan.REGULER));
+        assertEquals(0.07, tabel.tarif(3, TipePelanggan.UMUM));
+        assertEquals(0.12, tabel.tarif(1000, null));
+        assertEquals(0.25, tabel.tarif(20, TipePelanggan.PREMIUM));
+        assertEquals(0.25, tabel.getDiskonMaksimal());
+        assertEquals("NOL", tabel.kategoriDiskon(0));
+        assertEquals("KECIL", tabel.kategoriDiskon(0.1));
+        assertEquals("BESAR", tabel.kategoriDiskon(0.15));
+        assertEquals(70, tabel.hitungDiskon(100, 10, TipePelanggan.UMUM), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Aturan tidak valid ditolak")
+    void testAturanTidakValid() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("kuantitas.batas", "10,5")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("kuantitas.diskon", "0.1")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("tipe.BARU", "1.5")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("diskon.maksimal", "abc")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("kategori.nama", "A,B")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("kategori.batas", "0.2,0.1")));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("kategori.nama", "A, ,C,D")));
+        assertThrows(IllegalArgumentException.class,
+                () -> TabelAturanDiskon.BAWAAN.hitungDiskon(0, 1, TipePelanggan.UMUM));
+    }
+
+    @Test
+    @DisplayName("Berkas kosong, kehilangan kunci, atau tanpa penanda akhir ditolak")
+    void testAturanTidakLengkap() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(new Properties()));
+        for (String kunci : lengkap().stringPropertyNames()) {
+            Properties properti = lengkap();
+            properti.remove(kunci);
+            assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti), kunci);
+        }
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.dari(properti("akhir", "false")));
+
+        // Berkas yang terbaca setengah ditulis tidak pernah sampai ke penanda akhir
+        String teks = teksAturan();
+        Path berkas = direktori.resolve("aturan.properties");
+        Files.writeString(berkas, teks.substring(0, teks.length() / 2));
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.muat(berkas));
+        Files.writeString(berkas, "");
+        assertThrows(IllegalArgumentException.class, () -> TabelAturanDiskon.muat(berkas));
+    }
+
+    @Test
+    @DisplayName("Ambang kuantitas besar tidak membuat tabel pita sebesar ambangnya")
+    void testAmbangBesar() throws IOException {
+        Properties properti = properti("kuantitas.batas", "5,70000,2000000000");
+        properti.setProperty("kuantitas.diskon", "0.05,0.10,0.15");
+        TabelAturanDiskon tabel = TabelAturanDiskon.dari(properti);
+
+        assertEquals(0.0, tabel.tarif(4, TipePelanggan.UMUM));
+        assertEquals(0.05, tabel.tarif(TabelAturanDiskon.BATAS_TABEL_PITA, TipePelanggan.UMUM));
+        assertEquals(0.05, tabel.tarif(69999, TipePelanggan.UMUM));
+        assertEquals(0.10, tabel.tarif(70000, TipePelanggan.UMUM));
+        assertEquals(0.10, tabel.tarif(1999999999, TipePelanggan.UMUM));
+        assertEquals(0.15, tabel.tarif(2000000000, TipePelanggan.UMUM));
+        assertEquals(0.15, tabel.tarif(Integer.MAX_VALUE, TipePelanggan.UMUM));
+    }
+
+    @Test
+    @DisplayName("Tanpa ambang kuantitas hanya tambahan tipe yang berlaku")
+    void testTanpaAmbang() throws IOException {
+        Properties properti = properti("kuantitas.batas", "");
+        properti.setProperty("kuantitas.diskon", "");
+        TabelAturanDiskon tabel = TabelAturanDiskon.dari(properti);
+        assertEquals(0.0, tabel.tarif(1000, TipePelanggan.UMUM));
+        assertEquals(0.10, tabel.tarif(1000, TipePelanggan.PREMIUM));
+    }
+
+    @Test
+    @DisplayName("Perubahan berkas memasang tabel baru, berkas rusak mempertahankan tabel lama")
+    void testMuatUlang() throws Exception {
+        Path berkas = direktori.resolve("aturan.properties");
+        Files.writeString(berkas, teksAturan());
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        try (PemuatAturanDiskon pemuat = PemuatAturanDiskon.buka(berkas)) {
+            assertEquals(4000, kalkulator.hitungDiskon(1000, 20, "PREMIUM"), 1e-6);
+
+            // Tulis lewat berkas sementara lalu rename, seperti editor/deploy pada umumnya
+            Path sementara = direktori.resolve("aturan.tmp");
+            Files.writeString(sementara, teksAturan("tipe.PREMIUM=0.15", "kategori.nama=A,B,C,D"));
+            Files.move(sementara, berkas, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long batas = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pemuat.getJumlahMuat() < 2 && System.nanoTime() < batas) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, pemuat.getJumlahMuat());
+            assertEquals(2500, kalkulator.hitungDiskon(1000, 10, "PREMIUM"), 1e-6);
+            assertEquals("D", kalkulator.getKategoriDiskon(0.25));
+
+            Files.writeString(berkas, teksAturan("kuantitas.batas=x"));
+            assertFalse(pemuat.muatUlang());
+            assertNotNull(pemuat.getGalatTerakhir());
+            assertEquals(2500, kalkulator.hitungDiskon(1000, 10, "PREMIUM"), 1e-6);
+
+            Files.writeString(berkas, teksAturan());
+            assertTrue(pemuat.muatUlang());
+            assertNull(pemuat.getGalatTerakhir());
+        }
+    }
+
+    @Test
+    @DisplayName("Berkas awal yang tidak ada atau tidak valid menggagalkan startup")
+    void testBerkasAwalTidakValid() throws IOException {
+        assertThrows(IOException.class, () -> PemuatAturanDiskon.buka(direktori.resolve("tidak-ada.properties")));
+        Path rusak = direktori.resolve("rusak.properties");
+        Files.writeString(rusak, teksAturan("diskon.maksimal=2"));
+        assertThrows(IllegalArgumentException.class, () -> PemuatAturanDiskon.buka(rusak));
+        assertThrows(IllegalArgumentException.class, () -> MesinDiskon.pasang(null));
+    }
+
+    // Aturan bawaan lengkap dengan satu kunci diganti
+    private static Properties properti(String kunci, String nilai) throws IOException {
+        Properties properti = lengkap();
+        properti.setProperty(kunci, nilai);
+        return properti;
+    }
+
+    private static Properties lengkap() throws IOException {
+        Properties properti = new Properties();
+        try (InputStream in = TabelAturanDiskonTest.class.getResourceAsStream("/aturan-diskon.properties")) {
+            properti.load(in);
+        }
+        return properti;
+    }
+
+    // Isi berkas aturan bawaan dengan baris "kunci=nilai" pengganti, penanda akhir di baris terakhir
+    private static String teksAturan(String... pengganti) throws IOException {
+        Properties properti = lengkap();
+        for (String baris : pengganti) {
+            String[] bagian = baris.split("=", 2);
+            properti.setProperty(bagian[0], bagian[1]);
+        }
+        StringBuilder teks = new StringBuilder();
+        for (String kunci : properti.stringPropertyNames()) {
+            if (!kunci.equals(TabelAturanDiskon.PENANDA_AKHIR)) {
+                teks.append(kunci).append('=').append(properti.getProperty(kunci)).append('\n');
+            }
+        }
+        return teks.append(TabelAturanDiskon.PENANDA_AKHIR).append("=true\n").toString();
+    }
+}
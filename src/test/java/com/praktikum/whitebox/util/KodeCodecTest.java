@@ -0,0 +1,59 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kode Codec")
+public class KodeCodecTest {
+
+    @ParameterizedTest
+    @DisplayName("Encode lalu decode menghasilkan kode semula")
+    @ValueSource(strings = {"ABC", "PROD001", "prod001", "Z", "0000000000", "zzzzzzzzzz", "a1B2c3D4e5"})
+    void testRoundTrip(String kode) {
+        long kunci = KodeCodec.encode(kode);
+
+        assertTrue(kunci > 0);
+        assertEquals(kode, KodeCodec.decode(kunci));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Kode yang tidak bisa dikodekan")
+    @ValueSource(strings = {"", "   ", "PROD 001", "PROD-001", "ABCDEFGHIJK", "PRÖD1"})
+    void testKodeTidakValid(String kode) {
+        assertEquals(KodeCodec.TIDAK_VALID, KodeCodec.encode(kode));
+    }
+
+    @Test
+    @DisplayName("Spasi di awal dan akhir diabaikan seperti pada validasi kode")
+    void testSpasiTepi() {
+        assertEquals(KodeCodec.encode("ABC"), KodeCodec.encode(" ABC "));
+        assertEquals(KodeCodec.encode("PROD001"), KodeCodec.encode("\tPROD001\n"));
+        assertEquals("ABCDEFGHIJ", KodeCodec.decode(KodeCodec.encode("  ABCDEFGHIJ  ")));
+    }
+
+    @Test
+    @DisplayName("Kode null tidak valid")
+    void testKodeNull() {
+        assertEquals(KodeCodec.TIDAK_VALID, KodeCodec.encode(null));
+    }
+
+    @Test
+    @DisplayName("Kode berbeda panjang atau huruf menghasilkan kunci berbeda")
+    void testKunciUnik() {
+        assertNotEquals(KodeCodec.encode("0A"), KodeCodec.encode("A"));
+        assertNotEquals(KodeCodec.encode("abc"), KodeCodec.encode("ABC"));
+        assertNotEquals(KodeCodec.encode("00"), KodeCodec.encode("000"));
+    }
+
+    @Test
+    @DisplayName("Decode kunci tidak valid melempar exception")
+    void testDecodeTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> KodeCodec.decode(0));
+        assertThrows(IllegalArgumentException.class, () -> KodeCodec.decode(-5));
+        assertThrows(IllegalArgumentException.class, () -> KodeCodec.decode(63));
+    }
+}
@@ -0,0 +1,49 @@
+package com.praktikum.whitebox.util;
+
+import com.praktikum.whitebox.util.LaporanValidasi.Field;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Laporan Validasi")
+public class LaporanValidasiTest {
+
+    @Test
+    @DisplayName("Laporan tanpa pelanggaran semua valid")
+    void testSemuaValid() {
+        LaporanValidasi laporan = new LaporanValidasi(new int[3]);
+
+        assertTrue(laporan.semuaValid());
+        assertEquals(0, laporan.jumlahTidakValid());
+        assertEquals(0, laporan.indeksTidakValid().length);
+        assertTrue(laporan.fieldTidakValid(1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pelanggaran per field dibaca dari bitmask")
+    void testPelanggaranPerField() {
+        LaporanValidasi laporan = new LaporanValidasi(new int[]{
+                Field.KODE.bit() | Field.HARGA.bit(), 0, Field.HARGA.bit()});
+
+        assertFalse(laporan.semuaValid());
+        assertFalse(laporan.isValid(0, Field.KODE));
+        assertTrue(laporan.isValid(0, Field.NAMA));
+        assertEquals(Set.of(Field.KODE, Field.HARGA), laporan.fieldTidakValid(0));
+        assertEquals(2, laporan.jumlahPelanggaran(Field.HARGA));
+        assertEquals(0, laporan.jumlahPelanggaran(Field.STOK));
+        assertArrayEquals(new int[]{0, 2}, laporan.indeksTidakValid());
+        assertTrue(laporan.toString().contains("indeksTidakValid=[0, 2]"));
+    }
+
+    @Test
+    @DisplayName("Setiap field punya pesan kesalahan")
+    void testPesanField() {
+        for (Field field : Field.values()) {
+            assertFalse(field.getPesan().isBlank());
+        }
+        assertEquals("Harga harus positif", Field.HARGA.getPesan());
+    }
+}
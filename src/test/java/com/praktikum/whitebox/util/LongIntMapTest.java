@@ -0,0 +1,50 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Long Int Map")
+public class LongIntMapTest {
+
+    @Test
+    @DisplayName("Hasil sama dengan HashMap pada operasi acak")
+    void testSamaDenganHashMap() {
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> pembanding = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50000; i++) {
+            long kunci = 1 + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                Integer lama = pembanding.remove(kunci);
+                assertEquals(lama == null ? LongIntMap.TIDAK_ADA : lama, map.remove(kunci));
+            } else {
+                Integer lama = pembanding.put(kunci, i);
+                assertEquals(lama == null ? LongIntMap.TIDAK_ADA : lama, map.put(kunci, i));
+            }
+        }
+        assertEquals(pembanding.size(), map.size());
+        for (Map.Entry<Long, Integer> entri : pembanding.entrySet()) {
+            assertEquals(entri.getValue(), map.get(entri.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("Kunci 0 ditolak dan clear mengosongkan map")
+    void testKunciNolDanClear() {
+        LongIntMap map = new LongIntMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1));
+        assertEquals(LongIntMap.TIDAK_ADA, map.get(0L));
+        assertEquals(LongIntMap.TIDAK_ADA, map.remove(0L));
+
+        map.put(10L, 1);
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(LongIntMap.TIDAK_ADA, map.get(10L));
+    }
+}
@@ -0,0 +1,79 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Long Object Map")
+public class LongObjectMapTest {
+    private LongObjectMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongObjectMap<>();
+    }
+
+    @Test
+    @DisplayName("Put, get dan remove dasar")
+    void testOperasiDasar() {
+        assertNull(map.put(1L, "satu"));
+        assertEquals("satu", map.put(1L, "SATU"));
+        assertEquals("SATU", map.get(1L));
+        assertTrue(map.containsKey(1L));
+        assertEquals(1, map.size());
+
+        assertEquals("SATU", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0L));
+        assertNull(map.remove(0L));
+    }
+
+    @Test
+    @DisplayName("Kunci 0 dan nilai null ditolak")
+    void testKunciDanNilaiTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "nol"));
+        assertThrows(IllegalArgumentException.class, () -> map.put(5L, null));
+    }
+
+    @Test
+    @DisplayName("Hasil sama dengan HashMap pada operasi acak")
+    void testSamaDenganHashMap() {
+        Map<Long, String> pembanding = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50000; i++) {
+            long kunci = 1 + random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(pembanding.remove(kunci), map.remove(kunci));
+            } else {
+                String nilai = "v" + i;
+                assertEquals(pembanding.put(kunci, nilai), map.put(kunci, nilai));
+            }
+        }
+        assertEquals(pembanding.size(), map.size());
+        for (Map.Entry<Long, String> entri : pembanding.entrySet()) {
+            assertEquals(entri.getValue(), map.get(entri.getKey()));
+        }
+        int[] jumlah = new int[1];
+        map.forEachValue(v -> jumlah[0]++);
+        assertEquals(pembanding.size(), jumlah[0]);
+    }
+
+    @Test
+    @DisplayName("Clear mengosongkan map")
+    void testClear() {
+        for (long i = 1; i <= 100; i++) {
+            map.put(i, "v" + i);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(50L));
+    }
+}
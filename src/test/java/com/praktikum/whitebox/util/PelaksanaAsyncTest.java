@@ -0,0 +1,51 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Pelaksana Async")
+public class PelaksanaAsyncTest {
+
+    @Test
+    @DisplayName("Operasi dijalankan di virtual thread dan hasilnya dikembalikan lewat future")
+    void testThreadVirtual() {
+        try (PelaksanaAsync pelaksana = PelaksanaAsync.threadVirtual()) {
+            assertTrue(pelaksana.jalankan(() -> Thread.currentThread().isVirtual()).join());
+            assertEquals(42, pelaksana.jalankan(() -> 42).join());
+        }
+    }
+
+    @Test
+    @DisplayName("Executor bawaan ditutup sehingga operasi berikutnya menjadi future gagal")
+    void testSetelahDitutup() {
+        PelaksanaAsync pelaksana = PelaksanaAsync.threadVirtual();
+        pelaksana.close();
+
+        CompletableFuture<Integer> hasil = pelaksana.jalankan(() -> 1);
+        CompletionException galat = assertThrows(CompletionException.class, hasil::join);
+        assertInstanceOf(RejectedExecutionException.class, galat.getCause());
+    }
+
+    @Test
+    @DisplayName("Executor dari pemanggil dipakai dan tidak ditutup")
+    void testExecutorPemanggil() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PelaksanaAsync pelaksana = PelaksanaAsync.dari(executor);
+            assertEquals("ok", pelaksana.jalankan(() -> "ok").join());
+            pelaksana.close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> PelaksanaAsync.dari(null));
+    }
+}
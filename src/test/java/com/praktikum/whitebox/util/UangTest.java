@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Uang Fixed-Point Sen")
+public class UangTest {
+
+    @ParameterizedTest
+    @DisplayName("Konversi rupiah ke sen dibulatkan ke sen terdekat")
+    @CsvSource({"19.99, 1999", "0.1, 10", "0.005, 1", "10000000, 1000000000", "-2.5, -250"})
+    void testKeSen(double rupiah, long sen) {
+        assertEquals(sen, Uang.keSen(rupiah));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Nilai tidak hingga atau terlalu besar ditolak")
+    @ValueSource(doubles = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e17})
+    void testKeSenDiLuarJangkauan(double rupiah) {
+        assertThrows(ArithmeticException.class, () -> Uang.keSen(rupiah));
+    }
+
+    @Test
+    @DisplayName("Penjumlahan sen eksak tanpa galat double")
+    void testTambahEksak() {
+        long total = 0;
+        for (int i = 0; i < 10; i++) {
+            total = Uang.tambah(total, Uang.keSen(0.1));
+        }
+        assertEquals(100, total);
+        assertEquals(1.0, Uang.keRupiah(total));
+        assertEquals(70, Uang.kurang(100, 30));
+    }
+
+    @Test
+    @DisplayName("Overflow melempar ArithmeticException")
+    void testOverflow() {
+        assertThrows(ArithmeticException.class, () -> Uang.kali(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Uang.tambah(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Uang.kurang(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Uang.persen(Long.MAX_VALUE, 2));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Persen dengan basis poin dibulatkan half-up")
+    @CsvSource({"1000, 1500, 150", "999, 1500, 150", "333, 500, 17", "329, 500, 16",
+            "10, 5000, 5", "1, 5000, 1", "1, 4999, 0", "-1, 5000, -1", "0, 3000, 0"})
+    void testPersen(long sen, int basisPoin, long hasil) {
+        assertEquals(hasil, Uang.persen(sen, basisPoin));
+    }
+
+    @Test
+    @DisplayName("Persentase double dikonversi ke basis poin")
+    void testKeBasisPoin() {
+        assertEquals(1500, Uang.keBasisPoin(0.15));
+        assertEquals(700, Uang.keBasisPoin(0.05 + 0.02));
+        assertEquals(0, Uang.keBasisPoin(0.0));
+        assertEquals(10000, Uang.keBasisPoin(1.0));
+        assertThrows(IllegalArgumentException.class, () -> Uang.keBasisPoin(-0.01));
+        assertThrows(IllegalArgumentException.class, () -> Uang.keBasisPoin(Double.NaN));
+    }
+}
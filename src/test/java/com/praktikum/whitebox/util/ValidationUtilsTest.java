@@ -8,6 +8,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Test Validation Utils")
@@ -469,4 +476,76 @@ public class ValidationUtilsTest {
         // Hanya untuk menutup coverage constructor
         new ValidationUtils();
     }
-}
\ No newline at end of file
+
+    // ========== PEMINDAIAN KARAKTER - setara dengan regex dan trim lama ==========
+
+    private static boolean kodeValidRegex(String kode) {
+        return kode != null && !kode.trim().isEmpty() && kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+    }
+
+    private static boolean namaValidLama(String nama) {
+        return nama != null && !nama.trim().isEmpty() && nama.trim().length() >= 3 && nama.trim().length() <= 100;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ABC", " ABC ", "\tPROD001\n", "\u0000AB1\u001F", "AB\u00A0C", "A BC",
+            "PRÖD1", "ABCDEFGHIJ", " ABCDEFGHIJK", "١٢٣", "ab", "\n\n", "Z9z", "PROD_01"})
+    @DisplayName("Pemindaian kode setara dengan regex lama termasuk whitespace kontrol")
+    void testKodeSetaraRegex(String kode) {
+        assertEquals(kodeValidRegex(kode), ValidationUtils.isValidKodeProduk(kode));
+    }
+
+    @Test
+    @DisplayName("Pemindaian kode dan nama setara dengan implementasi lama untuk masukan acak")
+    void testSetaraMasukanAcak() {
+        Random acak = new Random(42);
+        char[] alfabet = {'A', 'z', '5', ' ', '\t', '\u0000', '-', '\u00A0', 'é', '\u2003'};
+        for (int n = 0; n < 20000; n++) {
+            char[] teks = new char[acak.nextInt(14)];
+            for (int i = 0; i < teks.length; i++) {
+                teks[i] = alfabet[acak.nextInt(alfabet.length)];
+            }
+            String s = new String(teks);
+            assertEquals(kodeValidRegex(s), ValidationUtils.isValidKodeProduk(s), s);
+            assertEquals(namaValidLama(s), ValidationUtils.isValidNama(s), s);
+        }
+    }
+
+    // ========== VALIDASI MASSAL ==========
+
+    @Test
+    @DisplayName("Validasi massal melaporkan setiap field yang tidak valid per produk")
+    void testValidateMassal() {
+        Produk valid = new Produk("PROD001", "Laptop", "Elektronik", 1000, 5, 1);
+        Produk banyakSalah = new Produk("P-1", "AB", " ", -5, -1, -2);
+        Produk hargaNol = new Produk("PROD002", "Mouse", "Elektronik", 0, 5, 1);
+
+        LaporanValidasi laporan = ValidationUtils.validate(Arrays.asList(valid, banyakSalah, null, hargaNol));
+
+        assertEquals(4, laporan.jumlahProduk());
+        assertEquals(3, laporan.jumlahTidakValid());
+        assertTrue(laporan.isValid(0));
+        assertEquals(EnumSet.allOf(LaporanValidasi.Field.class).stream()
+                        .filter(f -> f != LaporanValidasi.Field.PRODUK).collect(Collectors.toSet()),
+                laporan.fieldTidakValid(1));
+        assertEquals(Set.of(LaporanValidasi.Field.PRODUK), laporan.fieldTidakValid(2));
+        assertEquals(Set.of(LaporanValidasi.Field.HARGA), laporan.fieldTidakValid(3));
+        assertArrayEquals(new int[]{1, 2, 3}, laporan.indeksTidakValid());
+    }
+
+    @Test
+    @DisplayName("Validasi massal konsisten dengan isValidProduk")
+    void testValidateKonsistenDenganIsValidProduk() {
+        List<Produk> daftar = List.of(
+                new Produk("PROD001", "Laptop", "Elektronik", 1000, 5, 1),
+                new Produk("PROD002", "Mo", "Elektronik", 1000, 5, 1),
+                new Produk("PROD003", "Mouse", "Elektronik", 1000, -1, 1));
+
+        LaporanValidasi laporan = ValidationUtils.validate(daftar);
+
+        for (int i = 0; i < daftar.size(); i++) {
+            assertEquals(ValidationUtils.isValidProduk(daftar.get(i)), laporan.isValid(i));
+        }
+        assertTrue(ValidationUtils.validate(List.of()).semuaValid());
+    }
+}